@@ -325,6 +325,16 @@ public class CoreMessages extends NLS {
     public static String pref_page_error_handle_cancel_check_timeout;
     public static String pref_page_error_handle_cancel_check_timeout_tip;
 
+    public static String pref_page_error_handle_group_pool_title;
+    public static String pref_page_error_handle_pool_enabled_label;
+    public static String pref_page_error_handle_pool_enabled_tip;
+    public static String pref_page_error_handle_pool_min_idle_label;
+    public static String pref_page_error_handle_pool_min_idle_tip;
+    public static String pref_page_error_handle_pool_max_idle_label;
+    public static String pref_page_error_handle_pool_max_idle_tip;
+    public static String pref_page_error_handle_pool_idle_timeout_label;
+    public static String pref_page_error_handle_pool_idle_timeout_tip;
+
     public static String pref_page_query_manager_checkbox_ddl_executions;
     public static String pref_page_query_manager_checkbox_metadata_read;
     public static String pref_page_query_manager_checkbox_metadata_write;
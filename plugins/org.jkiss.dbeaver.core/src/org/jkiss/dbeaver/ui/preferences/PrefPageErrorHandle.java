@@ -17,6 +17,7 @@
  */
 package org.jkiss.dbeaver.ui.preferences;
 
+import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.widgets.*;
 import org.jkiss.code.NotNull;
@@ -46,6 +47,11 @@ public class PrefPageErrorHandle extends TargetPrefPage
 
     private Spinner cancelCheckTimeout;
 
+    private Button poolEnabledCheck;
+    private Spinner poolMinIdle;
+    private Spinner poolMaxIdle;
+    private Spinner poolIdleTimeout;
+
     public PrefPageErrorHandle()
     {
         super();
@@ -64,7 +70,12 @@ public class PrefPageErrorHandle extends TargetPrefPage
             store.contains(ModelPreferences.EXECUTE_RECOVER_ENABLED) ||
             store.contains(ModelPreferences.EXECUTE_RECOVER_RETRY_COUNT) ||
 
-            store.contains(ModelPreferences.EXECUTE_CANCEL_CHECK_TIMEOUT)
+            store.contains(ModelPreferences.EXECUTE_CANCEL_CHECK_TIMEOUT) ||
+
+            store.contains(ModelPreferences.CONNECTION_POOL_ENABLED) ||
+            store.contains(ModelPreferences.CONNECTION_POOL_MIN_IDLE) ||
+            store.contains(ModelPreferences.CONNECTION_POOL_MAX_IDLE) ||
+            store.contains(ModelPreferences.CONNECTION_POOL_IDLE_TIMEOUT)
             ;
     }
 
@@ -104,6 +115,17 @@ public class PrefPageErrorHandle extends TargetPrefPage
             cancelCheckTimeout = UIUtils.createLabelSpinner(errorGroup, CoreMessages.pref_page_error_handle_cancel_check_timeout, CoreMessages.pref_page_error_handle_cancel_check_timeout_tip, 0, 0, Integer.MAX_VALUE);
         }
 
+        // Isolated contexts pool
+        {
+            Group poolGroup = UIUtils.createControlGroup(composite, CoreMessages.pref_page_error_handle_group_pool_title, 2, GridData.VERTICAL_ALIGN_BEGINNING, 0);
+
+            poolEnabledCheck = UIUtils.createCheckbox(poolGroup, CoreMessages.pref_page_error_handle_pool_enabled_label, CoreMessages.pref_page_error_handle_pool_enabled_tip, false, 2);
+            poolMinIdle = UIUtils.createLabelSpinner(poolGroup, CoreMessages.pref_page_error_handle_pool_min_idle_label, CoreMessages.pref_page_error_handle_pool_min_idle_tip, 0, 0, 100);
+            poolMaxIdle = UIUtils.createLabelSpinner(poolGroup, CoreMessages.pref_page_error_handle_pool_max_idle_label, CoreMessages.pref_page_error_handle_pool_max_idle_tip, 0, 1, 100);
+            poolIdleTimeout = UIUtils.createLabelSpinner(poolGroup, CoreMessages.pref_page_error_handle_pool_idle_timeout_label + UIMessages.label_sec, CoreMessages.pref_page_error_handle_pool_idle_timeout_tip, 0, 0, Integer.MAX_VALUE);
+            poolEnabledCheck.addSelectionListener(SelectionListener.widgetSelectedAdapter(e -> updatePoolControls()));
+        }
+
         return composite;
     }
 
@@ -120,6 +142,12 @@ public class PrefPageErrorHandle extends TargetPrefPage
             connectionAutoRecoverRetryCount.setSelection(store.getInt(ModelPreferences.EXECUTE_RECOVER_RETRY_COUNT));
 
             cancelCheckTimeout.setSelection(store.getInt(ModelPreferences.EXECUTE_CANCEL_CHECK_TIMEOUT));
+
+            poolEnabledCheck.setSelection(store.getBoolean(ModelPreferences.CONNECTION_POOL_ENABLED));
+            poolMinIdle.setSelection(store.getInt(ModelPreferences.CONNECTION_POOL_MIN_IDLE));
+            poolMaxIdle.setSelection(store.getInt(ModelPreferences.CONNECTION_POOL_MAX_IDLE));
+            poolIdleTimeout.setSelection(store.getInt(ModelPreferences.CONNECTION_POOL_IDLE_TIMEOUT));
+            updatePoolControls();
         } catch (Exception e) {
             log.warn(e);
         }
@@ -138,6 +166,11 @@ public class PrefPageErrorHandle extends TargetPrefPage
             store.setValue(ModelPreferences.EXECUTE_RECOVER_RETRY_COUNT, connectionAutoRecoverRetryCount.getSelection());
 
             store.setValue(ModelPreferences.EXECUTE_CANCEL_CHECK_TIMEOUT, cancelCheckTimeout.getSelection());
+
+            store.setValue(ModelPreferences.CONNECTION_POOL_ENABLED, poolEnabledCheck.getSelection());
+            store.setValue(ModelPreferences.CONNECTION_POOL_MIN_IDLE, poolMinIdle.getSelection());
+            store.setValue(ModelPreferences.CONNECTION_POOL_MAX_IDLE, Math.max(poolMinIdle.getSelection(), poolMaxIdle.getSelection()));
+            store.setValue(ModelPreferences.CONNECTION_POOL_IDLE_TIMEOUT, poolIdleTimeout.getSelection());
         } catch (Exception e) {
             log.warn(e);
         }
@@ -156,6 +189,11 @@ public class PrefPageErrorHandle extends TargetPrefPage
         store.setToDefault(ModelPreferences.EXECUTE_RECOVER_RETRY_COUNT);
 
         store.setToDefault(ModelPreferences.EXECUTE_CANCEL_CHECK_TIMEOUT);
+
+        store.setToDefault(ModelPreferences.CONNECTION_POOL_ENABLED);
+        store.setToDefault(ModelPreferences.CONNECTION_POOL_MIN_IDLE);
+        store.setToDefault(ModelPreferences.CONNECTION_POOL_MAX_IDLE);
+        store.setToDefault(ModelPreferences.CONNECTION_POOL_IDLE_TIMEOUT);
     }
 
     @Override
@@ -168,9 +206,21 @@ public class PrefPageErrorHandle extends TargetPrefPage
         connectionAutoRecoverEnabled.setSelection(store.getDefaultBoolean(ModelPreferences.EXECUTE_RECOVER_ENABLED));
         connectionAutoRecoverRetryCount.setSelection(store.getDefaultInt(ModelPreferences.EXECUTE_RECOVER_RETRY_COUNT));
         cancelCheckTimeout.setSelection(store.getDefaultInt(ModelPreferences.EXECUTE_CANCEL_CHECK_TIMEOUT));
+        poolEnabledCheck.setSelection(store.getDefaultBoolean(ModelPreferences.CONNECTION_POOL_ENABLED));
+        poolMinIdle.setSelection(store.getDefaultInt(ModelPreferences.CONNECTION_POOL_MIN_IDLE));
+        poolMaxIdle.setSelection(store.getDefaultInt(ModelPreferences.CONNECTION_POOL_MAX_IDLE));
+        poolIdleTimeout.setSelection(store.getDefaultInt(ModelPreferences.CONNECTION_POOL_IDLE_TIMEOUT));
+        updatePoolControls();
         super.performDefaults();
     }
 
+    private void updatePoolControls() {
+        boolean enabled = poolEnabledCheck.getSelection();
+        poolMinIdle.setEnabled(enabled);
+        poolMaxIdle.setEnabled(enabled);
+        poolIdleTimeout.setEnabled(enabled);
+    }
+
     @Override
     protected String getPropertyPageID()
     {
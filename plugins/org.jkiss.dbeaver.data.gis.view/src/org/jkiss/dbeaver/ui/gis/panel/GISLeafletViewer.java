@@ -18,6 +18,9 @@ package org.jkiss.dbeaver.ui.gis.panel;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.Separator;
 import org.eclipse.jface.action.ToolBarManager;
@@ -75,13 +78,16 @@ import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.IOUtils;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
 
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.*;
 
 public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceListener {
     private static final Log log = Log.getLog(GISLeafletViewer.class);
@@ -107,6 +113,12 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
     private int sourceSRID = UNDEFINED_SRID; // Explicitly set SRID
     private int actualSourceSRID; // SRID taken from geometry value
     private Path scriptFile;
+    private Path standaloneScriptFile; // Script with inline values for external browser
+    // Spatial index of rendered values. Set if there are too many values to render them at once.
+    private GisFeatureIndex<Map<String, Object>> featureIndex;
+    private int tilesZoom;
+    private final Set<Long> renderedTiles = new HashSet<>();
+    private final BitSet renderedFeatures = new BitSet();
     private final Composite statusBar;
     private final ToolBarManager toolBarManager;
     private int defaultSRID; // Target SRID used to render map
@@ -152,6 +164,17 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
                     return null;
                 }
             };
+            new BrowserFunction(browser, "loadMapTiles") {
+                @Override
+                public Object function(Object[] arguments) {
+                    return loadMapTiles(
+                        CommonUtils.toInt(arguments[0]),
+                        CommonUtils.toInt(arguments[1]),
+                        CommonUtils.toInt(arguments[2]),
+                        CommonUtils.toInt(arguments[3]),
+                        CommonUtils.toInt(arguments[4]));
+                }
+            };
 
             if (presentation instanceof SpreadsheetPresentation) {
                 new BrowserFunction(browser, "setPresentationSelection") {
@@ -289,24 +312,19 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         if (!force && CommonUtils.equalObjects(lastValue, values)) {
             return;
         }
-        int maxObjects = GISViewerActivator.getDefault().getPreferences().getInt(GeometryViewerConstants.PREF_MAX_OBJECTS_RENDER);
-        if (maxObjects <= 0) {
-            maxObjects = GeometryViewerConstants.DEFAULT_MAX_OBJECTS_RENDER;
-        }
-        if (values != null && values.length > maxObjects) {
-            // Truncate value list
-            DBGeometry[] truncValues = new DBGeometry[maxObjects];
-            System.arraycopy(values, 0, truncValues, 0, maxObjects);
-            values = truncValues;
-        }
         if (browser != null) {
             try {
+                featureIndex = null;
                 if (ArrayUtils.isEmpty(values)) {
                     browser.setUrl("about:blank");
                 } else {
                     final Bounds bounds = recenter ? null : Bounds.tryExtractFromBrowser(browser);
-                    final Path file = generateViewScript(values, bounds);
-                    browser.setUrl(file.toFile().toURI().toURL().toString());
+                    if (scriptFile == null) {
+                        scriptFile = createScriptFile();
+                    }
+                    // Large value sets are indexed and streamed to the map by visible tiles
+                    generateViewScript(scriptFile, values, bounds, values.length > getMaxObjectsRender());
+                    browser.setUrl(scriptFile.toFile().toURI().toURL().toString());
                 }
             } catch (IOException e) {
                 throw new DBException("Error generating viewer script", e);
@@ -316,14 +334,19 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         populateToolbar();
     }
 
-    private Path generateViewScript(DBGeometry[] values, @Nullable Bounds bounds) throws IOException {
-        if (scriptFile == null) {
-            Path tempDir = DBWorkbench.getPlatform().getTempFolder(new VoidProgressMonitor(), "gis-viewer-files");
-            checkIncludesExistence(tempDir);
+    private static int getMaxObjectsRender() {
+        int maxObjects = GISViewerActivator.getDefault().getPreferences().getInt(GeometryViewerConstants.PREF_MAX_OBJECTS_RENDER);
+        return maxObjects <= 0 ? GeometryViewerConstants.DEFAULT_MAX_OBJECTS_RENDER : maxObjects;
+    }
 
-            scriptFile = Files.createTempFile(tempDir, "view", "gis.html");
-        }
+    private Path createScriptFile() throws IOException {
+        Path tempDir = DBWorkbench.getPlatform().getTempFolder(new VoidProgressMonitor(), "gis-viewer-files");
+        checkIncludesExistence(tempDir);
 
+        return Files.createTempFile(tempDir, "view", "gis.html");
+    }
+
+    private void generateViewScript(@NotNull Path file, DBGeometry[] values, @Nullable Bounds bounds, boolean tiled) throws IOException {
         int attributeSrid = UNDEFINED_SRID;
         if (bindings[0].getAttribute() instanceof GisAttribute) {
             try {
@@ -336,6 +359,8 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
 
         List<String> geomValues = new ArrayList<>();
         List<String> geomTipValues = new ArrayList<>();
+        List<Geometry> tileGeometries = new ArrayList<>();
+        List<Map<String, Object>> tileProperties = new ArrayList<>();
         boolean showMap = false;
         for (int i = 0; i < values.length; i++) {
             DBGeometry value = values[i];
@@ -397,6 +422,20 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
             if (targetValue == null) {
                 continue;
             }
+            if (tiled) {
+                Geometry geometry = GisTransformUtils.getJtsGeometry(targetValue);
+                if (geometry == null) {
+                    try {
+                        geometry = new WKTReader().read(targetValue.toString());
+                    } catch (ParseException e) {
+                        log.debug("Unable to parse geometry for rendering: " + e.getMessage());
+                        continue;
+                    }
+                }
+                tileGeometries.add(geometry);
+                tileProperties.add(value.getProperties());
+                continue;
+            }
             geomValues.add("'" + targetValue + "'");
             try {
                 if (CommonUtils.isEmpty(value.getProperties())) {
@@ -413,6 +452,22 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         String geomTipValuesString = String.join(",", geomTipValues);
         String geomCRS = actualSourceSRID == GisConstants.SRID_SIMPLE ? GisConstants.LL_CRS_SIMPLE : GisConstants.LL_CRS_3857;
         boolean isShowMap = showMap;
+        Bounds dataBounds = null;
+        if (tiled) {
+            GisFeatureIndex<Map<String, Object>> index = new GisFeatureIndex<>(actualSourceSRID == GisConstants.SRID_SIMPLE);
+            for (int i = 0; i < tileGeometries.size(); i++) {
+                index.addFeature(tileGeometries.get(i), tileProperties.get(i));
+            }
+            Envelope envelope = index.getBounds();
+            if (envelope != null) {
+                dataBounds = new Bounds(envelope.getMaxY(), envelope.getMaxX(), envelope.getMinY(), envelope.getMinX());
+            }
+            featureIndex = index;
+            tilesZoom = Integer.MIN_VALUE;
+            renderedTiles.clear();
+            renderedFeatures.clear();
+        }
+        String dataBoundsString = CommonUtils.toString(dataBounds, "undefined");
 
         InputStream fis = GISViewerActivator.getDefault().getResourceStream(GISBrowserViewerConstants.VIEW_TEMPLATE_PATH);
         if (fis == null) {
@@ -426,6 +481,10 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
                         return geomValuesString;
                     case "geomTipValues":
                         return geomTipValuesString;
+                    case "tiledRendering":
+                        return String.valueOf(tiled);
+                    case "dataBounds":
+                        return dataBoundsString;
                     case "geomSRID":
                         return String.valueOf(defaultSRID);
                     case "showMap":
@@ -449,14 +508,64 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
                 }
                 return null;
             });
-            try (OutputStream fos = Files.newOutputStream(scriptFile)) {
+            try (OutputStream fos = Files.newOutputStream(file)) {
                 fos.write(viewTemplate.getBytes(GeneralUtils.UTF8_CHARSET));
             }
         } finally {
             ContentUtils.close(fis);
         }
+    }
 
-        return scriptFile;
+    /**
+     * Returns features of the specified tile range which were not rendered yet at this zoom level.
+     * Called by the map script when visible area changes.
+     * Number of features returned by one call is limited, tiles which were not sent completely
+     * are loaded again on the next call.
+     */
+    @NotNull
+    private String loadMapTiles(int zoom, int minTileX, int minTileY, int maxTileX, int maxTileY) {
+        GisFeatureIndex<Map<String, Object>> index = featureIndex;
+        JsonArray result = new JsonArray();
+        if (index == null) {
+            return result.toString();
+        }
+        if (zoom != tilesZoom) {
+            // Map script drops all features on zoom change
+            tilesZoom = zoom;
+            renderedTiles.clear();
+            renderedFeatures.clear();
+        }
+        int maxObjects = getMaxObjectsRender();
+        for (int y = minTileY; y <= maxTileY; y++) {
+            for (int x = minTileX; x <= maxTileX; x++) {
+                long tileKey = ((long) x << 32) | (y & 0xffffffffL);
+                if (renderedTiles.contains(tileKey)) {
+                    continue;
+                }
+                for (int id : index.queryTile(zoom, x, y)) {
+                    if (renderedFeatures.get(id)) {
+                        continue;
+                    }
+                    if (result.size() >= maxObjects) {
+                        log.debug("Too many visible objects, rendering is limited to " + maxObjects);
+                        return result.toString();
+                    }
+                    renderedFeatures.set(id);
+
+                    JsonObject feature = new JsonObject();
+                    feature.addProperty("wkt", index.getSimplifiedGeometry(id, zoom).toText());
+                    Map<String, Object> properties = index.getFeature(id).getData();
+                    try {
+                        feature.add("tip", CommonUtils.isEmpty(properties) ? JsonNull.INSTANCE : gson.toJsonTree(properties));
+                    } catch (Exception e) {
+                        log.debug(e);
+                    }
+                    result.add(feature);
+                }
+                renderedTiles.add(tileKey);
+            }
+        }
+        return result.toString();
     }
 
     private void checkIncludesExistence(Path scriptDir) throws IOException {
@@ -481,11 +590,13 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
     }
 
     private void cleanupFiles() {
-        if (scriptFile != null) {
-            try {
-                Files.delete(scriptFile);
-            } catch (IOException e) {
-                log.debug("Can't delete temp script file '" + scriptFile + "'", e);
+        for (Path file : new Path[] { scriptFile, standaloneScriptFile }) {
+            if (file != null) {
+                try {
+                    Files.delete(file);
+                } catch (IOException e) {
+                    log.debug("Can't delete temp script file '" + file + "'", e);
+                }
             }
         }
     }
@@ -520,7 +631,22 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         toolBarManager.add(new Action(GISMessages.panel_leaflet_viewer_tool_bar_action_text_open, DBeaverIcons.getImageDescriptor(UIIcon.BROWSER)) {
             @Override
             public void run() {
-                ShellUtils.launchProgram(scriptFile.toAbsolutePath().toString());
+                Path file = scriptFile;
+                if (featureIndex != null) {
+                    // Tiles are served by the embedded browser only, so render limited value list inline
+                    try {
+                        if (standaloneScriptFile == null) {
+                            standaloneScriptFile = createScriptFile();
+                        }
+                        DBGeometry[] values = Arrays.copyOf(lastValue, Math.min(lastValue.length, getMaxObjectsRender()));
+                        generateViewScript(standaloneScriptFile, values, Bounds.tryExtractFromBrowser(browser), false);
+                        file = standaloneScriptFile;
+                    } catch (IOException e) {
+                        DBWorkbench.getPlatformUI().showError("Open in browser", "Can't generate viewer script", e);
+                        return;
+                    }
+                }
+                ShellUtils.launchProgram(file.toAbsolutePath().toString());
             }
         });
         toolBarManager.add(new Action(GISMessages.panel_leaflet_viewer_tool_bar_action_text_copy_as, DBeaverIcons.getImageDescriptor(UIIcon.PICTURE)) {
@@ -0,0 +1,233 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.gis;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.locationtech.jts.simplify.DouglasPeuckerSimplifier;
+
+import java.util.*;
+
+/**
+ * Spatial index of rendered geometries.
+ * <p>
+ * Features are kept in an STR packed R-tree and are requested by map tiles, so only features visible
+ * in the viewport have to be rendered. Geometries are simplified with the Douglas-Peucker algorithm
+ * using a tolerance of one screen pixel at the requested zoom level. Simplified geometries are cached per zoom level.
+ * <p>
+ * Tiles follow the Leaflet pixel grid: either the Web Mercator grid for geographic (EPSG:4326) coordinates
+ * or the Simple CRS grid, where one coordinate unit is one pixel at zoom level 0.
+ * Index is not thread-safe.
+ */
+public class GisFeatureIndex<T> {
+
+    public static final int TILE_SIZE = 256;
+    public static final int MIN_ZOOM = -20;
+    public static final int MAX_ZOOM = 30;
+
+    // Geometries with fewer points are rendered as is
+    private static final int MIN_SIMPLIFY_POINTS = 8;
+    private static final double MAX_LATITUDE = 90.0;
+
+    public static class Feature<T> {
+        private final int id;
+        private final Geometry geometry;
+        private final T data;
+
+        Feature(int id, @NotNull Geometry geometry, @Nullable T data) {
+            this.id = id;
+            this.geometry = geometry;
+            this.data = data;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        @NotNull
+        public Geometry getGeometry() {
+            return geometry;
+        }
+
+        @Nullable
+        public T getData() {
+            return data;
+        }
+    }
+
+    private final boolean simpleCRS;
+    private final List<Feature<T>> features = new ArrayList<>();
+    private final Envelope bounds = new Envelope();
+    private final Map<Integer, Geometry[]> simplifiedGeometries = new HashMap<>();
+    private STRtree tree;
+
+    /**
+     * @param simpleCRS true if geometries use flat coordinates, false for EPSG:4326 coordinates shown in Web Mercator
+     */
+    public GisFeatureIndex(boolean simpleCRS) {
+        this.simpleCRS = simpleCRS;
+    }
+
+    public boolean isSimpleCRS() {
+        return simpleCRS;
+    }
+
+    /**
+     * Adds a feature to the index. Features can't be added after the index was queried.
+     *
+     * @return feature id or -1 if geometry is empty
+     */
+    public int addFeature(@NotNull Geometry geometry, @Nullable T data) {
+        if (tree != null) {
+            throw new IllegalStateException("Spatial index is already built");
+        }
+        if (geometry.isEmpty()) {
+            return -1;
+        }
+        Feature<T> feature = new Feature<>(features.size(), geometry, data);
+        features.add(feature);
+        bounds.expandToInclude(geometry.getEnvelopeInternal());
+        return feature.id;
+    }
+
+    public int getFeatureCount() {
+        return features.size();
+    }
+
+    @NotNull
+    public Feature<T> getFeature(int id) {
+        return features.get(id);
+    }
+
+    /**
+     * Returns envelope of all features or null if index is empty
+     */
+    @Nullable
+    public Envelope getBounds() {
+        return bounds.isNull() ? null : new Envelope(bounds);
+    }
+
+    /**
+     * Returns ids of features which intersect the specified envelope, in ascending order
+     */
+    @NotNull
+    public int[] query(@NotNull Envelope envelope) {
+        List<?> items = getTree().query(envelope);
+        int[] ids = new int[items.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = ((Feature<?>) items.get(i)).id;
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Returns ids of features visible in the specified tile, in ascending order
+     */
+    @NotNull
+    public int[] queryTile(int zoom, int x, int y) {
+        Envelope envelope = getTileEnvelope(zoom, x, y);
+        return envelope == null ? new int[0] : query(envelope);
+    }
+
+    /**
+     * Returns tile envelope in geometry coordinates or null if tile is out of the map
+     */
+    @Nullable
+    public Envelope getTileEnvelope(int zoom, int x, int y) {
+        if (simpleCRS) {
+            double tileExtent = TILE_SIZE * getPixelSize(zoom);
+            // Leaflet Simple CRS flips Y axis
+            return new Envelope(x * tileExtent, (x + 1) * tileExtent, -(y + 1) * tileExtent, -y * tileExtent);
+        }
+        int tileCount = 1 << Math.max(0, checkZoom(zoom));
+        if (x < 0 || y < 0 || x >= tileCount || y >= tileCount) {
+            return null;
+        }
+        return new Envelope(
+            tileLongitude(x, tileCount),
+            tileLongitude(x + 1, tileCount),
+            y == tileCount - 1 ? -MAX_LATITUDE : tileLatitude(y + 1, tileCount),
+            y == 0 ? MAX_LATITUDE : tileLatitude(y, tileCount));
+    }
+
+    /**
+     * Returns size of a screen pixel in geometry coordinates at the specified zoom level.
+     * For geographic coordinates this is the longitude size of a pixel.
+     */
+    public double getPixelSize(int zoom) {
+        double scale = Math.pow(2, checkZoom(zoom));
+        return simpleCRS ? 1 / scale : 360.0 / (TILE_SIZE * scale);
+    }
+
+    /**
+     * Returns feature geometry simplified for the specified zoom level.
+     * Features smaller than a pixel are collapsed to a point.
+     */
+    @NotNull
+    public Geometry getSimplifiedGeometry(int id, int zoom) {
+        Geometry geometry = features.get(id).geometry;
+        if (geometry.getDimension() == 0 || geometry.getNumPoints() < MIN_SIMPLIFY_POINTS) {
+            return geometry;
+        }
+        Geometry[] cache = simplifiedGeometries.computeIfAbsent(checkZoom(zoom), z -> new Geometry[features.size()]);
+        Geometry simplified = cache[id];
+        if (simplified == null) {
+            double tolerance = getPixelSize(zoom);
+            if (!simpleCRS) {
+                // Mercator stretches latitude, so pixel covers fewer degrees far from equator
+                double latitude = geometry.getEnvelopeInternal().centre().y;
+                tolerance *= Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+            }
+            simplified = DouglasPeuckerSimplifier.simplify(geometry, tolerance);
+            if (simplified.isEmpty()) {
+                simplified = geometry.getInteriorPoint();
+            }
+            cache[id] = simplified;
+        }
+        return simplified;
+    }
+
+    @NotNull
+    private STRtree getTree() {
+        if (tree == null) {
+            STRtree newTree = new STRtree();
+            for (Feature<T> feature : features) {
+                newTree.insert(feature.geometry.getEnvelopeInternal(), feature);
+            }
+            newTree.build();
+            tree = newTree;
+        }
+        return tree;
+    }
+
+    private static int checkZoom(int zoom) {
+        return Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+    }
+
+    private static double tileLongitude(int x, int tileCount) {
+        return (double) x / tileCount * 360.0 - 180.0;
+    }
+
+    private static double tileLatitude(int y, int tileCount) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2.0 * y / tileCount))));
+    }
+
+}
@@ -115,6 +115,8 @@ public class DTUIMessages extends NLS {
     public static String database_producer_page_input_objects_node_select_source;
 
     public static String stream_consumer_page_output_label_maximum_file_size;
+    public static String stream_consumer_page_output_label_parallel_writers;
+    public static String stream_consumer_page_output_label_parallel_writers_tip;
     public static String stream_consumer_page_output_label_show_finish_message;
     public static String stream_consumer_page_output_tooltip_output_directory_pattern;
     public static String stream_consumer_page_output_tooltip_output_file_name_pattern;
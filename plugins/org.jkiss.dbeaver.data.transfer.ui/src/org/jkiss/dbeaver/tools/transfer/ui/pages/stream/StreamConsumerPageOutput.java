@@ -175,6 +175,7 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
     private EnumSelectionGroup<BlobFileConflictBehavior> blobFileConflictBehaviorSelector;
     private Label maximumFileSizeLabel;
     private Text maximumFileSizeText;
+    private Spinner parallelWritersSpinner;
     private final Map<String, EventProcessorComposite<?>> processors = new HashMap<>();
 
     public StreamConsumerPageOutput() {
@@ -269,7 +270,7 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
             });
 
             {
-                Composite outFilesSettings = UIUtils.createComposite(generalSettings, 3);
+                Composite outFilesSettings = UIUtils.createComposite(generalSettings, 5);
                 outFilesSettings.setLayoutData(new GridData(GridData.BEGINNING, GridData.BEGINNING, true, false, 5, 1));
 
                 splitFilesCheckbox = UIUtils.createCheckbox(outFilesSettings, DTMessages.data_transfer_wizard_output_checkbox_split_files, DTMessages.data_transfer_wizard_output_checkbox_split_files_tip, false, 1);
@@ -288,6 +289,16 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
                 gd = new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING);
                 gd.widthHint = UIUtils.getFontHeight(maximumFileSizeText) * 10;
                 maximumFileSizeText.setLayoutData(gd);
+
+                parallelWritersSpinner = UIUtils.createLabelSpinner(
+                    outFilesSettings,
+                    DTUIMessages.stream_consumer_page_output_label_parallel_writers,
+                    DTUIMessages.stream_consumer_page_output_label_parallel_writers_tip,
+                    1,
+                    1,
+                    Runtime.getRuntime().availableProcessors());
+                parallelWritersSpinner.addModifyListener(e ->
+                    settings.setParallelWriters(parallelWritersSpinner.getSelection()));
             }
 
             {
@@ -426,6 +437,7 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
         splitFilesCheckbox.setEnabled(!clipboard);
         maximumFileSizeLabel.setEnabled(!clipboard && splitFilesCheckbox.getSelection());
         maximumFileSizeText.setEnabled(!clipboard && splitFilesCheckbox.getSelection());
+        parallelWritersSpinner.setEnabled(!clipboard && splitFilesCheckbox.getSelection());
         encodingCombo.setEnabled(!isBinary && !clipboard);
         encodingBOMCheckbox.setEnabled(!isBinary && !clipboard);
         timestampPattern.setEnabled(!clipboard);
@@ -451,6 +463,7 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
         compressCheckbox.setSelection(settings.isCompressResults());
         splitFilesCheckbox.setSelection(settings.isSplitOutFiles());
         maximumFileSizeText.setText(String.valueOf(settings.getMaxOutFileSize()));
+        parallelWritersSpinner.setSelection(settings.getParallelWriters());
         encodingCombo.setText(CommonUtils.toString(settings.getOutputEncoding()));
         timestampPattern.setText(settings.getOutputTimestampPattern());
         encodingBOMCheckbox.setSelection(settings.isOutputEncodingBOM() && !descriptor.isBinaryFormat());
@@ -131,6 +131,8 @@ public class DTMessages extends NLS {
     public static String sql_script_task_page_settings_option_ignore_errors;
     public static String sql_script_task_page_settings_option_dump_results;
     public static String sql_script_task_page_settings_option_auto_commit;
+    public static String sql_script_task_page_settings_option_parallelism;
+    public static String sql_script_task_page_settings_option_parallelism_tip;
     public static String database_consumer_settings_option_use_transactions;
     public static String database_consumer_settings_option_commit_after;
     public static String database_consumer_settings_option_use_multi_insert;
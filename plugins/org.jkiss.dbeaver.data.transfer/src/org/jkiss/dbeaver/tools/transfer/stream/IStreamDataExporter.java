@@ -42,6 +42,14 @@ public interface IStreamDataExporter extends IDataTransferProcessor {
     void exportFooter(DBRProgressMonitor monitor)
         throws DBException, IOException;
 
+    /**
+     * Writes rows buffered by the exporter to the output stream, so the stream size may be checked
+     */
+    default void flushRows()
+        throws IOException
+    {
+    }
+
     void dispose();
 
 }
@@ -136,6 +136,7 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
     private boolean compressResults = false;
     private boolean splitOutFiles = false;
     private long maxOutFileSize = 10 * 1000 * 1000;
+    private int parallelWriters = 1;
     private final Map<DBSDataContainer, StreamMappingContainer> dataMappings = new LinkedHashMap<>();
     private final Map<String, Map<String, Object>> eventProcessors = new HashMap<>();
 
@@ -259,6 +260,17 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         this.maxOutFileSize = maxOutFileSize;
     }
 
+    /**
+     * Number of split files written concurrently. Values greater than one enable parallel export.
+     */
+    public int getParallelWriters() {
+        return parallelWriters;
+    }
+
+    public void setParallelWriters(int parallelWriters) {
+        this.parallelWriters = parallelWriters;
+    }
+
     @NotNull
     public Map<DBSDataContainer, StreamMappingContainer> getDataMappings() {
         return dataMappings;
@@ -330,6 +342,7 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         compressResults = CommonUtils.getBoolean(settings.get("compressResults"), compressResults);
         splitOutFiles = CommonUtils.getBoolean(settings.get("splitOutFiles"), splitOutFiles);
         maxOutFileSize = CommonUtils.toLong(settings.get("maxOutFileSize"), maxOutFileSize);
+        parallelWriters = CommonUtils.toInt(settings.get("parallelWriters"), parallelWriters);
 
         final boolean openFolderOnFinish = CommonUtils.getBoolean(settings.get("openFolderOnFinish"), false);
         final boolean executeProcessOnFinish = CommonUtils.getBoolean(settings.get("executeProcessOnFinish"), false);
@@ -412,6 +425,7 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         settings.put("compressResults", compressResults);
         settings.put("splitOutFiles", splitOutFiles);
         settings.put("maxOutFileSize", maxOutFileSize);
+        settings.put("parallelWriters", parallelWriters);
 
         if (formatterProfile != null) {
             settings.put("formatterProfile", formatterProfile.getProfileName());
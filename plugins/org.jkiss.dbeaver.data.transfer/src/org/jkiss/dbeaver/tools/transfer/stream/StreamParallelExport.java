@@ -0,0 +1,229 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.DBCException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Parallel export of split output files.
+ * <p>
+ * Rows are split into files with the same number of rows each. Files are created by the calling (transfer) thread
+ * in order, so file names are the same as in the sequential mode. Each file is then written by its own writer thread.
+ * Each writer has a small queue of row blocks, the transfer thread waits when the queue of the current file is full
+ * or when all writers are busy, so up to {@code writerCount} files are written at once.
+ * Memory usage is limited by {@code writerCount * MAX_QUEUED_BLOCKS * ROW_BLOCK_SIZE} queued rows.
+ */
+public class StreamParallelExport {
+
+    private static final Log log = Log.getLog(StreamParallelExport.class);
+
+    // Rows are passed to file writers in blocks
+    private static final int ROW_BLOCK_SIZE = 1000;
+    private static final int MAX_QUEUED_BLOCKS = 4;
+    private static final long QUEUE_WAIT_MS = 100;
+    private static final List<Object[]> END_OF_FILE_BLOCK = Collections.emptyList();
+
+    /**
+     * Output file written by a writer thread
+     */
+    public interface OutputFile {
+
+        void exportHeader() throws DBException, IOException;
+
+        void exportRow(@NotNull Object[] row) throws DBException, IOException;
+
+        void exportFooter() throws DBException, IOException;
+
+        /**
+         * Releases the exporter and closes output streams. Invoked even if export fails.
+         */
+        void close();
+    }
+
+    public interface OutputFileFactory {
+
+        /**
+         * Opens the next output file. Invoked by the transfer thread.
+         */
+        @NotNull
+        OutputFile createNextFile() throws DBException, IOException;
+    }
+
+    private final OutputFileFactory fileFactory;
+    private final long rowsPerFile;
+    private final ExecutorService executor;
+    private final Semaphore freeWriters;
+    private volatile Throwable writerError;
+
+    private FileWriter currentWriter;
+    private List<Object[]> rowBlock = new ArrayList<>(ROW_BLOCK_SIZE);
+    private long fileRows;
+
+    public StreamParallelExport(@NotNull OutputFileFactory fileFactory, int writerCount, long rowsPerFile) {
+        this.fileFactory = fileFactory;
+        this.rowsPerFile = Math.max(1, rowsPerFile);
+        this.executor = Executors.newFixedThreadPool(writerCount, r -> {
+            Thread thread = new Thread(r, "Data export writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.freeWriters = new Semaphore(writerCount);
+    }
+
+    public void addRow(@NotNull Object[] row) throws DBException, IOException {
+        checkWriterError();
+        if (currentWriter == null || fileRows >= rowsPerFile) {
+            finishCurrentFile();
+            startNextFile();
+        }
+        rowBlock.add(row);
+        fileRows++;
+        if (rowBlock.size() >= ROW_BLOCK_SIZE) {
+            putBlock();
+        }
+    }
+
+    /**
+     * Waits for all writers. Must be invoked even if transfer fails to release writer threads.
+     */
+    public void finish() throws DBException {
+        try {
+            finishCurrentFile();
+        } finally {
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    log.debug("Wait for data export writers");
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                throw new DBCException("Interrupted while waiting for data export writers", e);
+            }
+        }
+        checkWriterError();
+    }
+
+    private void checkWriterError() throws DBException {
+        Throwable error = writerError;
+        if (error instanceof DBException dbe) {
+            throw dbe;
+        } else if (error != null) {
+            throw new DBException("Error writing output file", error);
+        }
+    }
+
+    private void putBlock() throws DBException {
+        if (!rowBlock.isEmpty()) {
+            currentWriter.put(rowBlock);
+            rowBlock = new ArrayList<>(ROW_BLOCK_SIZE);
+        }
+    }
+
+    private void finishCurrentFile() throws DBException {
+        if (currentWriter != null) {
+            FileWriter writer = currentWriter;
+            try {
+                putBlock();
+            } finally {
+                currentWriter = null;
+                writer.put(END_OF_FILE_BLOCK);
+            }
+        }
+    }
+
+    private void startNextFile() throws DBException, IOException {
+        try {
+            freeWriters.acquire();
+        } catch (InterruptedException e) {
+            throw new DBCException("Interrupted while waiting for data export writer", e);
+        }
+        OutputFile file;
+        try {
+            file = fileFactory.createNextFile();
+        } catch (Throwable e) {
+            freeWriters.release();
+            throw e;
+        }
+        currentWriter = new FileWriter(file);
+        fileRows = 0;
+        executor.execute(currentWriter);
+    }
+
+    private class FileWriter implements Runnable {
+        private final OutputFile file;
+        private final BlockingQueue<List<Object[]>> blocks = new ArrayBlockingQueue<>(MAX_QUEUED_BLOCKS);
+        private volatile boolean finished;
+
+        FileWriter(@NotNull OutputFile file) {
+            this.file = file;
+        }
+
+        /**
+         * Queues rows block, waits while the queue is full.
+         * Blocks are dropped if the writer has already stopped because of an error.
+         */
+        void put(@NotNull List<Object[]> block) throws DBException {
+            try {
+                while (!blocks.offer(block, QUEUE_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                    if (finished) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                throw new DBCException("Interrupted while waiting for data export writer", e);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                file.exportHeader();
+                for (List<Object[]> block = blocks.take(); block != END_OF_FILE_BLOCK; block = blocks.take()) {
+                    if (writerError != null) {
+                        // Another file failed, transfer will be stopped
+                        continue;
+                    }
+                    for (Object[] row : block) {
+                        file.exportRow(row);
+                    }
+                }
+                if (writerError == null) {
+                    file.exportFooter();
+                }
+            } catch (Throwable e) {
+                if (writerError == null) {
+                    writerError = e;
+                }
+            } finally {
+                finished = true;
+                blocks.clear();
+                file.close();
+                freeWriters.release();
+            }
+        }
+    }
+
+}
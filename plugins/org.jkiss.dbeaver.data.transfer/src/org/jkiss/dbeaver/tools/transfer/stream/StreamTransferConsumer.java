@@ -29,6 +29,8 @@ import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.fs.DBFUtils;
+import org.jkiss.dbeaver.model.impl.local.LocalResultSet;
+import org.jkiss.dbeaver.model.impl.local.LocalStatement;
 import org.jkiss.dbeaver.model.meta.DBSerializable;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -55,6 +57,7 @@ import org.jkiss.dbeaver.tools.transfer.serialize.SerializerContext;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings.BlobFileConflictBehavior;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings.ConsumerRuntimeParameters;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings.DataFileConflictBehavior;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterSQL;
 import org.jkiss.dbeaver.utils.ContentUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
@@ -133,8 +136,10 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     private OutputStream outputStream;
     private ZipOutputStream zipStream;
     private PrintWriter writer;
+    private OutputStreamStatProxy statProxy;
     private int multiFileNumber;
-    private long bytesWritten = 0;
+    private long fileRowCount;
+    private StreamParallelExport parallelExport;
 
     private DBDAttributeBinding[] columnMetas;
     private DBDAttributeBinding[] columnBindings;
@@ -197,49 +202,33 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     @Override
     public void fetchRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
         try {
+            if (parallelExport != null) {
+                parallelExport.addRow(makeTargetRow(session, resultSet));
+                return;
+            }
             // Check for file split
             if (settings.isSplitOutFiles() && !parameters.isBinary && !firstRow) {
+                processor.flushRows();
                 writer.flush();
-                if (bytesWritten >= settings.getMaxOutFileSize()) {
+                if (statProxy.getBytesWritten() >= settings.getMaxOutFileSize()) {
                     // First add footer for the previous file
                     exportFooterInFile(session.getProgressMonitor());
+                    if (isParallelExportSupported()) {
+                        // The first file defines the number of rows in the following files
+                        startParallelExport(session);
+                        parallelExport.addRow(makeTargetRow(session, resultSet));
+                        return;
+                    }
                     // Make new file with the header
                     createNewOutFile(session.getProgressMonitor());
                     exportHeaderInFile(session);
+                    fileRowCount = 0;
                 }
             }
 
-            // Get values
-            Object[] srcRow = fetchRow(session, resultSet, columnMetas);
-            Object[] targetRow;
-            targetRow = new Object[columnBindings.length];
-            for (int i = 0; i < columnBindings.length; i++) {
-                DBDAttributeBinding column = columnBindings[i];
-                Object value = DBUtils.getAttributeValue(column, columnMetas, srcRow);
-                if (value instanceof DBDContent) {
-                    // Check for binary type export
-                    if (!ContentUtils.isTextContent((DBDContent) value)) {
-                        switch (settings.getLobExtractType()) {
-                            case SKIP:
-                                // Set it it null
-                                value = null;
-                                break;
-                            case INLINE:
-                                // Just pass content to exporter
-                                break;
-                            case FILES:
-                                if (!settings.isOutputClipboard()) {
-                                    // Save content to file and pass file reference to exporter
-                                    value = saveContentToFile(session.getProgressMonitor(), (DBDContent) value);
-                                }
-                                break;
-                        }
-                    }
-                }
-                targetRow[i] = value;
-            }
             // Export row
-            processor.exportRow(session, resultSet, targetRow);
+            processor.exportRow(session, resultSet, makeTargetRow(session, resultSet));
+            fileRowCount++;
             firstRow = false;
         } catch (IOException e) {
             throw new DBCException("IO error", e);
@@ -248,6 +237,38 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
     }
 
+    private Object[] makeTargetRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBException, IOException {
+        // Get values
+        Object[] srcRow = fetchRow(session, resultSet, columnMetas);
+        Object[] targetRow = new Object[columnBindings.length];
+        for (int i = 0; i < columnBindings.length; i++) {
+            DBDAttributeBinding column = columnBindings[i];
+            Object value = DBUtils.getAttributeValue(column, columnMetas, srcRow);
+            if (value instanceof DBDContent) {
+                // Check for binary type export
+                if (!ContentUtils.isTextContent((DBDContent) value)) {
+                    switch (settings.getLobExtractType()) {
+                        case SKIP:
+                            // Set it it null
+                            value = null;
+                            break;
+                        case INLINE:
+                            // Just pass content to exporter
+                            break;
+                        case FILES:
+                            if (!settings.isOutputClipboard()) {
+                                // Save content to file and pass file reference to exporter
+                                value = saveContentToFile(session.getProgressMonitor(), (DBDContent) value);
+                            }
+                            break;
+                    }
+                }
+            }
+            targetRow[i] = value;
+        }
+        return targetRow;
+    }
+
     private void exportHeaderInFile(@NotNull DBCSession session) throws DBCException {
         try {
             processor.exportHeader(session);
@@ -518,7 +539,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
         // If we need to split files - use stream wrapper to calculate file size
         if (settings.isSplitOutFiles()) {
-            this.outputStream = new OutputStreamStatProxy(this.outputStream);
+            this.outputStream = this.statProxy = new OutputStreamStatProxy(this.outputStream);
         }
 
         // Check for BOM and write it to the stream
@@ -539,9 +560,19 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     }
 
     private void closeOutputStreams() {
+        closeOutputStreams(writer, zipStream, outputStream);
+        zipStream = null;
+        outputStream = null;
+    }
+
+    private static void closeOutputStreams(
+        @Nullable PrintWriter writer,
+        @Nullable ZipOutputStream zipStream,
+        @Nullable OutputStream outputStream
+    ) {
         log.debug("\tClose output stream");
-        if (this.writer != null) {
-            this.writer.flush();
+        if (writer != null) {
+            writer.flush();
         }
 
         // Finish zip stream
@@ -556,7 +587,6 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             } catch (IOException e) {
                 log.debug(e);
             }
-            zipStream = null;
         }
 
         if (outputStream != null) {
@@ -566,14 +596,12 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
                 log.debug(e);
             }
             ContentUtils.close(outputStream);
-            outputStream = null;
         }
     }
 
     private void createNewOutFile(DBRProgressMonitor monitor) throws IOException {
         closeOutputStreams();
 
-        bytesWritten = 0;
         multiFileNumber++;
         outputFile = makeOutputFile(monitor);
         outputFiles.add(outputFile);
@@ -581,6 +609,93 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         openOutputStreams(monitor);
     }
 
+    /**
+     * Split files may be written in parallel only if rows can be exported by independent exporter instances.
+     * LOB contents are bound to the result set and must be read by the transfer thread.
+     * The first file is always written sequentially, following files get the same number of rows,
+     * so their sizes are approximate.
+     * Native value formats of some value handlers (SQL literals) are shared and not thread safe,
+     * so exports in native format and SQL exports are always sequential.
+     */
+    private boolean isParallelExportSupported() {
+        if (!settings.isSplitOutFiles() || settings.getParallelWriters() <= 1 || settings.getMaxOutFileSize() <= 0 ||
+            parameters.isBinary || settings.isOutputClipboard() || settings.isUseSingleFile() || writer == null ||
+            processor instanceof DataExporterSQL || getExportFormat() == DBDDisplayFormat.NATIVE)
+        {
+            return false;
+        }
+        for (DBDAttributeBinding binding : columnBindings) {
+            if (binding.getDataKind() == DBPDataKind.CONTENT) {
+                return false;
+            }
+        }
+        try {
+            processor.getClass().getConstructor();
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+        return true;
+    }
+
+    @NotNull
+    private DBDDisplayFormat getExportFormat() {
+        Object formatProp = processorProperties.get(PROP_FORMAT);
+        if (formatProp != null) {
+            return DBDDisplayFormat.valueOf(formatProp.toString().toUpperCase(Locale.ENGLISH));
+        }
+        return settings.getValueFormat();
+    }
+
+    private void startParallelExport(@NotNull DBCSession session) {
+        closeOutputStreams();
+        parallelExport = new StreamParallelExport(
+            () -> createParallelOutputFile(session),
+            settings.getParallelWriters(),
+            fileRowCount);
+    }
+
+    @NotNull
+    private StreamParallelExport.OutputFile createParallelOutputFile(@NotNull DBCSession session) throws DBException, IOException {
+        DBRProgressMonitor monitor = session.getProgressMonitor();
+        // Open the file on the transfer thread so names and conflict resolution are the same as in the sequential mode
+        multiFileNumber++;
+        outputFile = makeOutputFile(monitor);
+        outputFiles.add(outputFile);
+        openOutputStreams(monitor);
+
+        IStreamDataExporter exporter;
+        try {
+            exporter = processor.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            closeOutputStreams();
+            throw new DBCException("Can't create data exporter", e);
+        }
+        ParallelOutputFile file = new ParallelOutputFile(session, exporter);
+        StreamExportSite site = new StreamExportSite();
+        site.parallelFile = file;
+        try {
+            exporter.init(site);
+        } catch (DBException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+        return file;
+    }
+
+    private void finishParallelExport() {
+        if (parallelExport == null) {
+            return;
+        }
+        try {
+            parallelExport.finish();
+        } catch (Throwable e) {
+            log.error("Error writing output files", e);
+        }
+        parallelExport = null;
+        // Footer of the first file is already exported, so just release the main exporter
+        closeExporter();
+    }
+
     @Override
     public void initTransfer(
         @NotNull DBSObject sourceObject,
@@ -625,6 +740,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
     @Override
     public void finishTransfer(@NotNull DBRProgressMonitor monitor, @Nullable Throwable error, @Nullable DBTTask task, boolean last) {
+        finishParallelExport();
         if (!last && error == null) {
             exportFooterInFile(monitor);
 
@@ -984,6 +1100,10 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     }
 
     private class StreamExportSite implements IStreamDataExporterSite {
+        // Output file of the parallel export, consumer output is used if not set
+        @Nullable
+        private ParallelOutputFile parallelFile;
+
         @Override
         public DBPNamedObject getSource() {
             return dataContainer;
@@ -991,11 +1111,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
         @Override
         public DBDDisplayFormat getExportFormat() {
-            Object formatProp = processorProperties.get(PROP_FORMAT);
-            if (formatProp != null) {
-               return DBDDisplayFormat.valueOf(formatProp.toString().toUpperCase(Locale.ENGLISH));
-            }
-            return settings.getValueFormat();
+            return StreamTransferConsumer.this.getExportFormat();
         }
 
         @Override
@@ -1010,25 +1126,27 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
         @Override
         public OutputStream getOutputStream() {
-            return outputStream;
+            return parallelFile != null ? parallelFile.outputStream : outputStream;
         }
 
         @Nullable
         @Override
         public Path getOutputFile() {
-            return outputFile;
+            return parallelFile != null ? parallelFile.file : outputFile;
         }
 
         @Override
         public PrintWriter getWriter() {
-            return writer;
+            return parallelFile != null ? parallelFile.writer : writer;
         }
 
         @Override
         public void flush() throws IOException {
+            PrintWriter writer = getWriter();
             if (writer != null) {
                 writer.flush();
             }
+            OutputStream outputStream = getOutputStream();
             if (outputStream != null) {
                 outputStream.flush();
             }
@@ -1038,11 +1156,12 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         public void writeBinaryData(@NotNull DBDContentStorage cs) throws IOException {
             if (parameters.isBinary) {
                 try (final InputStream stream = cs.getContentStream()) {
-                    IOUtils.copyStream(stream, exportSite.getOutputStream());
+                    IOUtils.copyStream(stream, getOutputStream());
                 }
             } else {
                 try (final InputStream stream = cs.getContentStream()) {
-                    exportSite.flush();
+                    flush();
+                    final PrintWriter writer = getWriter();
                     final DBPDataSource dataSource = dataContainer.getDataSource();
                     switch (settings.getLobEncoding()) {
                         case BASE64: {
@@ -1098,12 +1217,81 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
     }
 
-    private class OutputStreamStatProxy extends OutputStream {
+    /**
+     * Output file of the parallel export. Takes ownership of the consumer output streams on creation.
+     * Rows are exported with a detached result set, the live one is used by the transfer thread only.
+     * Exporters use the session only to get its data source and progress monitor.
+     */
+    private class ParallelOutputFile implements StreamParallelExport.OutputFile {
+        private final DBCSession session;
+        private final DBCResultSet resultSet;
+        private final IStreamDataExporter exporter;
+        private final Path file;
+        private final OutputStream outputStream;
+        private final ZipOutputStream zipStream;
+        private final PrintWriter writer;
+
+        ParallelOutputFile(@NotNull DBCSession session, @NotNull IStreamDataExporter exporter) {
+            this.session = session;
+            this.resultSet = new LocalResultSet<>(session, new LocalStatement(session, ""));
+            this.exporter = exporter;
+            this.file = StreamTransferConsumer.this.outputFile;
+            this.outputStream = StreamTransferConsumer.this.outputStream;
+            this.zipStream = StreamTransferConsumer.this.zipStream;
+            this.writer = StreamTransferConsumer.this.writer;
+
+            StreamTransferConsumer.this.outputStream = null;
+            StreamTransferConsumer.this.zipStream = null;
+            StreamTransferConsumer.this.statProxy = null;
+            StreamTransferConsumer.this.writer = null;
+        }
+
+        @Override
+        public void exportHeader() throws IOException {
+            try {
+                exporter.exportHeader(session);
+            } catch (DBException e) {
+                log.warn("Error while exporting table header", e);
+            }
+        }
+
+        @Override
+        public void exportRow(@NotNull Object[] row) throws DBException, IOException {
+            exporter.exportRow(session, resultSet, row);
+        }
+
+        @Override
+        public void exportFooter() {
+            try {
+                exporter.exportFooter(session.getProgressMonitor());
+            } catch (Exception e) {
+                log.warn("Error while exporting table footer", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                exporter.dispose();
+            } catch (Exception e) {
+                log.debug(e);
+            }
+            closeOutputStreams(writer, zipStream, outputStream);
+        }
+    }
+
+    private static class OutputStreamStatProxy extends OutputStream {
         private final OutputStream out;
+        private volatile long bytesWritten;
+
         OutputStreamStatProxy(OutputStream outputStream) {
             this.out = outputStream;
         }
 
+        long getBytesWritten() {
+            return bytesWritten;
+        }
+
         @Override
         public void write(int b) throws IOException {
             this.out.write(b);
@@ -0,0 +1,313 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.exporter;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes CSV cells directly into a reusable byte buffer.
+ * <p>
+ * Cell values are scanned for characters which require quoting in a single pass over a lookup table
+ * and ASCII characters are copied to the buffer without a charset encoder. Integral numbers are written
+ * without intermediate strings.
+ * <p>
+ * Encoder is not thread-safe, parallel exporters use an encoder per worker.
+ */
+public class CSVRowEncoder {
+
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    private final Charset charset;
+    private final boolean utf8;
+    private final String delimiter;
+    private final String rowDelimiter;
+    private final byte[] delimiterBytes;
+    private final byte[] rowDelimiterBytes;
+    private final char quoteChar;
+    private final boolean useQuotes;
+    private final boolean quoteAll;
+    // ASCII characters which may require cell quoting
+    private final boolean[] specialChars = new boolean[128];
+    // Digits and minus sign never require quoting
+    private final boolean plainNumbers;
+
+    private final StringBuilder cellBuffer = new StringBuilder();
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int length;
+
+    public CSVRowEncoder(
+        @NotNull Charset charset,
+        @NotNull String delimiter,
+        @NotNull String rowDelimiter,
+        char quoteChar,
+        boolean useQuotes,
+        @NotNull QuoteStrategy quoteStrategy
+    ) {
+        this.charset = charset;
+        this.utf8 = StandardCharsets.UTF_8.equals(charset);
+        this.delimiter = delimiter;
+        this.rowDelimiter = rowDelimiter;
+        this.delimiterBytes = delimiter.getBytes(charset);
+        this.rowDelimiterBytes = rowDelimiter.getBytes(charset);
+        this.quoteChar = quoteChar;
+        this.useQuotes = useQuotes;
+        this.quoteAll = quoteStrategy == QuoteStrategy.ALL;
+
+        specialChars['\r'] = true;
+        specialChars['\n'] = true;
+        specialChars[quoteChar] = true;
+        specialChars[delimiter.charAt(0)] = true;
+        specialChars[rowDelimiter.charAt(0)] = true;
+        boolean plainNumbers = !specialChars['-'];
+        for (char c = '0'; c <= '9'; c++) {
+            plainNumbers &= !specialChars[c];
+        }
+        this.plainNumbers = plainNumbers;
+    }
+
+    /**
+     * Checks that the encoder can produce the same output as a character writer with the specified settings.
+     * Charset must encode ASCII characters as is, delimiters and quote character must be ASCII.
+     */
+    public static boolean isSupported(@NotNull Charset charset, @NotNull String delimiter, @NotNull String rowDelimiter, char quoteChar) {
+        if (delimiter.isEmpty() || rowDelimiter.isEmpty() || !isAscii(delimiter) || !isAscii(rowDelimiter) || quoteChar >= 128) {
+            return false;
+        }
+        if (!charset.canEncode()) {
+            return false;
+        }
+        char[] ascii = new char[128];
+        for (char c = 0; c < ascii.length; c++) {
+            ascii[c] = c;
+        }
+        byte[] bytes = new String(ascii).getBytes(charset);
+        if (bytes.length != ascii.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reusable buffer for cell value formatting
+     */
+    @NotNull
+    public StringBuilder getCellBuffer() {
+        return cellBuffer;
+    }
+
+    /**
+     * Appends cell value. Value is quoted if required by quote strategy or if it contains quotes, delimiters or line feeds.
+     */
+    public void appendCell(@NotNull CharSequence value, boolean quote) {
+        int valueLength = value.length();
+        if (!useQuotes) {
+            appendChars(value, 0, valueLength);
+            return;
+        }
+        boolean hasQuotes = false;
+        boolean hasSpecialChars = false;
+        for (int i = 0; i < valueLength; i++) {
+            char c = value.charAt(i);
+            if (c < 128 && specialChars[c]) {
+                if (c == quoteChar) {
+                    hasQuotes = true;
+                } else if (c == '\r' || c == '\n' || matchesAt(value, i, delimiter) || matchesAt(value, i, rowDelimiter)) {
+                    hasSpecialChars = true;
+                }
+            }
+        }
+        if (quoteAll || valueLength == 0 || hasQuotes || hasSpecialChars) {
+            quote = true;
+        }
+        if (!quote) {
+            appendChars(value, 0, valueLength);
+            return;
+        }
+        appendByte(quoteChar);
+        if (hasQuotes) {
+            // escape quotes with double quotes
+            int start = 0;
+            for (int i = 0; i < valueLength; i++) {
+                if (value.charAt(i) == quoteChar) {
+                    appendChars(value, start, i + 1);
+                    appendByte(quoteChar);
+                    start = i + 1;
+                }
+            }
+            appendChars(value, start, valueLength);
+        } else {
+            appendChars(value, 0, valueLength);
+        }
+        appendByte(quoteChar);
+    }
+
+    /**
+     * Appends integral number cell
+     */
+    public void appendLong(long value, boolean quote) {
+        if ((useQuotes && (quote || quoteAll)) || !plainNumbers || value == Long.MIN_VALUE) {
+            cellBuffer.setLength(0);
+            cellBuffer.append(value);
+            appendCell(cellBuffer, quote);
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+        int digitCount = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digitCount++;
+        }
+        int pos = length + digitCount;
+        length = pos;
+        do {
+            buffer[--pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+    }
+
+    public void appendDelimiter() {
+        appendBytes(delimiterBytes);
+    }
+
+    public void appendRowDelimiter() {
+        appendBytes(rowDelimiterBytes);
+    }
+
+    /**
+     * Number of encoded bytes
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Writes encoded bytes to the stream and resets the buffer
+     */
+    public void writeTo(@NotNull OutputStream stream) throws IOException {
+        stream.write(buffer, 0, length);
+        length = 0;
+    }
+
+    public void reset() {
+        length = 0;
+    }
+
+    private void appendChars(@NotNull CharSequence value, int start, int end) {
+        ensureCapacity(end - start);
+        byte[] buffer = this.buffer;
+        int length = this.length;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= 128) {
+                this.length = length;
+                appendNonAscii(value, i, end);
+                return;
+            }
+            buffer[length++] = (byte) c;
+        }
+        this.length = length;
+    }
+
+    private void appendNonAscii(@NotNull CharSequence value, int start, int end) {
+        if (!utf8) {
+            appendBytes(value.subSequence(start, end).toString().getBytes(charset));
+            return;
+        }
+        // Surrogate pair takes 4 bytes, all other characters take at most 3 bytes
+        ensureCapacity((end - start) * 3);
+        byte[] buffer = this.buffer;
+        int length = this.length;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer[length++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[length++] = (byte) (0xc0 | (c >> 6));
+                buffer[length++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[length++] = (byte) (0xf0 | (codePoint >> 18));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                buffer[length++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                // Malformed surrogate, replaced the same way as the stream encoder does
+                buffer[length++] = '?';
+            } else {
+                buffer[length++] = (byte) (0xe0 | (c >> 12));
+                buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buffer[length++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        this.length = length;
+    }
+
+    private void appendByte(char c) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) c;
+    }
+
+    private void appendBytes(@NotNull byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void ensureCapacity(int extraLength) {
+        if (length + extraLength > buffer.length) {
+            byte[] newBuffer = new byte[Math.max(length + extraLength, buffer.length * 2)];
+            System.arraycopy(buffer, 0, newBuffer, 0, length);
+            buffer = newBuffer;
+        }
+    }
+
+    private static boolean matchesAt(@NotNull CharSequence value, int offset, @NotNull String str) {
+        int strLength = str.length();
+        if (offset + strLength > value.length()) {
+            return false;
+        }
+        for (int i = 0; i < strLength; i++) {
+            if (value.charAt(offset + i) != str.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAscii(@NotNull String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) >= 128) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -18,6 +18,7 @@ package org.jkiss.dbeaver.tools.transfer.stream.exporter;
 
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.DBDContent;
@@ -26,6 +27,7 @@ import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.DBExecUtils;
+import org.jkiss.dbeaver.model.impl.data.ProxyValueHandler;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.tools.transfer.DTUtils;
@@ -37,18 +39,31 @@ import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.Reader;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * CSV Exporter
  */
 public class DataExporterCSV extends StreamExporterAbstract implements IAppendableDataExporter {
 
+    private static final Log log = Log.getLog(DataExporterCSV.class);
+
     private static final String PROP_DELIMITER = "delimiter";
     private static final String PROP_ROW_DELIMITER = "rowDelimiter";
     private static final String PROP_HEADER = "header";
@@ -61,6 +76,11 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
     private static final String PROP_FORMAT_NUMBERS = "formatNumbers";
 
     private static final String DEF_QUOTE_CHAR = "\"";
+    // Rows of simple values are encoded to bytes by batches
+    private static final int ROW_BATCH_SIZE = 2048;
+    // Minimal number of rows encoded by one worker
+    private static final int MIN_WORKER_ROWS = 256;
+    private static final int MAX_WORKERS = 8;
     private boolean formatNumbers;
 
     enum HeaderPosition {
@@ -90,6 +110,17 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
     private DBDAttributeBinding[] columns;
 
     private final StringBuilder buffer = new StringBuilder();
+    private final StringBuilder cellBuffer = new StringBuilder();
+    private char[] writeBuffer = new char[256];
+
+    // Byte stream fast path. Encoders are null if output is not a byte stream or settings are not supported.
+    private CSVRowEncoder[] encoders;
+    private Object[][] rowBatch;
+    private int rowBatchSize;
+    private boolean[] integralColumns;
+    private boolean writerDirty;
+    // Encodes parts of large batches, created on demand
+    private ExecutorService encoderExecutor;
 
     @Override
     public void init(IStreamDataExporterSite site) throws DBException
@@ -126,11 +157,43 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
             case "lower" -> DBPIdentifierCase.LOWER;
             default -> DBPIdentifierCase.UPPER;
         };
+        initEncoders(site);
+    }
+
+    private void initEncoders(IStreamDataExporterSite site) {
+        encoders = null;
+        if (site.getOutputStream() == null || CommonUtils.isEmpty(site.getOutputEncoding())) {
+            return;
+        }
+        Charset charset;
+        try {
+            charset = Charset.forName(site.getOutputEncoding());
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        if (!CSVRowEncoder.isSupported(charset, delimiter, rowDelimiter, quoteChar)) {
+            return;
+        }
+        encoders = new CSVRowEncoder[Math.max(1, Math.min(MAX_WORKERS, Runtime.getRuntime().availableProcessors()))];
+        for (int i = 0; i < encoders.length; i++) {
+            encoders[i] = new CSVRowEncoder(charset, delimiter, rowDelimiter, quoteChar, useQuotes, quoteStrategy);
+        }
+        rowBatch = new Object[ROW_BATCH_SIZE][];
+        rowBatchSize = 0;
     }
 
     @Override
     public void dispose()
     {
+        try {
+            flushRowBatch();
+        } catch (IOException e) {
+            log.error("Error writing exported rows", e);
+        }
+        if (encoderExecutor != null) {
+            encoderExecutor.shutdownNow();
+            encoderExecutor = null;
+        }
         super.dispose();
     }
 
@@ -146,6 +209,14 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
     public void exportHeader(DBCSession session) throws DBException, IOException
     {
         columns = getSite().getAttributes();
+        integralColumns = new boolean[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            // Integral numbers are written by encoder if value handler would render them as is
+            DBDAttributeBinding column = columns[i];
+            integralColumns[i] = column.getDataKind() == DBPDataKind.NUMERIC &&
+                getValueExportFormat(column) == DBDDisplayFormat.NATIVE &&
+                !(column.getValueHandler() instanceof ProxyValueHandler);
+        }
         if (headerPosition == HeaderPosition.top || headerPosition == HeaderPosition.both) {
             if (headerFormat != HeaderFormat.label) {
                 DBSEntity srcEntity = DBUtils.getAdapter(DBSEntity.class, getSite().getSource());
@@ -157,6 +228,7 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
 
     private void printHeader()
     {
+        writerDirty = true;
         for (int i = 0, columnsSize = columns.length; i < columnsSize; i++) {
             DBDAttributeBinding column = columns[i];
             String colName = column.getName();
@@ -191,6 +263,17 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
     @Override
     public void exportRow(DBCSession session, DBCResultSet resultSet, Object[] row) throws DBException, IOException
     {
+        if (encoders != null) {
+            if (isSimpleRow(row)) {
+                rowBatch[rowBatchSize++] = row;
+                if (rowBatchSize == rowBatch.length) {
+                    flushRowBatch();
+                }
+                return;
+            }
+            flushRowBatch();
+            writerDirty = true;
+        }
         for (int i = 0; i < row.length && i < columns.length; i++) {
             DBDAttributeBinding column = columns[i];
             if (row[i] instanceof DBDContent) {
@@ -213,27 +296,10 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
                     DTUtils.closeContents(resultSet, content);
                 }
             } else {
-                String stringValue = super.getValueDisplayString(column, row[i]);
-                boolean quote = false;
-
-                if (quoteStrategy == QuoteStrategy.DISABLED) {
-                    if (!stringValue.isEmpty() && !(row[i] instanceof Number) && !(row[i] instanceof Date) && Character.isDigit(stringValue.charAt(0))) {
-                        // Quote string values which starts from number
-                        quote = true;
-                    }
-                } else if (quoteStrategy == QuoteStrategy.STRINGS) {
-                    if (!stringValue.isEmpty() && !(row[i] instanceof Number) && !(row[i] instanceof Date)) {
-                        quote = true;
-                    }
-                } else if (quoteStrategy == QuoteStrategy.ALL_BUT_NUMBERS) {
-                    if (!(row[i] instanceof Number)) {
-                        quote = true;
-                    }
-                } else if (quoteStrategy == QuoteStrategy.ALL_BUT_NULLS) {
-                    if (!DBUtils.isNullValue(row[i])) {
-                        quote = true;
-                    }
-                }
+                cellBuffer.setLength(0);
+                appendValueDisplayString(column, row[i], cellBuffer);
+                CharSequence stringValue = cellBuffer;
+                boolean quote = isQuoteRequired(row[i], stringValue);
                 if (DBUtils.isNullValue(row[i])) {
                     if (CommonUtils.isNotEmpty(nullString)) {
                         writeCellValue(nullString, quote);
@@ -249,8 +315,148 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
         writeRowLimit();
     }
 
+    private boolean isQuoteRequired(Object value, CharSequence stringValue) {
+        if (quoteStrategy == QuoteStrategy.DISABLED) {
+            // Quote string values which starts from number
+            return !stringValue.isEmpty() && !(value instanceof Number) && !(value instanceof Date) && Character.isDigit(stringValue.charAt(0));
+        } else if (quoteStrategy == QuoteStrategy.STRINGS) {
+            return !stringValue.isEmpty() && !(value instanceof Number) && !(value instanceof Date);
+        } else if (quoteStrategy == QuoteStrategy.ALL_BUT_NUMBERS) {
+            return !(value instanceof Number);
+        } else if (quoteStrategy == QuoteStrategy.ALL_BUT_NULLS) {
+            return !DBUtils.isNullValue(value);
+        }
+        return false;
+    }
+
+    /**
+     * Simple values are immutable and their value handlers are thread-safe, so such rows may be encoded later in parallel
+     */
+    private static boolean isSimpleRow(Object[] row) {
+        for (Object value : row) {
+            if (value != null && !(value instanceof String) && !(value instanceof Number) && !(value instanceof Boolean) &&
+                !(value instanceof Date) && !(value instanceof Temporal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void flushRows() throws IOException {
+        flushRowBatch();
+    }
+
+    /**
+     * Encodes batched rows and writes them to the output stream in the original order.
+     * Large batches are split between several encoders which work in parallel in the exporter's own threads.
+     */
+    private void flushRowBatch() throws IOException {
+        if (encoders == null || rowBatchSize == 0) {
+            return;
+        }
+        OutputStream out = getOutputStream();
+        if (writerDirty) {
+            getWriter().flush();
+            writerDirty = false;
+        }
+        int rowCount = rowBatchSize;
+        int workerCount = Math.max(1, Math.min(encoders.length, rowCount / MIN_WORKER_ROWS));
+        if (workerCount == 1) {
+            encodeRows(encoders[0], 0, rowCount);
+        } else {
+            int workerRows = (rowCount + workerCount - 1) / workerCount;
+            if (encoderExecutor == null) {
+                encoderExecutor = Executors.newFixedThreadPool(encoders.length - 1, r -> {
+                    Thread thread = new Thread(r, "CSV rows encoder");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            List<Future<?>> results = new ArrayList<>(workerCount - 1);
+            for (int worker = 1; worker < workerCount; worker++) {
+                CSVRowEncoder encoder = encoders[worker];
+                int fromRow = worker * workerRows;
+                int toRow = Math.min(rowCount, fromRow + workerRows);
+                results.add(encoderExecutor.submit(() -> encodeRows(encoder, fromRow, toRow)));
+            }
+            try {
+                encodeRows(encoders[0], 0, workerRows);
+            } finally {
+                waitForEncoders(results);
+            }
+        }
+        Arrays.fill(rowBatch, 0, rowCount, null);
+        rowBatchSize = 0;
+        for (int i = 0; i < workerCount; i++) {
+            encoders[i].writeTo(out);
+        }
+    }
+
+    /**
+     * Encoders share the row batch, so all of them must finish before the batch is reused
+     */
+    private static void waitForEncoders(List<Future<?>> results) throws IOException {
+        IOException error = null;
+        boolean interrupted = false;
+        for (Future<?> result : results) {
+            while (true) {
+                try {
+                    result.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (error == null) {
+                        error = new IOException("Error encoding exported rows", e.getCause());
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            if (error == null) {
+                error = new InterruptedIOException("Rows encoding was interrupted");
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void encodeRows(CSVRowEncoder encoder, int fromRow, int toRow) {
+        StringBuilder cellBuffer = encoder.getCellBuffer();
+        for (int rowIndex = fromRow; rowIndex < toRow; rowIndex++) {
+            Object[] row = rowBatch[rowIndex];
+            for (int i = 0; i < row.length && i < columns.length; i++) {
+                Object value = row[i];
+                if (integralColumns[i] &&
+                    (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)) {
+                    encoder.appendLong(((Number) value).longValue(), quoteStrategy == QuoteStrategy.ALL_BUT_NULLS);
+                } else {
+                    cellBuffer.setLength(0);
+                    appendValueDisplayString(columns[i], value, cellBuffer);
+                    boolean quote = isQuoteRequired(value, cellBuffer);
+                    if (value == null) {
+                        if (CommonUtils.isNotEmpty(nullString)) {
+                            encoder.appendCell(nullString, quote);
+                        }
+                    } else {
+                        encoder.appendCell(cellBuffer, quote);
+                    }
+                }
+                if (i < row.length - 1) {
+                    encoder.appendDelimiter();
+                }
+            }
+            encoder.appendRowDelimiter();
+        }
+    }
+
     @Override
-    public void exportFooter(DBRProgressMonitor monitor) {
+    public void exportFooter(DBRProgressMonitor monitor) throws IOException {
+        flushRowBatch();
         if (headerPosition == HeaderPosition.bottom || headerPosition == HeaderPosition.both) {
             printHeader();
         }
@@ -271,22 +477,22 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
         return false;
     }
 
-    private void writeCellValue(String value, boolean quote)
+    private void writeCellValue(CharSequence value, boolean quote)
     {
         if (!useQuotes) {
             quote = false;
         }
         // check for needed quote
-        final boolean hasQuotes = useQuotes && value.indexOf(quoteChar) != -1;
+        final boolean hasQuotes = useQuotes && indexOf(value, quoteChar) != -1;
 
         if (quoteStrategy == QuoteStrategy.ALL || (useQuotes && value.isEmpty())) {
             quote = true;
         } else if (!quote) {
             if (hasQuotes ||
-                value.contains(delimiter) ||
-                value.indexOf('\r') != -1 ||
-                value.indexOf('\n') != -1 ||
-                value.contains(rowDelimiter))
+                contains(value, delimiter) ||
+                indexOf(value, '\r') != -1 ||
+                indexOf(value, '\n') != -1 ||
+                contains(value, rowDelimiter))
             {
                 quote = true;
             }
@@ -302,14 +508,52 @@ public class DataExporterCSV extends StreamExporterAbstract implements IAppendab
                 }
                 buffer.append(c);
             }
-            value = buffer.toString();
+            value = buffer;
         }
         PrintWriter out = getWriter();
         if (quote && useQuotes) out.write(quoteChar);
-        out.write(value);
+        writeChars(out, value);
         if (quote && useQuotes) out.write(quoteChar);
     }
 
+    private void writeChars(PrintWriter out, CharSequence value) {
+        if (value instanceof String) {
+            out.write((String) value);
+            return;
+        }
+        // Copy through the reusable char buffer to avoid creating a string per cell
+        int length = value.length();
+        if (writeBuffer.length < length) {
+            writeBuffer = new char[Math.max(length, writeBuffer.length * 2)];
+        }
+        if (value instanceof StringBuilder) {
+            ((StringBuilder) value).getChars(0, length, writeBuffer, 0);
+        } else {
+            for (int i = 0; i < length; i++) {
+                writeBuffer[i] = value.charAt(i);
+            }
+        }
+        out.write(writeBuffer, 0, length);
+    }
+
+    private static int indexOf(CharSequence value, char c) {
+        for (int i = 0, length = value.length(); i < length; i++) {
+            if (value.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean contains(CharSequence value, String str) {
+        if (value instanceof String) {
+            return ((String) value).contains(str);
+        } else if (value instanceof StringBuilder) {
+            return ((StringBuilder) value).indexOf(str) != -1;
+        }
+        return value.toString().contains(str);
+    }
+
     private void writeCellValue(Reader reader) throws IOException
     {
         try {
@@ -19,63 +19,98 @@ package org.jkiss.dbeaver.tools.transfer.transformers;
 import org.apache.commons.jexl3.JexlContext;
 import org.apache.commons.jexl3.JexlExpression;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.json.JSONUtils;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.virtual.DBVCompiledExpression;
 import org.jkiss.dbeaver.model.virtual.DBVUtils;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferAttributeTransformer;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Expression attribute transformer
+ * Expression attribute transformer.
+ * Expression is compiled for the source attributes once. JEXL is used for expressions which can't be compiled
+ * and for rows which compiled expression can't evaluate with JEXL semantics.
  */
 public class DataTransferTransformerExpression implements IDataTransferAttributeTransformer {
 
     private JexlExpression jexlExpression;
 
+    // Attributes the expression was bound to
+    private DBDAttributeBinding[] boundAttributes;
+    @Nullable
+    private DBVCompiledExpression compiledExpression;
+    private Map<String, DBDAttributeBinding> attributesByName;
+
     @Override
     public Object transformAttribute(@NotNull DBCSession session, @NotNull DBDAttributeBinding[] dataAttributes, @NotNull Object[] dataRow, @NotNull DBDAttributeBinding attribute, Object attrValue, @NotNull Map<String, Object> options) throws DBException {
+        if (dataAttributes != boundAttributes) {
+            bindAttributes(dataAttributes, options);
+        }
+        if (compiledExpression != null) {
+            try {
+                return compiledExpression.evaluate(dataRow);
+            } catch (DBVCompiledExpression.FallbackException e) {
+                // Values need JEXL coercions
+            }
+        }
+
         JexlExpression jexlExpression = getJexlExpression(options);
 
-        JexlContext context = new VariablesContext(session, dataAttributes, dataRow);
+        JexlContext context = new VariablesContext(attributesByName, dataAttributes, dataRow);
 
         return jexlExpression.evaluate(context);
     }
 
     public JexlExpression getJexlExpression(Map<String, Object> options) throws DBCException {
         if (jexlExpression == null) {
-            String expr = JSONUtils.getString(options, "expression");
-            if (expr == null) {
-                throw new DBCException("Expression property not specified");
-            }
-            jexlExpression = DBVUtils.parseExpression(expr);
+            jexlExpression = DBVUtils.parseExpression(getExpressionText(options));
         }
 
         return jexlExpression;
     }
 
+    private void bindAttributes(@NotNull DBDAttributeBinding[] dataAttributes, @NotNull Map<String, Object> options) throws DBCException {
+        attributesByName = new HashMap<>(dataAttributes.length);
+        for (DBDAttributeBinding dataAttribute : dataAttributes) {
+            attributesByName.putIfAbsent(dataAttribute.getName(), dataAttribute);
+        }
+        compiledExpression = DBVUtils.compileDataExpression(getExpressionText(options), dataAttributes, false, null);
+        boundAttributes = dataAttributes;
+    }
+
+    @NotNull
+    private static String getExpressionText(@NotNull Map<String, Object> options) throws DBCException {
+        String expr = JSONUtils.getString(options, "expression");
+        if (expr == null) {
+            throw new DBCException("Expression property not specified");
+        }
+        return expr;
+    }
+
     private static class VariablesContext implements JexlContext {
 
-        private final DBCSession session;
+        private final Map<String, DBDAttributeBinding> attributesByName;
         private final DBDAttributeBinding[] dataAttributes;
         private final Object[] dataRow;
 
-        public VariablesContext(DBCSession session, DBDAttributeBinding[] dataAttributes, Object[] dataRow) {
-            this.session = session;
+        public VariablesContext(Map<String, DBDAttributeBinding> attributesByName, DBDAttributeBinding[] dataAttributes, Object[] dataRow) {
+            this.attributesByName = attributesByName;
             this.dataAttributes = dataAttributes;
             this.dataRow = dataRow;
         }
 
         @Override
         public Object get(String s) {
-            for (DBDAttributeBinding attribute : dataAttributes) {
-                if (attribute.getName().equals(s)) {
-                    return DBUtils.getAttributeValue(attribute, dataAttributes, dataRow);
-                }
+            DBDAttributeBinding attribute = attributesByName.get(s);
+            if (attribute != null) {
+                return DBUtils.getAttributeValue(attribute, dataAttributes, dataRow);
             }
 
             return null;
@@ -88,13 +123,7 @@ public class DataTransferTransformerExpression implements IDataTransferAttribute
 
         @Override
         public boolean has(String s) {
-            for (DBDAttributeBinding attribute : dataAttributes) {
-                if (attribute.getName().equals(s)) {
-                    return true;
-                }
-            }
-
-            return false;
+            return attributesByName.containsKey(s);
         }
     }
 
@@ -21,22 +21,29 @@ import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
+import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.dpi.model.DPIContext;
 import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.DBCStatement;
 import org.jkiss.dbeaver.model.impl.dpi.DPIResultSet;
 import org.jkiss.dbeaver.model.impl.dpi.DPIResultSetColumn;
-import org.jkiss.dbeaver.model.impl.dpi.DPIServerSmartProxyDataReceiver;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
+/**
+ * Result set is sent with column metadata and the first rows chunk.
+ * If there are more rows then the server cursor id is sent and client reads the rest of rows chunk by chunk.
+ */
 public class DPIResultSetAdapter extends AbstractTypeAdapter<DBCResultSet> {
     private static final String META = "meta";
     private static final String SESSION = "session";
     private static final String STATEMENT = "statement";
-    private static final String ROWS = "rows";
+    private static final String CHUNKS = "chunks";
+    private static final String CURSOR = "cursor";
     private final Gson gson;
 
     public DPIResultSetAdapter(DPIContext context, Gson gson) {
@@ -47,18 +54,39 @@ public class DPIResultSetAdapter extends AbstractTypeAdapter<DBCResultSet> {
     @Override
     public void write(JsonWriter jsonWriter, DBCResultSet resultSet) throws IOException {
         DPIResultSet dpiResultSet;
+        List<String> chunks = new ArrayList<>();
+        String cursorId = null;
         if (resultSet instanceof DPIResultSet) {
+            // Rows were already collected by data receiver
             dpiResultSet = (DPIResultSet) resultSet;
+            DPIRowCodec codec = new DPIRowCodec(gson);
+            List<Object[]> rows;
+            try {
+                rows = dpiResultSet.getAllRows();
+            } catch (DBException e) {
+                throw new IOException("Failed to fetch data from result set: " + e.getMessage(), e);
+            }
+            for (Object[] row : rows) {
+                codec.writeRow(row);
+                if (codec.isChunkFull()) {
+                    chunks.add(Base64.getEncoder().encodeToString(codec.finishChunk()));
+                }
+            }
+            if (codec.getRowCount() > 0) {
+                chunks.add(Base64.getEncoder().encodeToString(codec.finishChunk()));
+            }
         } else {
-            try (var dataReceiver = new DPIServerSmartProxyDataReceiver()) {
-                DBCSession session = resultSet.getSession();
-                dataReceiver.fetchStart(session, resultSet, 0, 0);
-                while (resultSet.nextRow()) {
-                    dataReceiver.fetchRow(session, resultSet);
+            try {
+                DPIResultSetCursor cursor = new DPIResultSetCursor(context, gson, resultSet);
+                dpiResultSet = cursor.getResultSet();
+                String firstChunk = cursor.fetchChunk();
+                if (firstChunk != null) {
+                    chunks.add(firstChunk);
+                }
+                if (cursor.hasMoreRows()) {
+                    cursorId = context.getOrCreateObjectId(cursor);
                 }
-                dataReceiver.fetchEnd(session, resultSet);
-                dpiResultSet = dataReceiver.getDpiResultSet();
-            } catch (Exception e) {
+            } catch (DBException e) {
                 throw new IOException("Failed to fetch data from result set: " + e.getMessage(), e);
             }
         }
@@ -70,8 +98,16 @@ public class DPIResultSetAdapter extends AbstractTypeAdapter<DBCResultSet> {
         jsonWriter.value(gson.toJson(dpiResultSet.getSession()));
         jsonWriter.name(STATEMENT);
         jsonWriter.value(gson.toJson(dpiResultSet.getSourceStatement()));
-        jsonWriter.name(ROWS);
-        jsonWriter.value(gson.toJson(dpiResultSet.getAllRows()));
+        jsonWriter.name(CHUNKS);
+        jsonWriter.beginArray();
+        for (String chunk : chunks) {
+            jsonWriter.value(chunk);
+        }
+        jsonWriter.endArray();
+        if (cursorId != null) {
+            jsonWriter.name(CURSOR);
+            jsonWriter.value(cursorId);
+        }
 
         jsonWriter.endObject();
     }
@@ -81,7 +117,8 @@ public class DPIResultSetAdapter extends AbstractTypeAdapter<DBCResultSet> {
         DBCSession session = null;
         DBCStatement statement = null;
         List<DPIResultSetColumn> meta = null;
-        List<Object[]> rows = null;
+        List<String> chunks = new ArrayList<>();
+        String cursorId = null;
         jsonReader.beginObject();
         while (jsonReader.peek() == JsonToken.NAME) {
             String attrName = jsonReader.nextName();
@@ -99,17 +136,23 @@ public class DPIResultSetAdapter extends AbstractTypeAdapter<DBCResultSet> {
                 case STATEMENT:
                     statement = gson.fromJson(jsonReader.nextString(), DBCStatement.class);
                     break;
-                case ROWS:
-                    rows = gson.fromJson(
-                        jsonReader.nextString(),
-                        new TypeToken<List<Object[]>>() {
-                        }.getType()
-                    );
+                case CHUNKS:
+                    jsonReader.beginArray();
+                    while (jsonReader.hasNext()) {
+                        chunks.add(jsonReader.nextString());
+                    }
+                    jsonReader.endArray();
+                    break;
+                case CURSOR:
+                    cursorId = jsonReader.nextString();
+                    break;
+                default:
+                    jsonReader.skipValue();
                     break;
             }
         }
         jsonReader.endObject();
 
-        return new DPIResultSet(session, statement, meta, rows);
+        return new DPIResultSet(session, statement, meta, new DPIResultSetRowReader(context, gson, chunks, cursorId));
     }
 }
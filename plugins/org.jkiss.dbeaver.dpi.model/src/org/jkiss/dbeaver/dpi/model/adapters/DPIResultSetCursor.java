@@ -0,0 +1,126 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.dpi.model.adapters;
+
+import com.google.gson.Gson;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.dpi.model.DPIContext;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.dpi.DPIResultSet;
+import org.jkiss.dbeaver.model.impl.dpi.DPIServerSmartProxyDataReceiver;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Server side cursor of a detached result set.
+ * <p>
+ * Rows are read from the original result set only when the client requests the next chunk,
+ * so the server never keeps more than one chunk in memory and the client controls the fetch speed.
+ * Cursor is registered in the DPI context while it has more rows, client reads it with
+ * {@link #fetchChunk()} method calls.
+ */
+public class DPIResultSetCursor {
+
+    private static final Log log = Log.getLog(DPIResultSetCursor.class);
+
+    private final DPIContext context;
+    private final DBCResultSet resultSet;
+    private final DBCSession session;
+    private final DPIServerSmartProxyDataReceiver dataReceiver = new DPIServerSmartProxyDataReceiver();
+    private final DPIRowCodec codec;
+    private boolean hasMoreRows = true;
+
+    public DPIResultSetCursor(@NotNull DPIContext context, @NotNull Gson gson, @NotNull DBCResultSet resultSet) throws DBCException {
+        this.context = context;
+        this.resultSet = resultSet;
+        this.session = resultSet.getSession();
+        this.codec = new DPIRowCodec(gson);
+        dataReceiver.fetchStart(session, resultSet, 0, 0);
+    }
+
+    /**
+     * Result set with columns metadata, rows are not included
+     */
+    @NotNull
+    public DPIResultSet getResultSet() {
+        return dataReceiver.getDpiResultSet();
+    }
+
+    public boolean hasMoreRows() {
+        return hasMoreRows;
+    }
+
+    /**
+     * Reads next rows and returns them in encoded form. Returns null when there are no more rows.
+     */
+    @Nullable
+    public synchronized String fetchChunk() throws DBException {
+        if (!hasMoreRows) {
+            return null;
+        }
+        List<Object[]> rows = dataReceiver.getDpiResultSet().getAllRows();
+        byte[] chunk;
+        try {
+            while (!codec.isChunkFull()) {
+                if (!resultSet.nextRow()) {
+                    hasMoreRows = false;
+                    break;
+                }
+                dataReceiver.fetchRow(session, resultSet);
+                for (Object[] row : rows) {
+                    codec.writeRow(row);
+                }
+                rows.clear();
+            }
+            chunk = codec.finishChunk();
+        } catch (IOException e) {
+            close();
+            throw new DBException("Error encoding result set rows", e);
+        } catch (DBException e) {
+            close();
+            throw e;
+        }
+        if (!hasMoreRows) {
+            close();
+        }
+        return chunk.length == 0 ? null : Base64.getEncoder().encodeToString(chunk);
+    }
+
+    /**
+     * Closes the original result set and removes cursor from the context
+     */
+    public synchronized void close() {
+        hasMoreRows = false;
+        try {
+            dataReceiver.fetchEnd(session, resultSet);
+        } catch (DBCException e) {
+            log.debug(e);
+        }
+        resultSet.close();
+        String cursorId = context.getObjectId(this);
+        if (cursorId != null) {
+            context.pruneObject(cursorId);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.dpi.model.adapters;
+
+import com.google.gson.Gson;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.dpi.model.DPIContext;
+import org.jkiss.dbeaver.model.dpi.DPIController;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.impl.dpi.DPIResultSetRowSource;
+import org.jkiss.utils.CommonUtils;
+import org.jkiss.utils.rest.RestProxy;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Client side reader of detached result set rows.
+ * Decodes chunks received with the result set, then requests next chunks from the server cursor.
+ */
+public class DPIResultSetRowReader implements DPIResultSetRowSource {
+
+    private static final Log log = Log.getLog(DPIResultSetRowReader.class);
+
+    private final DPIContext context;
+    private final DPIRowCodec codec;
+    private final Deque<String> chunks;
+    @Nullable
+    private String cursorId;
+
+    public DPIResultSetRowReader(@NotNull DPIContext context, @NotNull Gson gson, @NotNull List<String> chunks, @Nullable String cursorId) {
+        this.context = context;
+        this.codec = new DPIRowCodec(gson);
+        this.chunks = new ArrayDeque<>(chunks);
+        this.cursorId = cursorId;
+    }
+
+    @Nullable
+    @Override
+    public List<Object[]> nextRows() throws DBCException {
+        String chunk = chunks.poll();
+        if (chunk == null && cursorId != null) {
+            chunk = fetchChunk(cursorId);
+            if (chunk == null) {
+                // Cursor is closed by server after the last chunk
+                cursorId = null;
+            }
+        }
+        if (CommonUtils.isEmpty(chunk)) {
+            return null;
+        }
+        try {
+            return codec.readChunk(Base64.getDecoder().decode(chunk));
+        } catch (IOException e) {
+            throw new DBCException("Error decoding result set rows", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        chunks.clear();
+        if (cursorId != null) {
+            try {
+                getController().callMethod(cursorId, "close", null);
+            } catch (DBException e) {
+                log.debug("Error closing detached result set cursor", e);
+            }
+            cursorId = null;
+        }
+    }
+
+    @Nullable
+    private String fetchChunk(@NotNull String cursorId) throws DBCException {
+        try {
+            DPIController controller = getController();
+            if (controller instanceof RestProxy restProxy) {
+                restProxy.setNextCallResultType(String.class);
+            }
+            return (String) controller.callMethod(cursorId, "fetchChunk", null);
+        } catch (DBException e) {
+            throw new DBCException("Error reading result set rows", e);
+        }
+    }
+
+    @NotNull
+    private DPIController getController() throws DBException {
+        DPIController controller = context.getDpiController();
+        if (controller == null) {
+            throw new DBException("No DPI controller in client context");
+        }
+        return controller;
+    }
+}
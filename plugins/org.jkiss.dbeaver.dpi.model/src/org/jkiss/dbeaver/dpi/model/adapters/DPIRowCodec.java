@@ -0,0 +1,269 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.dpi.model.adapters;
+
+import com.google.gson.Gson;
+import org.jkiss.code.NotNull;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Binary encoding of result set rows.
+ * <p>
+ * Each value is written as a type tag followed by the value in binary form, numbers and temporal values keep
+ * their exact Java types. Values of other types are written as JSON, the same way as they were sent before.
+ * Rows are grouped in chunks, chunk is finished when it reaches the maximum size or row count.
+ */
+public class DPIRowCodec {
+
+    public static final int MAX_CHUNK_SIZE = 1024 * 1024;
+    public static final int MAX_CHUNK_ROWS = 10000;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_TRUE = 1;
+    private static final byte TYPE_FALSE = 2;
+    private static final byte TYPE_BYTE = 3;
+    private static final byte TYPE_SHORT = 4;
+    private static final byte TYPE_INT = 5;
+    private static final byte TYPE_LONG = 6;
+    private static final byte TYPE_FLOAT = 7;
+    private static final byte TYPE_DOUBLE = 8;
+    private static final byte TYPE_BIG_INTEGER = 9;
+    private static final byte TYPE_BIG_DECIMAL = 10;
+    private static final byte TYPE_STRING = 11;
+    private static final byte TYPE_BYTES = 12;
+    private static final byte TYPE_DATE = 13;
+    private static final byte TYPE_SQL_DATE = 14;
+    private static final byte TYPE_SQL_TIME = 15;
+    private static final byte TYPE_TIMESTAMP = 16;
+    private static final byte TYPE_LOCAL_DATE = 17;
+    private static final byte TYPE_LOCAL_TIME = 18;
+    private static final byte TYPE_LOCAL_DATE_TIME = 19;
+    private static final byte TYPE_OFFSET_DATE_TIME = 20;
+    private static final byte TYPE_JSON = 21;
+
+    private final Gson gson;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+    private final DataOutputStream out = new DataOutputStream(buffer);
+    private int rowCount;
+
+    public DPIRowCodec(@NotNull Gson gson) {
+        this.gson = gson;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public boolean isChunkFull() {
+        return rowCount >= MAX_CHUNK_ROWS || buffer.size() >= MAX_CHUNK_SIZE;
+    }
+
+    public void writeRow(@NotNull Object[] row) throws IOException {
+        writeVarLong(out, row.length);
+        for (Object value : row) {
+            writeValue(value);
+        }
+        rowCount++;
+    }
+
+    /**
+     * Returns encoded rows and resets the codec for the next chunk
+     */
+    @NotNull
+    public byte[] finishChunk() throws IOException {
+        out.flush();
+        byte[] chunk = buffer.toByteArray();
+        buffer.reset();
+        rowCount = 0;
+        return chunk;
+    }
+
+    @NotNull
+    public List<Object[]> readChunk(@NotNull byte[] chunk) throws IOException {
+        List<Object[]> rows = new ArrayList<>();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(chunk));
+        while (in.available() > 0) {
+            Object[] row = new Object[(int) readVarLong(in)];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = readValue(in);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(bool ? TYPE_TRUE : TYPE_FALSE);
+        } else if (value instanceof Byte number) {
+            out.writeByte(TYPE_BYTE);
+            out.writeByte(number);
+        } else if (value instanceof Short number) {
+            out.writeByte(TYPE_SHORT);
+            writeVarLong(out, number);
+        } else if (value instanceof Integer number) {
+            out.writeByte(TYPE_INT);
+            writeVarLong(out, number);
+        } else if (value instanceof Long number) {
+            out.writeByte(TYPE_LONG);
+            writeVarLong(out, number);
+        } else if (value instanceof Float number) {
+            out.writeByte(TYPE_FLOAT);
+            out.writeFloat(number);
+        } else if (value instanceof Double number) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof BigInteger number) {
+            out.writeByte(TYPE_BIG_INTEGER);
+            writeBytes(number.toByteArray());
+        } else if (value instanceof BigDecimal number) {
+            out.writeByte(TYPE_BIG_DECIMAL);
+            writeVarLong(out, number.scale());
+            writeBytes(number.unscaledValue().toByteArray());
+        } else if (value instanceof String string) {
+            out.writeByte(TYPE_STRING);
+            writeBytes(string.getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof byte[] bytes) {
+            out.writeByte(TYPE_BYTES);
+            writeBytes(bytes);
+        } else if (value instanceof Timestamp timestamp) {
+            out.writeByte(TYPE_TIMESTAMP);
+            writeVarLong(out, timestamp.getTime());
+            writeVarLong(out, timestamp.getNanos());
+        } else if (value instanceof java.sql.Date date) {
+            out.writeByte(TYPE_SQL_DATE);
+            writeVarLong(out, date.getTime());
+        } else if (value instanceof Time time) {
+            out.writeByte(TYPE_SQL_TIME);
+            writeVarLong(out, time.getTime());
+        } else if (value.getClass() == Date.class) {
+            out.writeByte(TYPE_DATE);
+            writeVarLong(out, ((Date) value).getTime());
+        } else if (value instanceof LocalDate date) {
+            out.writeByte(TYPE_LOCAL_DATE);
+            writeVarLong(out, date.toEpochDay());
+        } else if (value instanceof LocalTime time) {
+            out.writeByte(TYPE_LOCAL_TIME);
+            writeVarLong(out, time.toNanoOfDay());
+        } else if (value instanceof LocalDateTime dateTime) {
+            out.writeByte(TYPE_LOCAL_DATE_TIME);
+            writeLocalDateTime(dateTime);
+        } else if (value instanceof OffsetDateTime dateTime) {
+            out.writeByte(TYPE_OFFSET_DATE_TIME);
+            writeLocalDateTime(dateTime.toLocalDateTime());
+            writeVarLong(out, dateTime.getOffset().getTotalSeconds());
+        } else {
+            out.writeByte(TYPE_JSON);
+            writeBytes(gson.toJson(value).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case TYPE_NULL -> null;
+            case TYPE_TRUE -> Boolean.TRUE;
+            case TYPE_FALSE -> Boolean.FALSE;
+            case TYPE_BYTE -> in.readByte();
+            case TYPE_SHORT -> (short) readVarLong(in);
+            case TYPE_INT -> (int) readVarLong(in);
+            case TYPE_LONG -> readVarLong(in);
+            case TYPE_FLOAT -> in.readFloat();
+            case TYPE_DOUBLE -> in.readDouble();
+            case TYPE_BIG_INTEGER -> new BigInteger(readBytes(in));
+            case TYPE_BIG_DECIMAL -> {
+                int scale = (int) readVarLong(in);
+                yield new BigDecimal(new BigInteger(readBytes(in)), scale);
+            }
+            case TYPE_STRING -> new String(readBytes(in), StandardCharsets.UTF_8);
+            case TYPE_BYTES -> readBytes(in);
+            case TYPE_DATE -> new Date(readVarLong(in));
+            case TYPE_SQL_DATE -> new java.sql.Date(readVarLong(in));
+            case TYPE_SQL_TIME -> new Time(readVarLong(in));
+            case TYPE_TIMESTAMP -> {
+                Timestamp timestamp = new Timestamp(readVarLong(in));
+                timestamp.setNanos((int) readVarLong(in));
+                yield timestamp;
+            }
+            case TYPE_LOCAL_DATE -> LocalDate.ofEpochDay(readVarLong(in));
+            case TYPE_LOCAL_TIME -> LocalTime.ofNanoOfDay(readVarLong(in));
+            case TYPE_LOCAL_DATE_TIME -> readLocalDateTime(in);
+            case TYPE_OFFSET_DATE_TIME -> {
+                LocalDateTime dateTime = readLocalDateTime(in);
+                yield OffsetDateTime.of(dateTime, ZoneOffset.ofTotalSeconds((int) readVarLong(in)));
+            }
+            case TYPE_JSON -> gson.fromJson(new String(readBytes(in), StandardCharsets.UTF_8), Object.class);
+            default -> throw new IOException("Unsupported row value type " + type);
+        };
+    }
+
+    private void writeLocalDateTime(LocalDateTime dateTime) throws IOException {
+        writeVarLong(out, dateTime.toEpochSecond(ZoneOffset.UTC));
+        writeVarLong(out, dateTime.getNano());
+    }
+
+    private static LocalDateTime readLocalDateTime(DataInputStream in) throws IOException {
+        long epochSecond = readVarLong(in);
+        return LocalDateTime.ofEpochSecond(epochSecond, (int) readVarLong(in), ZoneOffset.UTC);
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[(int) readVarLong(in)];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    // Zig-zag encoded variable length integer, small values of any sign take one byte
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long bits = (value << 1) ^ (value >> 63);
+        while ((bits & ~0x7FL) != 0) {
+            out.writeByte((int) ((bits & 0x7F) | 0x80));
+            bits >>>= 7;
+        }
+        out.writeByte((int) bits);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long bits = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.readByte();
+            bits |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        return (bits >>> 1) ^ -(bits & 1);
+    }
+
+}
@@ -29,6 +29,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectFilterCondition;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructLookupCache;
 
 import java.sql.SQLException;
@@ -82,8 +83,24 @@ public final class DB2TableCache extends JDBCStructLookupCache<DB2Schema, DB2Tab
             dbStat.setString(2, db2Table != null ? db2Table.getName() : db2TableName);
             return dbStat;
         } else {
-            final JDBCPreparedStatement dbStat = session.prepareStatement(SQL_TAB_ALL);
+            JDBCObjectFilterCondition tableFilter = getObjectFilterCondition(session, db2Schema, DB2Table.class);
+            if (tableFilter == null) {
+                final JDBCPreparedStatement dbStat = session.prepareStatement(SQL_TAB_ALL);
+                dbStat.setString(1, db2Schema.getName());
+                return dbStat;
+            }
+            StringBuilder sb = new StringBuilder(256);
+            sb.append("SELECT *");
+            sb.append("  FROM SYSCAT.TABLES");
+            sb.append(" WHERE TABSCHEMA = ?");
+            sb.append("   AND TYPE IN ").append(DB2TableType.getInClause(DB2ObjectType.TABLE));
+            sb.append("   AND ");
+            tableFilter.appendCondition(sb, "TABNAME");
+            sb.append(" ORDER BY TABNAME");
+            sb.append(" WITH UR");
+            final JDBCPreparedStatement dbStat = session.prepareStatement(sb.toString());
             dbStat.setString(1, db2Schema.getName());
+            tableFilter.bindParameters(dbStat, 2);
             return dbStat;
         }
     }
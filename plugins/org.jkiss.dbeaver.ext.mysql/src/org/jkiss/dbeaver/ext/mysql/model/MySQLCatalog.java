@@ -32,6 +32,7 @@ import org.jkiss.dbeaver.model.impl.jdbc.JDBCConstants;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCCompositeCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectFilterCondition;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectLookupCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructLookupCache;
 import org.jkiss.dbeaver.model.meta.*;
@@ -41,7 +42,6 @@ import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.model.struct.DBSEntityConstraintType;
 import org.jkiss.dbeaver.model.struct.DBSObject;
-import org.jkiss.dbeaver.model.struct.DBSObjectFilter;
 import org.jkiss.dbeaver.model.struct.rdb.DBSCatalog;
 import org.jkiss.dbeaver.model.struct.rdb.DBSIndexType;
 import org.jkiss.dbeaver.model.struct.rdb.DBSProcedureContainer;
@@ -573,31 +573,13 @@ public class MySQLCatalog implements
                         sql.append(" AND Table_type <> 'SEQUENCE'");
                     }
                 } else {
-                    DBSObjectFilter tableFilters = dataSource.getContainer().getObjectFilter(MySQLTable.class, owner, true);
-                    if (tableFilters != null && !tableFilters.isNotApplicable()) {
+                    // SHOW statements do not accept parameters
+                    JDBCObjectFilterCondition tableFilter = getObjectFilterCondition(session, owner, MySQLTable.class);
+                    if (tableFilter != null) {
                         sql.append(" WHERE ");
-                        if (!CommonUtils.isEmpty(tableFilters.getInclude())) {
-                            sql.append("(");
-                            boolean hasCond = false;
-                            for (String incName : tableFilters.getInclude()) {
-                                if (hasCond) sql.append(" OR ");
-                                hasCond = true;
-                                sql.append(tableNameCol).append(" LIKE ").append(SQLUtils.quoteString(session.getDataSource(), SQLUtils.makeSQLLike(incName)));
-                            }
-                            sql.append(")");
-                        }
-                        if (!CommonUtils.isEmpty(tableFilters.getExclude())) {
-                            if (!CommonUtils.isEmpty(tableFilters.getInclude())) {
-                                sql.append(" AND ");
-                            }
-                            sql.append("(");
-                            boolean hasCond = false;
-                            for (String incName : tableFilters.getExclude()) {
-                                if (hasCond) sql.append(" OR ");
-                                hasCond = true;
-                                sql.append(tableNameCol).append(" NOT LIKE ").append(SQLUtils.quoteString(session.getDataSource(), incName));
-                            }
-                            sql.append(")");
+                        tableFilter.appendLiteralCondition(sql, tableNameCol);
+                        if (dataSource.supportsSequences()) {
+                            sql.append(" AND Table_type <> 'SEQUENCE'");
                         }
                     } else if (dataSource.supportsSequences()) {
                         sql.append(" WHERE Table_type <> 'SEQUENCE'");
@@ -16,6 +16,7 @@
  */
 package org.jkiss.dbeaver.ext.mysql.model.session;
 
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.admin.sessions.AbstractServerSession;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.IPropertyValueValidator;
@@ -142,6 +143,12 @@ public class MySQLSession extends AbstractServerSession {
         return info;
     }
 
+    @Nullable
+    @Override
+    public String getActivityState() {
+        return command;
+    }
+
     @Property(category = CAT_PERFORMANCE, visibleIf = PerformanceReadingValueValidator.class, order = 9)
     public String getStatementLatency() {
         return statementLatency;
@@ -29,6 +29,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCCompositeCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectFilterCondition;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectLookupCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructLookupCache;
 import org.jkiss.dbeaver.model.meta.Association;
@@ -641,26 +642,63 @@ public class OracleSchema extends OracleGlobalObject implements
 
             JDBCPreparedStatement dbStat;
             if (!useAlternativeQuery) {
-                dbStat = session.prepareStatement("SELECT " + OracleUtils.getSysCatalogHint(owner.getDataSource()) +
-                        " O.*,\n" +
-                        tableTypeColumns + ",t.TABLESPACE_NAME,t.PARTITIONED,t.IOT_TYPE,t.IOT_NAME,t.TEMPORARY,t.SECONDARY,t.NESTED,t.NUM_ROWS\n" +
-                        "FROM " + OracleUtils.getAdminAllViewPrefix(session.getProgressMonitor(), getDataSource(), "OBJECTS") + " O\n" +
-                        ", " + OracleUtils.getAdminAllViewPrefix(session.getProgressMonitor(), owner.getDataSource(), tablesSource) +
-                        " t WHERE t.OWNER(+) = O.OWNER AND t.TABLE_NAME(+) = o.OBJECT_NAME\n" +
-                        "AND O.OWNER=? AND O.OBJECT_TYPE IN ('TABLE', 'VIEW', 'MATERIALIZED VIEW')" +
-                        (object == null && objectName == null ? "" : " AND O.OBJECT_NAME" + tableOper + "?") +
-                        (object instanceof OracleTable ? " AND O.OBJECT_TYPE='TABLE'" : "") +
-                        (object instanceof OracleView ? " AND O.OBJECT_TYPE='VIEW'" : "") +
-                        (object instanceof OracleMaterializedView ? " AND O.OBJECT_TYPE='MATERIALIZED VIEW'" : ""));
-                dbStat.setString(1, owner.getName());
-                if (object != null || objectName != null)
-                    dbStat.setString(2, object != null ? object.getName() : objectName);
+                // Navigator filters are set per object type, all of them are read by this cache
+                Map<String, JDBCObjectFilterCondition> typeFilters = new LinkedHashMap<>();
+                if (object == null && objectName == null) {
+                    addTypeFilter(session, owner, typeFilters, "TABLE", OracleTable.class);
+                    addTypeFilter(session, owner, typeFilters, "VIEW", OracleView.class);
+                    addTypeFilter(session, owner, typeFilters, "MATERIALIZED VIEW", OracleMaterializedView.class);
+                }
+                StringBuilder sql = new StringBuilder(500);
+                sql.append("SELECT ").append(OracleUtils.getSysCatalogHint(owner.getDataSource())).append(" O.*,\n")
+                    .append(tableTypeColumns).append(",t.TABLESPACE_NAME,t.PARTITIONED,t.IOT_TYPE,t.IOT_NAME,t.TEMPORARY,t.SECONDARY,t.NESTED,t.NUM_ROWS\n")
+                    .append("FROM ").append(OracleUtils.getAdminAllViewPrefix(session.getProgressMonitor(), getDataSource(), "OBJECTS")).append(" O\n")
+                    .append(", ").append(OracleUtils.getAdminAllViewPrefix(session.getProgressMonitor(), owner.getDataSource(), tablesSource))
+                    .append(" t WHERE t.OWNER(+) = O.OWNER AND t.TABLE_NAME(+) = o.OBJECT_NAME\n")
+                    .append("AND O.OWNER=? AND O.OBJECT_TYPE IN ('TABLE', 'VIEW', 'MATERIALIZED VIEW')");
+                if (object != null || objectName != null) {
+                    sql.append(" AND O.OBJECT_NAME").append(tableOper).append("?");
+                }
+                if (object instanceof OracleTable) {
+                    sql.append(" AND O.OBJECT_TYPE='TABLE'");
+                } else if (object instanceof OracleView) {
+                    sql.append(" AND O.OBJECT_TYPE='VIEW'");
+                } else if (object instanceof OracleMaterializedView) {
+                    sql.append(" AND O.OBJECT_TYPE='MATERIALIZED VIEW'");
+                }
+                for (Map.Entry<String, JDBCObjectFilterCondition> typeFilter : typeFilters.entrySet()) {
+                    sql.append("\nAND (O.OBJECT_TYPE<>'").append(typeFilter.getKey()).append("' OR ");
+                    typeFilter.getValue().appendCondition(sql, "O.OBJECT_NAME");
+                    sql.append(")");
+                }
+                dbStat = session.prepareStatement(sql.toString());
+                int paramIndex = 1;
+                dbStat.setString(paramIndex++, owner.getName());
+                if (object != null || objectName != null) {
+                    dbStat.setString(paramIndex++, object != null ? object.getName() : objectName);
+                }
+                for (JDBCObjectFilterCondition typeFilter : typeFilters.values()) {
+                    paramIndex = typeFilter.bindParameters(dbStat, paramIndex);
+                }
                 return dbStat;
             } else {
                 return getAlternativeTableStatement(session, owner, object, objectName, tablesSource, tableTypeColumns);
             }
         }
 
+        private void addTypeFilter(
+            @NotNull JDBCSession session,
+            @NotNull OracleSchema owner,
+            @NotNull Map<String, JDBCObjectFilterCondition> typeFilters,
+            @NotNull String objectType,
+            @NotNull Class<? extends OracleTableBase> objectClass
+        ) {
+            JDBCObjectFilterCondition condition = getObjectFilterCondition(session, owner, objectClass);
+            if (condition != null) {
+                typeFilters.put(objectType, condition);
+            }
+        }
+
         @Override
         protected OracleTableBase fetchObject(@NotNull JDBCSession session, @NotNull OracleSchema owner, @NotNull JDBCResultSet dbResult)
             throws SQLException, DBException
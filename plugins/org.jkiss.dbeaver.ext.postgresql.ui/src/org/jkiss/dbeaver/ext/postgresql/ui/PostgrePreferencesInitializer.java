@@ -37,6 +37,8 @@ public class PostgrePreferencesInitializer extends AbstractPreferenceInitializer
         PrefUtils.setDefaultPreferenceValue(store, PostgreConstants.PROP_SHOW_DATABASE_STATISTICS, false);
         PrefUtils.setDefaultPreferenceValue(store, PostgreConstants.PROP_READ_ALL_DATA_TYPES, false);
         PrefUtils.setDefaultPreferenceValue(store, PostgreConstants.PROP_READ_KEYS_WITH_COLUMNS, false);
+        PrefUtils.setDefaultPreferenceValue(store, PostgreConstants.PROP_COPY_STREAMING, false);
+        PrefUtils.setDefaultPreferenceValue(store, PostgreConstants.PROP_COPY_BINARY, false);
 
         PrefUtils.setDefaultPreferenceValue(store, PostgreConstants.PROP_DD_PLAIN_STRING, 1);
         PrefUtils.setDefaultPreferenceValue(store, PostgreConstants.PROP_DD_TAG_STRING, 1);
@@ -47,6 +47,8 @@ public class PrefPagePostgreSQL extends AbstractPrefPage implements IWorkbenchPr
     private Button showDatabaseStatistics;
     private Button readAllDataTypes;
     private Button readKeysWithColumns;
+    private Button copyStreaming;
+    private Button copyBinary;
 
     private Combo ddPlainBehaviorCombo;
     private Combo ddTagBehaviorCombo;
@@ -136,6 +138,31 @@ public class PrefPagePostgreSQL extends AbstractPrefPage implements IWorkbenchPr
             ddTagBehaviorCombo.select(globalPrefs.getBoolean(PostgreConstants.PROP_DD_TAG_STRING) ? 0 : 1);
         }
 
+        {
+            Group performanceGroup = new Group(cfgGroup, SWT.NONE);
+            performanceGroup.setText(PostgreMessages.dialog_setting_group_performance);
+            performanceGroup.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
+            performanceGroup.setLayout(new GridLayout(2, false));
+
+            copyStreaming = UIUtils.createCheckbox(performanceGroup,
+                PostgreMessages.dialog_setting_connection_copy_streaming,
+                PostgreMessages.dialog_setting_connection_copy_streaming_tip,
+                globalPrefs.getBoolean(PostgreConstants.PROP_COPY_STREAMING),
+                2);
+            copyStreaming.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    copyBinary.setEnabled(copyStreaming.getSelection());
+                }
+            });
+            copyBinary = UIUtils.createCheckbox(performanceGroup,
+                PostgreMessages.dialog_setting_connection_copy_binary,
+                PostgreMessages.dialog_setting_connection_copy_binary_tip,
+                globalPrefs.getBoolean(PostgreConstants.PROP_COPY_BINARY),
+                2);
+            copyBinary.setEnabled(copyStreaming.getSelection());
+        }
+
         return cfgGroup;
     }
 
@@ -158,6 +185,8 @@ public class PrefPagePostgreSQL extends AbstractPrefPage implements IWorkbenchPr
         preferenceStore.setValue(PostgreConstants.PROP_SHOW_DATABASE_STATISTICS, String.valueOf(showDatabaseStatistics.getSelection()));
         preferenceStore.setValue(PostgreConstants.PROP_READ_ALL_DATA_TYPES, String.valueOf(readAllDataTypes.getSelection()));
         preferenceStore.setValue(PostgreConstants.PROP_READ_KEYS_WITH_COLUMNS, String.valueOf(readKeysWithColumns.getSelection()));
+        preferenceStore.setValue(PostgreConstants.PROP_COPY_STREAMING, String.valueOf(copyStreaming.getSelection()));
+        preferenceStore.setValue(PostgreConstants.PROP_COPY_BINARY, String.valueOf(copyBinary.getSelection()));
 
         preferenceStore.setValue(PostgreConstants.PROP_DD_PLAIN_STRING, ddPlainBehaviorCombo.getSelectionIndex() == 0);
         preferenceStore.setValue(PostgreConstants.PROP_DD_TAG_STRING, ddTagBehaviorCombo.getSelectionIndex() == 0);
@@ -174,6 +203,9 @@ public class PrefPagePostgreSQL extends AbstractPrefPage implements IWorkbenchPr
         showDatabaseStatistics.setSelection(store.getDefaultBoolean(PostgreConstants.PROP_SHOW_DATABASE_STATISTICS));
         readAllDataTypes.setSelection(store.getDefaultBoolean(PostgreConstants.PROP_READ_ALL_DATA_TYPES));
         readKeysWithColumns.setSelection(store.getDefaultBoolean(PostgreConstants.PROP_READ_KEYS_WITH_COLUMNS));
+        copyStreaming.setSelection(store.getDefaultBoolean(PostgreConstants.PROP_COPY_STREAMING));
+        copyBinary.setSelection(store.getDefaultBoolean(PostgreConstants.PROP_COPY_BINARY));
+        copyBinary.setEnabled(copyStreaming.getSelection());
         ddPlainBehaviorCombo.select(store.getDefaultInt(PostgreConstants.PROP_DD_PLAIN_STRING));
         ddTagBehaviorCombo.select(store.getDefaultInt(PostgreConstants.PROP_DD_TAG_STRING));
         setCheckboxesState();
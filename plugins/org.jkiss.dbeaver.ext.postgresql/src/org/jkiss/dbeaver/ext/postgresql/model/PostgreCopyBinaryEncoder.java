@@ -0,0 +1,305 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Encoder of the PostgreSQL COPY binary format.
+ * Only a fixed set of types is supported, see {@link #isTypeSupported(long)}.
+ */
+class PostgreCopyBinaryEncoder {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final LocalDate PG_EPOCH_DATE = LocalDate.of(2000, 1, 1);
+    private static final LocalDateTime PG_EPOCH_DATETIME = PG_EPOCH_DATE.atStartOfDay();
+    private static final Instant PG_EPOCH_INSTANT = PG_EPOCH_DATETIME.toInstant(ZoneOffset.UTC);
+
+    private static final int NUMERIC_POS = 0x0000;
+    private static final int NUMERIC_NEG = 0x4000;
+
+    private final DataOutputStream out;
+
+    PostgreCopyBinaryEncoder(@NotNull DataOutputStream out) {
+        this.out = out;
+    }
+
+    static boolean isTypeSupported(long typeId) {
+        switch ((int) typeId) {
+            case PostgreOid.BOOL:
+            case PostgreOid.INT2:
+            case PostgreOid.INT4:
+            case PostgreOid.INT8:
+            case PostgreOid.OID:
+            case PostgreOid.FLOAT4:
+            case PostgreOid.FLOAT8:
+            case PostgreOid.NUMERIC:
+            case PostgreOid.TEXT:
+            case PostgreOid.VARCHAR:
+            case PostgreOid.BPCHAR:
+            case PostgreOid.NAME:
+            case PostgreOid.JSON:
+            case PostgreOid.JSONB:
+            case PostgreOid.BYTEA:
+            case PostgreOid.UUID:
+            case PostgreOid.DATE:
+            case PostgreOid.TIMESTAMP:
+            case PostgreOid.TIMESTAMPTZ:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    void writeHeader() throws IOException {
+        out.write(SIGNATURE);
+        // Flags
+        out.writeInt(0);
+        // Header extension length
+        out.writeInt(0);
+    }
+
+    void startRow(int fieldCount) throws IOException {
+        out.writeShort(fieldCount);
+    }
+
+    void writeNull() throws IOException {
+        out.writeInt(-1);
+    }
+
+    void writeTrailer() throws IOException {
+        out.writeShort(-1);
+    }
+
+    void writeValue(long typeId, @Nullable Object value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        switch ((int) typeId) {
+            case PostgreOid.BOOL:
+                out.writeInt(1);
+                out.writeByte(toBoolean(value) ? 1 : 0);
+                break;
+            case PostgreOid.INT2:
+                out.writeInt(2);
+                out.writeShort(toNumber(value).shortValue());
+                break;
+            case PostgreOid.INT4:
+            case PostgreOid.OID:
+                out.writeInt(4);
+                out.writeInt(toNumber(value).intValue());
+                break;
+            case PostgreOid.INT8:
+                out.writeInt(8);
+                out.writeLong(toNumber(value).longValue());
+                break;
+            case PostgreOid.FLOAT4:
+                out.writeInt(4);
+                out.writeFloat(toNumber(value).floatValue());
+                break;
+            case PostgreOid.FLOAT8:
+                out.writeInt(8);
+                out.writeDouble(toNumber(value).doubleValue());
+                break;
+            case PostgreOid.NUMERIC:
+                writeNumeric(toBigDecimal(value));
+                break;
+            case PostgreOid.JSONB: {
+                byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length + 1);
+                // jsonb binary format version
+                out.writeByte(1);
+                out.write(bytes);
+                break;
+            }
+            case PostgreOid.BYTEA: {
+                byte[] bytes = value instanceof byte[] ? (byte[]) value : value.toString().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+                break;
+            }
+            case PostgreOid.UUID: {
+                UUID uuid = value instanceof UUID ? (UUID) value : UUID.fromString(value.toString());
+                out.writeInt(16);
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+                break;
+            }
+            case PostgreOid.DATE:
+                out.writeInt(4);
+                out.writeInt((int) ChronoUnit.DAYS.between(PG_EPOCH_DATE, toLocalDate(value)));
+                break;
+            case PostgreOid.TIMESTAMP:
+                out.writeInt(8);
+                out.writeLong(ChronoUnit.MICROS.between(PG_EPOCH_DATETIME, toLocalDateTime(value)));
+                break;
+            case PostgreOid.TIMESTAMPTZ:
+                out.writeInt(8);
+                out.writeLong(ChronoUnit.MICROS.between(PG_EPOCH_INSTANT, toInstant(value)));
+                break;
+            default: {
+                // Text types
+                byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+                break;
+            }
+        }
+    }
+
+    private void writeNumeric(@NotNull BigDecimal value) throws IOException {
+        int sign = value.signum() < 0 ? NUMERIC_NEG : NUMERIC_POS;
+        int dscale = Math.max(value.scale(), 0);
+        String plain = value.abs().toPlainString();
+        int dotPos = plain.indexOf('.');
+        String intPart = dotPos < 0 ? plain : plain.substring(0, dotPos);
+        String fracPart = dotPos < 0 ? "" : plain.substring(dotPos + 1);
+
+        // Align both parts to groups of 4 decimal digits (base 10000)
+        int intPad = (4 - intPart.length() % 4) % 4;
+        int fracPad = (4 - fracPart.length() % 4) % 4;
+        String digits = "0".repeat(intPad) + intPart + fracPart + "0".repeat(fracPad);
+        int intGroups = (intPart.length() + intPad) / 4;
+        int groupCount = digits.length() / 4;
+        short[] groups = new short[groupCount];
+        for (int i = 0; i < groupCount; i++) {
+            groups[i] = Short.parseShort(digits.substring(i * 4, i * 4 + 4));
+        }
+
+        int first = 0, last = groupCount;
+        int weight = intGroups - 1;
+        while (first < last && groups[first] == 0) {
+            first++;
+            weight--;
+        }
+        while (last > first && groups[last - 1] == 0) {
+            last--;
+        }
+        int ndigits = last - first;
+        if (ndigits == 0) {
+            weight = 0;
+            sign = NUMERIC_POS;
+        }
+
+        out.writeInt(8 + ndigits * 2);
+        out.writeShort(ndigits);
+        out.writeShort(weight);
+        out.writeShort(sign);
+        out.writeShort(dscale);
+        for (int i = first; i < last; i++) {
+            out.writeShort(groups[i]);
+        }
+    }
+
+    private static boolean toBoolean(@NotNull Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        } else if (value instanceof Number) {
+            return ((Number) value).intValue() != 0;
+        }
+        String strValue = value.toString();
+        return strValue.equalsIgnoreCase("true") || strValue.equalsIgnoreCase("t") || strValue.equals("1");
+    }
+
+    @NotNull
+    private static Number toNumber(@NotNull Object value) {
+        if (value instanceof Number) {
+            return (Number) value;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        return new BigDecimal(value.toString().trim());
+    }
+
+    @NotNull
+    private static BigDecimal toBigDecimal(@NotNull Object value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            double doubleValue = ((Number) value).doubleValue();
+            if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+                throw new IllegalArgumentException("Value " + value + " can't be encoded as binary numeric");
+            }
+            return BigDecimal.valueOf(doubleValue);
+        }
+        return new BigDecimal(value.toString().trim());
+    }
+
+    @NotNull
+    private static LocalDate toLocalDate(@NotNull Object value) {
+        if (value instanceof LocalDate) {
+            return (LocalDate) value;
+        } else if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        } else if (value instanceof Date || value instanceof LocalDateTime || value instanceof OffsetDateTime || value instanceof ZonedDateTime) {
+            return toLocalDateTime(value).toLocalDate();
+        }
+        return LocalDate.parse(value.toString().trim());
+    }
+
+    @NotNull
+    private static LocalDateTime toLocalDateTime(@NotNull Object value) {
+        if (value instanceof LocalDateTime) {
+            return (LocalDateTime) value;
+        } else if (value instanceof java.sql.Timestamp) {
+            return ((java.sql.Timestamp) value).toLocalDateTime();
+        } else if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate().atStartOfDay();
+        } else if (value instanceof Date) {
+            return LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault());
+        } else if (value instanceof LocalDate) {
+            return ((LocalDate) value).atStartOfDay();
+        } else if (value instanceof OffsetDateTime) {
+            return ((OffsetDateTime) value).toLocalDateTime();
+        } else if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).toLocalDateTime();
+        }
+        return java.sql.Timestamp.valueOf(value.toString().trim()).toLocalDateTime();
+    }
+
+    @NotNull
+    private static Instant toInstant(@NotNull Object value) {
+        if (value instanceof Instant) {
+            return (Instant) value;
+        } else if (value instanceof Date && !(value instanceof java.sql.Date)) {
+            // java.sql.Timestamp overrides toInstant and keeps nanoseconds
+            return ((Date) value).toInstant();
+        } else if (value instanceof OffsetDateTime) {
+            return ((OffsetDateTime) value).toInstant();
+        } else if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).toInstant();
+        }
+        return toLocalDateTime(value).atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+}
@@ -18,8 +18,10 @@ package org.jkiss.dbeaver.ext.postgresql.model;
 
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.postgresql.PostgreConstants;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.data.DBDValueHandler;
 import org.jkiss.dbeaver.model.exec.DBCException;
@@ -34,10 +36,7 @@ import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
-import java.io.BufferedWriter;
-import java.io.IOException;
-import java.io.Reader;
-import java.io.Writer;
+import java.io.*;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
@@ -48,7 +47,13 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Bulk loader based on CopyManager
+ * Bulk loader based on CopyManager.
+ * <p>
+ * By default rows are written into a temporary CSV file which is sent to the server at the end of the load.
+ * In streaming mode ({@link PostgreConstants#PROP_COPY_STREAMING}) rows are piped directly into
+ * {@code COPY ... FROM STDIN} as they arrive, optionally in binary format ({@link PostgreConstants#PROP_COPY_BINARY}).
+ * COPY format applies to all columns, so if any loaded column type is not supported by binary encoder
+ * then the whole load is done in text format.
  *
  * //        new CopyManager((BaseConnection) conn)
  * //            .copyIn(
@@ -67,6 +72,19 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
     private Writer csvWriter;
     private Path csvFile;
 
+    // Streaming mode
+    private boolean streaming;
+    private boolean binary;
+    private Method copyInStreamMethod;
+    private Method writeToCopyMethod;
+    private Method endCopyMethod;
+    private Method cancelCopyMethod;
+    private Method isActiveMethod;
+    private Object copyIn;
+    private OutputStream copyStream;
+    private PostgreCopyBinaryEncoder binaryEncoder;
+    private int mappedAttrCount;
+
     private AttrMapping[] mappings;
 
     private int copyBufferSize = 100 * 1024;
@@ -108,25 +126,20 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
 
             // Get method copyIn(final String sql, Reader from, int bufferSize)
             copyInMethod = copyManagerClass.getMethod("copyIn", String.class, Reader.class, Integer.TYPE);
+            // Get method copyIn(final String sql) for streaming
+            copyInStreamMethod = copyManagerClass.getMethod("copyIn", String.class);
+            Class<?> copyInClass = Class.forName("org.postgresql.copy.CopyIn", true, driverClassLoader);
+            writeToCopyMethod = copyInClass.getMethod("writeToCopy", byte[].class, Integer.TYPE, Integer.TYPE);
+            endCopyMethod = copyInClass.getMethod("endCopy");
+            cancelCopyMethod = copyInClass.getMethod("cancelCopy");
+            isActiveMethod = copyInClass.getMethod("isActive");
 
             copyManager = copyManagerClass.getConstructor(baseConnectionClass).newInstance(pgConnection);
 
-            Path tempFolder = DBWorkbench.getPlatform().getTempFolder(session.getProgressMonitor(), "postgesql-copy-datasets");
-            csvFile = tempFolder.resolve(CommonUtils.escapeFileName(table.getFullyQualifiedName(DBPEvaluationContext.DML)) + "-" + System.currentTimeMillis() + ".csv");  //$NON-NLS-1$ //$NON-NLS-2$
-            try {
-                Files.createFile(csvFile);
-            } catch (IOException ex) {
-                throw new IOException("Can't create CSV file " + csvFile);
-            }
-
-            csvWriter = new BufferedWriter(
-                Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8),
-                copyBufferSize
-                );
-
             List<? extends PostgreTableColumn> tableAttrs = CommonUtils.safeList(table.getAttributes(session.getProgressMonitor()));
             tableAttrs.removeIf(a -> a.getOrdinalPosition() < 0);
             mappings = new AttrMapping[tableAttrs.size()];
+            mappedAttrCount = 0;
 
             for (int i = 0; i < tableAttrs.size(); i++) {
                 PostgreTableColumn attr = tableAttrs.get(i);
@@ -137,7 +150,39 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
                     ArrayUtils.indexOf(attributes, attr)
                 );
                 mappings[i] = mapping;
+                if (mapping.srcPos >= 0) {
+                    mappedAttrCount++;
+                }
+            }
+
+            DBPConnectionConfiguration connectionConfiguration = dataSource.getContainer().getActualConnectionConfiguration();
+            streaming = CommonUtils.toBoolean(connectionConfiguration.getProviderProperty(PostgreConstants.PROP_COPY_STREAMING));
+            binary = streaming && CommonUtils.toBoolean(connectionConfiguration.getProviderProperty(PostgreConstants.PROP_COPY_BINARY));
+            if (binary) {
+                for (AttrMapping mapping : mappings) {
+                    if (mapping.srcPos >= 0 && !PostgreCopyBinaryEncoder.isTypeSupported(mapping.tableAttr.getTypeId())) {
+                        log.debug("Column " + mapping.tableAttr.getName() + " type " + mapping.tableAttr.getTypeName() +
+                            " is not supported by binary COPY. Use text format for the whole load.");
+                        binary = false;
+                        break;
+                    }
+                }
             }
+            if (!streaming) {
+                Path tempFolder = DBWorkbench.getPlatform().getTempFolder(session.getProgressMonitor(), "postgesql-copy-datasets");
+                csvFile = tempFolder.resolve(CommonUtils.escapeFileName(table.getFullyQualifiedName(DBPEvaluationContext.DML)) + "-" + System.currentTimeMillis() + ".csv");  //$NON-NLS-1$ //$NON-NLS-2$
+                try {
+                    Files.createFile(csvFile);
+                } catch (IOException ex) {
+                    throw new IOException("Can't create CSV file " + csvFile);
+                }
+
+                csvWriter = new BufferedWriter(
+                    Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8),
+                    copyBufferSize
+                    );
+            }
+            // In streaming mode COPY is started on the first row
         } catch (Exception e) {
             throw new DBCException("Can't instantiate CopyManager", e);
         }
@@ -146,6 +191,13 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
 
     @Override
     public void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException {
+        if (streaming && copyIn == null) {
+            startCopy(session);
+        }
+        if (binary) {
+            writeBinaryRow(attributeValues);
+            return;
+        }
         StringBuilder line = new StringBuilder();
         boolean hasCell = false;
         for (AttrMapping mapping : mappings) {
@@ -175,6 +227,68 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
         }
     }
 
+    private void writeBinaryRow(@NotNull Object[] attributeValues) throws DBCException {
+        try {
+            binaryEncoder.startRow(mappedAttrCount);
+            for (AttrMapping mapping : mappings) {
+                if (mapping.srcPos >= 0) {
+                    Object srcValue = attributeValues[mapping.srcPos];
+                    binaryEncoder.writeValue(
+                        mapping.tableAttr.getTypeId(),
+                        DBUtils.isNullValue(srcValue) ? null : srcValue);
+                }
+            }
+        } catch (Exception e) {
+            throw new DBCException("Error writing binary COPY row", e);
+        }
+    }
+
+    private void startCopy(@NotNull DBCSession session) throws DBCException {
+        String queryText = makeCopyQuery();
+        session.getProgressMonitor().subTask("Copy into " + table.getFullyQualifiedName(DBPEvaluationContext.DML));
+        try {
+            copyIn = copyInStreamMethod.invoke(copyManager, queryText);
+            copyStream = new BufferedOutputStream(new CopyInOutputStream(copyIn, writeToCopyMethod), copyBufferSize);
+            if (binary) {
+                binaryEncoder = new PostgreCopyBinaryEncoder(new DataOutputStream(copyStream));
+                binaryEncoder.writeHeader();
+            } else {
+                csvWriter = new OutputStreamWriter(copyStream, StandardCharsets.UTF_8);
+            }
+        } catch (Throwable e) {
+            if (e instanceof InvocationTargetException) {
+                e = ((InvocationTargetException) e).getTargetException();
+            }
+            throw new DBCException("Error starting COPY on remote server", e);
+        }
+    }
+
+    @NotNull
+    private String makeCopyQuery() {
+        StringBuilder query = new StringBuilder();
+        query.append("COPY ").append(table.getFullyQualifiedName(DBPEvaluationContext.DML));
+        if (mappedAttrCount < mappings.length) {
+            query.append(" (");
+            boolean hasColumn = false;
+            for (AttrMapping mapping : mappings) {
+                if (mapping.srcPos >= 0) {
+                    if (hasColumn) {
+                        query.append(",");
+                    }
+                    query.append(DBUtils.getQuotedIdentifier(mapping.tableAttr));
+                    hasColumn = true;
+                }
+            }
+            query.append(")");
+        }
+        if (binary) {
+            query.append(" FROM STDIN (FORMAT BINARY)");
+        } else {
+            query.append(" FROM STDIN (FORMAT CSV, ESCAPE '\\')");
+        }
+        return query.toString();
+    }
+
     private String convertStringValueToCell(String strValue) {
         return '"' +
             strValue.replace("\"", "\\\"") +
@@ -183,8 +297,15 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
 
     @Override
     public void flushRows(@NotNull DBCSession session) throws DBCException {
+        if (streaming && copyIn == null) {
+            return;
+        }
         try {
-            csvWriter.flush();
+            if (csvWriter != null) {
+                csvWriter.flush();
+            } else {
+                copyStream.flush();
+            }
         } catch (IOException e) {
             throw new DBCException("Error saving CSV data", e);
         }
@@ -192,6 +313,10 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
 
     @Override
     public void finishBulkLoad(@NotNull DBCSession session) throws DBCException {
+        if (streaming) {
+            finishStreamingLoad(session);
+            return;
+        }
         try {
             csvWriter.flush();
             csvWriter.close();
@@ -204,7 +329,7 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
 
         session.getProgressMonitor().subTask("Copy into " + tableFQN);
 
-        String queryText = "COPY " + tableFQN + " FROM STDIN (FORMAT CSV, ESCAPE '\\')";
+        String queryText = makeCopyQuery();
 
         try {
             Object rowCount;
@@ -228,9 +353,56 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
         }
     }
 
-    @Override
+    private void finishStreamingLoad(@NotNull DBCSession session) throws DBCException {
+        if (copyIn == null) {
+            // No rows
+            return;
+        }
+        session.getProgressMonitor().subTask("Finish copy into " + table.getFullyQualifiedName(DBPEvaluationContext.DML));
+        try {
+            if (binaryEncoder != null) {
+                binaryEncoder.writeTrailer();
+            }
+            if (csvWriter != null) {
+                csvWriter.flush();
+            }
+            copyStream.flush();
+            Object rowCount = endCopyMethod.invoke(copyIn);
+            copyIn = null;
+
+            // Commit changes
+            DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+            if (txnManager != null && !txnManager.isAutoCommit()) {
+                session.getProgressMonitor().subTask("Commit COPY");
+                txnManager.commit(session);
+            }
 
+            log.debug("Data has been copied (" + rowCount + ")");
+        } catch (Throwable e) {
+            if (e instanceof InvocationTargetException) {
+                e = ((InvocationTargetException) e).getTargetException();
+            }
+            throw new DBCException("Error copying dataset on remote server", e);
+        } finally {
+            csvWriter = null;
+            copyStream = null;
+            binaryEncoder = null;
+        }
+    }
+
+    @Override
     public void close() {
+        if (copyIn != null) {
+            // Load was interrupted
+            try {
+                if (Boolean.TRUE.equals(isActiveMethod.invoke(copyIn))) {
+                    cancelCopyMethod.invoke(copyIn);
+                }
+            } catch (Throwable e) {
+                log.debug("Error cancelling COPY", e);
+            }
+            copyIn = null;
+        }
         if (csvFile != null && Files.exists(csvFile)) {
             try {
                 Files.delete(csvFile);
@@ -240,4 +412,35 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
             }
         }
     }
+
+    /**
+     * Output stream which writes directly into CopyIn operation
+     */
+    private static class CopyInOutputStream extends OutputStream {
+        private final Object copyIn;
+        private final Method writeMethod;
+        private final byte[] singleByte = new byte[1];
+
+        CopyInOutputStream(Object copyIn, Method writeMethod) {
+            this.copyIn = copyIn;
+            this.writeMethod = writeMethod;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            singleByte[0] = (byte) b;
+            write(singleByte, 0, 1);
+        }
+
+        @Override
+        public void write(@NotNull byte[] buf, int off, int len) throws IOException {
+            try {
+                writeMethod.invoke(copyIn, buf, off, len);
+            } catch (InvocationTargetException e) {
+                throw new IOException("Error writing COPY data", e.getTargetException());
+            } catch (IllegalAccessException e) {
+                throw new IOException(e);
+            }
+        }
+    }
 }
@@ -16,6 +16,7 @@
  */
 package org.jkiss.dbeaver.ext.postgresql.model.session;
 
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.admin.sessions.AbstractServerSession;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.Property;
@@ -140,6 +141,12 @@ public class PostgreSession extends AbstractServerSession {
         return query;
     }
 
+    @Nullable
+    @Override
+    public String getActivityState() {
+        return state;
+    }
+
     @Override
     public String toString()
     {
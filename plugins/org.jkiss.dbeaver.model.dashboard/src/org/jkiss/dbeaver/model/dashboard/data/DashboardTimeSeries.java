@@ -0,0 +1,384 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.dashboard.data;
+
+import org.jkiss.code.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Compact time series.
+ * Keeps the most recent points in a ring buffer of primitive values.
+ * Points evicted from the raw buffer are folded into min/max/avg buckets which are kept
+ * in a second ring buffer, so the long history costs a fixed amount of memory.
+ * <p>
+ * Not thread safe, callers must synchronize access.
+ */
+public class DashboardTimeSeries {
+
+    public static final int DEFAULT_RAW_CAPACITY = 1000;
+    public static final int DEFAULT_BUCKET_CAPACITY = 1000;
+    public static final int DEFAULT_POINTS_PER_BUCKET = 10;
+
+    private final String name;
+
+    // Raw points
+    private final long[] rawTime;
+    private final double[] rawValue;
+    private int rawHead;
+    private int rawSize;
+
+    // Downsampled buckets
+    private final int pointsPerBucket;
+    private final long[] bucketTime;
+    private final double[] bucketMin;
+    private final double[] bucketMax;
+    private final double[] bucketSum;
+    private final int[] bucketCount;
+    private int bucketHead;
+    private int bucketSize;
+
+    public DashboardTimeSeries(@NotNull String name) {
+        this(name, DEFAULT_RAW_CAPACITY, DEFAULT_BUCKET_CAPACITY, DEFAULT_POINTS_PER_BUCKET);
+    }
+
+    public DashboardTimeSeries(@NotNull String name, int rawCapacity, int bucketCapacity, int pointsPerBucket) {
+        if (rawCapacity <= 0 || bucketCapacity < 0 || pointsPerBucket <= 0) {
+            throw new IllegalArgumentException("Bad time series capacity");
+        }
+        this.name = name;
+        this.rawTime = new long[rawCapacity];
+        this.rawValue = new double[rawCapacity];
+        this.pointsPerBucket = pointsPerBucket;
+        this.bucketTime = new long[bucketCapacity];
+        this.bucketMin = new double[bucketCapacity];
+        this.bucketMax = new double[bucketCapacity];
+        this.bucketSum = new double[bucketCapacity];
+        this.bucketCount = new int[bucketCapacity];
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    public int getRawCapacity() {
+        return rawTime.length;
+    }
+
+    /**
+     * Number of points (raw points and buckets) currently stored
+     */
+    public int size() {
+        return rawSize + bucketSize;
+    }
+
+    public boolean isEmpty() {
+        return rawSize == 0 && bucketSize == 0;
+    }
+
+    public long getFirstTime() {
+        if (bucketSize > 0) {
+            return bucketTime[bucketHead];
+        }
+        return rawSize > 0 ? rawTime[rawHead] : 0;
+    }
+
+    public long getLastTime() {
+        if (rawSize > 0) {
+            return rawTime[rawIndex(rawSize - 1)];
+        }
+        return bucketSize > 0 ? bucketTime[bucketIndex(bucketSize - 1)] : 0;
+    }
+
+    /**
+     * Adds new point. If the point has the same timestamp as the last one then the last value is replaced.
+     * Points older than the last one are ignored.
+     */
+    public void add(long time, double value) {
+        if (rawSize > 0) {
+            int lastIndex = rawIndex(rawSize - 1);
+            long lastTime = rawTime[lastIndex];
+            if (time == lastTime) {
+                rawValue[lastIndex] = value;
+                return;
+            } else if (time < lastTime) {
+                return;
+            }
+        }
+        if (rawSize == rawTime.length) {
+            evictRaw();
+        }
+        int index = rawIndex(rawSize);
+        rawTime[index] = time;
+        rawValue[index] = value;
+        rawSize++;
+    }
+
+    /**
+     * Removes all points older than specified time
+     */
+    public void removeOlderThan(long time) {
+        while (bucketSize > 0 && bucketTime[bucketHead] < time) {
+            bucketHead = (bucketHead + 1) % bucketTime.length;
+            bucketSize--;
+        }
+        while (rawSize > 0 && rawTime[rawHead] < time) {
+            rawHead = (rawHead + 1) % rawTime.length;
+            rawSize--;
+        }
+    }
+
+    public void clear() {
+        rawHead = rawSize = 0;
+        bucketHead = bucketSize = 0;
+    }
+
+    /**
+     * Returns points in the specified time range reduced to at most {@code maxPoints} values.
+     * Each result point contains average, minimum and maximum of the source points it covers.
+     */
+    @NotNull
+    public Points getPoints(long fromTime, long toTime, int maxPoints) {
+        if (maxPoints <= 0 || fromTime > toTime) {
+            return new Points(0);
+        }
+        int total = countPoints(fromTime, toTime);
+        if (total <= maxPoints) {
+            Points result = new Points(total);
+            for (int i = 0; i < bucketSize; i++) {
+                int index = bucketIndex(i);
+                long time = bucketTime[index];
+                if (time >= fromTime && time <= toTime) {
+                    result.add(time, bucketSum[index] / bucketCount[index], bucketMin[index], bucketMax[index]);
+                }
+            }
+            for (int i = 0; i < rawSize; i++) {
+                int index = rawIndex(i);
+                long time = rawTime[index];
+                if (time >= fromTime && time <= toTime) {
+                    double value = rawValue[index];
+                    result.add(time, value, value, value);
+                }
+            }
+            return result;
+        }
+
+        // Aggregate into time slots of equal width
+        long firstTime = Math.max(fromTime, getFirstTime());
+        long lastTime = Math.min(toTime, getLastTime());
+        double slotWidth = (double) (lastTime - firstTime + 1) / maxPoints;
+        double[] min = new double[maxPoints];
+        double[] max = new double[maxPoints];
+        double[] sum = new double[maxPoints];
+        long[] count = new long[maxPoints];
+        long[] slotTime = new long[maxPoints];
+        for (int i = 0; i < bucketSize; i++) {
+            int index = bucketIndex(i);
+            long time = bucketTime[index];
+            if (time >= firstTime && time <= lastTime) {
+                int slot = Math.min(maxPoints - 1, (int) ((time - firstTime) / slotWidth));
+                accumulate(slot, time, bucketMin[index], bucketMax[index], bucketSum[index], bucketCount[index], min, max, sum, count, slotTime);
+            }
+        }
+        for (int i = 0; i < rawSize; i++) {
+            int index = rawIndex(i);
+            long time = rawTime[index];
+            if (time >= firstTime && time <= lastTime) {
+                int slot = Math.min(maxPoints - 1, (int) ((time - firstTime) / slotWidth));
+                double value = rawValue[index];
+                accumulate(slot, time, value, value, value, 1, min, max, sum, count, slotTime);
+            }
+        }
+        Points result = new Points(maxPoints);
+        for (int i = 0; i < maxPoints; i++) {
+            if (count[i] > 0) {
+                result.add(slotTime[i], sum[i] / count[i], min[i], max[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes series content in binary form
+     */
+    public void write(@NotNull DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeInt(bucketSize);
+        for (int i = 0; i < bucketSize; i++) {
+            int index = bucketIndex(i);
+            out.writeLong(bucketTime[index]);
+            out.writeDouble(bucketMin[index]);
+            out.writeDouble(bucketMax[index]);
+            out.writeDouble(bucketSum[index]);
+            out.writeInt(bucketCount[index]);
+        }
+        out.writeInt(rawSize);
+        for (int i = 0; i < rawSize; i++) {
+            int index = rawIndex(i);
+            out.writeLong(rawTime[index]);
+            out.writeDouble(rawValue[index]);
+        }
+    }
+
+    /**
+     * Reads series content written by {@link #write(DataOutput)}. Series name is expected to be already read.
+     */
+    public void read(@NotNull DataInput in) throws IOException {
+        clear();
+        int buckets = in.readInt();
+        for (int i = 0; i < buckets; i++) {
+            long time = in.readLong();
+            double min = in.readDouble();
+            double max = in.readDouble();
+            double sum = in.readDouble();
+            int count = in.readInt();
+            addBucket(time, min, max, sum, count);
+        }
+        int points = in.readInt();
+        for (int i = 0; i < points; i++) {
+            long time = in.readLong();
+            double value = in.readDouble();
+            add(time, value);
+        }
+    }
+
+    private int countPoints(long fromTime, long toTime) {
+        int count = 0;
+        for (int i = 0; i < bucketSize; i++) {
+            long time = bucketTime[bucketIndex(i)];
+            if (time >= fromTime && time <= toTime) {
+                count++;
+            }
+        }
+        for (int i = 0; i < rawSize; i++) {
+            long time = rawTime[rawIndex(i)];
+            if (time >= fromTime && time <= toTime) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void evictRaw() {
+        // Fold the oldest raw points into a single bucket
+        int foldCount = Math.min(pointsPerBucket, rawSize);
+        long time = rawTime[rawHead];
+        double min = Double.MAX_VALUE, max = -Double.MAX_VALUE, sum = 0;
+        for (int i = 0; i < foldCount; i++) {
+            double value = rawValue[rawHead];
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sum += value;
+            rawHead = (rawHead + 1) % rawTime.length;
+            rawSize--;
+        }
+        addBucket(time, min, max, sum, foldCount);
+    }
+
+    private void addBucket(long time, double min, double max, double sum, int count) {
+        int capacity = bucketTime.length;
+        if (capacity == 0) {
+            return;
+        }
+        if (bucketSize == capacity) {
+            // Drop the oldest bucket
+            bucketHead = (bucketHead + 1) % capacity;
+            bucketSize--;
+        }
+        int index = bucketIndex(bucketSize);
+        bucketTime[index] = time;
+        bucketMin[index] = min;
+        bucketMax[index] = max;
+        bucketSum[index] = sum;
+        bucketCount[index] = count;
+        bucketSize++;
+    }
+
+    private static void accumulate(
+        int slot, long time, double min, double max, double sum, long count,
+        double[] slotMin, double[] slotMax, double[] slotSum, long[] slotCount, long[] slotTime
+    ) {
+        if (slotCount[slot] == 0) {
+            slotMin[slot] = min;
+            slotMax[slot] = max;
+            slotTime[slot] = time;
+        } else {
+            slotMin[slot] = Math.min(slotMin[slot], min);
+            slotMax[slot] = Math.max(slotMax[slot], max);
+        }
+        slotSum[slot] += sum;
+        slotCount[slot] += count;
+    }
+
+    private int rawIndex(int offset) {
+        return (rawHead + offset) % rawTime.length;
+    }
+
+    private int bucketIndex(int offset) {
+        return (bucketHead + offset) % bucketTime.length;
+    }
+
+    /**
+     * Series points snapshot. Values are stored in parallel primitive arrays.
+     */
+    public static class Points {
+        private final long[] times;
+        private final double[] values;
+        private final double[] minValues;
+        private final double[] maxValues;
+        private int size;
+
+        Points(int capacity) {
+            this.times = new long[capacity];
+            this.values = new double[capacity];
+            this.minValues = new double[capacity];
+            this.maxValues = new double[capacity];
+        }
+
+        void add(long time, double value, double min, double max) {
+            times[size] = time;
+            values[size] = value;
+            minValues[size] = min;
+            maxValues[size] = max;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long getTime(int index) {
+            return times[index];
+        }
+
+        public double getValue(int index) {
+            return values[index];
+        }
+
+        public double getMinValue(int index) {
+            return minValues[index];
+        }
+
+        public double getMaxValue(int index) {
+            return maxValues[index];
+        }
+    }
+
+}
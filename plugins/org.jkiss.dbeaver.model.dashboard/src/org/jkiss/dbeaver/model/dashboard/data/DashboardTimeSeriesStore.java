@@ -0,0 +1,139 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.dashboard.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set of named time series of a single dashboard item.
+ * Can be saved to and restored from a workspace file.
+ */
+public class DashboardTimeSeriesStore {
+
+    private static final int FILE_FORMAT_VERSION = 1;
+
+    private final Map<String, DashboardTimeSeries> series = new LinkedHashMap<>();
+    private int rawCapacity;
+    private long maxAge;
+
+    public DashboardTimeSeriesStore(int rawCapacity, long maxAge) {
+        this.rawCapacity = Math.max(1, rawCapacity);
+        this.maxAge = maxAge;
+    }
+
+    public synchronized int getRawCapacity() {
+        return rawCapacity;
+    }
+
+    public synchronized long getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Changes store limits. Existing series with a different capacity are recreated.
+     */
+    public synchronized void setLimits(int rawCapacity, long maxAge) {
+        rawCapacity = Math.max(1, rawCapacity);
+        if (rawCapacity != this.rawCapacity) {
+            this.rawCapacity = rawCapacity;
+            series.clear();
+        }
+        this.maxAge = maxAge;
+    }
+
+    @NotNull
+    public synchronized List<String> getSeriesNames() {
+        return new ArrayList<>(series.keySet());
+    }
+
+    @Nullable
+    public synchronized DashboardTimeSeries getSeries(@NotNull String name) {
+        return series.get(name);
+    }
+
+    public synchronized void addValue(@NotNull String seriesName, long time, double value) {
+        DashboardTimeSeries ts = series.computeIfAbsent(seriesName, this::createSeries);
+        ts.add(time, value);
+        if (maxAge > 0) {
+            ts.removeOlderThan(time - maxAge);
+        }
+    }
+
+    @NotNull
+    public synchronized DashboardTimeSeries.Points getPoints(@NotNull String seriesName, long fromTime, long toTime, int maxPoints) {
+        DashboardTimeSeries ts = series.get(seriesName);
+        if (ts == null) {
+            return new DashboardTimeSeries.Points(0);
+        }
+        return ts.getPoints(fromTime, toTime, maxPoints);
+    }
+
+    public synchronized void clear() {
+        series.clear();
+    }
+
+    public synchronized void save(@NotNull Path file) throws IOException {
+        Path folder = file.getParent();
+        if (folder != null && !Files.exists(folder)) {
+            Files.createDirectories(folder);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(FILE_FORMAT_VERSION);
+            out.writeInt(series.size());
+            for (DashboardTimeSeries ts : series.values()) {
+                ts.write(out);
+            }
+        }
+    }
+
+    public synchronized void load(@NotNull Path file) throws IOException {
+        series.clear();
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int version = in.readInt();
+            if (version != FILE_FORMAT_VERSION) {
+                throw new IOException("Unsupported time series file version: " + version);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                DashboardTimeSeries ts = createSeries(in.readUTF());
+                ts.read(in);
+                series.put(ts.getName(), ts);
+            }
+        }
+    }
+
+    private DashboardTimeSeries createSeries(String name) {
+        return new DashboardTimeSeries(
+            name,
+            rawCapacity,
+            DashboardTimeSeries.DEFAULT_BUCKET_CAPACITY,
+            DashboardTimeSeries.DEFAULT_POINTS_PER_BUCKET);
+    }
+
+}
@@ -19,6 +19,8 @@ package org.jkiss.dbeaver.model.websocket;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.websocket.event.WSEvent;
 
+import java.util.List;
+
 /**
  * CB web event handlers
  */
@@ -28,4 +30,14 @@ public interface WSEventHandler<EVENT extends WSEvent> {
      * Handle associated cb event
      */
     void handleEvent(@NotNull EVENT event);
+
+    /**
+     * Handle all events of the handler topics from one event batch.
+     * Handlers which refresh some state on each event should override it and refresh once per batch.
+     */
+    default void handleEvents(@NotNull List<EVENT> events) {
+        for (EVENT event : events) {
+            handleEvent(event);
+        }
+    }
 }
@@ -19,6 +19,8 @@ package org.jkiss.dbeaver.model.websocket.event;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 
+import java.util.Objects;
+
 /**
  * Base websocket event
  */
@@ -72,4 +74,14 @@ public abstract class WSAbstractEvent implements WSEvent {
     public long getTimestamp() {
         return timestamp;
     }
+
+    /**
+     * Checks that events have the same type and were produced by the same session and user
+     */
+    protected boolean isSameOrigin(@NotNull WSEvent event) {
+        return id.equals(event.getId()) &&
+            Objects.equals(sessionId, event.getSessionId()) &&
+            Objects.equals(userId, event.getUserId()) &&
+            isForceProcessed() == event.isForceProcessed();
+    }
 }
\ No newline at end of file
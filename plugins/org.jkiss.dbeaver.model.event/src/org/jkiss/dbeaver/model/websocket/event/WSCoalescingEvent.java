@@ -0,0 +1,42 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.websocket.event;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+/**
+ * Event which may absorb the following events of the same kind.
+ * Used to collapse event storms produced by bulk operations into a single event.
+ */
+public interface WSCoalescingEvent extends WSEvent {
+
+    /**
+     * Key of the object affected by this event.
+     * Only events with the same topic and key may be merged, events with different keys are independent.
+     */
+    @NotNull
+    String getCoalescingKey();
+
+    /**
+     * Returns event which has the same effect as this event followed by the next one,
+     * or null if events can't be merged.
+     */
+    @Nullable
+    WSEvent mergeWith(@NotNull WSEvent next);
+
+}
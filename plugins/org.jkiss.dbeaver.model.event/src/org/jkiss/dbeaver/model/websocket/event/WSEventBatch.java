@@ -0,0 +1,45 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.websocket.event;
+
+import org.jkiss.code.NotNull;
+
+import java.util.List;
+
+/**
+ * Batch of coalesced events delivered at once.
+ * Sequence number grows with each batch, so receiver may detect lost or reordered batches.
+ */
+public class WSEventBatch {
+    private final long sequence;
+    @NotNull
+    private final List<WSEvent> events;
+
+    public WSEventBatch(long sequence, @NotNull List<WSEvent> events) {
+        this.sequence = sequence;
+        this.events = events;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    @NotNull
+    public List<WSEvent> getEvents() {
+        return events;
+    }
+}
@@ -25,16 +25,15 @@ import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.websocket.WSEventHandler;
 import org.jkiss.dbeaver.model.websocket.registry.WSEventHandlersRegistry;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class WSEventController {
     private static final Log log = Log.getLog(WSEventController.class);
 
     private final Map<String, List<WSEventHandler>> eventHandlersByType = new HashMap<>();
-    protected final List<WSEvent> eventsPool = new ArrayList<>();
+    protected final WSPendingEvents eventsPool = new WSPendingEvents();
+    private final AtomicLong batchSequence = new AtomicLong();
     private boolean forceSkipEvents = false;
 
     public WSEventController() {
@@ -50,15 +49,39 @@ public class WSEventController {
     }
 
     /**
-     * Add cb event to the event pool
+     * Add cb event to the event pool.
+     * Event is merged with the pending event of the same kind if possible.
      */
     public void addEvent(@NotNull WSEvent event) {
         if (!event.isForceProcessed() && forceSkipEvents) {
             return;
         }
         synchronized (eventsPool) {
-            eventsPool.add(event);
+            eventsPool.addEvent(event);
+        }
+    }
+
+    /**
+     * Delivers batch of pooled events to handlers. Each handler receives all its events at once.
+     */
+    @SuppressWarnings("unchecked")
+    protected void handleEventBatch(@NotNull WSEventBatch batch) {
+        Map<WSEventHandler, List<WSEvent>> eventsByHandler = new LinkedHashMap<>();
+        for (WSEvent event : batch.getEvents()) {
+            for (WSEventHandler handler : eventHandlersByType.getOrDefault(event.getTopicId(), List.of())) {
+                eventsByHandler.computeIfAbsent(handler, h -> new ArrayList<>()).add(event);
+            }
         }
+        eventsByHandler.forEach((handler, events) -> {
+            try {
+                handler.handleEvents(events);
+            } catch (Exception e) {
+                log.error(
+                    "Error on events batch " + batch.getSequence() + " handle",
+                    e
+                );
+            }
+        });
     }
 
     /**
@@ -90,25 +113,13 @@ public class WSEventController {
             List<WSEvent> events;
 
             synchronized (eventsPool) {
-                events = List.copyOf(eventsPool);
-                eventsPool.clear();
+                events = eventsPool.removeAll();
             }
             if (events.isEmpty()) {
                 schedule(CHECK_PERIOD);
                 return Status.OK_STATUS;
             }
-            for (WSEvent event : events) {
-                eventHandlersByType.getOrDefault(event.getTopicId(), List.of()).forEach(handler -> {
-                    try {
-                        handler.handleEvent(event);
-                    } catch (Exception e) {
-                        log.error(
-                            "Error on event handle " + event.getTopicId(),
-                            e
-                        );
-                    }
-                });
-            }
+            handleEventBatch(new WSEventBatch(batchSequence.incrementAndGet(), events));
             schedule(CHECK_PERIOD);
             return Status.OK_STATUS;
         }
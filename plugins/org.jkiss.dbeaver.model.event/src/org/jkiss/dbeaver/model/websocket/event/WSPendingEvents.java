@@ -0,0 +1,82 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.websocket.event;
+
+import org.jkiss.code.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Events waiting for delivery.
+ * Coalescing event is merged with the last pending event of the same topic and object key.
+ * Events of different topics or object keys are independent, so order of events is preserved only for the same object.
+ * Any other event of the topic is a barrier: following events are never merged with events added before it.
+ * Not thread safe.
+ */
+public class WSPendingEvents {
+    private final List<WSEvent> events = new ArrayList<>();
+    // Topic -> object key -> position of the last pending event
+    private final Map<String, Map<String, Integer>> lastEvents = new HashMap<>();
+
+    /**
+     * Adds event to the pending events.
+     *
+     * @return true if event was merged with a pending one
+     */
+    public boolean addEvent(@NotNull WSEvent event) {
+        if (!(event instanceof WSCoalescingEvent coalescingEvent)) {
+            lastEvents.remove(event.getTopicId());
+            events.add(event);
+            return false;
+        }
+        Map<String, Integer> topicEvents = lastEvents.computeIfAbsent(event.getTopicId(), t -> new HashMap<>());
+        String key = coalescingEvent.getCoalescingKey();
+        Integer position = topicEvents.get(key);
+        if (position != null && events.get(position) instanceof WSCoalescingEvent pendingEvent) {
+            WSEvent mergedEvent = pendingEvent.mergeWith(event);
+            if (mergedEvent != null) {
+                events.set(position, mergedEvent);
+                return true;
+            }
+        }
+        topicEvents.put(key, events.size());
+        events.add(event);
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    public int size() {
+        return events.size();
+    }
+
+    /**
+     * Returns all pending events in order of their addition and clears the pending list.
+     */
+    @NotNull
+    public List<WSEvent> removeAll() {
+        List<WSEvent> result = List.copyOf(events);
+        events.clear();
+        lastEvents.clear();
+        return result;
+    }
+}
@@ -19,7 +19,7 @@ package org.jkiss.dbeaver.model.websocket.event;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 
-public class WSProjectUpdateEvent extends WSAbstractEvent implements WSProjectEvent {
+public class WSProjectUpdateEvent extends WSAbstractEvent implements WSProjectEvent, WSCoalescingEvent {
 
     @NotNull
     protected final String projectId;
@@ -65,4 +65,19 @@ public class WSProjectUpdateEvent extends WSAbstractEvent implements WSProjectEv
     public String getProjectId() {
         return projectId;
     }
+
+    @NotNull
+    @Override
+    public String getCoalescingKey() {
+        return projectId;
+    }
+
+    @Nullable
+    @Override
+    public WSEvent mergeWith(@NotNull WSEvent next) {
+        if (next instanceof WSProjectUpdateEvent event && isSameOrigin(event) && projectId.equals(event.projectId)) {
+            return event;
+        }
+        return null;
+    }
 }
@@ -18,12 +18,17 @@ package org.jkiss.dbeaver.model.websocket.event.datasource;
 
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.websocket.event.WSCoalescingEvent;
+import org.jkiss.dbeaver.model.websocket.event.WSEvent;
 import org.jkiss.dbeaver.model.websocket.event.WSEventType;
 import org.jkiss.dbeaver.model.websocket.event.WSProjectResourceEvent;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
-public class WSDataSourceEvent extends WSProjectResourceEvent {
+public class WSDataSourceEvent extends WSProjectResourceEvent implements WSCoalescingEvent {
     @NotNull
     private final List<String> dataSourceIds;
     @NotNull
@@ -99,4 +104,37 @@ public class WSDataSourceEvent extends WSProjectResourceEvent {
     public WSDataSourceProperty getProperty() {
         return property;
     }
+
+    /**
+     * Events of the same type and property are merged into one event with all data source ids
+     */
+    @NotNull
+    @Override
+    public String getCoalescingKey() {
+        // Data source events of a project are merged into a single event
+        return projectId;
+    }
+
+    @Nullable
+    @Override
+    public WSEvent mergeWith(@NotNull WSEvent next) {
+        if (!(next instanceof WSDataSourceEvent event) || !isSameOrigin(event) ||
+            !projectId.equals(event.projectId) || property != event.property
+        ) {
+            return null;
+        }
+        WSEventType eventType = WSEventType.valueById(getId());
+        if (eventType == null) {
+            return null;
+        }
+        Set<String> mergedIds = new LinkedHashSet<>(dataSourceIds);
+        mergedIds.addAll(event.dataSourceIds);
+        return new WSDataSourceEvent(
+            eventType,
+            getSessionId(),
+            getUserId(),
+            projectId,
+            new ArrayList<>(mergedIds),
+            property);
+    }
 }
@@ -18,10 +18,12 @@ package org.jkiss.dbeaver.model.websocket.event.resource;
 
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.websocket.event.WSCoalescingEvent;
+import org.jkiss.dbeaver.model.websocket.event.WSEvent;
 import org.jkiss.dbeaver.model.websocket.event.WSEventType;
 import org.jkiss.dbeaver.model.websocket.event.WSProjectResourceEvent;
 
-public class WSResourceUpdatedEvent extends WSProjectResourceEvent {
+public class WSResourceUpdatedEvent extends WSProjectResourceEvent implements WSCoalescingEvent {
     @NotNull
     private final String resourcePath;
     @NotNull
@@ -121,4 +123,24 @@ public class WSResourceUpdatedEvent extends WSProjectResourceEvent {
     public String getDetails() {
         return details;
     }
+
+    /**
+     * Repeated changes of the same resource property are replaced with the latest one
+     */
+    @NotNull
+    @Override
+    public String getCoalescingKey() {
+        return projectId + "/" + resourcePath;
+    }
+
+    @Nullable
+    @Override
+    public WSEvent mergeWith(@NotNull WSEvent next) {
+        if (next instanceof WSResourceUpdatedEvent event && isSameOrigin(event) &&
+            projectId.equals(event.projectId) && resourcePath.equals(event.resourcePath) && property == event.property
+        ) {
+            return event;
+        }
+        return null;
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.websocket.gson;
+
+import com.google.gson.*;
+import org.jkiss.dbeaver.model.websocket.event.WSEvent;
+import org.jkiss.dbeaver.model.websocket.event.WSEventBatch;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Events batch envelope. Events are written with their actual classes and read by event id.
+ */
+public class WSEventBatchAdapter implements JsonSerializer<WSEventBatch>, JsonDeserializer<WSEventBatch> {
+    private static final String SEQUENCE_FIELD = "sequence";
+    private static final String EVENTS_FIELD = "events";
+
+    @Override
+    public JsonElement serialize(WSEventBatch batch, Type type, JsonSerializationContext context) {
+        JsonArray events = new JsonArray(batch.getEvents().size());
+        for (WSEvent event : batch.getEvents()) {
+            events.add(context.serialize(event, event.getClass()));
+        }
+        JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty(SEQUENCE_FIELD, batch.getSequence());
+        jsonObject.add(EVENTS_FIELD, events);
+        return jsonObject;
+    }
+
+    @Override
+    public WSEventBatch deserialize(
+        JsonElement jsonElement,
+        Type type,
+        JsonDeserializationContext context
+    ) throws JsonParseException {
+        JsonObject jsonObject = jsonElement.getAsJsonObject();
+        JsonElement sequence = jsonObject.get(SEQUENCE_FIELD);
+        if (sequence == null) {
+            throw new JsonParseException("Batch sequence not present: " + jsonElement);
+        }
+        List<WSEvent> events = new ArrayList<>();
+        JsonElement eventsElement = jsonObject.get(EVENTS_FIELD);
+        if (eventsElement != null) {
+            for (JsonElement event : eventsElement.getAsJsonArray()) {
+                events.add(context.deserialize(event, WSEvent.class));
+            }
+        }
+        return new WSEventBatch(sequence.getAsLong(), events);
+    }
+}
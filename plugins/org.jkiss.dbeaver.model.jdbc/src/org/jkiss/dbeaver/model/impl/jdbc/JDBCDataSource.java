@@ -512,6 +512,7 @@ public abstract class JDBCDataSource extends AbstractDataSource
                 dataSourceInfo = new JDBCDataSourceInfo(container);
             }
         }
+        defaultInstance.initializeContextPool();
     }
 
     protected void readDatabaseServerVersion(DatabaseMetaData metaData) {
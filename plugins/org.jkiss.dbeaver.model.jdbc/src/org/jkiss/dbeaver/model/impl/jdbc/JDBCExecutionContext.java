@@ -64,6 +64,8 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     private volatile Boolean autoCommit;
     private volatile Integer transactionIsolationLevel;
     private transient volatile boolean txnIsolationLevelReadInProgress;
+    @Nullable
+    private volatile String contextName;
     private final ReentrantLock queryExecutionLock;
 
     public JDBCExecutionContext(@NotNull JDBCRemoteInstance instance, String purpose) {
@@ -82,6 +84,20 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         queryExecutionLock = null;
     }
 
+    @NotNull
+    @Override
+    public String getContextName() {
+        String name = this.contextName;
+        return name != null ? name : super.getContextName();
+    }
+
+    /**
+     * Renames context. Used for pooled contexts which are opened before their purpose is known.
+     */
+    void setContextName(@NotNull String contextName) {
+        this.contextName = contextName;
+    }
+
     @Override
     public JDBCRemoteInstance getOwnerInstance() {
         return instance;
@@ -0,0 +1,249 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Pool of pre-opened isolated execution contexts.
+ * <p>
+ * Contexts are opened and initialized in background, so opening of a new editor or utility session
+ * doesn't wait for connection establishment. Borrowed contexts are validated and then belong to the caller,
+ * they are never returned to the pool: owner may change session state (role, search path, session variables,
+ * temporary tables), which can't be reliably reset for the next owner.
+ * <p>
+ * The number of idle contexts grows from min to max idle when the pool runs out of contexts and shrinks back
+ * when contexts stay idle longer than idle timeout.
+ */
+public class JDBCExecutionContextPool {
+
+    private static final Log log = Log.getLog(JDBCExecutionContextPool.class);
+
+    public static final String POOLED_CONTEXT_NAME = "Pooled";
+
+    // Let data source finish its initialization before warm-up
+    private static final long WARM_UP_DELAY = 1000;
+    private static final long MAINTENANCE_PERIOD = 10000;
+
+    private record PooledContext(@NotNull JDBCExecutionContext context, long openTime) {
+    }
+
+    @NotNull
+    private final JDBCRemoteInstance instance;
+    private final int minIdle;
+    private final int maxIdle;
+    private final long idleTimeout;
+    private final Deque<PooledContext> idleContexts = new ArrayDeque<>();
+    private final MaintenanceJob maintenanceJob;
+    private int targetIdle;
+    private volatile boolean closed;
+
+    public JDBCExecutionContextPool(@NotNull JDBCRemoteInstance instance, int minIdle, int maxIdle, long idleTimeout) {
+        this.instance = instance;
+        this.minIdle = Math.max(0, minIdle);
+        this.maxIdle = Math.max(1, Math.max(this.minIdle, maxIdle));
+        this.idleTimeout = idleTimeout;
+        this.targetIdle = this.minIdle;
+        this.maintenanceJob = new MaintenanceJob();
+    }
+
+    /**
+     * Creates pool if it is enabled in data source preferences
+     */
+    @Nullable
+    static JDBCExecutionContextPool create(@NotNull JDBCRemoteInstance instance) {
+        DBPPreferenceStore store = instance.getDataSource().getContainer().getPreferenceStore();
+        if (!store.getBoolean(ModelPreferences.CONNECTION_POOL_ENABLED)) {
+            return null;
+        }
+        return new JDBCExecutionContextPool(
+            instance,
+            store.getInt(ModelPreferences.CONNECTION_POOL_MIN_IDLE),
+            store.getInt(ModelPreferences.CONNECTION_POOL_MAX_IDLE),
+            store.getLong(ModelPreferences.CONNECTION_POOL_IDLE_TIMEOUT) * 1000L);
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    public int getIdleCount() {
+        synchronized (idleContexts) {
+            return idleContexts.size();
+        }
+    }
+
+    void start() {
+        maintenanceJob.schedule(WARM_UP_DELAY);
+    }
+
+    /**
+     * Takes the first alive idle context. Dead or expired contexts are closed.
+     *
+     * @return connected context or null if pool has no idle contexts
+     */
+    @Nullable
+    public JDBCExecutionContext borrowContext(@NotNull DBRProgressMonitor monitor) {
+        JDBCExecutionContext result = null;
+        while (result == null && !closed) {
+            PooledContext pooled;
+            synchronized (idleContexts) {
+                pooled = idleContexts.pollFirst();
+                if (pooled == null) {
+                    // Pool was too small for the current load
+                    targetIdle = Math.min(maxIdle, targetIdle + 1);
+                    break;
+                }
+            }
+            if (isExpired(pooled, System.currentTimeMillis())) {
+                pooled.context.close();
+                continue;
+            }
+            try {
+                pooled.context.checkContextAlive(monitor);
+                result = pooled.context;
+            } catch (DBException e) {
+                log.debug("Discard dead pooled context: " + e.getMessage());
+                pooled.context.close();
+            }
+        }
+        if (!closed) {
+            maintenanceJob.schedule();
+        }
+        return result;
+    }
+
+    /**
+     * Adds opened context to the pool.
+     *
+     * @return false if pool is closed or full, caller must close context then
+     */
+    public boolean addIdleContext(@NotNull JDBCExecutionContext context, long openTime) {
+        synchronized (idleContexts) {
+            if (closed || idleContexts.size() >= maxIdle) {
+                return false;
+            }
+            idleContexts.addLast(new PooledContext(context, openTime));
+        }
+        return true;
+    }
+
+    /**
+     * Closes all idle contexts and stops background maintenance
+     */
+    public void close() {
+        closed = true;
+        maintenanceJob.cancel();
+        List<PooledContext> toClose;
+        synchronized (idleContexts) {
+            toClose = new ArrayList<>(idleContexts);
+            idleContexts.clear();
+        }
+        for (PooledContext pooled : toClose) {
+            pooled.context.close();
+        }
+    }
+
+    private boolean isExpired(@NotNull PooledContext pooled, long currentTime) {
+        return idleTimeout > 0 && currentTime - pooled.openTime > idleTimeout;
+    }
+
+    /**
+     * Closes contexts which were idle longer than idle timeout
+     */
+    public void evictIdleContexts(long currentTime) {
+        List<PooledContext> expired = new ArrayList<>();
+        synchronized (idleContexts) {
+            idleContexts.removeIf(pooled -> {
+                if (isExpired(pooled, currentTime)) {
+                    expired.add(pooled);
+                    return true;
+                }
+                return false;
+            });
+            // Excess contexts were not used, so shrink the pool.
+            // Expired contexts within min idle are replaced by fresh ones.
+            targetIdle = Math.max(minIdle, Math.min(targetIdle, idleContexts.size() + Math.min(expired.size(), minIdle)));
+        }
+        for (PooledContext pooled : expired) {
+            log.debug("Close expired pooled context " + pooled.context.getContextId());
+            pooled.context.close();
+        }
+    }
+
+    private boolean needsContexts() {
+        synchronized (idleContexts) {
+            return idleContexts.size() < targetIdle;
+        }
+    }
+
+    private void openContext(@NotNull DBRProgressMonitor monitor) throws DBException {
+        JDBCExecutionContext context = instance.getDataSource().createExecutionContext(instance, POOLED_CONTEXT_NAME);
+        // Do not register context in the instance until it is borrowed
+        context.connect(monitor, null, null, null, false);
+        if (!addIdleContext(context, System.currentTimeMillis())) {
+            context.close();
+        }
+    }
+
+    private class MaintenanceJob extends AbstractJob {
+        MaintenanceJob() {
+            super("Maintain connection pool (" + instance.getName() + ")");
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            if (closed) {
+                return Status.OK_STATUS;
+            }
+            evictIdleContexts(System.currentTimeMillis());
+            while (!closed && !monitor.isCanceled() && needsContexts()) {
+                try {
+                    openContext(monitor);
+                } catch (Throwable e) {
+                    log.debug("Error opening pooled context: " + e.getMessage());
+                    break;
+                }
+            }
+            if (!closed) {
+                schedule(MAINTENANCE_PERIOD);
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+}
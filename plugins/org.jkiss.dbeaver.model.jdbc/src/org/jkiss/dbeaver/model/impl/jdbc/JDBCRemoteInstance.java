@@ -53,6 +53,8 @@ public class JDBCRemoteInstance implements DBSInstance {
     @NotNull
     private final List<JDBCExecutionContext> allContexts = new ArrayList<>();
     private final DBPExclusiveResource exclusiveLock = new SimpleExclusiveLock();
+    @Nullable
+    private volatile JDBCExecutionContextPool contextPool;
 
     protected JDBCRemoteInstance(@NotNull DBRProgressMonitor monitor, @NotNull JDBCDataSource dataSource, boolean initContext)
         throws DBException {
@@ -158,6 +160,10 @@ public class JDBCRemoteInstance implements DBSInstance {
         if (sharedInstance != null) {
             return sharedInstance.openIsolatedContext(monitor, purpose, initFrom);
         }
+        JDBCExecutionContext pooledContext = borrowPooledContext(monitor, purpose, initFrom);
+        if (pooledContext != null) {
+            return pooledContext;
+        }
         JDBCExecutionContext context = dataSource.createExecutionContext(this, purpose);
         DBExecUtils.tryExecuteRecover(monitor, getDataSource(), monitor1 -> {
             try {
@@ -169,6 +175,58 @@ public class JDBCRemoteInstance implements DBSInstance {
         return context;
     }
 
+    /**
+     * Starts warm-up of isolated contexts pool if it is enabled for the data source.
+     * Does nothing if pool is already started.
+     */
+    public void initializeContextPool() {
+        if (sharedInstance != null || contextPool != null) {
+            return;
+        }
+        synchronized (allContexts) {
+            if (contextPool == null) {
+                JDBCExecutionContextPool pool = JDBCExecutionContextPool.create(this);
+                if (pool != null) {
+                    contextPool = pool;
+                    pool.start();
+                }
+            }
+        }
+    }
+
+    @Nullable
+    public JDBCExecutionContextPool getContextPool() {
+        return contextPool;
+    }
+
+    @Nullable
+    private JDBCExecutionContext borrowPooledContext(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull String purpose,
+        @Nullable DBCExecutionContext initFrom
+    ) {
+        initializeContextPool();
+        JDBCExecutionContextPool pool = contextPool;
+        if (pool == null) {
+            return null;
+        }
+        JDBCExecutionContext context = pool.borrowContext(monitor);
+        if (context == null) {
+            return null;
+        }
+        context.setContextName(purpose);
+        addContext(context);
+        if (initFrom != null) {
+            try {
+                // Pooled context was initialized with defaults, copy state of the source context
+                dataSource.initializeContextState(monitor, context, (JDBCExecutionContext) initFrom);
+            } catch (DBException e) {
+                log.warn("Error while initializing pooled context state", e);
+            }
+        }
+        return context;
+    }
+
     @NotNull
     @Override
     public JDBCExecutionContext[] getAllContexts() {
@@ -227,6 +285,11 @@ public class JDBCRemoteInstance implements DBSInstance {
     public void shutdown(DBRProgressMonitor monitor, boolean keepMeta) {
         // [JDBC] Need sync here because real connection close could take some time
         // while UI may invoke callbacks to operate with connection
+        JDBCExecutionContextPool pool = contextPool;
+        if (pool != null) {
+            contextPool = null;
+            pool.close();
+        }
         List<JDBCExecutionContext> ctxCopy;
         synchronized (allContexts) {
             ctxCopy = new ArrayList<>(allContexts);
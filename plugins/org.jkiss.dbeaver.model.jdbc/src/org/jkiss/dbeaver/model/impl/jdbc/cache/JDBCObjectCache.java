@@ -175,6 +175,20 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
         return getClass().getSimpleName();
     }
 
+    /**
+     * Returns server side condition for the navigator filter of specified object type.
+     * Implementations of {@link #prepareObjectsStatement} may append it to the objects query.
+     * Note: cache with server side filter does not contain filtered out objects.
+     */
+    @Nullable
+    protected JDBCObjectFilterCondition getObjectFilterCondition(
+        @NotNull JDBCSession session,
+        @NotNull OWNER owner,
+        @NotNull Class<? extends DBSObject> objectType
+    ) {
+        return JDBCObjectFilterCondition.forType(session, objectType, owner);
+    }
+
     // Can be implemented to provide custom cache error handler
     protected boolean handleCacheReadError(Exception error) {
         return false;
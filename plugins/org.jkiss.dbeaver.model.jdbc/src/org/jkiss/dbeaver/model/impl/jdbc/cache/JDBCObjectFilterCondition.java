@@ -0,0 +1,180 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.sql.SQLConstants;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLDialectRelational;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectFilter;
+import org.jkiss.utils.CommonUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Navigator object filter translated into SQL condition on object name column.
+ * <p>
+ * Condition selects the same or wider set of names than {@link DBSObjectFilter#matches(String)} so
+ * it can be used to reduce metadata query result while the client side filter is still applied.
+ * Names are compared in upper case if the filter ignores case.
+ */
+public class JDBCObjectFilterCondition {
+
+    private final SQLDialect dialect;
+    private final List<Mask> include;
+    private final List<Mask> exclude;
+
+    private record Mask(String value, boolean like, boolean ignoreCase) {
+    }
+
+    private JDBCObjectFilterCondition(@NotNull SQLDialect dialect, @NotNull DBSObjectFilter filter) {
+        this.dialect = dialect;
+        boolean caseSensitive = dialect.hasCaseSensitiveFiltration();
+        this.include = makeMasks(filter.getInclude(), caseSensitive);
+        this.exclude = makeMasks(filter.getExclude(), caseSensitive);
+    }
+
+    /**
+     * Returns condition for the navigator filter of specified object type or null if there is no such filter
+     * or server side filters are disabled for the connection.
+     */
+    @Nullable
+    public static JDBCObjectFilterCondition forType(
+        @NotNull JDBCSession session,
+        @NotNull Class<?> objectType,
+        @Nullable DBSObject parentObject
+    ) {
+        if (!session.getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.META_USE_SERVER_SIDE_FILTERS)) {
+            return null;
+        }
+        return create(
+            session.getDataSource().getSQLDialect(),
+            session.getDataSource().getContainer().getObjectFilter(objectType, parentObject, false));
+    }
+
+    @Nullable
+    public static JDBCObjectFilterCondition create(@NotNull SQLDialect dialect, @Nullable DBSObjectFilter filter) {
+        if (filter == null || filter.isNotApplicable()) {
+            return null;
+        }
+        JDBCObjectFilterCondition condition = new JDBCObjectFilterCondition(dialect, filter);
+        if (condition.include.isEmpty() && condition.exclude.isEmpty()) {
+            return null;
+        }
+        return condition;
+    }
+
+    /**
+     * Appends condition with parameter placeholders. Values must be bound with {@link #bindParameters}.
+     */
+    public void appendCondition(@NotNull StringBuilder sql, @NotNull String columnName) {
+        appendCondition(sql, columnName, false);
+    }
+
+    /**
+     * Appends condition with values inlined as string literals.
+     * For metadata statements which do not support parameters (e.g. SHOW commands).
+     */
+    public void appendLiteralCondition(@NotNull StringBuilder sql, @NotNull String columnName) {
+        appendCondition(sql, columnName, true);
+    }
+
+    /**
+     * Binds condition values starting from specified parameter index.
+     * @return index of the next statement parameter
+     */
+    public int bindParameters(@NotNull PreparedStatement statement, int paramIndex) throws SQLException {
+        for (Mask mask : include) {
+            statement.setString(paramIndex++, mask.value);
+        }
+        for (Mask mask : exclude) {
+            statement.setString(paramIndex++, mask.value);
+        }
+        return paramIndex;
+    }
+
+    private void appendCondition(@NotNull StringBuilder sql, @NotNull String columnName, boolean inline) {
+        sql.append("(");
+        if (!include.isEmpty()) {
+            appendMasks(sql, columnName, include, inline);
+        }
+        if (!exclude.isEmpty()) {
+            if (!include.isEmpty()) {
+                sql.append(" AND ");
+            }
+            sql.append("NOT ");
+            appendMasks(sql, columnName, exclude, inline);
+        }
+        sql.append(")");
+    }
+
+    private void appendMasks(@NotNull StringBuilder sql, @NotNull String columnName, @NotNull List<Mask> masks, boolean inline) {
+        sql.append("(");
+        for (int i = 0; i < masks.size(); i++) {
+            Mask mask = masks.get(i);
+            if (i > 0) {
+                sql.append(" OR ");
+            }
+            if (mask.ignoreCase) {
+                sql.append("UPPER(").append(columnName).append(")");
+            } else {
+                sql.append(columnName);
+            }
+            sql.append(mask.like ? " LIKE " : " = ");
+            sql.append(inline ? dialect.getQuotedString(mask.value) : "?");
+            if (mask.like && mask.value.contains(SQLConstants.DEFAULT_LIKE_ESCAPE) && dialect instanceof SQLDialectRelational relational) {
+                String escapeClause = relational.getLikeEscapeClause(SQLConstants.DEFAULT_LIKE_ESCAPE);
+                if (escapeClause != null) {
+                    sql.append(escapeClause);
+                }
+            }
+        }
+        sql.append(")");
+    }
+
+    @NotNull
+    private static List<Mask> makeMasks(@Nullable List<String> masks, boolean caseSensitive) {
+        if (CommonUtils.isEmpty(masks)) {
+            return List.of();
+        }
+        List<Mask> result = new ArrayList<>(masks.size());
+        for (String mask : masks) {
+            if (CommonUtils.isEmpty(mask)) {
+                continue;
+            }
+            // Plain names are always compared ignoring case on the client side
+            boolean like = SQLUtils.isLikePattern(mask);
+            boolean ignoreCase = !caseSensitive || !like;
+            String value = like ? SQLUtils.makeSQLLike(mask) : mask;
+            if (ignoreCase) {
+                value = value.toUpperCase(Locale.ENGLISH);
+            }
+            result.add(new Mask(value, like, ignoreCase));
+        }
+        return result;
+    }
+
+}
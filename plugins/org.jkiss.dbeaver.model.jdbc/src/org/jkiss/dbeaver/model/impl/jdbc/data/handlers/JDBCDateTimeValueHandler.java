@@ -49,11 +49,11 @@ import java.util.Date;
  */
 public class JDBCDateTimeValueHandler extends DateTimeCustomValueHandler {
 
-    public static final SimpleDateFormat DEFAULT_DATETIME_FORMAT = new SimpleDateFormat("''" + DBConstants.DEFAULT_TIMESTAMP_FORMAT + "''");
-    public static final SimpleDateFormat DEFAULT_DATETIME_TZ_FORMAT = new SimpleDateFormat("''" + DBConstants.DEFAULT_TIMESTAMP_TZ_FORMAT + "''");
-    public static final SimpleDateFormat DEFAULT_DATE_FORMAT = new SimpleDateFormat("''" + DBConstants.DEFAULT_DATE_FORMAT + "''");
-    public static final SimpleDateFormat DEFAULT_TIME_FORMAT = new SimpleDateFormat("''" + DBConstants.DEFAULT_TIME_FORMAT + "''");
-    public static final SimpleDateFormat DEFAULT_TIME_TZ_FORMAT = new SimpleDateFormat("''" + DBConstants.DEFAULT_TIME_TZ_FORMAT + "''");
+    // SimpleDateFormat is not thread safe, values may be formatted by several threads (e.g. parallel export)
+    private static final ThreadLocal<SimpleDateFormat> DEFAULT_DATETIME_FORMAT = createNativeFormat(DBConstants.DEFAULT_TIMESTAMP_FORMAT);
+    private static final ThreadLocal<SimpleDateFormat> DEFAULT_DATE_FORMAT = createNativeFormat(DBConstants.DEFAULT_DATE_FORMAT);
+    private static final ThreadLocal<SimpleDateFormat> DEFAULT_TIME_FORMAT = createNativeFormat(DBConstants.DEFAULT_TIME_FORMAT);
+    private static final ThreadLocal<SimpleDateFormat> DEFAULT_TIME_TZ_FORMAT = createNativeFormat(DBConstants.DEFAULT_TIME_TZ_FORMAT);
 
     public JDBCDateTimeValueHandler(DBDFormatSettings formatSettings) {
         super(formatSettings);
@@ -202,14 +202,28 @@ public class JDBCDateTimeValueHandler extends DateTimeCustomValueHandler {
         return super.getValueDisplayString(column, value, format);
     }
 
+    @Override
+    public void appendValueDisplayString(
+        @NotNull DBSTypedObject column,
+        Object value,
+        @NotNull DBDDisplayFormat format,
+        @NotNull StringBuilder buffer
+    ) {
+        if (format == DBDDisplayFormat.NATIVE) {
+            buffer.append(getValueDisplayString(column, value, format));
+        } else {
+            super.appendValueDisplayString(column, value, format, buffer);
+        }
+    }
+
     @Nullable
     protected Format getNativeValueFormat(DBSTypedObject type) {
         return switch (type.getTypeID()) {
-            case Types.TIMESTAMP -> DEFAULT_DATETIME_FORMAT;
-            case Types.TIMESTAMP_WITH_TIMEZONE -> DEFAULT_DATETIME_FORMAT;
-            case Types.TIME -> DEFAULT_TIME_FORMAT;
-            case Types.TIME_WITH_TIMEZONE -> DEFAULT_TIME_TZ_FORMAT;
-            case Types.DATE -> DEFAULT_DATE_FORMAT;
+            case Types.TIMESTAMP -> DEFAULT_DATETIME_FORMAT.get();
+            case Types.TIMESTAMP_WITH_TIMEZONE -> DEFAULT_DATETIME_FORMAT.get();
+            case Types.TIME -> DEFAULT_TIME_FORMAT.get();
+            case Types.TIME_WITH_TIMEZONE -> DEFAULT_TIME_TZ_FORMAT.get();
+            case Types.DATE -> DEFAULT_DATE_FORMAT.get();
             default -> null;
         };
     }
@@ -286,4 +300,9 @@ public class JDBCDateTimeValueHandler extends DateTimeCustomValueHandler {
         }
     }
 
-}
\ No newline at end of file
+    @NotNull
+    private static ThreadLocal<SimpleDateFormat> createNativeFormat(@NotNull String pattern) {
+        return ThreadLocal.withInitial(() -> new SimpleDateFormat("''" + pattern + "''"));
+    }
+
+}
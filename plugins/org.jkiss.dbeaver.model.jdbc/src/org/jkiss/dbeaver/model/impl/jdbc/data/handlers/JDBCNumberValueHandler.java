@@ -48,8 +48,8 @@ public class JDBCNumberValueHandler extends JDBCAbstractValueHandler implements
     private static final Log log = Log.getLog(JDBCNumberValueHandler.class);
 
     private final DBDFormatSettings formatSettings;
-    private int useScientificNotation = -1;
-    private DBDDataFormatter formatter;
+    private volatile int useScientificNotation = -1;
+    private volatile DBDDataFormatter formatter;
 
     public JDBCNumberValueHandler(DBSTypedObject type, DBDFormatSettings formatSettings) {
         this.formatSettings = formatSettings;
@@ -62,11 +62,11 @@ public class JDBCNumberValueHandler extends JDBCAbstractValueHandler implements
     }
 
     /**
-     * NumberFormat is not thread safe thus this method is synchronized.
+     * Number formatters are thread safe so there is no need to synchronize this method.
      */
     @NotNull
     @Override
-    public synchronized String getValueDisplayString(@NotNull DBSTypedObject column, @Nullable Object value, @NotNull DBDDisplayFormat format) {
+    public String getValueDisplayString(@NotNull DBSTypedObject column, @Nullable Object value, @NotNull DBDDisplayFormat format) {
         if (value == null) {
             return DBValueFormatting.getDefaultValueDisplayString(null, format);
         }
@@ -85,16 +85,40 @@ public class JDBCNumberValueHandler extends JDBCAbstractValueHandler implements
         return getFormatter(column).formatValue(value);
     }
 
+    @Override
+    public void appendValueDisplayString(
+        @NotNull DBSTypedObject column,
+        @Nullable Object value,
+        @NotNull DBDDisplayFormat format,
+        @NotNull StringBuilder buffer
+    ) {
+        if (value == null || value instanceof String || format == DBDDisplayFormat.NATIVE || format == DBDDisplayFormat.EDIT ||
+            isDisplayStringOverridden()
+        ) {
+            buffer.append(getValueDisplayString(column, value, format));
+        } else {
+            getFormatter(column).formatValue(value, buffer);
+        }
+    }
+
     private DBDDataFormatter getFormatter(@NotNull DBSTypedObject column) {
-        if (formatter == null) {
-            try {
-                formatter = formatSettings.getDataFormatterProfile().createFormatter(DBDDataFormatter.TYPE_NAME_NUMBER, column);
-            } catch (Exception e) {
-                log.error("Can't create formatter for number value handler", e); //$NON-NLS-1$
-                formatter = DefaultDataFormatter.INSTANCE;
+        // Configuration may be refreshed concurrently, so the field is read once
+        DBDDataFormatter result = formatter;
+        if (result == null) {
+            synchronized (this) {
+                result = formatter;
+                if (result == null) {
+                    try {
+                        result = formatSettings.getDataFormatterProfile().createFormatter(DBDDataFormatter.TYPE_NAME_NUMBER, column);
+                    } catch (Exception e) {
+                        log.error("Can't create formatter for number value handler", e); //$NON-NLS-1$
+                        result = DefaultDataFormatter.INSTANCE;
+                    }
+                    formatter = result;
+                }
             }
         }
-        return formatter;
+        return result;
     }
 
     @Nullable
@@ -0,0 +1,55 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSetFetchSize;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * JDBC result set fetch size control
+ */
+public class JDBCResultSetFetchSize implements DBCResultSetFetchSize {
+
+    @NotNull
+    private final ResultSet resultSet;
+
+    public JDBCResultSetFetchSize(@NotNull ResultSet resultSet) {
+        this.resultSet = resultSet;
+    }
+
+    @Override
+    public int getFetchSize() throws DBCException {
+        try {
+            return resultSet.getFetchSize();
+        } catch (SQLException e) {
+            throw new DBCException("Error reading result set fetch size", e);
+        }
+    }
+
+    @Override
+    public void setFetchSize(int fetchSize) throws DBCException {
+        try {
+            resultSet.setFetchSize(fetchSize);
+        } catch (SQLException e) {
+            throw new DBCException("Error changing result set fetch size", e);
+        }
+    }
+}
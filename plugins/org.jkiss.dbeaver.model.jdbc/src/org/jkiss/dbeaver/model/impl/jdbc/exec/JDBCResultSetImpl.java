@@ -234,6 +234,9 @@ public class JDBCResultSetImpl extends AbstractResultSet<JDBCSession, JDBCStatem
         if (FEATURE_NAME_JDBC.equals(name)) {
             return true;
         }
+        if (FEATURE_NAME_FETCH_SIZE.equals(name)) {
+            return new JDBCResultSetFetchSize(original);
+        }
         return super.getFeature(name);
     }
 
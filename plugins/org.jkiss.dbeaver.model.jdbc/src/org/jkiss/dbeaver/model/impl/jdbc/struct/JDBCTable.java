@@ -198,6 +198,9 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                         dataReceiver.fetchStart(session, dbResult, firstRow, maxRows);
 
                         DBFetchProgress fetchProgress = new DBFetchProgress(session.getProgressMonitor());
+                        if (!hasLimits) {
+                            fetchProgress.enableAdaptiveFetchSize(dbResult);
+                        }
                         while (dbResult.nextRow()) {
                             if (fetchProgress.isCanceled() || (hasLimits && fetchProgress.isMaxRowsFetched(maxRows))) {
                                 // Fetch not more than max rows
@@ -16,24 +16,49 @@
  */
 package org.jkiss.dbeaver.model.lsm;
 
-import org.antlr.v4.runtime.ConsoleErrorListener;
-import org.antlr.v4.runtime.Lexer;
-import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.*;
 import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.Interval;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
-import org.jkiss.dbeaver.model.sql.SQLDialect;
 import org.jkiss.dbeaver.model.stm.STMErrorListener;
 import org.jkiss.dbeaver.model.stm.STMParserOverrides;
 import org.jkiss.dbeaver.model.stm.STMSource;
 import org.jkiss.dbeaver.model.stm.STMTreeRuleNode;
 import org.jkiss.utils.Pair;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base analyzer implementation.
+ * <p>
+ * Query is parsed in SLL prediction mode first, which is much faster but fails on some valid inputs
+ * and on all syntax errors. Then it is re-parsed in full LL mode with the regular error recovery.
+ * Lexer and parser instances are reused by the thread which parses queries with the same parameters.
+ * Parse results are cached by the query text, so unchanged queries are not parsed again.
+ * Cache keeps its own copy of the tree and each caller gets a separate copy, because trees are mutable.
+ */
 public abstract class LSMAnalyzerImpl<TLexer extends Lexer, TParser extends STMParserOverrides> implements LSMAnalyzer {
 
     private static final Log log = Log.getLog(LSMAnalyzerImpl.class);
-    
+
+    private static final int MAX_CACHED_TREES = 500;
+    private static final int MAX_CACHED_QUERY_LENGTH = 64 * 1024;
+
+    private static final Map<TreeCacheKey, TreeCacheEntry> treeCache = new LinkedHashMap<>(MAX_CACHED_TREES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TreeCacheKey, TreeCacheEntry> eldest) {
+            return size() > MAX_CACHED_TREES;
+        }
+    };
+
+    private static final ThreadLocal<ParserHolder> threadParser = new ThreadLocal<>();
+
     private final LSMAnalyzerParameters parameters;
     
     public LSMAnalyzerImpl(@NotNull LSMAnalyzerParameters parameters) {
@@ -46,31 +71,73 @@ public abstract class LSMAnalyzerImpl<TLexer extends Lexer, TParser extends STMP
     @NotNull
     protected abstract STMTreeRuleNode parseSqlQueryImpl(@NotNull TParser parser);
 
+    /**
+     * Resets lexer and parser created by {@link #createParser} to parse a new input
+     */
+    protected void resetParser(@NotNull Pair<TLexer, TParser> pair, @NotNull CharStream stream) {
+        TLexer lexer = pair.getFirst();
+        lexer.setInputStream(stream);
+        pair.getSecond().setTokenStream(new CommonTokenStream(lexer));
+    }
+
     @NotNull
     protected TParser prepareParser(@NotNull STMSource source, @Nullable STMErrorListener errorListener) {
-        Pair<TLexer, TParser> pair = this.createParser(source, this.parameters);
-        TLexer lexer = pair.getFirst();
-        TParser parser = pair.getSecond();
-        
-        if (errorListener != null) {
-            lexer.removeErrorListener(ConsoleErrorListener.INSTANCE);
-            lexer.addErrorListener(errorListener);
-            parser.removeErrorListener(ConsoleErrorListener.INSTANCE);
-            parser.addErrorListener(errorListener);
-        }
-        
+        TParser parser = obtainParser(source.getStream());
+        setErrorListener(parser, errorListener);
+        parser.setErrorHandler(new DefaultErrorStrategy());
         parser.getInterpreter().setPredictionMode(PredictionMode.LL);
-        
         return parser;
     }
 
     @Nullable
     @Override
     public STMTreeRuleNode parseSqlQueryTree(@NotNull STMSource source, @Nullable STMErrorListener errorListener) {
+        CharStream stream = source.getStream();
+        TreeCacheKey cacheKey = null;
+        if (stream.size() <= MAX_CACHED_QUERY_LENGTH) {
+            cacheKey = new TreeCacheKey(getClass(), parameters, stream.getText(Interval.of(0, stream.size() - 1)));
+            TreeCacheEntry entry;
+            synchronized (treeCache) {
+                entry = treeCache.get(cacheKey);
+            }
+            if (entry != null) {
+                if (errorListener != null) {
+                    entry.replayErrors(obtainParser(stream), errorListener);
+                }
+                return entry.tree.copyTree();
+            }
+        }
+
         try {
-            TParser parser = prepareParser(source, errorListener);
-            STMTreeRuleNode result = parseSqlQueryImpl(parser);
+            SyntaxErrorRecorder errorRecorder = new SyntaxErrorRecorder();
+            TParser parser = obtainParser(stream);
+            setErrorListener(parser, errorListener);
+            ((Lexer) parser.getInputStream().getTokenSource()).addErrorListener(errorRecorder);
+
+            STMTreeRuleNode result;
+            // Fast path. Syntax errors are not reported here, they will be reported by the full parse.
+            parser.removeErrorListeners();
+            parser.setErrorHandler(new BailErrorStrategy());
+            parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+            try {
+                result = parseSqlQueryImpl(parser);
+            } catch (ParseCancellationException e) {
+                parser.reset();
+                if (errorListener != null) {
+                    parser.addErrorListener(errorListener);
+                }
+                parser.addErrorListener(errorRecorder);
+                parser.setErrorHandler(new DefaultErrorStrategy());
+                parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+                result = parseSqlQueryImpl(parser);
+            }
             result.fixup(parser);
+
+            if (cacheKey != null) {
+                synchronized (treeCache) {
+                    treeCache.put(cacheKey, new TreeCacheEntry(result.copyTree(), errorRecorder.errors));
+                }
+            }
             return result;
         } catch (RecognitionException e) {
             log.debug("Recognition exception occurred while trying to parse the query", e);
@@ -78,4 +145,86 @@ public abstract class LSMAnalyzerImpl<TLexer extends Lexer, TParser extends STMP
         }
     }
 
+    /**
+     * Returns lexer and parser of the current thread or creates new ones
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private TParser obtainParser(@NotNull CharStream stream) {
+        ParserHolder holder = threadParser.get();
+        if (holder != null && holder.analyzerClass == getClass() && holder.parameters.equals(parameters)) {
+            Pair<TLexer, TParser> pair = (Pair<TLexer, TParser>) holder.pair;
+            resetParser(pair, stream);
+            return pair.getSecond();
+        }
+        Pair<TLexer, TParser> pair = this.createParser(() -> stream, this.parameters);
+        threadParser.set(new ParserHolder(getClass(), parameters, pair));
+        return pair.getSecond();
+    }
+
+    private static void setErrorListener(@NotNull Parser parser, @Nullable STMErrorListener errorListener) {
+        Recognizer<?, ?> lexer = (Recognizer<?, ?>) parser.getInputStream().getTokenSource();
+        lexer.removeErrorListeners();
+        parser.removeErrorListeners();
+        if (errorListener != null) {
+            lexer.addErrorListener(errorListener);
+            parser.addErrorListener(errorListener);
+        } else {
+            lexer.addErrorListener(ConsoleErrorListener.INSTANCE);
+            parser.addErrorListener(ConsoleErrorListener.INSTANCE);
+        }
+    }
+
+    private record TreeCacheKey(@NotNull Class<?> analyzerClass, @NotNull LSMAnalyzerParameters parameters, @NotNull String text) {
+    }
+
+    private record ParserHolder(@NotNull Class<?> analyzerClass, @NotNull LSMAnalyzerParameters parameters, @NotNull Pair<?, ?> pair) {
+    }
+
+    private record SyntaxError(boolean lexerError, Object offendingSymbol, int line, int charPositionInLine, String message) {
+    }
+
+    private static class TreeCacheEntry {
+        private final STMTreeRuleNode tree;
+        private final List<SyntaxError> errors;
+
+        TreeCacheEntry(@NotNull STMTreeRuleNode tree, @NotNull List<SyntaxError> errors) {
+            this.tree = tree;
+            this.errors = errors;
+        }
+
+        /**
+         * Reports recorded errors on behalf of the parser which was reset to the same text.
+         * Exceptions are not kept, they refer to the state of the original parse (ANTLR reports some errors without them too).
+         */
+        void replayErrors(@NotNull Parser parser, @NotNull STMErrorListener errorListener) {
+            Recognizer<?, ?> lexer = (Recognizer<?, ?>) parser.getInputStream().getTokenSource();
+            for (SyntaxError error : errors) {
+                errorListener.syntaxError(
+                    error.lexerError ? lexer : parser,
+                    error.offendingSymbol,
+                    error.line,
+                    error.charPositionInLine,
+                    error.message,
+                    null);
+            }
+        }
+    }
+
+    private static class SyntaxErrorRecorder extends BaseErrorListener {
+        private final List<SyntaxError> errors = new ArrayList<>();
+
+        @Override
+        public void syntaxError(
+            Recognizer<?, ?> recognizer,
+            Object offendingSymbol,
+            int line,
+            int charPositionInLine,
+            String msg,
+            RecognitionException e
+        ) {
+            errors.add(new SyntaxError(recognizer instanceof Lexer, offendingSymbol, line, charPositionInLine, msg));
+        }
+    }
+
 }
@@ -25,10 +25,25 @@ import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.TerminalNode;
 import org.antlr.v4.runtime.tree.Trees;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.lang.reflect.Constructor;
 
 
 public class STMTreeRuleNode extends ParserRuleContext implements STMTreeNode {
-    
+
+    private static final ClassValue<Constructor<?>> copyConstructors = new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            try {
+                // Generated rule contexts have the same constructor
+                return type.getConstructor(ParserRuleContext.class, int.class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("Syntax tree node " + type.getName() + " can't be copied", e);
+            }
+        }
+    };
+
     private String nodeName = null;
 
     private boolean hasErrorChildren = false;
@@ -63,6 +78,48 @@ public class STMTreeRuleNode extends ParserRuleContext implements STMTreeNode {
     public String getNodeName() {
         return nodeName;
     }
+
+    /**
+     * Creates a deep copy of the subtree, so it may be cached and given to several consumers.
+     * Tokens are shared with the original tree.
+     */
+    @NotNull
+    public STMTreeRuleNode copyTree() {
+        return copyTree(getParent());
+    }
+
+    @NotNull
+    private STMTreeRuleNode copyTree(@Nullable ParserRuleContext parent) {
+        STMTreeRuleNode copy;
+        try {
+            copy = (STMTreeRuleNode) copyConstructors.get(getClass()).newInstance(parent, invokingState);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Error copying syntax tree node " + getClass().getName(), e);
+        }
+        copy.start = start;
+        copy.stop = stop;
+        copy.exception = exception;
+        copy.nodeName = nodeName;
+        if (children != null) {
+            for (ParseTree child : children) {
+                if (child instanceof STMTreeRuleNode ruleNode) {
+                    copy.addAnyChild(ruleNode.copyTree(copy));
+                } else {
+                    TerminalNode termCopy;
+                    if (child instanceof STMTreeTermErrorNode errorNode) {
+                        termCopy = new STMTreeTermErrorNode(errorNode.getSymbol());
+                    } else if (child instanceof STMTreeTermNode termNode) {
+                        termCopy = termNode.copyNode();
+                    } else {
+                        throw new IllegalStateException("Unexpected syntax tree node " + child.getClass().getName());
+                    }
+                    termCopy.setParent(copy);
+                    copy.addAnyChild(termCopy);
+                }
+            }
+        }
+        return copy;
+    }
     
     @NotNull
     public Interval getRealInterval() {
@@ -37,6 +37,16 @@ public class STMTreeTermNode extends TerminalNodeImpl implements STMTreeNode {
         this.atnState = atnState;
     }
 
+    /**
+     * Copy of the node without parent. Token is shared with the original node.
+     */
+    @NotNull
+    STMTreeTermNode copyNode() {
+        STMTreeTermNode copy = new STMTreeTermNode(getSymbol(), atnState);
+        copy.nodeName = nodeName;
+        return copy;
+    }
+
     public int getAtnState() {
         return this.atnState;
     }
@@ -1078,36 +1078,57 @@ public class SQLCompletionAnalyzer implements DBRRunnableParametrized<DBRProgres
                 }
             }
             StringBuilder combinedMatch = new StringBuilder();
-            for (DBSObject child : children) {
-                if (DBUtils.isHiddenObject(child)) {
-                    // Skip hidden
-                    continue;
-                }
-                if (DBUtils.isVirtualObject(child)) {
+            boolean prefixSearch = dataSource != null && !request.getContext().isSearchInsideNames();
+            SQLCompletionNameIndex nameIndex = allObjects || CommonUtils.isEmpty(startPart) ?
+                null : SQLCompletionNameIndex.getIndex(parent, children);
+            if (nameIndex != null) {
+                // Large container - look up candidates in the name index instead of checking every child
+                for (DBSObject child : nameIndex.getVirtualObjects()) {
                     makeProposalsFromChildren(child, startPart, addFirst, Collections.emptyMap());
-                    continue;
                 }
-                if (allObjects) {
-                    if (!combinedMatch.isEmpty()) {
-                        combinedMatch.append(", ");
-                        if (objPrefix != null) combinedMatch.append(objPrefix);
-                    }
-                    combinedMatch.append(DBUtils.getQuotedIdentifier(child));
+                if (prefixSearch) {
+                    matchedObjects.addAll(nameIndex.findByPrefix(startPart));
                 } else {
-                    if (dataSource != null && !request.getContext().isSearchInsideNames()) {
-                        // startsWith
-                        if (CommonUtils.isEmpty(startPart) || CommonUtils.startsWithIgnoreCase(child.getName(), startPart)) {
-                            matchedObjects.add(child);
-                        }
-                    } else {
-                        // Use fuzzy search for contains
-                        int score = CommonUtils.isEmpty(startPart) ? 1 : TextUtils.fuzzyScore(child.getName(), startPart);
+                    for (DBSObject child : nameIndex.findByCharacters(startPart)) {
+                        int score = TextUtils.fuzzyScore(child.getName(), startPart);
                         if (score > 0) {
                             matchedObjects.add(child);
                             scoredMatches.put(child.getName(), score);
                         }
                     }
                 }
+            } else {
+                for (DBSObject child : children) {
+                    if (DBUtils.isHiddenObject(child)) {
+                        // Skip hidden
+                        continue;
+                    }
+                    if (DBUtils.isVirtualObject(child)) {
+                        makeProposalsFromChildren(child, startPart, addFirst, Collections.emptyMap());
+                        continue;
+                    }
+                    if (allObjects) {
+                        if (!combinedMatch.isEmpty()) {
+                            combinedMatch.append(", ");
+                            if (objPrefix != null) combinedMatch.append(objPrefix);
+                        }
+                        combinedMatch.append(DBUtils.getQuotedIdentifier(child));
+                    } else {
+                        if (prefixSearch) {
+                            // startsWith
+                            if (CommonUtils.isEmpty(startPart) || CommonUtils.startsWithIgnoreCase(child.getName(), startPart)) {
+                                matchedObjects.add(child);
+                            }
+                        } else {
+                            // Use fuzzy search for contains
+                            int score = CommonUtils.isEmpty(startPart) ? 1 : TextUtils.fuzzyScore(child.getName(), startPart);
+                            if (score > 0) {
+                                matchedObjects.add(child);
+                                scoredMatches.put(child.getName(), score);
+                            }
+                        }
+                    }
+                }
             }
             if (!combinedMatch.isEmpty()) {
                 String replaceString = combinedMatch.toString();
@@ -0,0 +1,267 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.completion;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.*;
+import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+
+/**
+ * Name index of container children used by SQL completion.
+ * <p>
+ * Keeps children names sorted in case-folded form for prefix lookups and a character index
+ * which narrows down candidates for fuzzy search inside names. Both lookups return children in their original order.
+ * Index is built once per children list and rebuilt when objects are added, removed or renamed.
+ * Indexes of a data source are dropped when it is disconnected or any of its objects is refreshed.
+ */
+public class SQLCompletionNameIndex {
+
+    /**
+     * Smaller lists are scanned directly
+     */
+    public static final int MIN_INDEXED_SIZE = 1000;
+
+    private static final int MAX_CACHED_INDEXES = 20;
+
+    // Indexed objects refer to their parents, so a weak map would never release them
+    private static final Map<DBPObject, SQLCompletionNameIndex> indexes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<DBPObject, SQLCompletionNameIndex> eldest) {
+            return size() > MAX_CACHED_INDEXES;
+        }
+    };
+    private static final Set<DBPDataSourceRegistry> listenedRegistries = Collections.newSetFromMap(new WeakHashMap<>());
+    private static final DBPEventListener dataSourceListener = SQLCompletionNameIndex::handleDataSourceEvent;
+
+    @Nullable
+    private final DBPDataSourceContainer container;
+    private final int sourceSize;
+    private final long sourceStamp;
+    private final DBSObject[] objects;
+    private final List<DBSObject> virtualObjects = new ArrayList<>();
+    private final String[] sortedNames;
+    private final int[] sortedPositions;
+    private final BitSet[] asciiIndex = new BitSet[128];
+    private final Map<Character, BitSet> charIndex = new HashMap<>();
+
+    private SQLCompletionNameIndex(
+        @Nullable DBPDataSourceContainer container,
+        @NotNull Collection<? extends DBSObject> children,
+        long sourceStamp
+    ) {
+        this.container = container;
+        this.sourceSize = children.size();
+        this.sourceStamp = sourceStamp;
+
+        List<DBSObject> indexed = new ArrayList<>(children.size());
+        for (DBSObject child : children) {
+            if (DBUtils.isHiddenObject(child)) {
+                continue;
+            }
+            if (DBUtils.isVirtualObject(child)) {
+                virtualObjects.add(child);
+                continue;
+            }
+            indexed.add(child);
+        }
+        this.objects = indexed.toArray(new DBSObject[0]);
+
+        IndexedName[] names = new IndexedName[objects.length];
+        for (int i = 0; i < objects.length; i++) {
+            String name = CommonUtils.notEmpty(objects[i].getName());
+            names[i] = new IndexedName(foldCase(name), i);
+            // Same case conversion as in fuzzy score
+            String lowerName = name.toLowerCase(Locale.getDefault());
+            for (int k = 0; k < lowerName.length(); k++) {
+                getCharIndex(lowerName.charAt(k), true).set(i);
+            }
+        }
+        Arrays.sort(names, Comparator.comparing(IndexedName::name));
+        this.sortedNames = new String[objects.length];
+        this.sortedPositions = new int[objects.length];
+        for (int i = 0; i < names.length; i++) {
+            sortedNames[i] = names[i].name;
+            sortedPositions[i] = names[i].position;
+        }
+    }
+
+    private record IndexedName(String name, int position) {
+    }
+
+    /**
+     * Returns index of children of specified parent or null if there are too few children to index
+     */
+    @Nullable
+    public static SQLCompletionNameIndex getIndex(@NotNull DBPObject parent, @NotNull Collection<? extends DBSObject> children) {
+        if (children.size() < MIN_INDEXED_SIZE) {
+            return null;
+        }
+        long stamp = makeStamp(children);
+        SQLCompletionNameIndex index;
+        synchronized (indexes) {
+            index = indexes.get(parent);
+        }
+        if (index == null || index.sourceSize != children.size() || index.sourceStamp != stamp) {
+            DBPDataSourceContainer container = parent instanceof DBSObject object ? DBUtils.getContainer(object) : null;
+            index = new SQLCompletionNameIndex(container, children, stamp);
+            synchronized (indexes) {
+                indexes.put(parent, index);
+                if (container != null && listenedRegistries.add(container.getRegistry())) {
+                    container.getRegistry().addDataSourceListener(dataSourceListener);
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Drops all indexes of children of the specified data source
+     */
+    public static void invalidateIndexes(@NotNull DBPDataSourceContainer container) {
+        synchronized (indexes) {
+            indexes.values().removeIf(index -> index.container == container);
+        }
+    }
+
+    private static void handleDataSourceEvent(@NotNull DBPEvent event) {
+        // Connect, disconnect, refresh or metadata change. Index of changed children would be rebuilt anyway,
+        // but old children must not be kept in memory till the index is evicted.
+        if (event.getAction() != DBPEvent.Action.OBJECT_ADD && event.getObject() != null) {
+            DBPDataSourceContainer container = DBUtils.getContainer(event.getObject());
+            if (container != null) {
+                invalidateIndexes(container);
+            }
+        }
+    }
+
+    /**
+     * Virtual children. Completion looks into their children instead.
+     */
+    @NotNull
+    public List<DBSObject> getVirtualObjects() {
+        return virtualObjects;
+    }
+
+    /**
+     * Children which names start with specified prefix ignoring case
+     */
+    @NotNull
+    public List<DBSObject> findByPrefix(@NotNull String prefix) {
+        String foldedPrefix = foldCase(prefix);
+        int first = findFirst(foldedPrefix);
+        int[] positions = new int[sortedNames.length - first];
+        int count = 0;
+        for (int i = first; i < sortedNames.length && sortedNames[i].startsWith(foldedPrefix); i++) {
+            positions[count++] = sortedPositions[i];
+        }
+        Arrays.sort(positions, 0, count);
+        List<DBSObject> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DBSObject object = objects[positions[i]];
+            if (CommonUtils.startsWithIgnoreCase(object.getName(), prefix)) {
+                result.add(object);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Children which names contain all characters of the query ignoring case.
+     * This is a superset of names matched by fuzzy search.
+     */
+    @NotNull
+    public List<DBSObject> findByCharacters(@NotNull String query) {
+        String lowerQuery = query.toLowerCase(Locale.getDefault());
+        BitSet candidates = null;
+        for (int i = 0; i < lowerQuery.length(); i++) {
+            BitSet names = getCharIndex(lowerQuery.charAt(i), false);
+            if (names == null) {
+                return Collections.emptyList();
+            }
+            if (candidates == null) {
+                candidates = (BitSet) names.clone();
+            } else {
+                candidates.and(names);
+            }
+        }
+        if (candidates == null) {
+            return Arrays.asList(objects);
+        }
+        List<DBSObject> result = new ArrayList<>(candidates.cardinality());
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            result.add(objects[i]);
+        }
+        return result;
+    }
+
+    @Nullable
+    private BitSet getCharIndex(char c, boolean create) {
+        BitSet names = c < asciiIndex.length ? asciiIndex[c] : charIndex.get(c);
+        if (names == null && create) {
+            names = new BitSet(objects.length);
+            if (c < asciiIndex.length) {
+                asciiIndex[c] = names;
+            } else {
+                charIndex.put(c, names);
+            }
+        }
+        return names;
+    }
+
+    private int findFirst(@NotNull String foldedPrefix) {
+        int low = 0, high = sortedNames.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedNames[mid].compareTo(foldedPrefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Folds characters which are equal in case-insensitive comparison into the same character
+     */
+    @NotNull
+    private static String foldCase(@NotNull String name) {
+        char[] chars = name.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Children list stamp. Changes when objects are added, removed, replaced or renamed.
+     */
+    private static long makeStamp(@NotNull Collection<? extends DBSObject> children) {
+        long stamp = 1;
+        for (DBSObject child : children) {
+            stamp = stamp * 31 + System.identityHashCode(child);
+            stamp = stamp * 31 + Objects.hashCode(child.getName());
+        }
+        return stamp;
+    }
+
+}
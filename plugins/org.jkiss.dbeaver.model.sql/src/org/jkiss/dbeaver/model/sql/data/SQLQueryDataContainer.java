@@ -145,6 +145,9 @@ public class SQLQueryDataContainer implements DBSDataContainer, SQLQueryContaine
                     DBRProgressMonitor monitor = session.getProgressMonitor();
                     monitor.subTask("Fetch result set");
                     DBFetchProgress fetchProgress = new DBFetchProgress(session.getProgressMonitor());
+                    if (maxRows <= 0) {
+                        fetchProgress.enableAdaptiveFetchSize(resultSet);
+                    }
 
                     dataReceiver.fetchStart(session, resultSet, firstRow, maxRows);
 
@@ -0,0 +1,434 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.exec;
+
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.alter.Alter;
+import net.sf.jsqlparser.statement.alter.AlterExpression;
+import net.sf.jsqlparser.statement.create.index.CreateIndex;
+import net.sf.jsqlparser.statement.create.table.ColumnDefinition;
+import net.sf.jsqlparser.statement.create.table.CreateTable;
+import net.sf.jsqlparser.statement.create.table.ForeignKeyIndex;
+import net.sf.jsqlparser.statement.create.table.Index;
+import net.sf.jsqlparser.statement.create.view.CreateView;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.drop.Drop;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.merge.Merge;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.truncate.Truncate;
+import net.sf.jsqlparser.statement.update.Update;
+import net.sf.jsqlparser.util.TablesNamesFinder;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.sql.SQLControlCommand;
+import org.jkiss.dbeaver.model.sql.SQLQuery;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+
+/**
+ * Dependencies between script statements.
+ * <p>
+ * Each statement is described by the set of tables it reads and the set of tables it modifies.
+ * A statement depends on all previous statements which modify tables it reads or modifies,
+ * and on all previous statements which read tables it modifies.
+ * Table names are compared by their last name part case-insensitively, so statements working with
+ * same-named tables of different schemas are ordered too.
+ * <p>
+ * Foreign keys declared in the script (CREATE TABLE and ALTER TABLE) are tracked: the declaring statement
+ * reads the referenced table, and any later modification of the child or parent table also reads the other side
+ * of the reference, so e.g. an INSERT into a child table waits for the INSERT into its parent.
+ * <p>
+ * Statements which can't be analyzed (control commands, unparsed queries, transaction statements,
+ * procedure calls, drops of objects other than tables, views and indexes, renames, etc.) are barriers:
+ * they depend on all previous statements and all following statements depend on them.
+ * <p>
+ * Statements which change session state (SET, USE, ALTER SESSION, temporary tables, etc.) affect only
+ * the connection they run in, so a script containing them can't be split between connections at all,
+ * see {@link #isSessionStateChanged()}.
+ */
+public class SQLScriptDependencyGraph {
+
+    private static final Set<String> DROP_TRACKED_TYPES = Set.of("TABLE", "VIEW", "INDEX");
+
+    private final int[][] dependencies;
+    private final boolean[] barriers;
+    private final boolean sessionStateChanged;
+
+    private SQLScriptDependencyGraph(int[][] dependencies, boolean[] barriers, boolean sessionStateChanged) {
+        this.dependencies = dependencies;
+        this.barriers = barriers;
+        this.sessionStateChanged = sessionStateChanged;
+    }
+
+    public int size() {
+        return dependencies.length;
+    }
+
+    /**
+     * Indexes of statements which must be finished before the specified statement starts
+     */
+    @NotNull
+    public int[] getDependencies(int index) {
+        return dependencies[index];
+    }
+
+    public boolean isBarrier(int index) {
+        return barriers[index];
+    }
+
+    /**
+     * Returns true if some statement changes the state of its session. Such script must be executed
+     * in a single connection.
+     */
+    public boolean isSessionStateChanged() {
+        return sessionStateChanged;
+    }
+
+    @NotNull
+    public static SQLScriptDependencyGraph build(@NotNull List<? extends SQLScriptElement> elements) {
+        int count = elements.size();
+        int[][] dependencies = new int[count][];
+        boolean[] barriers = new boolean[count];
+
+        Map<String, Integer> lastWriters = new HashMap<>();
+        Map<String, List<Integer>> readers = new HashMap<>();
+        // Foreign key references in both directions (child -> parents, parent -> children)
+        Map<String, Set<String>> references = new HashMap<>();
+        int lastBarrier = -1;
+        boolean prevIsCommand = false;
+        boolean sessionStateChanged = false;
+        for (int i = 0; i < count; i++) {
+            SQLScriptElement element = elements.get(i);
+            if (!sessionStateChanged && isSessionStateStatement(element)) {
+                sessionStateChanged = true;
+            }
+            // Control commands may change the context of the following statement (e.g. pragmas)
+            TableAccess access = prevIsCommand ? null : getTableAccess(element);
+            prevIsCommand = element instanceof SQLControlCommand;
+
+            Set<Integer> deps = new TreeSet<>();
+            if (access == null) {
+                barriers[i] = true;
+                for (int k = Math.max(lastBarrier, 0); k < i; k++) {
+                    deps.add(k);
+                }
+                lastBarrier = i;
+                lastWriters.clear();
+                readers.clear();
+            } else {
+                for (Map.Entry<String, String> ref : access.references) {
+                    references.computeIfAbsent(ref.getKey(), t -> new HashSet<>()).add(ref.getValue());
+                    references.computeIfAbsent(ref.getValue(), t -> new HashSet<>()).add(ref.getKey());
+                }
+                for (String table : access.writes) {
+                    Set<String> referenced = references.get(table);
+                    if (referenced != null) {
+                        access.reads.addAll(referenced);
+                    }
+                }
+                access.reads.removeAll(access.writes);
+                if (lastBarrier >= 0) {
+                    deps.add(lastBarrier);
+                }
+                for (String table : access.reads) {
+                    Integer writer = lastWriters.get(table);
+                    if (writer != null) {
+                        deps.add(writer);
+                    }
+                }
+                for (String table : access.writes) {
+                    Integer writer = lastWriters.get(table);
+                    if (writer != null) {
+                        deps.add(writer);
+                    }
+                    List<Integer> tableReaders = readers.get(table);
+                    if (tableReaders != null) {
+                        deps.addAll(tableReaders);
+                    }
+                }
+                for (String table : access.reads) {
+                    readers.computeIfAbsent(table, t -> new ArrayList<>()).add(i);
+                }
+                for (String table : access.writes) {
+                    lastWriters.put(table, i);
+                    readers.remove(table);
+                }
+            }
+            deps.remove(i);
+            dependencies[i] = deps.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new SQLScriptDependencyGraph(dependencies, barriers, sessionStateChanged);
+    }
+
+    /**
+     * Checks leading keywords of the query. Statement may be unparsed, so its text is used.
+     */
+    static boolean isSessionStateStatement(@NotNull SQLScriptElement element) {
+        if (!(element instanceof SQLQuery)) {
+            return false;
+        }
+        List<String> words = getLeadingWords(element.getText(), 4);
+        if (words.isEmpty()) {
+            return false;
+        }
+        switch (words.get(0)) {
+            case "SET":
+            case "RESET":
+            case "USE":
+            case "PRAGMA":
+            case "DISCARD":
+                return true;
+            case "ALTER":
+                return words.size() > 1 && words.get(1).equals("SESSION");
+            case "CREATE":
+            case "DECLARE":
+                // CREATE [GLOBAL | LOCAL] TEMP[ORARY] TABLE, DECLARE GLOBAL TEMPORARY TABLE, CREATE TABLE #temp
+                for (int i = 1; i < words.size(); i++) {
+                    String word = words.get(i);
+                    if (word.equals("TEMP") || word.equals("TEMPORARY") || word.startsWith("#")) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @NotNull
+    private static List<String> getLeadingWords(@NotNull String text, int maxWords) {
+        List<String> words = new ArrayList<>(maxWords);
+        int length = text.length();
+        int pos = 0;
+        while (pos < length && words.size() < maxWords) {
+            char c = text.charAt(pos);
+            if (Character.isWhitespace(c) || c == '(') {
+                pos++;
+            } else if (text.startsWith("--", pos)) {
+                int eol = text.indexOf('\n', pos);
+                pos = eol < 0 ? length : eol + 1;
+            } else if (text.startsWith("/*", pos)) {
+                int end = text.indexOf("*/", pos + 2);
+                pos = end < 0 ? length : end + 2;
+            } else {
+                int start = pos;
+                while (pos < length && !Character.isWhitespace(text.charAt(pos)) && text.charAt(pos) != '(') {
+                    pos++;
+                }
+                words.add(text.substring(start, pos).toUpperCase(Locale.ENGLISH));
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Returns tables read and modified by the element or null if element must be executed as a barrier.
+     */
+    @Nullable
+    static TableAccess getTableAccess(@NotNull SQLScriptElement element) {
+        if (!(element instanceof SQLQuery query)) {
+            return null;
+        }
+        Statement statement = query.getStatement();
+        if (statement == null) {
+            return null;
+        }
+        TableAccess access = new TableAccess();
+        try {
+            if (statement instanceof Select select) {
+                if (select.getSelectBody() instanceof PlainSelect plainSelect && !CommonUtils.isEmpty(plainSelect.getIntoTables())) {
+                    for (Table table : plainSelect.getIntoTables()) {
+                        access.addWrite(table);
+                    }
+                }
+                access.addReads(statement);
+            } else if (statement instanceof Insert insert) {
+                access.addWrite(insert.getTable());
+                access.addReads(statement);
+            } else if (statement instanceof Update update) {
+                access.addWrite(update.getTable());
+                access.addReads(statement);
+            } else if (statement instanceof Delete delete) {
+                if (delete.getTable() != null) {
+                    access.addWrite(delete.getTable());
+                }
+                if (delete.getTables() != null) {
+                    for (Table table : delete.getTables()) {
+                        access.addWrite(table);
+                    }
+                }
+                access.addReads(statement);
+            } else if (statement instanceof Merge merge) {
+                access.addWrite(merge.getTable());
+                access.addReads(statement);
+            } else if (statement instanceof Truncate truncate) {
+                access.addWrite(truncate.getTable());
+            } else if (statement instanceof CreateTable createTable) {
+                access.addWrite(createTable.getTable());
+                if (createTable.getSelect() != null) {
+                    access.addReads(createTable.getSelect());
+                }
+                String tableName = normalizeName(createTable.getTable().getName());
+                if (createTable.getColumnDefinitions() != null) {
+                    for (ColumnDefinition column : createTable.getColumnDefinitions()) {
+                        access.addColumnReference(tableName, column);
+                    }
+                }
+                if (createTable.getIndexes() != null) {
+                    for (Index index : createTable.getIndexes()) {
+                        if (index instanceof ForeignKeyIndex fkIndex) {
+                            access.addReference(tableName, fkIndex.getTable());
+                        }
+                    }
+                }
+            } else if (statement instanceof CreateView createView) {
+                access.addWrite(createView.getView());
+                if (createView.getSelect() != null) {
+                    access.addReads(createView.getSelect());
+                }
+            } else if (statement instanceof CreateIndex createIndex) {
+                // Index creation doesn't conflict with other reads of the table
+                access.addRead(createIndex.getTable());
+                if (createIndex.getIndex() != null && createIndex.getIndex().getName() != null) {
+                    access.writes.add(normalizeName(createIndex.getIndex().getName()));
+                }
+            } else if (statement instanceof Drop drop) {
+                // Other objects (schemas, sequences, functions, etc.) may be used by any statement
+                if (!DROP_TRACKED_TYPES.contains(CommonUtils.notEmpty(drop.getType()).toUpperCase(Locale.ENGLISH))) {
+                    return null;
+                }
+                access.addWrite(drop.getName());
+            } else if (statement instanceof Alter alter) {
+                access.addWrite(alter.getTable());
+                String tableName = normalizeName(alter.getTable().getName());
+                if (alter.getAlterExpressions() != null) {
+                    for (AlterExpression expression : alter.getAlterExpressions()) {
+                        // Renamed object appears under the new name in following statements
+                        if (expression.getOperation() != null && expression.getOperation().name().startsWith("RENAME")) {
+                            return null;
+                        }
+                        if (expression.getIndex() instanceof ForeignKeyIndex fkIndex) {
+                            access.addReference(tableName, fkIndex.getTable());
+                        }
+                        if (expression.getFkSourceTable() != null) {
+                            access.addReference(tableName, expression.getFkSourceTable());
+                        }
+                        if (expression.getColDataTypeList() != null) {
+                            for (ColumnDefinition column : expression.getColDataTypeList()) {
+                                access.addColumnReference(tableName, column);
+                            }
+                        }
+                    }
+                }
+            } else {
+                return null;
+            }
+        } catch (Throwable e) {
+            // Table names finder doesn't support some constructions
+            return null;
+        }
+        if (access.reads.isEmpty() && access.writes.isEmpty()) {
+            return null;
+        }
+        // Modification implies read access
+        access.reads.removeAll(access.writes);
+        return access;
+    }
+
+    @NotNull
+    static String normalizeName(@NotNull String name) {
+        int divPos = name.lastIndexOf('.');
+        if (divPos >= 0) {
+            name = name.substring(divPos + 1);
+        }
+        StringBuilder result = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '"' && c != '`' && c != '[' && c != ']') {
+                result.append(Character.toLowerCase(c));
+            }
+        }
+        return result.toString();
+    }
+
+    static class TableAccess {
+        final Set<String> reads = new HashSet<>();
+        final Set<String> writes = new HashSet<>();
+        // Foreign keys declared by the statement (child table -> referenced table)
+        final List<Map.Entry<String, String>> references = new ArrayList<>();
+
+        void addRead(@Nullable Table table) {
+            if (table != null && table.getName() != null) {
+                reads.add(normalizeName(table.getName()));
+            }
+        }
+
+        void addWrite(@Nullable Table table) {
+            if (table != null && table.getName() != null) {
+                writes.add(normalizeName(table.getName()));
+            } else {
+                throw new IllegalArgumentException("Unknown modified table");
+            }
+        }
+
+        void addReference(@NotNull String childTable, @Nullable Table parentTable) {
+            if (parentTable != null && parentTable.getName() != null) {
+                addReference(childTable, parentTable.getName());
+            }
+        }
+
+        void addReference(@NotNull String childTable, @NotNull String parentTable) {
+            String parentName = normalizeName(parentTable);
+            if (!parentName.isEmpty() && !parentName.equals(childTable)) {
+                reads.add(parentName);
+                references.add(Map.entry(childTable, parentName));
+            }
+        }
+
+        /**
+         * Inline column constraint: {@code REFERENCES parent [(column)]}
+         */
+        void addColumnReference(@NotNull String childTable, @NotNull ColumnDefinition column) {
+            List<String> specs = column.getColumnSpecs();
+            if (specs == null) {
+                return;
+            }
+            for (int i = 0; i < specs.size() - 1; i++) {
+                if ("REFERENCES".equalsIgnoreCase(specs.get(i))) {
+                    String parentTable = specs.get(i + 1);
+                    int bracketPos = parentTable.indexOf('(');
+                    if (bracketPos >= 0) {
+                        parentTable = parentTable.substring(0, bracketPos);
+                    }
+                    addReference(childTable, parentTable.trim());
+                }
+            }
+        }
+
+        void addReads(@NotNull Statement statement) {
+            for (String tableName : new TablesNamesFinder().getTableList(statement)) {
+                reads.add(normalizeName(tableName));
+            }
+        }
+    }
+
+}
@@ -16,7 +16,12 @@
  */
 package org.jkiss.dbeaver.model.sql.exec;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.JobGroup;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBFetchProgress;
@@ -25,16 +30,24 @@ import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.qm.QMUtils;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.ProxyProgressMonitor;
 import org.jkiss.dbeaver.model.sql.*;
 import org.jkiss.dbeaver.model.sql.data.SQLQueryDataContainer;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.PriorityQueue;
 
 /**
- * SQLScriptProcessor
+ * SQLScriptProcessor.
+ * <p>
+ * By default, queries are executed one by one in the specified execution context.
+ * If parallelism is greater than one and the script runs in auto-commit mode then independent queries
+ * are executed simultaneously in isolated contexts, see {@link SQLScriptDependencyGraph}.
  */
 public class SQLScriptProcessor {
     private static final String STAT_LOG_PREFIX = "-----------------> ";
@@ -45,15 +58,13 @@ public class SQLScriptProcessor {
     private final DBDDataReceiver dataReceiver;
     private final Log log;
 
-    private Throwable lastError = null;
-
-    private DBCStatistics statistics;
     private final DBCStatistics totalStatistics = new DBCStatistics();
 
     private int fetchSize;
     private long fetchFlags;
     private SQLScriptCommitType commitType = SQLScriptCommitType.AUTOCOMMIT;
     private SQLScriptErrorHandling errorHandling = SQLScriptErrorHandling.STOP_ROLLBACK;
+    private int parallelism = 1;
 
     public SQLScriptProcessor(
         @NotNull DBCExecutionContext executionContext,
@@ -92,9 +103,41 @@ public class SQLScriptProcessor {
         this.errorHandling = errorHandling;
     }
 
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets maximum number of simultaneously executed queries.
+     * Queries run in different connections and must see each other's changes, so parallel execution
+     * is used only with {@link SQLScriptCommitType#AUTOCOMMIT}. Other commit types and scripts which change
+     * session state (see {@link SQLScriptDependencyGraph#isSessionStateChanged()}) run sequentially.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
     public void runScript(DBRProgressMonitor monitor) throws DBCException {
         RuntimeUtils.setThreadName("SQL script execution");
-        statistics = new DBCStatistics();
+        if (parallelism > 1 && queries.size() > 1) {
+            if (commitType != SQLScriptCommitType.AUTOCOMMIT) {
+                log.debug("Parallel script execution is supported only in auto-commit mode");
+            } else {
+                SQLScriptDependencyGraph graph = SQLScriptDependencyGraph.build(queries);
+                if (graph.isSessionStateChanged()) {
+                    log.debug("Script changes session state, it will be executed in a single connection");
+                } else {
+                    List<DBCExecutionContext> contexts = openWorkerContexts(monitor, Math.min(parallelism, queries.size()));
+                    if (contexts.size() > 1) {
+                        runScriptParallel(monitor, graph, contexts);
+                        return;
+                    }
+                    closeWorkerContexts(contexts);
+                }
+            }
+        }
+        QueryExecutor executor = new QueryExecutor();
+        Throwable lastError = null;
         try {
             DBCTransactionManager txnManager = DBUtils.getTransactionManager(executionContext);
             try (DBCSession session = executionContext.openSession(monitor, DBCExecutionPurpose.USER_SCRIPT, "SQL Query")) {
@@ -116,7 +159,8 @@ public class SQLScriptProcessor {
                         break;
                     }
                     // Execute query
-                    boolean runNext = executeSingleQuery(session, query);
+                    boolean runNext = executor.executeSingleQuery(session, query);
+                    lastError = executor.lastError;
                     if (!runNext) {
                         if (lastError == null) {
                             // Execution cancel
@@ -169,184 +213,421 @@ public class SQLScriptProcessor {
         }
     }
 
-    private boolean executeSingleQuery(@NotNull DBCSession session, @NotNull SQLScriptElement element) {
-        if (element instanceof SQLControlCommand) {
-            log.debug(STAT_LOG_PREFIX + "Execute command\n" + element.getText());
+    @NotNull
+    private List<DBCExecutionContext> openWorkerContexts(@NotNull DBRProgressMonitor monitor, int count) {
+        List<DBCExecutionContext> contexts = new ArrayList<>(count);
+        monitor.subTask("Open worker connections");
+        for (int i = 0; i < count && !monitor.isCanceled(); i++) {
             try {
-                return scriptContext.executeControlCommand((SQLControlCommand) element);
-            } catch (Throwable e) {
-                if (!(e instanceof DBException)) {
-                    log.error("Unexpected error while processing SQL command", e);
+                DBCExecutionContext context = executionContext.getOwnerInstance().openIsolatedContext(
+                    monitor, "SQL script worker [" + i + "]", executionContext);
+                DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+                if (txnManager != null && txnManager.isSupportsTransactions() && !txnManager.isAutoCommit()) {
+                    // Each statement must be visible to dependent statements of other workers right away
+                    txnManager.setAutoCommit(monitor, true);
                 }
-                lastError = e;
-                return false;
+                contexts.add(context);
+            } catch (Throwable e) {
+                log.debug("Can't open isolated context for parallel script execution (" + e.getMessage() + ")");
+                break;
+            }
+        }
+        return contexts;
+    }
+
+    private void closeWorkerContexts(@NotNull List<DBCExecutionContext> contexts) {
+        for (DBCExecutionContext context : contexts) {
+            try {
+                context.close();
+            } catch (Throwable e) {
+                log.debug("Error closing worker context", e);
             }
         }
-        SQLQuery sqlQuery = (SQLQuery) element;
-        scriptContext.fillQueryParameters(sqlQuery, () -> dataReceiver, true);
-        lastError = null;
+    }
 
+    private void runScriptParallel(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull SQLScriptDependencyGraph graph,
+        @NotNull List<DBCExecutionContext> contexts
+    ) throws DBCException {
+        Throwable lastError;
         try {
-            statistics.reset();
-            statistics.setQueryText(sqlQuery.getText());
+            StatementQueue queue = new StatementQueue(graph);
+
+            try (DBCSession session = executionContext.openSession(monitor, DBCExecutionPurpose.USER_SCRIPT, "SQL Query")) {
+                if (session.isLoggingEnabled()) {
+                    QMUtils.getDefaultHandler().handleScriptBegin(session);
+                }
+                monitor.beginTask("Execute queries (" + queries.size() + ") in " + contexts.size() + " connections", queries.size());
 
-            DBExecUtils.tryExecuteRecover(session, session.getDataSource(), param -> {
+                JobGroup group = new JobGroup("SQL script execution", contexts.size(), contexts.size());
+                for (int i = 0; i < contexts.size(); i++) {
+                    ScriptWorkerJob job = new ScriptWorkerJob(i, contexts.get(i), queue, monitor);
+                    job.setJobGroup(group);
+                    job.schedule();
+                }
                 try {
-                    long execStartTime = System.currentTimeMillis();
-                    executeStatement(session, sqlQuery, execStartTime);
-                } catch (Throwable e) {
-                    throw new InvocationTargetException(e);
+                    group.join(0, new ProxyProgressMonitor(monitor));
+                } catch (InterruptedException | OperationCanceledException e) {
+                    queue.stop();
+                    group.cancel();
+                }
+                monitor.done();
+                lastError = queue.getError();
+
+                if (session.isLoggingEnabled()) {
+                    QMUtils.getDefaultHandler().handleScriptEnd(session);
                 }
-            });
-        } catch (Throwable ex) {
-            if (!(ex instanceof DBException)) {
-                log.error("Unexpected error while processing SQL", ex);
             }
-            lastError = ex;
+        } catch (Throwable ex) {
+            throw new DBCException("Error during SQL script execution", ex);
         } finally {
-            scriptContext.clearStatementContext();
+            closeWorkerContexts(contexts);
         }
 
-        return lastError == null || errorHandling == SQLScriptErrorHandling.IGNORE;
+        if (lastError != null && errorHandling != SQLScriptErrorHandling.IGNORE) {
+            throw new DBCException("Script execute failed", lastError);
+        }
     }
 
-    private void executeStatement(@NotNull DBCSession session, SQLQuery sqlQuery, long startTime) throws DBCException {
-        SQLQueryDataContainer dataContainer = new SQLQueryDataContainer(() -> executionContext, sqlQuery, scriptContext, log);
-        DBCExecutionSource source = new AbstractExecutionSource(dataContainer, session.getExecutionContext(), this, sqlQuery);
-        final DBCStatement statement = DBUtils.makeStatement(
-            source,
-            session,
-            DBCStatementType.SCRIPT,
-            sqlQuery,
-            0,
-            0);
-        DBExecUtils.setStatementFetchSize(statement, 0, 0, fetchSize);
-
-        // Execute statement
-        try {
-            DBRProgressMonitor monitor = session.getProgressMonitor();
-            log.debug(STAT_LOG_PREFIX + "Execute query\n" + sqlQuery.getText());
-            boolean hasResultSet = statement.executeStatement();
-
-            statistics.addExecuteTime(System.currentTimeMillis() - startTime);
-            statistics.addStatementsCount();
-
-            long updateCount = -1;
-            while (true) {
-                // Fetch data only if we have to fetch all results or if it is rs requested
-                {
-                    if (hasResultSet) {
-                        DBCResultSet resultSet = statement.openResultSet();
-                        if (resultSet == null) {
-                            // Kind of bug in the driver. It says it has resultset but returns null
-                            break;
-                        } else {
-                            hasResultSet = fetchQueryData(session, resultSet, dataReceiver);
-                        }
-                    }
+    /**
+     * Queue of queries ready for execution. A query becomes ready when all queries it depends on are finished.
+     */
+    private class StatementQueue {
+        private final int[] pendingCounts;
+        private final List<List<Integer>> dependents;
+        // Prefer queries which are closer to the script beginning
+        private final PriorityQueue<Integer> readyQueries = new PriorityQueue<>();
+        private int activeCount;
+        private boolean stopped;
+        private Throwable error;
+
+        StatementQueue(@NotNull SQLScriptDependencyGraph graph) {
+            int count = graph.size();
+            pendingCounts = new int[count];
+            dependents = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                dependents.add(new ArrayList<>());
+            }
+            for (int i = 0; i < count; i++) {
+                int[] dependencies = graph.getDependencies(i);
+                pendingCounts[i] = dependencies.length;
+                for (int dependency : dependencies) {
+                    dependents.get(dependency).add(i);
                 }
-                if (!hasResultSet) {
-                    try {
-                        updateCount = statement.getUpdateRowCount();
-                        if (updateCount >= 0) {
-                            statistics.addRowsUpdated(updateCount);
-                        }
-                    } catch (DBCException e) {
-                        // In some cases we can't read update count
-                        // This is bad but we can live with it
-                        // Just print a warning
-                        log.warn("Can't obtain update count", e);
-                    }
+                if (dependencies.length == 0) {
+                    readyQueries.add(i);
                 }
-                if (!hasResultSet && updateCount < 0) {
-                    // Nothing else to fetch
-                    break;
+            }
+        }
+
+        /**
+         * Returns index of the next query or -1 if there are no more queries to execute
+         */
+        synchronized int acquire(@NotNull DBRProgressMonitor monitor) throws InterruptedException {
+            while (!stopped && readyQueries.isEmpty() && activeCount > 0 && !monitor.isCanceled()) {
+                wait(100);
+            }
+            if (stopped || monitor.isCanceled()) {
+                return -1;
+            }
+            Integer index = readyQueries.poll();
+            if (index == null) {
+                return -1;
+            }
+            activeCount++;
+            return index;
+        }
+
+        synchronized void release(int index) {
+            activeCount--;
+            for (int dependent : dependents.get(index)) {
+                if (--pendingCounts[dependent] == 0) {
+                    readyQueries.add(dependent);
                 }
+            }
+            notifyAll();
+        }
+
+        synchronized void stop() {
+            stopped = true;
+            notifyAll();
+        }
+
+        synchronized void fail(@NotNull Throwable error) {
+            if (this.error == null) {
+                this.error = error;
+            }
+            stop();
+        }
+
+        @Nullable
+        synchronized Throwable getError() {
+            return error;
+        }
+    }
 
-                if (session.getDataSource().getInfo().supportsMultipleResults()) {
+    private class ScriptWorkerJob extends AbstractJob {
+        private final DBCExecutionContext context;
+        private final StatementQueue queue;
+        private final DBRProgressMonitor parentMonitor;
+
+        ScriptWorkerJob(int index, @NotNull DBCExecutionContext context, @NotNull StatementQueue queue, @NotNull DBRProgressMonitor parentMonitor) {
+            super("SQL script worker [" + index + "]");
+            this.context = context;
+            this.queue = queue;
+            this.parentMonitor = parentMonitor;
+            setUser(false);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            QueryExecutor executor = new QueryExecutor();
+            try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.USER_SCRIPT, "SQL Query")) {
+                for (;;) {
+                    if (monitor.isCanceled()) {
+                        queue.stop();
+                        break;
+                    }
+                    int index;
                     try {
-                        hasResultSet = statement.nextResults();
-                    } catch (DBCException e) {
-                        if (session.getDataSource().getInfo().isMultipleResultsFetchBroken()) {
-                            log.error(e);
-                            // #2792: Check this twice. Some drivers (e.g. Sybase jConnect)
-                            // throw error on n'th result fetch - but it still can keep fetching next results
-                            hasResultSet = statement.nextResults();
-                        } else {
-                            throw e;
+                        index = queue.acquire(parentMonitor);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                    if (index < 0) {
+                        break;
+                    }
+                    try {
+                        boolean runNext = executor.executeSingleQuery(session, queries.get(index));
+                        Throwable lastError = executor.lastError;
+                        if (!runNext) {
+                            if (lastError == null) {
+                                // Execution cancel
+                                queue.stop();
+                            } else {
+                                log.error(lastError);
+                                queue.fail(lastError);
+                            }
+                        } else if (lastError != null) {
+                            log.warn("Query failed: " + lastError.getMessage());
+                        }
+                    } finally {
+                        queue.release(index);
+                        synchronized (parentMonitor) {
+                            parentMonitor.worked(1);
                         }
                     }
-                    updateCount = hasResultSet ? -1 : 0;
-                } else {
-                    break;
                 }
+            } catch (Throwable e) {
+                queue.fail(e);
             }
-        } finally {
-            try {
-                Throwable[] warnings = statement.getStatementWarnings();
-                if (warnings != null) {
-                    for (Throwable warning : warnings) {
-                        scriptContext.getOutputWriter().println(null, warning.getMessage());
+            return Status.OK_STATUS;
+        }
+    }
+
+    /**
+     * Executes queries in a single session. Keeps its own statistics.
+     */
+    private class QueryExecutor {
+        private final DBCStatistics statistics = new DBCStatistics();
+        private Throwable lastError;
+
+        private boolean executeSingleQuery(@NotNull DBCSession session, @NotNull SQLScriptElement element) {
+            if (element instanceof SQLControlCommand) {
+                log.debug(STAT_LOG_PREFIX + "Execute command\n" + element.getText());
+                try {
+                    synchronized (scriptContext) {
+                        return scriptContext.executeControlCommand((SQLControlCommand) element);
                     }
+                } catch (Throwable e) {
+                    if (!(e instanceof DBException)) {
+                        log.error("Unexpected error while processing SQL command", e);
+                    }
+                    lastError = e;
+                    return false;
                 }
-            } catch (Throwable e) {
-                log.warn("Can't read execution warnings", e);
             }
+            SQLQuery sqlQuery = (SQLQuery) element;
+            synchronized (scriptContext) {
+                scriptContext.fillQueryParameters(sqlQuery, () -> dataReceiver, true);
+            }
+            lastError = null;
+
             try {
-                statement.close();
-            } catch (Throwable e) {
-                log.error("Error closing statement", e);
+                statistics.reset();
+                statistics.setQueryText(sqlQuery.getText());
+
+                DBExecUtils.tryExecuteRecover(session, session.getDataSource(), param -> {
+                    try {
+                        long execStartTime = System.currentTimeMillis();
+                        executeStatement(session, sqlQuery, execStartTime);
+                    } catch (Throwable e) {
+                        throw new InvocationTargetException(e);
+                    }
+                });
+            } catch (Throwable ex) {
+                if (!(ex instanceof DBException)) {
+                    log.error("Unexpected error while processing SQL", ex);
+                }
+                lastError = ex;
+            } finally {
+                synchronized (scriptContext) {
+                    scriptContext.clearStatementContext();
+                }
             }
-            log.debug(STAT_LOG_PREFIX + "Time: " + RuntimeUtils.formatExecutionTime(statistics.getExecuteTime()) +
-                (statistics.getRowsFetched() >= 0 ? ", fetched " + statistics.getRowsFetched() + " row(s)" : "") +
-                (statistics.getRowsUpdated() >= 0 ? ", updated " + statistics.getRowsUpdated() + " row(s)" : ""));
 
-            totalStatistics.accumulate(statistics);
+            return lastError == null || errorHandling == SQLScriptErrorHandling.IGNORE;
         }
-    }
 
-    private boolean fetchQueryData(DBCSession session, DBCResultSet resultSet, DBDDataReceiver dataReceiver)
-        throws DBCException {
-        if (dataReceiver == null) {
-            // No data pump - skip fetching stage
-            return false;
-        }
-        if (resultSet == null) {
-            return false;
-        }
-        DBRProgressMonitor monitor = session.getProgressMonitor();
-        monitor.subTask("Fetch result set");
-        DBFetchProgress fetchProgress = new DBFetchProgress(session.getProgressMonitor());
+        private void executeStatement(@NotNull DBCSession session, SQLQuery sqlQuery, long startTime) throws DBCException {
+            SQLQueryDataContainer dataContainer = new SQLQueryDataContainer(session::getExecutionContext, sqlQuery, scriptContext, log);
+            DBCExecutionSource source = new AbstractExecutionSource(dataContainer, session.getExecutionContext(), SQLScriptProcessor.this, sqlQuery);
+            final DBCStatement statement = DBUtils.makeStatement(
+                source,
+                session,
+                DBCStatementType.SCRIPT,
+                sqlQuery,
+                0,
+                0);
+            DBExecUtils.setStatementFetchSize(statement, 0, 0, fetchSize);
+
+            // Execute statement
+            try {
+                DBRProgressMonitor monitor = session.getProgressMonitor();
+                log.debug(STAT_LOG_PREFIX + "Execute query\n" + sqlQuery.getText());
+                boolean hasResultSet = statement.executeStatement();
+
+                statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+                statistics.addStatementsCount();
+
+                long updateCount = -1;
+                while (true) {
+                    // Fetch data only if we have to fetch all results or if it is rs requested
+                    {
+                        if (hasResultSet) {
+                            DBCResultSet resultSet = statement.openResultSet();
+                            if (resultSet == null) {
+                                // Kind of bug in the driver. It says it has resultset but returns null
+                                break;
+                            } else {
+                                hasResultSet = fetchQueryData(session, resultSet, dataReceiver);
+                            }
+                        }
+                    }
+                    if (!hasResultSet) {
+                        try {
+                            updateCount = statement.getUpdateRowCount();
+                            if (updateCount >= 0) {
+                                statistics.addRowsUpdated(updateCount);
+                            }
+                        } catch (DBCException e) {
+                            // In some cases we can't read update count
+                            // This is bad but we can live with it
+                            // Just print a warning
+                            log.warn("Can't obtain update count", e);
+                        }
+                    }
+                    if (!hasResultSet && updateCount < 0) {
+                        // Nothing else to fetch
+                        break;
+                    }
 
-        dataReceiver.fetchStart(session, resultSet, 0, 0);
+                    if (session.getDataSource().getInfo().supportsMultipleResults()) {
+                        try {
+                            hasResultSet = statement.nextResults();
+                        } catch (DBCException e) {
+                            if (session.getDataSource().getInfo().isMultipleResultsFetchBroken()) {
+                                log.error(e);
+                                // #2792: Check this twice. Some drivers (e.g. Sybase jConnect)
+                                // throw error on n'th result fetch - but it still can keep fetching next results
+                                hasResultSet = statement.nextResults();
+                            } else {
+                                throw e;
+                            }
+                        }
+                        updateCount = hasResultSet ? -1 : 0;
+                    } else {
+                        break;
+                    }
+                }
+            } finally {
+                try {
+                    Throwable[] warnings = statement.getStatementWarnings();
+                    if (warnings != null) {
+                        for (Throwable warning : warnings) {
+                            scriptContext.getOutputWriter().println(null, warning.getMessage());
+                        }
+                    }
+                } catch (Throwable e) {
+                    log.warn("Can't read execution warnings", e);
+                }
+                try {
+                    statement.close();
+                } catch (Throwable e) {
+                    log.error("Error closing statement", e);
+                }
+                log.debug(STAT_LOG_PREFIX + "Time: " + RuntimeUtils.formatExecutionTime(statistics.getExecuteTime()) +
+                    (statistics.getRowsFetched() >= 0 ? ", fetched " + statistics.getRowsFetched() + " row(s)" : "") +
+                    (statistics.getRowsUpdated() >= 0 ? ", updated " + statistics.getRowsUpdated() + " row(s)" : ""));
 
-        try {
-            long fetchStartTime = System.currentTimeMillis();
+                synchronized (totalStatistics) {
+                    totalStatistics.accumulate(statistics);
+                }
+            }
+        }
 
-            // Fetch all rows
-            while (!fetchProgress.isCanceled() && resultSet.nextRow()) {
-                dataReceiver.fetchRow(session, resultSet);
-                fetchProgress.monitorRowFetch();
+        private boolean fetchQueryData(DBCSession session, DBCResultSet resultSet, DBDDataReceiver dataReceiver)
+            throws DBCException {
+            if (dataReceiver == null) {
+                // No data pump - skip fetching stage
+                return false;
             }
-            statistics.addFetchTime(System.currentTimeMillis() - fetchStartTime);
-        } finally {
-            try {
-                resultSet.close();
-            } catch (Throwable e) {
-                log.error("Error while closing resultset", e);
+            if (resultSet == null) {
+                return false;
             }
-            try {
-                dataReceiver.fetchEnd(session, resultSet);
-            } catch (Throwable e) {
-                log.error("Error while handling end of result set fetch", e);
+            // Data receiver may be shared between workers
+            synchronized (dataReceiver) {
+                readResultSet(session, resultSet, dataReceiver);
             }
-            dataReceiver.close();
+            return true;
         }
 
-        statistics.setRowsFetched(fetchProgress.getRowCount());
-        monitor.subTask(fetchProgress.getRowCount() + " rows fetched");
+        private void readResultSet(DBCSession session, DBCResultSet resultSet, DBDDataReceiver dataReceiver)
+            throws DBCException {
+            DBRProgressMonitor monitor = session.getProgressMonitor();
+            monitor.subTask("Fetch result set");
+            DBFetchProgress fetchProgress = new DBFetchProgress(session.getProgressMonitor());
+
+            dataReceiver.fetchStart(session, resultSet, 0, 0);
+
+            try {
+                long fetchStartTime = System.currentTimeMillis();
+
+                // Fetch all rows
+                while (!fetchProgress.isCanceled() && resultSet.nextRow()) {
+                    dataReceiver.fetchRow(session, resultSet);
+                    fetchProgress.monitorRowFetch();
+                }
+                statistics.addFetchTime(System.currentTimeMillis() - fetchStartTime);
+            } finally {
+                try {
+                    resultSet.close();
+                } catch (Throwable e) {
+                    log.error("Error while closing resultset", e);
+                }
+                try {
+                    dataReceiver.fetchEnd(session, resultSet);
+                } catch (Throwable e) {
+                    log.error("Error while handling end of result set fetch", e);
+                }
+                dataReceiver.close();
+            }
 
-        return true;
+            statistics.setRowsFetched(fetchProgress.getRowCount());
+            monitor.subTask(fetchProgress.getRowCount() + " rows fetched");
+        }
     }
 
     public DBCStatistics getTotalStatistics() {
@@ -16,17 +16,22 @@
  */
 package org.jkiss.dbeaver.model.sql.task;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.JobGroup;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBPObject;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.edit.SQLDatabasePersistActionComment;
-import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
-import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
-import org.jkiss.dbeaver.model.runtime.PrintStreamProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.*;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.task.DBTTask;
 import org.jkiss.dbeaver.model.task.DBTTaskExecutionListener;
@@ -38,14 +43,12 @@ import org.jkiss.utils.CommonUtils;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Locale;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
- * SQLToolExecuteHandler
+ * SQLToolExecuteHandler.
+ * Objects may be processed by several workers, see {@link SQLToolExecuteSettings#getParallelism()}.
  */
 public abstract class SQLToolExecuteHandler<OBJECT_TYPE extends DBSObject, SETTINGS extends SQLToolExecuteSettings<OBJECT_TYPE>> implements DBTTaskHandler {
 
@@ -99,122 +102,382 @@ public abstract class SQLToolExecuteHandler<OBJECT_TYPE extends DBSObject, SETTI
                 Throwable throwable = warnings.get(0);
                 throw new DBCException("Tool execution error: " + throwable.getMessage(), throwable);
             }
-            for (OBJECT_TYPE object : objectList) {
-                monitor.subTask("Process [" + DBUtils.getObjectFullName(object, DBPEvaluationContext.UI) + "]");
-                try (DBCSession session = DBUtils.openUtilSession(monitor, object, "Execute " + task.getType().getName())) {
-                    List<DBEPersistAction> queries = new ArrayList<>();
-                    generateObjectQueries(session, settings, queries, object);
+            int parallelism = Math.min(settings.getParallelism(), objectList.size());
+            if (parallelism > 1) {
+                lastError = executeParallel(monitor, task, settings, log, outLog, listener, parallelism);
+            } else {
+                for (OBJECT_TYPE object : objectList) {
+                    monitor.subTask("Process [" + DBUtils.getObjectFullName(object, DBPEvaluationContext.UI) + "]");
+                    try (DBCSession session = DBUtils.openUtilSession(monitor, object, "Execute " + task.getType().getName())) {
+                        Exception error = executeObjectQueries(monitor, session, settings, log, outLog, listener, object, statistics);
+                        if (error != null) {
+                            lastError = error;
+                        }
+                    }
+                    monitor.worked(1);
+                }
+            }
+        } catch (Exception e) {
+            lastError = e;
+            log.debug(e);
+            outLog.println("Process error\n" + e.getMessage());
+        } finally {
+            monitor.done();
+        }
+        listener.taskFinished(task, null, lastError, settings);
 
-                    DBCExecutionContext context = session.getExecutionContext();
-                    DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
-                    boolean isAutoCommitModeSwitchedOn = true;
+        outLog.println("Tool execution finished");
+        outLog.flush();
+    }
 
-                    try {
-                        if(isRunInAutoCommit() && txnManager != null && !txnManager.isAutoCommit()){
-                            isAutoCommitModeSwitchedOn = false;
-                            txnManager.setAutoCommit(monitor, true);
-                        }
+    /**
+     * Executes all queries of the specified object.
+     * Returns the last query error or null.
+     */
+    private Exception executeObjectQueries(
+        DBRProgressMonitor monitor,
+        DBCSession session,
+        SETTINGS settings,
+        Log log,
+        PrintStream outLog,
+        DBTTaskExecutionListener listener,
+        OBJECT_TYPE object,
+        DBCStatistics objectStatistics
+    ) throws DBException {
+        Exception lastError = null;
+        List<DBEPersistAction> queries = new ArrayList<>();
+        generateObjectQueries(session, settings, queries, object);
 
-                        for (DBEPersistAction action : queries) {
-                            if (monitor.isCanceled()) {
-                                break;
-                            }
-                            if (!CommonUtils.isEmpty(action.getTitle())) {
-                                monitor.subTask(action.getTitle());
+        long deadline = settings.getObjectTimeout() > 0 ? System.currentTimeMillis() + settings.getObjectTimeout() * 1000L : 0;
+
+        DBCExecutionContext context = session.getExecutionContext();
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+        boolean isAutoCommitModeSwitchedOn = true;
+
+        try {
+            if(isRunInAutoCommit() && txnManager != null && !txnManager.isAutoCommit()){
+                isAutoCommitModeSwitchedOn = false;
+                txnManager.setAutoCommit(monitor, true);
+            }
+
+            for (DBEPersistAction action : queries) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                if (!CommonUtils.isEmpty(action.getTitle())) {
+                    monitor.subTask(action.getTitle());
+                }
+                try {
+                    if (action instanceof SQLDatabasePersistActionComment) {
+                        continue;
+                    }
+                    String script = action.getScript();
+                    if (!CommonUtils.isEmpty(script)) {
+                        int timeout = 0;
+                        if (deadline > 0) {
+                            long remaining = deadline - System.currentTimeMillis();
+                            if (remaining <= 0) {
+                                throw new DBCException("Object processing timeout (" + settings.getObjectTimeout() + "s) exceeded");
                             }
-                            try {
-                                if (action instanceof SQLDatabasePersistActionComment) {
-                                    continue;
+                            timeout = (int) Math.max(1, remaining / 1000);
+                        }
+                        try (final DBCStatement statement = session.prepareStatement(
+                            DBCStatementType.SCRIPT,
+                            script,
+                            false,
+                            false,
+                            false
+                        )) {
+                            if (timeout > 0) {
+                                try {
+                                    statement.setStatementTimeout(timeout);
+                                } catch (Exception e) {
+                                    log.debug("Can't set statement timeout: " + e.getMessage());
                                 }
-                                String script = action.getScript();
-                                if (!CommonUtils.isEmpty(script)) {
-                                    try (final DBCStatement statement = session.prepareStatement(
-                                        DBCStatementType.SCRIPT,
-                                        script,
-                                        false,
-                                        false,
-                                        false
-                                    )) {
-                                        long startTime = System.currentTimeMillis();
-                                        statement.executeStatement();
-                                        long execTime = System.currentTimeMillis() - startTime;
-                                        if (listener instanceof SQLToolRunListener) {
-                                            if (action.getType() != DBEPersistAction.ActionType.INITIALIZER && action.getType() != DBEPersistAction.ActionType.FINALIZER) {
-                                                SQLToolStatisticsSimple statisticsSimple = new SQLToolStatisticsSimple(object, false);
-                                                if (SQLToolExecuteHandler.this instanceof SQLToolRunStatisticsGenerator) {
-                                                    List<? extends SQLToolStatistics> executeStatistics =
-                                                            ((SQLToolRunStatisticsGenerator) SQLToolExecuteHandler.this).getExecuteStatistics(
-                                                                    object,
-                                                                    settings,
-                                                                    action,
-                                                                    session,
-                                                                    statement);
-                                                    monitor.subTask("\tFinished in " + RuntimeUtils.formatExecutionTime(execTime));
-                                                    if (!CommonUtils.isEmpty(executeStatistics)) {
-                                                        for (SQLToolStatistics stat : executeStatistics) {
-                                                            stat.setExecutionTime(execTime);
-                                                        }
-                                                        ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, executeStatistics);
-                                                    } else {
-                                                        ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, Collections.singletonList(statisticsSimple));
-                                                    }
-                                                } else {
-                                                    ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, Collections.singletonList(statisticsSimple));
-                                                }
-                                            }
-                                        }
-
-                                        statistics.addStatementsCount();
-                                        statistics.addExecuteTime(execTime);
-                                        try {
-                                            long updateCount = statement.getUpdateRowCount();
-                                            if (updateCount >= 0) {
-                                                statistics.addRowsUpdated(updateCount);
+                            }
+                            long startTime = System.currentTimeMillis();
+                            statement.executeStatement();
+                            long execTime = System.currentTimeMillis() - startTime;
+                            if (listener instanceof SQLToolRunListener) {
+                                if (action.getType() != DBEPersistAction.ActionType.INITIALIZER && action.getType() != DBEPersistAction.ActionType.FINALIZER) {
+                                    SQLToolStatisticsSimple statisticsSimple = new SQLToolStatisticsSimple(object, false);
+                                    if (SQLToolExecuteHandler.this instanceof SQLToolRunStatisticsGenerator) {
+                                        List<? extends SQLToolStatistics> executeStatistics =
+                                                ((SQLToolRunStatisticsGenerator) SQLToolExecuteHandler.this).getExecuteStatistics(
+                                                        object,
+                                                        settings,
+                                                        action,
+                                                        session,
+                                                        statement);
+                                        monitor.subTask("\tFinished in " + RuntimeUtils.formatExecutionTime(execTime));
+                                        if (!CommonUtils.isEmpty(executeStatistics)) {
+                                            for (SQLToolStatistics stat : executeStatistics) {
+                                                stat.setExecutionTime(execTime);
                                             }
-                                        } catch (DBCException e) {
-                                            // In some cases we can't read update count
-                                            // This is bad but we can live with it
-                                            // Just print a warning
-                                            log.warn("Can't obtain update count", e);
+                                            handleActionStatistics(listener, object, action, session, executeStatistics);
+                                        } else {
+                                            handleActionStatistics(listener, object, action, session, Collections.singletonList(statisticsSimple));
                                         }
+                                    } else {
+                                        handleActionStatistics(listener, object, action, session, Collections.singletonList(statisticsSimple));
                                     }
                                 }
-                            } catch (Exception e) {
-                                lastError = e;
-                                log.debug("Error executing query", e);
-                                outLog.println("Error executing query\n" + e.getMessage());
-                                if(listener instanceof SQLToolRunListener) {
-                                    SQLToolStatisticsSimple errorStat = new SQLToolStatisticsSimple(object, true);
-                                    errorStat.setStatusMessage(e.getMessage());
-                                    ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, Collections.singletonList(errorStat));
-                                }
-                            } finally {
-                                monitor.worked(1);
                             }
-                        }
-                    } finally {
-                        if (!isAutoCommitModeSwitchedOn) {
+
+                            objectStatistics.addStatementsCount();
+                            objectStatistics.addExecuteTime(execTime);
                             try {
-                                txnManager.setAutoCommit(monitor, false);
+                                long updateCount = statement.getUpdateRowCount();
+                                if (updateCount >= 0) {
+                                    objectStatistics.addRowsUpdated(updateCount);
+                                }
                             } catch (DBCException e) {
-                                log.debug("Cannot set auto-commit status", e);
+                                // In some cases we can't read update count
+                                // This is bad but we can live with it
+                                // Just print a warning
+                                log.warn("Can't obtain update count", e);
                             }
                         }
                     }
+                } catch (Exception e) {
+                    lastError = e;
+                    log.debug("Error executing query", e);
+                    outLog.println("Error executing query\n" + e.getMessage());
+                    if(listener instanceof SQLToolRunListener) {
+                        SQLToolStatisticsSimple errorStat = new SQLToolStatisticsSimple(object, true);
+                        errorStat.setStatusMessage(e.getMessage());
+                        handleActionStatistics(listener, object, action, session, Collections.singletonList(errorStat));
+                    }
+                    if (deadline > 0 && System.currentTimeMillis() >= deadline) {
+                        // Do not run the rest of object queries
+                        break;
+                    }
+                } finally {
+                    monitor.worked(1);
                 }
-                monitor.worked(1);
             }
-        } catch (Exception e) {
-            lastError = e;
-            log.debug(e);
-            outLog.println("Process error\n" + e.getMessage());
         } finally {
-            monitor.done();
+            if (!isAutoCommitModeSwitchedOn) {
+                try {
+                    txnManager.setAutoCommit(monitor, false);
+                } catch (DBCException e) {
+                    log.debug("Cannot set auto-commit status", e);
+                }
+            }
         }
-        listener.taskFinished(task, null, lastError, settings);
+        return lastError;
+    }
 
-        outLog.println("Tool execution finished");
-        outLog.flush();
+    private static void handleActionStatistics(
+        DBTTaskExecutionListener listener,
+        DBPObject object,
+        DBEPersistAction action,
+        DBCSession session,
+        List<? extends SQLToolStatistics> statistics
+    ) {
+        // Listener may be called from several workers
+        synchronized (listener) {
+            ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, statistics);
+        }
+    }
+
+    /**
+     * Processes objects in several jobs. Each job uses its own isolated execution contexts.
+     * Returns the last error or null.
+     */
+    private Exception executeParallel(
+        DBRProgressMonitor monitor,
+        DBTTask task,
+        SETTINGS settings,
+        Log log,
+        PrintStream outLog,
+        DBTTaskExecutionListener listener,
+        int parallelism
+    ) {
+        ObjectQueue queue = new ObjectQueue(settings.getObjectList());
+        JobGroup group = new JobGroup("Execute tool '" + task.getType().getName() + "'", parallelism, parallelism);
+        List<ToolWorkerJob> jobs = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            ToolWorkerJob job = new ToolWorkerJob(i, monitor, queue, task, settings, log, outLog, listener);
+            job.setJobGroup(group);
+            job.schedule();
+            jobs.add(job);
+        }
+        try {
+            group.join(0, new ProxyProgressMonitor(monitor));
+        } catch (InterruptedException | OperationCanceledException e) {
+            group.cancel();
+        }
+        Exception lastError = null;
+        for (ToolWorkerJob job : jobs) {
+            synchronized (statistics) {
+                statistics.accumulate(job.jobStatistics);
+            }
+            if (job.lastError != null) {
+                lastError = job.lastError;
+            }
+        }
+        return lastError;
+    }
+
+    /**
+     * Object to wait for before the specified object can be processed.
+     * By default, it is the closest object parent which is also in the object list.
+     */
+    @Nullable
+    protected DBSObject getDependencyObject(@NotNull OBJECT_TYPE object, @NotNull Set<DBSObject> objects) {
+        for (DBSObject parent = object.getParentObject(); parent != null; parent = parent.getParentObject()) {
+            if (objects.contains(parent)) {
+                return parent;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Queue of objects to process. Objects become available when all objects they depend on are processed.
+     */
+    private class ObjectQueue {
+        private final Deque<OBJECT_TYPE> readyObjects = new ArrayDeque<>();
+        private final Map<DBSObject, List<OBJECT_TYPE>> dependentObjects = new IdentityHashMap<>();
+        private int activeCount;
+
+        ObjectQueue(List<OBJECT_TYPE> objectList) {
+            Set<DBSObject> objects = Collections.newSetFromMap(new IdentityHashMap<>());
+            objects.addAll(objectList);
+            for (OBJECT_TYPE object : objectList) {
+                DBSObject dependency = getDependencyObject(object, objects);
+                if (dependency != null && dependency != object && objects.contains(dependency)) {
+                    dependentObjects.computeIfAbsent(dependency, o -> new ArrayList<>()).add(object);
+                } else {
+                    readyObjects.add(object);
+                }
+            }
+        }
+
+        /**
+         * Returns next object or null if there are no more objects
+         */
+        @Nullable
+        synchronized OBJECT_TYPE acquire(DBRProgressMonitor monitor) throws InterruptedException {
+            while (readyObjects.isEmpty() && activeCount > 0 && !monitor.isCanceled()) {
+                // Wait for dependencies
+                wait(100);
+            }
+            OBJECT_TYPE object = readyObjects.poll();
+            if (object != null) {
+                activeCount++;
+            }
+            return object;
+        }
+
+        synchronized void release(OBJECT_TYPE object) {
+            activeCount--;
+            List<OBJECT_TYPE> dependents = dependentObjects.remove(object);
+            if (dependents != null) {
+                readyObjects.addAll(dependents);
+            }
+            notifyAll();
+        }
+    }
+
+    private class ToolWorkerJob extends AbstractJob {
+        private final DBRProgressMonitor parentMonitor;
+        private final ObjectQueue queue;
+        private final DBTTask task;
+        private final SETTINGS settings;
+        private final Log log;
+        private final PrintStream outLog;
+        private final DBTTaskExecutionListener listener;
+        private final DBCStatistics jobStatistics = new DBCStatistics();
+        private volatile Exception lastError;
+
+        ToolWorkerJob(
+            int index,
+            DBRProgressMonitor parentMonitor,
+            ObjectQueue queue,
+            DBTTask task,
+            SETTINGS settings,
+            Log log,
+            PrintStream outLog,
+            DBTTaskExecutionListener listener
+        ) {
+            super("Tool worker [" + index + "]: " + task.getType().getName());
+            this.parentMonitor = parentMonitor;
+            this.queue = queue;
+            this.task = task;
+            this.settings = settings;
+            this.log = log;
+            this.outLog = outLog;
+            this.listener = listener;
+            setUser(false);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            Map<DBSInstance, DBCExecutionContext> contexts = new IdentityHashMap<>();
+            try {
+                for (;;) {
+                    if (monitor.isCanceled() || parentMonitor.isCanceled()) {
+                        break;
+                    }
+                    OBJECT_TYPE object;
+                    try {
+                        object = queue.acquire(parentMonitor);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                    if (object == null) {
+                        break;
+                    }
+                    String objectName = DBUtils.getObjectFullName(object, DBPEvaluationContext.UI);
+                    synchronized (parentMonitor) {
+                        parentMonitor.subTask("Process [" + objectName + "]");
+                    }
+                    try {
+                        DBCExecutionContext context = getWorkerContext(monitor, contexts, object);
+                        try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Execute " + task.getType().getName())) {
+                            Exception error = executeObjectQueries(monitor, session, settings, log, outLog, listener, object, jobStatistics);
+                            if (error != null) {
+                                lastError = error;
+                            }
+                        }
+                    } catch (Exception e) {
+                        lastError = e;
+                        log.debug("Error processing " + objectName, e);
+                        outLog.println("Error processing " + objectName + "\n" + e.getMessage());
+                    } finally {
+                        queue.release(object);
+                        synchronized (parentMonitor) {
+                            parentMonitor.worked(1);
+                        }
+                    }
+                }
+            } finally {
+                for (DBCExecutionContext context : contexts.values()) {
+                    context.close();
+                }
+            }
+            return Status.OK_STATUS;
+        }
+
+        private DBCExecutionContext getWorkerContext(
+            DBRProgressMonitor monitor,
+            Map<DBSInstance, DBCExecutionContext> contexts,
+            OBJECT_TYPE object
+        ) throws DBException {
+            DBSInstance instance = DBUtils.getObjectOwnerInstance(object);
+            DBCExecutionContext context = contexts.get(instance);
+            if (context == null) {
+                context = instance.openIsolatedContext(
+                    monitor,
+                    "Tool worker: " + task.getType().getName(),
+                    DBUtils.getOrOpenDefaultContext(object, false));
+                contexts.put(instance, context);
+            }
+            return context;
+        }
     }
 
     public String generateScript(DBRProgressMonitor monitor, SETTINGS settings) throws DBCException {
@@ -22,6 +22,7 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.data.json.JSONUtils;
+import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.task.DBTTaskSettingsInput;
@@ -40,8 +41,12 @@ public class SQLToolExecuteSettings<OBJECT_TYPE extends DBSObject> implements DB
 
     private static final Log log = Log.getLog(SQLToolExecuteSettings.class);
 
+    public static final int MAX_PARALLELISM = 32;
+
     private List<OBJECT_TYPE> objectList = new ArrayList<>();
     private final List<Throwable> warnings = new ArrayList<>();
+    private int parallelism = 1;
+    private int objectTimeout;
 
     protected SQLToolExecuteSettings() {
     }
@@ -58,12 +63,38 @@ public class SQLToolExecuteSettings<OBJECT_TYPE extends DBSObject> implements DB
         return warnings;
     }
 
+    /**
+     * Number of objects processed simultaneously. Each worker uses its own connection.
+     */
+    @Property(viewable = true, editable = true, updatable = true, order = 1000)
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, Math.min(parallelism, MAX_PARALLELISM));
+    }
+
+    /**
+     * Maximum time of a single object processing, in seconds. Zero means no limit.
+     */
+    @Property(viewable = true, editable = true, updatable = true, order = 1001)
+    public int getObjectTimeout() {
+        return objectTimeout;
+    }
+
+    public void setObjectTimeout(int objectTimeout) {
+        this.objectTimeout = Math.max(0, objectTimeout);
+    }
+
         @Override
     public void loadSettingsFromInput(List<OBJECT_TYPE> inputObjects) {
         objectList.addAll(inputObjects);
     }
 
     public void loadConfiguration(@NotNull DBRRunnableContext runnableContext, @NotNull Map<String, Object> config, @NotNull DBPProject project) {
+        setParallelism(JSONUtils.getInteger(config, "parallelism", 1));
+        setObjectTimeout(JSONUtils.getInteger(config, "objectTimeout", 0));
         try {
             runnableContext.run(true, true, monitor -> {
                 List<OBJECT_TYPE> objList = new ArrayList<>();
@@ -97,6 +128,8 @@ public class SQLToolExecuteSettings<OBJECT_TYPE extends DBSObject> implements DB
             objectInfo.put("objectId", DBUtils.getObjectFullId(obj));
             objectsConfig.add(objectInfo);
         }
+        config.put("parallelism", parallelism);
+        config.put("objectTimeout", objectTimeout);
     }
 
 }
@@ -16,6 +16,9 @@
  */
 package org.jkiss.dbeaver.model;
 
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.DBCAdaptiveFetchSize;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCStatistics;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -29,6 +32,8 @@ public final class DBFetchProgress {
     private long startTime = System.currentTimeMillis();
     private long rowCount = 0;
     private long lastMonitor = 0;
+    @Nullable
+    private DBCAdaptiveFetchSize fetchSizeController;
 
     public DBFetchProgress(DBRProgressMonitor monitor) {
         this.monitor = monitor;
@@ -42,8 +47,18 @@ public final class DBFetchProgress {
         return rowCount;
     }
 
+    /**
+     * Enables adaptive fetch size for the specified result set (if it is enabled in preferences)
+     */
+    public void enableAdaptiveFetchSize(DBCResultSet resultSet) {
+        this.fetchSizeController = DBCAdaptiveFetchSize.create(resultSet);
+    }
+
     public void monitorRowFetch() {
         rowCount++;
+        if (fetchSizeController != null) {
+            fetchSizeController.rowFetched();
+        }
         if (DBFetchProgress.monitorFetchProgress(rowCount)) {
             monitor.subTask(rowCount + ModelMessages.model_jdbc__rows_fetched);
             monitor.worked((int) (rowCount - lastMonitor));
@@ -51,6 +51,10 @@ public final class DBValueFormatting {
 
     private static final Log log = Log.getLog(DBValueFormatting.class);
 
+    // DecimalFormat is not thread-safe, native formatters are copied per thread
+    private static final ThreadLocal<DecimalFormat> nativeFloatFormat = ThreadLocal.withInitial(() -> (DecimalFormat) NATIVE_FLOAT_FORMATTER.clone());
+    private static final ThreadLocal<DecimalFormat> nativeDoubleFormat = ThreadLocal.withInitial(() -> (DecimalFormat) NATIVE_DOUBLE_FORMATTER.clone());
+
     static {
         //NATIVE_FLOAT_FORMATTER.setMaximumFractionDigits(NumberDataFormatter.MAX_FLOAT_FRACTION_DIGITS);
         NATIVE_FLOAT_FORMATTER.setDecimalSeparatorAlwaysShown(false);
@@ -252,9 +256,9 @@ public final class DBValueFormatting {
                 }
                 // We don't want exponential view
                 if (value instanceof Float) {
-                    return NATIVE_FLOAT_FORMATTER.format(value);
+                    return nativeFloatFormat.get().format(value);
                 } else if (value instanceof Double) {
-                    return NATIVE_DOUBLE_FORMATTER.format(value);
+                    return nativeDoubleFormat.get().format(value);
                 }
             }
         } catch (Exception e) {
@@ -17,6 +17,7 @@
 
 package org.jkiss.dbeaver.model.admin.sessions;
 
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.DBPObject;
 
 /**
@@ -28,4 +29,13 @@ public interface DBAServerSession extends DBPObject {
 
     Object getActiveQueryId();
 
+    /**
+     * Session activity state (e.g. active, idle, waiting) as reported by the server.
+     * Used to collect session activity history. Returns null if state is not known.
+     */
+    @Nullable
+    default String getActivityState() {
+        return null;
+    }
+
 }
@@ -0,0 +1,105 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+
+import java.util.*;
+import java.util.function.BiPredicate;
+
+/**
+ * Difference between two session lists.
+ * <p>
+ * Sessions are matched by {@link Object#equals(Object)}, session implementations compare session identifiers there.
+ * Sessions present in both lists are reported as updated only if the change predicate says so,
+ * otherwise the previous session object is kept.
+ */
+public class DBAServerSessionDelta<SESSION_TYPE extends DBAServerSession> {
+
+    private final List<SESSION_TYPE> added = new ArrayList<>();
+    private final List<SESSION_TYPE> removed = new ArrayList<>();
+    private final List<SESSION_TYPE> updated = new ArrayList<>();
+    private final List<SESSION_TYPE> sessions;
+
+    private DBAServerSessionDelta(int size) {
+        this.sessions = new ArrayList<>(size);
+    }
+
+    /**
+     * New sessions
+     */
+    @NotNull
+    public List<SESSION_TYPE> getAdded() {
+        return added;
+    }
+
+    /**
+     * Sessions which are not present in the new list
+     */
+    @NotNull
+    public List<SESSION_TYPE> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * New versions of changed sessions
+     */
+    @NotNull
+    public List<SESSION_TYPE> getUpdated() {
+        return updated;
+    }
+
+    /**
+     * Resulting session list. Unchanged sessions are represented by objects from the old list.
+     */
+    @NotNull
+    public List<SESSION_TYPE> getSessions() {
+        return sessions;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && updated.isEmpty();
+    }
+
+    @NotNull
+    public static <T extends DBAServerSession> DBAServerSessionDelta<T> compute(
+        @NotNull Collection<T> oldSessions,
+        @NotNull Collection<T> newSessions,
+        @NotNull BiPredicate<T, T> changed
+    ) {
+        DBAServerSessionDelta<T> delta = new DBAServerSessionDelta<>(newSessions.size());
+        Map<T, T> oldMap = new HashMap<>(oldSessions.size() * 2);
+        for (T session : oldSessions) {
+            oldMap.put(session, session);
+        }
+        for (T newSession : newSessions) {
+            T oldSession = oldMap.remove(newSession);
+            if (oldSession == null) {
+                delta.added.add(newSession);
+                delta.sessions.add(newSession);
+            } else if (changed.test(oldSession, newSession)) {
+                delta.updated.add(newSession);
+                delta.sessions.add(newSession);
+            } else {
+                delta.sessions.add(oldSession);
+            }
+        }
+        delta.removed.addAll(oldMap.values());
+        return delta;
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+
+/**
+ * Session activity history.
+ * <p>
+ * Fixed size ring buffer of session list samples. Each sample keeps the number of sessions
+ * grouped by their {@link DBAServerSession#getActivityState() activity state}, so activity
+ * can be charted over time without querying the server again.
+ */
+public class DBAServerSessionHistory {
+
+    public static final int DEFAULT_CAPACITY = 3600;
+
+    /**
+     * State of sessions which do not report their state
+     */
+    public static final String STATE_UNKNOWN = "";
+
+    public static class Sample {
+        private final long time;
+        private final int totalSessions;
+        private final int activeSessions;
+        private final Map<String, Integer> stateCounts;
+
+        Sample(long time, int totalSessions, int activeSessions, @NotNull Map<String, Integer> stateCounts) {
+            this.time = time;
+            this.totalSessions = totalSessions;
+            this.activeSessions = activeSessions;
+            this.stateCounts = stateCounts;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public int getTotalSessions() {
+            return totalSessions;
+        }
+
+        /**
+         * Number of sessions with an active query. Sessions with idle state are not counted.
+         */
+        public int getActiveSessions() {
+            return activeSessions;
+        }
+
+        @NotNull
+        public Map<String, Integer> getStateCounts() {
+            return stateCounts;
+        }
+    }
+
+    private final Sample[] samples;
+    private int head;
+    private int count;
+
+    public DBAServerSessionHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DBAServerSessionHistory(int capacity) {
+        this.samples = new Sample[Math.max(1, capacity)];
+    }
+
+    public int getCapacity() {
+        return samples.length;
+    }
+
+    public synchronized int getSampleCount() {
+        return count;
+    }
+
+    public synchronized void addSample(long time, @NotNull Collection<? extends DBAServerSession> sessions) {
+        int activeSessions = 0;
+        Map<String, Integer> stateCounts = new TreeMap<>();
+        for (DBAServerSession session : sessions) {
+            String state = session.getActivityState();
+            if (!CommonUtils.isEmpty(session.getActiveQuery()) && (state == null || !isIdleState(state))) {
+                activeSessions++;
+            }
+            stateCounts.merge(state == null ? STATE_UNKNOWN : state, 1, Integer::sum);
+        }
+        samples[head] = new Sample(time, sessions.size(), activeSessions, Collections.unmodifiableMap(stateCounts));
+        head = (head + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    /**
+     * Returns samples taken at or after the specified time, oldest first
+     */
+    @NotNull
+    public synchronized List<Sample> getSamples(long fromTime) {
+        List<Sample> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Sample sample = samples[(head - count + i + samples.length) % samples.length];
+            if (sample.time >= fromTime) {
+                result.add(sample);
+            }
+        }
+        return result;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(samples, null);
+        head = 0;
+        count = 0;
+    }
+
+    private static boolean isIdleState(@NotNull String state) {
+        return state.regionMatches(true, 0, "idle", 0, 4) || state.equalsIgnoreCase("sleep") || state.equalsIgnoreCase("inactive");
+    }
+
+}
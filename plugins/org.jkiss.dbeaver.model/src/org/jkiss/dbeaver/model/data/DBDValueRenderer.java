@@ -38,4 +38,17 @@ public interface DBDValueRenderer
     @NotNull
     String getValueDisplayString(@NotNull DBSTypedObject column, @Nullable Object value, @NotNull DBDDisplayFormat format);
 
+    /**
+     * Appends value display string to the buffer.
+     * Renderers which format values with data formatters may override it to avoid intermediate strings.
+     */
+    default void appendValueDisplayString(
+        @NotNull DBSTypedObject column,
+        @Nullable Object value,
+        @NotNull DBDDisplayFormat format,
+        @NotNull StringBuilder buffer
+    ) {
+        buffer.append(getValueDisplayString(column, value, format));
+    }
+
 }
@@ -0,0 +1,405 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.local;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.aggregate.IAggregateFunction;
+import org.jkiss.dbeaver.model.exec.DBCLogicalOperator;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Client side query engine over already fetched rows.
+ * <p>
+ * Sorts, filters and groups rows without re-executing the query. Cell values are read once per operation
+ * and large row sets are processed in parallel, so value reader must be thread safe.
+ * Engine doesn't track row changes, it must be recreated when rows are modified.
+ * Otherwise the same engine should be reused, so sort indexes are built only once.
+ */
+public class LocalQueryEngine<ROW, COL> {
+
+    // Smaller row sets are processed faster in the current thread
+    static final int PARALLEL_THRESHOLD = 10000;
+
+    public interface ValueReader<ROW, COL> {
+        @Nullable
+        Object getValue(@NotNull ROW row, @NotNull COL column);
+    }
+
+    public record SortKey<COL>(@NotNull COL column, boolean descending, @Nullable Comparator<Object> comparator) {
+    }
+
+    public record Aggregate<COL>(@NotNull COL column, @NotNull Supplier<IAggregateFunction> function) {
+    }
+
+    @NotNull
+    private final List<ROW> rows;
+    @NotNull
+    private final ValueReader<ROW, COL> reader;
+    private final Map<COL, int[]> sortIndexes = new ConcurrentHashMap<>();
+
+    public LocalQueryEngine(@NotNull List<ROW> rows, @NotNull ValueReader<ROW, COL> reader) {
+        this.rows = rows;
+        this.reader = reader;
+    }
+
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    /**
+     * Stable multi-key sort. Rows with equal keys keep their original order.
+     */
+    @NotNull
+    public List<ROW> sort(@NotNull List<SortKey<COL>> keys) {
+        if (keys.isEmpty()) {
+            return new ArrayList<>(rows);
+        }
+        if (keys.size() == 1 && keys.get(0).comparator() == null) {
+            SortKey<COL> key = keys.get(0);
+            return mapRows(key.descending() ? reverseIndex(key.column(), getSortIndex(key.column())) : getSortIndex(key.column()));
+        }
+        Object[][] keyValues = new Object[keys.size()][];
+        for (int i = 0; i < keys.size(); i++) {
+            keyValues[i] = readColumn(keys.get(i).column());
+        }
+        Integer[] order = new Integer[rows.size()];
+        Arrays.setAll(order, i -> i);
+        Comparator<Integer> comparator = (pos1, pos2) -> {
+            for (int i = 0; i < keyValues.length; i++) {
+                SortKey<COL> key = keys.get(i);
+                int result = compareValues(keyValues[i][pos1], keyValues[i][pos2], key.comparator());
+                if (result != 0) {
+                    return key.descending() ? -result : result;
+                }
+            }
+            return 0;
+        };
+        if (order.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(order, comparator);
+        } else {
+            Arrays.sort(order, comparator);
+        }
+        List<ROW> result = new ArrayList<>(order.length);
+        for (Integer pos : order) {
+            result.add(rows.get(pos));
+        }
+        return result;
+    }
+
+    /**
+     * Returns row positions in ascending order of column values.
+     * Index is built on the first request and reused by subsequent sorts.
+     */
+    @NotNull
+    public int[] getSortIndex(@NotNull COL column) {
+        return sortIndexes.computeIfAbsent(column, this::buildSortIndex);
+    }
+
+    /**
+     * Checks that all filter conditions may be evaluated on the client side
+     */
+    public static boolean canFilter(@NotNull DBDDataFilter filter) {
+        if (!CommonUtils.isEmpty(filter.getWhere())) {
+            return false;
+        }
+        for (DBDAttributeConstraint constraint : filter.getConstraints()) {
+            if (!CommonUtils.isEmpty(constraint.getCriteria())) {
+                return false;
+            }
+            DBCLogicalOperator operator = constraint.getOperator();
+            if (operator != null && !isLocalOperator(operator)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns rows matching filter conditions in their original order.
+     *
+     * @param columnResolver maps constraint to column. Constraints without column are ignored.
+     */
+    @NotNull
+    public List<ROW> filter(@NotNull DBDDataFilter filter, @NotNull Function<DBDAttributeConstraint, COL> columnResolver) {
+        if (!canFilter(filter)) {
+            throw new IllegalArgumentException("Filter can't be evaluated locally");
+        }
+        List<Predicate<ROW>> predicates = new ArrayList<>();
+        for (DBDAttributeConstraint constraint : filter.getConstraints()) {
+            if (constraint.getOperator() == null) {
+                continue;
+            }
+            COL column = columnResolver.apply(constraint);
+            if (column != null) {
+                Predicate<Object> matcher = createMatcher(constraint);
+                predicates.add(row -> matcher.test(reader.getValue(row, column)));
+            }
+        }
+        if (predicates.isEmpty()) {
+            return new ArrayList<>(rows);
+        }
+        boolean any = filter.isAnyConstraint();
+        Predicate<ROW> predicate = row -> {
+            for (Predicate<ROW> p : predicates) {
+                if (p.test(row) == any) {
+                    return any;
+                }
+            }
+            return !any;
+        };
+        if (rows.size() >= PARALLEL_THRESHOLD) {
+            return new ArrayList<>(rows.parallelStream().filter(predicate).toList());
+        }
+        List<ROW> result = new ArrayList<>();
+        for (ROW row : rows) {
+            if (predicate.test(row)) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Hash group by.
+     * Each result row contains values of group columns followed by aggregate results.
+     * Groups are returned in order of their first occurrence.
+     */
+    @NotNull
+    public List<Object[]> groupBy(
+        @NotNull List<COL> groupColumns,
+        @NotNull List<Aggregate<COL>> aggregates,
+        boolean aggregateAsStrings
+    ) {
+        Object[][] groupValues = new Object[groupColumns.size()][];
+        for (int i = 0; i < groupColumns.size(); i++) {
+            groupValues[i] = readColumn(groupColumns.get(i));
+        }
+        Object[][] aggregateValues = new Object[aggregates.size()][];
+        for (int i = 0; i < aggregates.size(); i++) {
+            aggregateValues[i] = readColumn(aggregates.get(i).column());
+        }
+
+        Map<GroupKey, Group> groups = new LinkedHashMap<>();
+        for (int pos = 0; pos < rows.size(); pos++) {
+            Object[] keyValues = new Object[groupValues.length];
+            for (int i = 0; i < groupValues.length; i++) {
+                keyValues[i] = groupValues[i][pos];
+            }
+            Group group = groups.computeIfAbsent(new GroupKey(keyValues), key -> new Group(key, aggregates));
+            for (int i = 0; i < aggregateValues.length; i++) {
+                if (group.functions[i].accumulate(aggregateValues[i][pos], aggregateAsStrings)) {
+                    group.counts[i]++;
+                }
+            }
+        }
+
+        List<Object[]> result = new ArrayList<>(groups.size());
+        for (Group group : groups.values()) {
+            Object[] row = Arrays.copyOf(group.key.values, groupValues.length + aggregateValues.length);
+            for (int i = 0; i < aggregateValues.length; i++) {
+                row[groupValues.length + i] = group.functions[i].getResult(group.counts[i]);
+            }
+            result.add(row);
+        }
+        return result;
+    }
+
+    static int compareValues(@Nullable Object value1, @Nullable Object value2, @Nullable Comparator<Object> comparator) {
+        if (comparator != null) {
+            return comparator.compare(value1, value2);
+        } else if (value1 instanceof String str1 && value2 instanceof String str2) {
+            return str1.compareToIgnoreCase(str2);
+        } else {
+            return DBUtils.compareDataValues(value1, value2);
+        }
+    }
+
+    private static boolean isLocalOperator(@NotNull DBCLogicalOperator operator) {
+        return switch (operator) {
+            case BETWEEN, SOUNDS, CONTAINS, CONTAINS_KEY -> false;
+            default -> true;
+        };
+    }
+
+    /**
+     * Creates value predicate for the constraint. Patterns are compiled once per constraint, not per row.
+     */
+    @NotNull
+    private static Predicate<Object> createMatcher(@NotNull DBDAttributeConstraint constraint) {
+        DBCLogicalOperator operator = constraint.getOperator();
+        Object argument = constraint.getValue();
+        Predicate<Object> matcher;
+        if (operator == null) {
+            return value -> true;
+        } else if (operator.getArgumentCount() == 0) {
+            matcher = value -> operator.evaluate(value, null);
+        } else if (DBUtils.isNullValue(argument)) {
+            // Same as IS NULL condition generated for server side filter
+            matcher = DBUtils::isNullValue;
+        } else if (operator == DBCLogicalOperator.IN || argument instanceof Object[]) {
+            // Multiple values are ORed
+            Object[] arguments = argument instanceof Object[] array ? array : new Object[] { argument };
+            DBCLogicalOperator itemOperator = operator == DBCLogicalOperator.IN ? DBCLogicalOperator.EQUALS : operator;
+            List<Predicate<Object>> itemMatchers = new ArrayList<>(arguments.length);
+            for (Object item : arguments) {
+                itemMatchers.add(createOperatorMatcher(itemOperator, item));
+            }
+            matcher = value -> {
+                for (Predicate<Object> itemMatcher : itemMatchers) {
+                    if (itemMatcher.test(value)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        } else {
+            matcher = createOperatorMatcher(operator, argument);
+        }
+        return constraint.isReverseOperator() ? matcher.negate() : matcher;
+    }
+
+    @NotNull
+    private static Predicate<Object> createOperatorMatcher(@NotNull DBCLogicalOperator operator, @Nullable Object argument) {
+        switch (operator) {
+            case LIKE, NOT_LIKE, ILIKE -> {
+                if (argument == null) {
+                    return value -> false;
+                }
+                // LIKE is case sensitive like on the server side, only ILIKE ignores case
+                int flags = operator == DBCLogicalOperator.ILIKE ? Pattern.CASE_INSENSITIVE | Pattern.MULTILINE : Pattern.MULTILINE;
+                Pattern pattern = Pattern.compile(SQLUtils.makeLikePattern(argument.toString()), flags);
+                boolean negate = operator == DBCLogicalOperator.NOT_LIKE;
+                return value -> value != null && pattern.matcher(value.toString()).matches() != negate;
+            }
+            case REGEX -> {
+                if (argument == null) {
+                    return value -> false;
+                }
+                Pattern pattern = Pattern.compile(argument.toString());
+                return value -> value != null && pattern.matcher(value.toString()).matches();
+            }
+            default -> {
+                Object[] arguments = { argument };
+                return value -> operator.evaluate(value, arguments);
+            }
+        }
+    }
+
+    @NotNull
+    private Object[] readColumn(@NotNull COL column) {
+        Object[] values = new Object[rows.size()];
+        IntStream positions = IntStream.range(0, values.length);
+        if (values.length >= PARALLEL_THRESHOLD) {
+            positions = positions.parallel();
+        }
+        positions.forEach(pos -> values[pos] = reader.getValue(rows.get(pos), column));
+        return values;
+    }
+
+    @NotNull
+    private int[] buildSortIndex(@NotNull COL column) {
+        Object[] values = readColumn(column);
+        Integer[] order = new Integer[values.length];
+        Arrays.setAll(order, i -> i);
+        Comparator<Integer> comparator = (pos1, pos2) -> compareValues(values[pos1], values[pos2], null);
+        if (order.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(order, comparator);
+        } else {
+            Arrays.sort(order, comparator);
+        }
+        int[] index = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            index[i] = order[i];
+        }
+        return index;
+    }
+
+    /**
+     * Reverses ascending index. Runs of equal values keep their original order to keep sort stable.
+     */
+    @NotNull
+    private int[] reverseIndex(@NotNull COL column, @NotNull int[] index) {
+        Object[] values = new Object[index.length];
+        for (int i = 0; i < index.length; i++) {
+            values[i] = reader.getValue(rows.get(index[i]), column);
+        }
+        int[] result = new int[index.length];
+        int resultPos = 0;
+        int runEnd = index.length;
+        while (runEnd > 0) {
+            int runStart = runEnd - 1;
+            while (runStart > 0 && compareValues(values[runStart - 1], values[runEnd - 1], null) == 0) {
+                runStart--;
+            }
+            for (int i = runStart; i < runEnd; i++) {
+                result[resultPos++] = index[i];
+            }
+            runEnd = runStart;
+        }
+        return result;
+    }
+
+    @NotNull
+    private List<ROW> mapRows(@NotNull int[] index) {
+        List<ROW> result = new ArrayList<>(index.length);
+        for (int pos : index) {
+            result.add(rows.get(pos));
+        }
+        return result;
+    }
+
+    private record GroupKey(@NotNull Object[] values) {
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof GroupKey key && Arrays.deepEquals(values, key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.deepHashCode(values);
+        }
+    }
+
+    private static class Group {
+        private final GroupKey key;
+        private final IAggregateFunction[] functions;
+        private final int[] counts;
+
+        Group(@NotNull GroupKey key, @NotNull List<? extends Aggregate<?>> aggregates) {
+            this.key = key;
+            this.functions = new IAggregateFunction[aggregates.size()];
+            for (int i = 0; i < functions.length; i++) {
+                functions[i] = aggregates.get(i).function().get();
+            }
+            this.counts = new int[functions.length];
+        }
+    }
+
+}
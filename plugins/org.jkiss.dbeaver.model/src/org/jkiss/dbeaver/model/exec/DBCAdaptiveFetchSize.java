@@ -0,0 +1,223 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.meta.ForTest;
+
+import java.util.List;
+
+/**
+ * Adaptive result set fetch size controller.
+ * <p>
+ * Measures time between fetched rows. A row which took much longer than usual is considered
+ * to be a server round trip. Fetch size is then tuned so that round trip latency is amortized over
+ * enough rows, while the estimated size of one fetched batch stays within memory limits.
+ * Fetch size is changed with {@link DBCResultSetFetchSize} provided by the result set.
+ * Result sets without explicit fetch size are not tuned.
+ */
+public class DBCAdaptiveFetchSize {
+
+    private static final Log log = Log.getLog(DBCAdaptiveFetchSize.class);
+
+    public static final int MIN_FETCH_SIZE = 10;
+    public static final int MAX_FETCH_SIZE = 100000;
+
+    private static final long MAX_BATCH_BYTES = 32 * 1024 * 1024;
+    // Row is considered to be a round trip if it took that many times longer than an average local row
+    private static final int ROUND_TRIP_FACTOR = 20;
+    private static final long MIN_ROUND_TRIP_NANOS = 200_000;
+    // Desired ratio of local processing time to round trip time
+    private static final int LATENCY_AMORTIZATION = 4;
+    // Do not change fetch size if difference is less than 1/CHANGE_THRESHOLD of the current value
+    private static final int CHANGE_THRESHOLD = 4;
+
+    private static final int ROW_OVERHEAD_BYTES = 64;
+    private static final int DEFAULT_VALUE_BYTES = 32;
+    private static final int DEFAULT_STRING_BYTES = 128;
+    private static final int MAX_STRING_BYTES = 4096;
+    private static final int LOB_VALUE_BYTES = 64 * 1024;
+
+    private final DBCResultSetFetchSize fetchSizeControl;
+    private final long rowBytes;
+    private final long maxBatchBytes;
+
+    private int fetchSize;
+    private long lastRowTime;
+    private double localRowNanos;
+    private double roundTripNanos;
+    private long roundTrips;
+    private boolean failed;
+
+    private DBCAdaptiveFetchSize(@NotNull DBCResultSetFetchSize fetchSizeControl, int fetchSize, long rowBytes, long maxBatchBytes) {
+        this.fetchSizeControl = fetchSizeControl;
+        this.fetchSize = fetchSize;
+        this.rowBytes = rowBytes;
+        this.maxBatchBytes = maxBatchBytes;
+    }
+
+    /**
+     * Creates controller for specified result set.
+     * Returns null if adaptive fetch size is disabled or not supported by the result set.
+     */
+    @Nullable
+    public static DBCAdaptiveFetchSize create(@NotNull DBCResultSet resultSet) {
+        DBPDataSource dataSource = resultSet.getSession().getDataSource();
+        if (!dataSource.getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_ADAPTIVE_FETCH_SIZE) ||
+            !(resultSet.getFeature(DBCResultSet.FEATURE_NAME_FETCH_SIZE) instanceof DBCResultSetFetchSize fetchSizeControl)) {
+            return null;
+        }
+        try {
+            return create(
+                fetchSizeControl,
+                resultSet.getMeta(),
+                Math.min(MAX_BATCH_BYTES, Runtime.getRuntime().maxMemory() / 32));
+        } catch (Throwable e) {
+            log.debug("Adaptive fetch size is not supported: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns null if fetch size is not set. In that case driver reads everything at once or uses its own
+     * fetch mode (e.g. MySQL streaming), which must not be replaced.
+     */
+    @ForTest
+    @Nullable
+    public static DBCAdaptiveFetchSize create(
+        @NotNull DBCResultSetFetchSize fetchSizeControl,
+        @NotNull DBCResultSetMetaData meta,
+        long maxBatchBytes
+    ) throws DBCException {
+        int fetchSize = fetchSizeControl.getFetchSize();
+        if (fetchSize <= 0) {
+            return null;
+        }
+        long rowBytes = estimateRowBytes(meta);
+        DBCAdaptiveFetchSize controller = new DBCAdaptiveFetchSize(fetchSizeControl, fetchSize, rowBytes, maxBatchBytes);
+        // Shrink fetch size right away for wide rows
+        long memoryLimitRows = controller.getMemoryLimitRows();
+        if (fetchSize > memoryLimitRows) {
+            controller.applyFetchSize((int) memoryLimitRows);
+        }
+        return controller;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public long getRowBytes() {
+        return rowBytes;
+    }
+
+    public long getRoundTrips() {
+        return roundTrips;
+    }
+
+    /**
+     * Must be called after each fetched row
+     */
+    public void rowFetched() {
+        rowFetched(System.nanoTime());
+    }
+
+    @ForTest
+    public void rowFetched(long now) {
+        if (failed) {
+            return;
+        }
+        if (lastRowTime == 0) {
+            lastRowTime = now;
+            return;
+        }
+        long rowNanos = now - lastRowTime;
+        lastRowTime = now;
+
+        if (localRowNanos == 0) {
+            localRowNanos = rowNanos;
+        } else if (rowNanos > MIN_ROUND_TRIP_NANOS && rowNanos > localRowNanos * ROUND_TRIP_FACTOR) {
+            roundTrips++;
+            roundTripNanos = roundTripNanos == 0 ? rowNanos : roundTripNanos * 0.7 + rowNanos * 0.3;
+            adjustFetchSize();
+        } else {
+            localRowNanos = localRowNanos * 0.9 + rowNanos * 0.1;
+        }
+    }
+
+    private void adjustFetchSize() {
+        // Number of rows whose local processing takes LATENCY_AMORTIZATION round trips
+        double latencyRows = roundTripNanos * LATENCY_AMORTIZATION / Math.max(localRowNanos, 1000);
+        long targetSize = Math.max(MIN_FETCH_SIZE, Math.min((long) latencyRows, Math.min(MAX_FETCH_SIZE, getMemoryLimitRows())));
+        if (Math.abs(targetSize - fetchSize) > fetchSize / CHANGE_THRESHOLD) {
+            applyFetchSize((int) targetSize);
+        }
+    }
+
+    private long getMemoryLimitRows() {
+        return Math.max(MIN_FETCH_SIZE, maxBatchBytes / rowBytes);
+    }
+
+    private void applyFetchSize(int newFetchSize) {
+        try {
+            fetchSizeControl.setFetchSize(newFetchSize);
+            log.debug("Fetch size changed from " + fetchSize + " to " + newFetchSize +
+                " (row size ~" + rowBytes + " bytes, round trip " + (long) (roundTripNanos / 1000) + "us)");
+            fetchSize = newFetchSize;
+        } catch (Throwable e) {
+            log.debug("Error changing fetch size, disable adaptive fetch size: " + e.getMessage());
+            failed = true;
+        }
+    }
+
+    private static long estimateRowBytes(@NotNull DBCResultSetMetaData meta) {
+        long rowBytes = ROW_OVERHEAD_BYTES;
+        List<? extends DBCAttributeMetaData> attributes = meta.getAttributes();
+        for (DBCAttributeMetaData attr : attributes) {
+            rowBytes += estimateValueBytes(attr.getDataKind(), attr.getMaxLength());
+        }
+        return rowBytes;
+    }
+
+    private static long estimateValueBytes(@NotNull DBPDataKind dataKind, long maxLength) {
+        switch (dataKind) {
+            case BOOLEAN:
+                return 1;
+            case NUMERIC:
+            case DATETIME:
+                return 16;
+            case STRING:
+                // Java strings are UTF-16
+                return maxLength > 0 ? Math.min(maxLength * 2, MAX_STRING_BYTES) : DEFAULT_STRING_BYTES;
+            case BINARY:
+                return maxLength > 0 ? Math.min(maxLength, MAX_STRING_BYTES) : DEFAULT_STRING_BYTES;
+            case CONTENT:
+            case DOCUMENT:
+            case ARRAY:
+            case STRUCT:
+                return LOB_VALUE_BYTES;
+            default:
+                return DEFAULT_VALUE_BYTES;
+        }
+    }
+
+}
@@ -31,6 +31,8 @@ public interface DBCResultSet extends DBPObject, DBPCloseableObject
     String FEATURE_NAME_JDBC            = "jdbc";
     String FEATURE_NAME_DOCUMENT        = "document";
     String FEATURE_NAME_LOCAL           = "local";
+    // Feature value is DBCResultSetFetchSize
+    String FEATURE_NAME_FETCH_SIZE      = "fetchSize";
 
     DBCSession getSession();
 
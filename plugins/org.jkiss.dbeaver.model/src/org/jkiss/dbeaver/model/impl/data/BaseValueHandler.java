@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.model.impl.data;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.DBValueFormatting;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
@@ -33,6 +34,18 @@ import org.jkiss.dbeaver.utils.MimeTypes;
  */
 public abstract class BaseValueHandler implements DBDValueHandler {
 
+    private static final ClassValue<Boolean> DISPLAY_STRING_OVERRIDDEN = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            Class<?> displayClass = getDeclaringClass(
+                type, "getValueDisplayString", DBSTypedObject.class, Object.class, DBDDisplayFormat.class);
+            Class<?> appendClass = getDeclaringClass(
+                type, "appendValueDisplayString", DBSTypedObject.class, Object.class, DBDDisplayFormat.class, StringBuilder.class);
+            return displayClass != null && appendClass != null && displayClass != appendClass &&
+                appendClass.isAssignableFrom(displayClass);
+        }
+    };
+
     @NotNull
     @Override
     public String getValueContentType(@NotNull DBSTypedObject attribute) {
@@ -59,6 +72,28 @@ public abstract class BaseValueHandler implements DBDValueHandler {
     }
 
 
+    /**
+     * Returns true if handler class overrides {@link #getValueDisplayString} below the class which overrides
+     * {@link #appendValueDisplayString}. Such append implementation must delegate to getValueDisplayString,
+     * otherwise the override is bypassed.
+     */
+    protected boolean isDisplayStringOverridden() {
+        return DISPLAY_STRING_OVERRIDDEN.get(getClass());
+    }
+
+    @Nullable
+    private static Class<?> getDeclaringClass(@NotNull Class<?> type, @NotNull String name, @NotNull Class<?>... parameterTypes) {
+        for (Class<?> declaringClass = type; declaringClass != null; declaringClass = declaringClass.getSuperclass()) {
+            try {
+                declaringClass.getDeclaredMethod(name, parameterTypes);
+                return declaringClass;
+            } catch (NoSuchMethodException e) {
+                // Check superclass
+            }
+        }
+        return null;
+    }
+
     @NotNull
     @Override
     public DBCLogicalOperator[] getSupportedOperators(@NotNull DBSTypedObject attribute) {
@@ -38,7 +38,7 @@ public abstract class DateTimeCustomValueHandler extends DateTimeValueHandler im
     protected static final Log log = Log.getLog(DateTimeCustomValueHandler.class);
 
     protected final DBDFormatSettings formatSettings;
-    protected DBDDataFormatter formatter;
+    protected volatile DBDDataFormatter formatter;
 
     public DateTimeCustomValueHandler(DBDFormatSettings formatSettings)
     {
@@ -99,6 +99,26 @@ public abstract class DateTimeCustomValueHandler extends DateTimeValueHandler im
         }
     }
 
+    @Override
+    public void appendValueDisplayString(
+        @NotNull DBSTypedObject column,
+        Object value,
+        @NotNull DBDDisplayFormat format,
+        @NotNull StringBuilder buffer
+    ) {
+        if (value == null || value instanceof String || value instanceof Number || isDisplayStringOverridden()) {
+            buffer.append(getValueDisplayString(column, value, format));
+            return;
+        }
+        int startPos = buffer.length();
+        try {
+            getFormatter(column).formatValue(value, buffer);
+        } catch (Exception e) {
+            buffer.setLength(startPos);
+            buffer.append(value);
+        }
+    }
+
     private DBDDataFormatter getFormatter(DBSTypedObject typedObject, String typeId)
     {
         try {
@@ -112,10 +132,18 @@ public abstract class DateTimeCustomValueHandler extends DateTimeValueHandler im
     @NotNull
     protected DBDDataFormatter getFormatter(DBSTypedObject column)
     {
-        if (formatter == null) {
-            formatter = getFormatter(column, getFormatterId(column));
+        // Configuration may be refreshed concurrently, so the field is read once
+        DBDDataFormatter result = formatter;
+        if (result == null) {
+            synchronized (this) {
+                result = formatter;
+                if (result == null) {
+                    result = getFormatter(column, getFormatterId(column));
+                    formatter = result;
+                }
+            }
         }
-        return formatter;
+        return result;
     }
 
     @Override
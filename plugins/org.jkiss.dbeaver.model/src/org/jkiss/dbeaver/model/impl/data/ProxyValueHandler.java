@@ -84,4 +84,14 @@ public class ProxyValueHandler implements DBDValueHandler {
     public String getValueDisplayString(@NotNull DBSTypedObject column, @Nullable Object value, @NotNull DBDDisplayFormat format) {
         return target.getValueDisplayString(column, value, format);
     }
+
+    @Override
+    public void appendValueDisplayString(
+        @NotNull DBSTypedObject column,
+        @Nullable Object value,
+        @NotNull DBDDisplayFormat format,
+        @NotNull StringBuilder buffer
+    ) {
+        target.appendValueDisplayString(column, value, format, buffer);
+    }
 }
\ No newline at end of file
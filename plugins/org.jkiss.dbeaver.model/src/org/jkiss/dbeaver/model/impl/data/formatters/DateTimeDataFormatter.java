@@ -37,6 +37,10 @@ import java.util.Date;
 import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Date/time formatter.
+ * Thread safe: legacy date format is not, so each thread uses its own copy of it.
+ */
 public class DateTimeDataFormatter implements DBDDataFormatter {
 
     public static final String PROP_PATTERN = "pattern";
@@ -44,11 +48,19 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
 
     private String pattern;
     private ZoneId zone;
-    private DateFormat dateFormat;
-    private StringBuffer buffer;
-    private FieldPosition position;
+    private ThreadLocal<FormatState> formatState;
     private DateTimeFormatter dateTimeFormatter;
 
+    private static class FormatState {
+        final DateFormat format;
+        final StringBuffer buffer = new StringBuffer();
+        final FieldPosition position = new FieldPosition(0);
+
+        FormatState(DateFormat format) {
+            this.format = format;
+        }
+    }
+
     @Override
     public void init(DBSTypedObject type, Locale locale, Map<String, Object> properties)
     {
@@ -56,13 +68,12 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
         final String timezone = CommonUtils.toString(properties.get(PROP_TIMEZONE));
         zone = CommonUtils.isEmptyTrimmed(timezone) ? null : ZoneId.of(timezone);
         String sdfPattern = pattern.replace("n", "f");
-        dateFormat = new ExtendedDateFormat(
+        final DateFormat dateFormat = new ExtendedDateFormat(
             sdfPattern,
             locale);
         // We shouldn't use lenient formatter (#7244)
         dateFormat.setLenient(false);
-        buffer = new StringBuffer();
-        position = new FieldPosition(0);
+        formatState = ThreadLocal.withInitial(() -> new FormatState((DateFormat) dateFormat.clone()));
         // DateTimeFormatter pattern for nanoseconds is "n" but old "f" (ExtendedDateFormat)
         String java8DatePattern = pattern.replaceAll("f+", "n");
         dateTimeFormatter = DateTimeFormatter.ofPattern(java8DatePattern);
@@ -73,9 +84,12 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
         return zone;
     }
 
+    /**
+     * Returns date format of the current thread
+     */
     @NotNull
     public DateFormat getDateFormat() {
-        return dateFormat;
+        return formatState.get().format;
     }
 
     @Override
@@ -87,27 +101,53 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
     @Override
     public String formatValue(Object value)
     {
+        TemporalAccessor temporal = toTemporal(value);
+        if (temporal != null) {
+            return dateTimeFormatter.format(temporal);
+        }
+        if (value == null) {
+            return null;
+        }
+        return formatLegacy(value).toString();
+    }
+
+    @Override
+    public void formatValue(@Nullable Object value, @NotNull StringBuilder buffer) {
+        TemporalAccessor temporal = toTemporal(value);
+        if (temporal != null) {
+            dateTimeFormatter.formatTo(temporal, buffer);
+        } else if (value != null) {
+            buffer.append(formatLegacy(value));
+        }
+    }
+
+    @Nullable
+    private TemporalAccessor toTemporal(@Nullable Object value) {
         if (value instanceof Date && zone != null) {
-            return dateTimeFormatter.format(ZonedDateTime.ofInstant(((Date) value).toInstant(), zone));
+            return ZonedDateTime.ofInstant(((Date) value).toInstant(), zone);
         }
         if (value instanceof TemporalAccessor) {
             if (zone != null) {
                 if (value instanceof LocalDateTime) {
-                    return dateTimeFormatter.format(((LocalDateTime) value).atZone(zone));
+                    return ((LocalDateTime) value).atZone(zone);
                 }
                 if (value instanceof ZonedDateTime) {
-                    return dateTimeFormatter.format(((ZonedDateTime) value).withZoneSameInstant(zone));
+                    return ((ZonedDateTime) value).withZoneSameInstant(zone);
                 }
                 if (value instanceof OffsetDateTime) {
-                    return dateTimeFormatter.format(((OffsetDateTime) value).atZoneSameInstant(zone));
+                    return ((OffsetDateTime) value).atZoneSameInstant(zone);
                 }
             }
-            return dateTimeFormatter.format((TemporalAccessor) value);
-        }
-        synchronized (dateFormat) {
-            buffer.setLength(0);
-            return value == null ? null : dateFormat.format(value, buffer, position).toString();
+            return (TemporalAccessor) value;
         }
+        return null;
+    }
+
+    @NotNull
+    private StringBuffer formatLegacy(@NotNull Object value) {
+        FormatState state = formatState.get();
+        state.buffer.setLength(0);
+        return state.format.format(value, state.buffer, state.position);
     }
 
     @Override
@@ -129,7 +169,7 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
                 }
             }
         }
-        return dateFormat.parse(value);
+        return formatState.get().format.parse(value);
     }
 
 }
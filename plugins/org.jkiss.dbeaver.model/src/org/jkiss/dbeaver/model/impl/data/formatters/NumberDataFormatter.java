@@ -16,6 +16,7 @@
  */
 package org.jkiss.dbeaver.model.impl.data.formatters;
 
+import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.data.DBDDataFormatter;
@@ -32,6 +33,10 @@ import java.text.ParseException;
 import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Number formatter.
+ * Thread safe: each thread uses its own copy of the configured number format.
+ */
 public class NumberDataFormatter implements DBDDataFormatter {
 
     public static final int MAX_DEFAULT_FRACTIONS_DIGITS = 16;
@@ -39,10 +44,19 @@ public class NumberDataFormatter implements DBDDataFormatter {
     private static final Log log = Log.getLog(NumberDataFormatter.class);
 
     private DecimalFormat numberFormat;
-    private StringBuffer buffer;
-    private FieldPosition position;
+    private ThreadLocal<FormatState> formatState;
     private boolean nativeSpecialValues;
 
+    private static class FormatState {
+        final DecimalFormat format;
+        final StringBuffer buffer = new StringBuffer();
+        final FieldPosition position = new FieldPosition(0);
+
+        FormatState(DecimalFormat format) {
+            this.format = format;
+        }
+    }
+
     public NumberDataFormatter() {
     }
 
@@ -113,8 +127,8 @@ public class NumberDataFormatter implements DBDDataFormatter {
                 numberFormat.setGroupingUsed(false);
             }
         }
-        buffer = new StringBuffer();
-        position = new FieldPosition(0);
+        final DecimalFormat templateFormat = numberFormat;
+        formatState = ThreadLocal.withInitial(() -> new FormatState((DecimalFormat) templateFormat.clone()));
         nativeSpecialValues = CommonUtils.toBoolean(properties.get(NumberFormatSample.PROP_NATIVE_SPECIAL_VALUES));
     }
 
@@ -132,71 +146,98 @@ public class NumberDataFormatter implements DBDDataFormatter {
         if (value == null) {
             return null;
         }
+        FormatState state = formatState.get();
+        if (!formatToBuffer(value, state)) {
+            return value.toString();
+        }
+        return state.buffer.toString();
+    }
+
+    @Override
+    public void formatValue(@Nullable Object value, @NotNull StringBuilder buffer) {
+        if (value == null) {
+            return;
+        }
+        FormatState state = formatState.get();
+        if (!formatToBuffer(value, state)) {
+            buffer.append(value);
+        } else {
+            buffer.append(state.buffer);
+        }
+    }
+
+    /**
+     * Formats value into the thread state buffer.
+     * Returns false if value must be represented by its string value.
+     */
+    private boolean formatToBuffer(@NotNull Object value, @NotNull FormatState state) {
         if (CommonUtils.isNaN(value) || CommonUtils.isInfinite(value)) {
             if (nativeSpecialValues) {
-                return value.toString();
+                return false;
             }
         } else if (value instanceof Float || value instanceof Double) {
             // Convert to BigDecimal so we don't have rounding issues with high minimum fraction digits set
             value = new BigDecimal(value.toString());
         } else if (!(value instanceof Number)) {
-            return value.toString();
+            return false;
         }
         try {
-            synchronized (this) {
-                buffer.setLength(0);
-                try {
-                    return numberFormat.format(value, buffer, position).toString();
-                } catch (ArithmeticException e) {
-                    if (numberFormat.getRoundingMode() == RoundingMode.UNNECESSARY) {
-                        // This type can't use UNNECESSARY rounding. Let's set default one
-                        log.debug("Disabling UNNECESSARY rounding for numbers (" + e.getMessage() + ")");
+            state.buffer.setLength(0);
+            try {
+                state.format.format(value, state.buffer, state.position);
+            } catch (ArithmeticException e) {
+                if (state.format.getRoundingMode() == RoundingMode.UNNECESSARY) {
+                    // This type can't use UNNECESSARY rounding. Let's set default one
+                    log.debug("Disabling UNNECESSARY rounding for numbers (" + e.getMessage() + ")");
+                    state.format.setRoundingMode(RoundingMode.HALF_EVEN);
+                    synchronized (numberFormat) {
                         numberFormat.setRoundingMode(RoundingMode.HALF_EVEN);
                     }
-                    return numberFormat.format(value, buffer, position).toString();
                 }
+                state.buffer.setLength(0);
+                state.format.format(value, state.buffer, state.position);
             }
+            return true;
         } catch (Exception e) {
-            return value.toString();
+            return false;
         }
     }
 
     @Override
     public Object parseValue(String value, @Nullable Class<?> typeHint) throws ParseException
     {
-        synchronized (this) {
-            numberFormat.setParseBigDecimal(typeHint == BigDecimal.class || typeHint == BigInteger.class);
-            Number number = numberFormat.parse(value);
-            if (number != null && typeHint != null) {
-                boolean isFloat = number instanceof Double || number instanceof Float;
-                if (typeHint == Byte.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.byteValue();
-                } else if (typeHint == Short.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.shortValue();
-                } else if (typeHint == Integer.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.intValue();
-                } else if (typeHint == Long.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.longValue();
-                } else if (typeHint == Float.class) {
-                    return number.floatValue();
-                } else if (typeHint == Double.class) {
-                    return number.doubleValue();
+        DecimalFormat numberFormat = formatState.get().format;
+        numberFormat.setParseBigDecimal(typeHint == BigDecimal.class || typeHint == BigInteger.class);
+        Number number = numberFormat.parse(value);
+        if (number != null && typeHint != null) {
+            boolean isFloat = number instanceof Double || number instanceof Float;
+            if (typeHint == Byte.class) {
+                if (isFloat) {
+                    return number;
+                }
+                return number.byteValue();
+            } else if (typeHint == Short.class) {
+                if (isFloat) {
+                    return number;
+                }
+                return number.shortValue();
+            } else if (typeHint == Integer.class) {
+                if (isFloat) {
+                    return number;
+                }
+                return number.intValue();
+            } else if (typeHint == Long.class) {
+                if (isFloat) {
+                    return number;
                 }
+                return number.longValue();
+            } else if (typeHint == Float.class) {
+                return number.floatValue();
+            } else if (typeHint == Double.class) {
+                return number.doubleValue();
             }
-            return number;
         }
+        return number;
     }
 
 }
@@ -17,6 +17,8 @@
 package org.jkiss.dbeaver.model.impl.dpi;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.DBCStatement;
 import org.jkiss.dbeaver.model.impl.local.LocalResultSet;
@@ -27,6 +29,8 @@ import java.util.List;
 
 public class DPIResultSet extends LocalResultSet<DBCStatement> {
     private final List<DPIResultSetColumn> meta = new ArrayList<>();
+    @Nullable
+    private DPIResultSetRowSource rowSource;
 
     public DPIResultSet(
         DBCSession session,
@@ -46,6 +50,22 @@ public class DPIResultSet extends LocalResultSet<DBCStatement> {
         this.rows.addAll(rows);
     }
 
+    /**
+     * Creates result set which reads rows from the row source chunk by chunk.
+     * Only the current chunk is kept in memory, so positioning is possible only within it
+     * unless all rows are requested by {@link #getAllRows()}.
+     */
+    public DPIResultSet(
+        @NotNull DBCSession session,
+        @NotNull DBCStatement statement,
+        @NotNull List<DPIResultSetColumn> meta,
+        @NotNull DPIResultSetRowSource rowSource
+    ) {
+        super(session, statement);
+        this.meta.addAll(meta);
+        this.rowSource = rowSource;
+    }
+
     public void addColumn(@NotNull DPIResultSetColumn column) {
         meta.add(column);
     }
@@ -61,14 +81,65 @@ public class DPIResultSet extends LocalResultSet<DBCStatement> {
         return meta;
     }
 
-    public List<Object[]> getAllRows() {
+    /**
+     * Returns rows kept in memory. If rows are read by chunks then all remaining chunks are read
+     * and kept in memory as well. Rows of chunks which were already passed by {@link #nextRow()} are not returned.
+     */
+    @NotNull
+    public List<Object[]> getAllRows() throws DBCException {
+        while (rowSource != null) {
+            List<Object[]> nextRows;
+            try {
+                nextRows = rowSource.nextRows();
+            } catch (DBCException e) {
+                closeRowSource();
+                throw e;
+            }
+            if (nextRows == null) {
+                closeRowSource();
+            } else {
+                rows.addAll(nextRows);
+            }
+        }
         return rows;
     }
 
+    @Override
+    public boolean nextRow() throws DBCException {
+        while (!super.nextRow()) {
+            if (rowSource == null) {
+                return false;
+            }
+            List<Object[]> nextRows;
+            try {
+                nextRows = rowSource.nextRows();
+            } catch (DBCException e) {
+                closeRowSource();
+                throw e;
+            }
+            rows.clear();
+            curPosition = -1;
+            if (nextRows == null) {
+                closeRowSource();
+                return false;
+            }
+            rows.addAll(nextRows);
+        }
+        return true;
+    }
+
     @Override
     public void close() {
         curPosition = -1;
         rows.clear();
         meta.clear();
+        closeRowSource();
+    }
+
+    private void closeRowSource() {
+        if (rowSource != null) {
+            rowSource.close();
+            rowSource = null;
+        }
     }
 }
@@ -61,7 +61,7 @@ public class LocalResultSet<SOURCE_STMT extends DBCStatement> extends AbstractRe
     }
 
     @Override
-    public boolean nextRow() {
+    public boolean nextRow() throws DBCException {
         if (curPosition + 1 >= rows.size()) {
             return false;
         }
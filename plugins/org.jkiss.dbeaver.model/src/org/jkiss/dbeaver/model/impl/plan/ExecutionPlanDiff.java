@@ -0,0 +1,210 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Node by node difference between two captures of the same query plan.
+ * <p>
+ * Nodes are matched by their position in the plan tree. Node is reported as changed if its kind, type
+ * (e.g. scan or join method) or object name (e.g. index) differs. Cost regression is reported if new cost exceeds
+ * old cost by more than the specified ratio.
+ */
+public class ExecutionPlanDiff {
+
+    public static final double DEFAULT_COST_REGRESSION_RATIO = 1.5;
+
+    public enum ChangeType {
+        COST_REGRESSION,
+        NODE_CHANGED,
+        NODE_ADDED,
+        NODE_REMOVED
+    }
+
+    public static class Change {
+        private final ChangeType type;
+        private final String path;
+        private final ExecutionPlanSnapshot.Node oldNode;
+        private final ExecutionPlanSnapshot.Node newNode;
+
+        Change(
+            @NotNull ChangeType type,
+            @NotNull String path,
+            @Nullable ExecutionPlanSnapshot.Node oldNode,
+            @Nullable ExecutionPlanSnapshot.Node newNode
+        ) {
+            this.type = type;
+            this.path = path;
+            this.oldNode = oldNode;
+            this.newNode = newNode;
+        }
+
+        @NotNull
+        public ChangeType getType() {
+            return type;
+        }
+
+        /**
+         * Node position in the plan tree, child indexes separated by slash
+         */
+        @NotNull
+        public String getPath() {
+            return path;
+        }
+
+        @Nullable
+        public ExecutionPlanSnapshot.Node getOldNode() {
+            return oldNode;
+        }
+
+        @Nullable
+        public ExecutionPlanSnapshot.Node getNewNode() {
+            return newNode;
+        }
+
+        @Override
+        public String toString() {
+            return switch (type) {
+                case COST_REGRESSION -> path + ": cost " + oldNode.getCost() + " -> " + newNode.getCost() + " (" + newNode + ")";
+                case NODE_CHANGED -> path + ": " + oldNode + " -> " + newNode;
+                case NODE_ADDED -> path + ": added " + newNode;
+                case NODE_REMOVED -> path + ": removed " + oldNode;
+            };
+        }
+    }
+
+    private final ExecutionPlanSnapshot oldPlan;
+    private final ExecutionPlanSnapshot newPlan;
+    private final double costRegressionRatio;
+    private final List<Change> changes = new ArrayList<>();
+
+    private ExecutionPlanDiff(@NotNull ExecutionPlanSnapshot oldPlan, @NotNull ExecutionPlanSnapshot newPlan, double costRegressionRatio) {
+        this.oldPlan = oldPlan;
+        this.newPlan = newPlan;
+        this.costRegressionRatio = costRegressionRatio;
+    }
+
+    @NotNull
+    public static ExecutionPlanDiff compare(@NotNull ExecutionPlanSnapshot oldPlan, @NotNull ExecutionPlanSnapshot newPlan) {
+        return compare(oldPlan, newPlan, DEFAULT_COST_REGRESSION_RATIO);
+    }
+
+    @NotNull
+    public static ExecutionPlanDiff compare(
+        @NotNull ExecutionPlanSnapshot oldPlan,
+        @NotNull ExecutionPlanSnapshot newPlan,
+        double costRegressionRatio
+    ) {
+        ExecutionPlanDiff diff = new ExecutionPlanDiff(oldPlan, newPlan, costRegressionRatio);
+        diff.compareNodes("", oldPlan.getNodes(), newPlan.getNodes());
+        return diff;
+    }
+
+    @NotNull
+    public ExecutionPlanSnapshot getOldPlan() {
+        return oldPlan;
+    }
+
+    @NotNull
+    public ExecutionPlanSnapshot getNewPlan() {
+        return newPlan;
+    }
+
+    @NotNull
+    public List<Change> getChanges() {
+        return changes;
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public boolean isTotalCostRegression() {
+        return isCostRegression(oldPlan.getTotalCost(), newPlan.getTotalCost());
+    }
+
+    /**
+     * Plan changed its shape (different scan or join methods) or became more expensive
+     */
+    public boolean isRegression() {
+        if (isTotalCostRegression()) {
+            return true;
+        }
+        for (Change change : changes) {
+            if (change.type == ChangeType.COST_REGRESSION || change.type == ChangeType.NODE_CHANGED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void compareNodes(
+        @NotNull String parentPath,
+        @NotNull List<ExecutionPlanSnapshot.Node> oldNodes,
+        @NotNull List<ExecutionPlanSnapshot.Node> newNodes
+    ) {
+        int count = Math.max(oldNodes.size(), newNodes.size());
+        for (int i = 0; i < count; i++) {
+            String path = parentPath.isEmpty() ? String.valueOf(i) : parentPath + "/" + i;
+            ExecutionPlanSnapshot.Node oldNode = i < oldNodes.size() ? oldNodes.get(i) : null;
+            ExecutionPlanSnapshot.Node newNode = i < newNodes.size() ? newNodes.get(i) : null;
+            if (oldNode == null) {
+                changes.add(new Change(ChangeType.NODE_ADDED, path, null, newNode));
+                continue;
+            }
+            if (newNode == null) {
+                changes.add(new Change(ChangeType.NODE_REMOVED, path, oldNode, null));
+                continue;
+            }
+            if (oldNode.getKind() != newNode.getKind() ||
+                !CommonUtils.equalObjects(oldNode.getType(), newNode.getType()) ||
+                !CommonUtils.equalObjects(oldNode.getName(), newNode.getName())
+            ) {
+                changes.add(new Change(ChangeType.NODE_CHANGED, path, oldNode, newNode));
+            } else if (isCostRegression(oldNode.getCost(), newNode.getCost())) {
+                changes.add(new Change(ChangeType.COST_REGRESSION, path, oldNode, newNode));
+            }
+            compareNodes(path, oldNode.getNested(), newNode.getNested());
+        }
+    }
+
+    private boolean isCostRegression(@Nullable Double oldCost, @Nullable Double newCost) {
+        return oldCost != null && newCost != null && oldCost > 0 && newCost > oldCost * costRegressionRatio;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        if (isTotalCostRegression()) {
+            result.append("total cost ").append(oldPlan.getTotalCost()).append(" -> ").append(newPlan.getTotalCost());
+        }
+        for (Change change : changes) {
+            if (!result.isEmpty()) {
+                result.append("; ");
+            }
+            result.append(change);
+        }
+        return result.toString();
+    }
+
+}
@@ -0,0 +1,229 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
+import org.jkiss.dbeaver.model.exec.plan.DBCQueryPlanner;
+import org.jkiss.dbeaver.model.exec.plan.DBCQueryPlannerConfiguration;
+import org.jkiss.dbeaver.model.sql.SQLQueryFingerprint;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Execution plan history.
+ * <p>
+ * Keeps last captures of each query plan, keyed by data source and {@link SQLQueryFingerprint query fingerprint}.
+ * Captures are appended to a JSON-lines file in the workspace metadata folder. The file is rewritten once
+ * it contains much more records than kept in history.
+ */
+public class ExecutionPlanHistory {
+
+    private static final Log log = Log.getLog(ExecutionPlanHistory.class);
+
+    public static final String HISTORY_FILE_NAME = "plan-history.jsonl";
+
+    public static final int MAX_CAPTURES_PER_QUERY = 10;
+    public static final int MAX_QUERIES = 1000;
+    private static final int MIN_DEAD_RECORDS_TO_COMPACT = 100;
+
+    private static final Gson gson = new Gson();
+
+    private static ExecutionPlanHistory instance;
+
+    private final Path historyFile;
+    // Access ordered, least recently captured queries are removed first
+    private final Map<String, List<ExecutionPlanSnapshot>> captures = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean loaded;
+    private int fileRecords;
+
+    public ExecutionPlanHistory(@NotNull Path historyFile) {
+        this.historyFile = historyFile;
+    }
+
+    @NotNull
+    public static synchronized ExecutionPlanHistory getInstance() {
+        if (instance == null) {
+            instance = new ExecutionPlanHistory(GeneralUtils.getMetadataFolder().resolve(HISTORY_FILE_NAME));
+        }
+        return instance;
+    }
+
+    /**
+     * Explains the query and adds its plan to the history.
+     * Planner is called with default configuration, so the query itself is not executed.
+     *
+     * @return difference with the previous capture of the same query or null if there is no previous capture
+     */
+    @Nullable
+    public ExecutionPlanDiff capturePlan(
+        @NotNull DBCSession session,
+        @NotNull DBCQueryPlanner planner,
+        @NotNull String queryText
+    ) throws DBException {
+        DBCPlan plan = planner.planQueryExecution(session, queryText, new DBCQueryPlannerConfiguration());
+        ExecutionPlanSnapshot snapshot = ExecutionPlanSnapshot.capture(
+            session.getDataSource().getContainer().getId(), queryText, plan);
+        return addSnapshot(snapshot);
+    }
+
+    /**
+     * Adds plan capture to the history
+     *
+     * @return difference with the previous capture of the same query or null if there is no previous capture
+     */
+    @Nullable
+    public synchronized ExecutionPlanDiff addSnapshot(@NotNull ExecutionPlanSnapshot snapshot) {
+        loadHistory();
+        List<ExecutionPlanSnapshot> snapshots = addToHistory(snapshot);
+        ExecutionPlanDiff diff = snapshots.size() < 2 ? null :
+            ExecutionPlanDiff.compare(snapshots.get(snapshots.size() - 2), snapshot);
+
+        try {
+            Files.createDirectories(historyFile.getParent());
+            Files.writeString(
+                historyFile,
+                gson.toJson(snapshot) + "\n",
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            fileRecords++;
+            if (fileRecords - getCaptureCount() > Math.max(MIN_DEAD_RECORDS_TO_COMPACT, getCaptureCount())) {
+                saveHistory();
+            }
+        } catch (IOException e) {
+            log.debug("Error saving plan history: " + e.getMessage());
+        }
+        return diff;
+    }
+
+    /**
+     * Returns captured plans of the query, oldest first
+     */
+    @NotNull
+    public synchronized List<ExecutionPlanSnapshot> getSnapshots(@NotNull String dataSourceId, @NotNull String fingerprint) {
+        loadHistory();
+        List<ExecutionPlanSnapshot> snapshots = captures.get(makeKey(dataSourceId, fingerprint));
+        return snapshots == null ? List.of() : List.copyOf(snapshots);
+    }
+
+    /**
+     * Removes all plans captured for the data source
+     */
+    public synchronized void clear(@NotNull String dataSourceId) {
+        loadHistory();
+        if (captures.keySet().removeIf(key -> key.startsWith(dataSourceId + "/"))) {
+            try {
+                saveHistory();
+            } catch (IOException e) {
+                log.debug("Error saving plan history: " + e.getMessage());
+            }
+        }
+    }
+
+    @NotNull
+    private List<ExecutionPlanSnapshot> addToHistory(@NotNull ExecutionPlanSnapshot snapshot) {
+        List<ExecutionPlanSnapshot> snapshots = captures.computeIfAbsent(
+            makeKey(snapshot.getDataSourceId(), snapshot.getFingerprint()),
+            key -> new ArrayList<>());
+        snapshots.add(snapshot);
+        if (snapshots.size() > MAX_CAPTURES_PER_QUERY) {
+            snapshots.remove(0);
+        }
+        if (captures.size() > MAX_QUERIES) {
+            Iterator<String> iterator = captures.keySet().iterator();
+            iterator.next();
+            iterator.remove();
+        }
+        return snapshots;
+    }
+
+    private int getCaptureCount() {
+        int count = 0;
+        for (List<ExecutionPlanSnapshot> snapshots : captures.values()) {
+            count += snapshots.size();
+        }
+        return count;
+    }
+
+    private void loadHistory() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!Files.exists(historyFile)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(historyFile, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                fileRecords++;
+                try {
+                    ExecutionPlanSnapshot snapshot = gson.fromJson(line, ExecutionPlanSnapshot.class);
+                    if (snapshot != null && snapshot.getDataSourceId() != null && snapshot.getFingerprint() != null) {
+                        addToHistory(snapshot);
+                    }
+                } catch (JsonParseException e) {
+                    log.debug("Skip broken plan history record: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Error reading plan history: " + e.getMessage());
+        }
+    }
+
+    private void saveHistory() throws IOException {
+        List<ExecutionPlanSnapshot> snapshots = new ArrayList<>();
+        for (List<ExecutionPlanSnapshot> querySnapshots : captures.values()) {
+            snapshots.addAll(querySnapshots);
+        }
+        snapshots.sort(Comparator.comparingLong(ExecutionPlanSnapshot::getCaptureTime));
+
+        Files.createDirectories(historyFile.getParent());
+        Path tempFile = historyFile.resolveSibling(historyFile.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            for (ExecutionPlanSnapshot snapshot : snapshots) {
+                writer.write(gson.toJson(snapshot));
+                writer.write('\n');
+            }
+        }
+        Files.move(tempFile, historyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        fileRecords = snapshots.size();
+    }
+
+    @NotNull
+    private static String makeKey(@NotNull String dataSourceId, @NotNull String fingerprint) {
+        return dataSourceId + "/" + fingerprint;
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanCostNode;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNode;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNodeKind;
+import org.jkiss.dbeaver.model.sql.SQLQueryFingerprint;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Execution plan captured for the plan history.
+ * Keeps plan nodes tree with node costs, independent of the planner which produced it.
+ */
+public class ExecutionPlanSnapshot {
+
+    public static class Node {
+        private String kind;
+        private String type;
+        private String name;
+        private String condition;
+        private Double cost;
+        private Double rows;
+        private List<Node> nested;
+
+        Node() {
+        }
+
+        public Node(
+            @NotNull DBCPlanNodeKind kind,
+            @Nullable String type,
+            @Nullable String name,
+            @Nullable String condition,
+            @Nullable Double cost,
+            @Nullable Double rows,
+            @NotNull List<Node> nested
+        ) {
+            this.kind = kind.name();
+            this.type = type;
+            this.name = name;
+            this.condition = condition;
+            this.cost = cost;
+            this.rows = rows;
+            this.nested = nested;
+        }
+
+        @NotNull
+        public DBCPlanNodeKind getKind() {
+            return CommonUtils.valueOf(DBCPlanNodeKind.class, kind, DBCPlanNodeKind.DEFAULT);
+        }
+
+        @Nullable
+        public String getType() {
+            return type;
+        }
+
+        @Nullable
+        public String getName() {
+            return name;
+        }
+
+        @Nullable
+        public String getCondition() {
+            return condition;
+        }
+
+        @Nullable
+        public Double getCost() {
+            return cost;
+        }
+
+        @Nullable
+        public Double getRows() {
+            return rows;
+        }
+
+        @NotNull
+        public List<Node> getNested() {
+            return nested == null ? List.of() : nested;
+        }
+
+        @Override
+        public String toString() {
+            String title = CommonUtils.isEmpty(type) ? getKind().getTitle() : type;
+            return CommonUtils.isEmpty(name) ? title : title + " " + name;
+        }
+    }
+
+    private String dataSourceId;
+    private String fingerprint;
+    private String queryText;
+    private long captureTime;
+    private Double totalCost;
+    private List<Node> nodes;
+
+    ExecutionPlanSnapshot() {
+    }
+
+    public ExecutionPlanSnapshot(
+        @NotNull String dataSourceId,
+        @NotNull String queryText,
+        long captureTime,
+        @NotNull List<Node> nodes
+    ) {
+        this.dataSourceId = dataSourceId;
+        this.fingerprint = SQLQueryFingerprint.fingerprint(queryText);
+        this.queryText = queryText;
+        this.captureTime = captureTime;
+        this.nodes = nodes;
+        double cost = 0;
+        boolean hasCost = false;
+        for (Node node : nodes) {
+            if (node.cost != null) {
+                cost += node.cost;
+                hasCost = true;
+            }
+        }
+        this.totalCost = hasCost ? cost : null;
+    }
+
+    /**
+     * Makes snapshot of the plan. Original plan nodes structure is kept.
+     */
+    @NotNull
+    public static ExecutionPlanSnapshot capture(@NotNull String dataSourceId, @NotNull String queryText, @NotNull DBCPlan plan) {
+        List<? extends DBCPlanNode> planNodes = plan.getPlanNodes(Map.of(DBCPlan.OPTION_KEEP_ORIGINAL, true));
+        return new ExecutionPlanSnapshot(dataSourceId, queryText, System.currentTimeMillis(), makeNodes(planNodes));
+    }
+
+    @NotNull
+    public String getDataSourceId() {
+        return dataSourceId;
+    }
+
+    /**
+     * Fingerprint of the query, see {@link SQLQueryFingerprint}
+     */
+    @NotNull
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    @NotNull
+    public String getQueryText() {
+        return queryText;
+    }
+
+    public long getCaptureTime() {
+        return captureTime;
+    }
+
+    /**
+     * Sum of root nodes costs or null if planner doesn't provide costs
+     */
+    @Nullable
+    public Double getTotalCost() {
+        return totalCost;
+    }
+
+    @NotNull
+    public List<Node> getNodes() {
+        return nodes == null ? List.of() : nodes;
+    }
+
+    @NotNull
+    private static List<Node> makeNodes(@Nullable Collection<? extends DBCPlanNode> planNodes) {
+        if (CommonUtils.isEmpty(planNodes)) {
+            return List.of();
+        }
+        List<Node> result = new ArrayList<>(planNodes.size());
+        for (DBCPlanNode planNode : planNodes) {
+            Double cost = null, rows = null;
+            if (planNode instanceof DBCPlanCostNode costNode) {
+                cost = toDouble(costNode.getNodeCost());
+                rows = toDouble(costNode.getNodeRowCount());
+            }
+            result.add(new Node(
+                planNode.getNodeKind() == null ? DBCPlanNodeKind.DEFAULT : planNode.getNodeKind(),
+                planNode.getNodeType(),
+                planNode.getNodeName(),
+                planNode.getNodeCondition(),
+                cost,
+                rows,
+                makeNodes(planNode.getNested())));
+        }
+        return result;
+    }
+
+    @Nullable
+    private static Double toDouble(@Nullable Number value) {
+        return value == null ? null : value.doubleValue();
+    }
+
+}
@@ -20,6 +20,7 @@ import org.eclipse.core.runtime.Status;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.access.DBAObject;
 import org.jkiss.dbeaver.model.dpi.DPIClientObject;
@@ -41,6 +42,7 @@ import org.jkiss.dbeaver.model.struct.rdb.DBSPackage;
 import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
 import org.jkiss.dbeaver.model.struct.rdb.DBSSequence;
 import org.jkiss.dbeaver.runtime.DBInterruptedException;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.BeanUtils;
 import org.jkiss.utils.CommonUtils;
@@ -59,6 +61,8 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
 
     private volatile boolean locked;
     protected volatile DBNDatabaseNode[] childNodes;
+    // Children which are not wrapped into nodes yet. Not null if children are paged.
+    private volatile DBNLazyChildren lazyChildren;
     private boolean filtered;
 
     protected DBNDatabaseNode(DBNNode parentNode) {
@@ -205,7 +209,7 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
         if (isDisposed()) {
             return false;
         }
-        DBNDatabaseNode[] children = getChildren(monitor);
+        DBNDatabaseNode[] children = getPagedChildren(monitor);
         if (!ArrayUtils.isEmpty(children)) {
             for (DBNDatabaseNode child : children) {
                 if (child.getMeta() == childType) {
@@ -216,8 +220,25 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
         return false;
     }
 
+    /**
+     * Returns all children. Pending children of a paged node are wrapped into nodes at this moment.
+     * Navigator tree uses {@link #getPagedChildren(DBRProgressMonitor)} instead.
+     */
     @Override
     public DBNDatabaseNode[] getChildren(@NotNull DBRProgressMonitor monitor) throws DBException {
+        DBNDatabaseNode[] children = getPagedChildren(monitor);
+        if (getMoreChildrenCount() > 0) {
+            loadMoreChildren(Integer.MAX_VALUE);
+            children = childNodes;
+        }
+        return children;
+    }
+
+    /**
+     * Returns children which are wrapped into nodes. If there are too many children then only the first window
+     * is returned, see {@link #isChildrenPaged()}.
+     */
+    public DBNDatabaseNode[] getPagedChildren(@NotNull DBRProgressMonitor monitor) throws DBException {
         boolean needsLoad;
         synchronized (this) {
             needsLoad = childNodes == null && hasChildren(false);
@@ -226,6 +247,7 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
             if (this.initializeNode(monitor, null)) {
                 final List<DBNDatabaseNode> tmpList = new ArrayList<>();
                 this.filtered = false;
+                this.lazyChildren = null;
                 loadChildren(monitor, getMeta(), null, tmpList, this, true);
                 if (!monitor.isCanceled()) {
                     synchronized (this) {
@@ -281,9 +303,109 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
         }
     }
 
+    /**
+     * Returns true if children of this node are too many and they are loaded in windows.
+     * Only part of children may be wrapped into navigator nodes then, see {@link #loadMoreChildren(int)}.
+     */
+    public boolean isChildrenPaged() {
+        return lazyChildren != null;
+    }
+
+    /**
+     * Number of child objects which are not wrapped into navigator nodes yet
+     */
+    public int getMoreChildrenCount() {
+        synchronized (this) {
+            return lazyChildren == null ? 0 : lazyChildren.getPendingCount();
+        }
+    }
+
+    /**
+     * Creates nodes for the next window of children (in name order).
+     * Child objects are already read at this moment, so this method doesn't access the database.
+     *
+     * @return new child nodes
+     */
+    @NotNull
+    public DBNDatabaseNode[] loadMoreChildren(int maxCount) {
+        DBXTreeItem meta;
+        List<DBSObject> window;
+        synchronized (this) {
+            if (lazyChildren == null || childNodes == null) {
+                return EMPTY_NODES;
+            }
+            meta = lazyChildren.getMeta();
+            window = lazyChildren.nextWindow(maxCount);
+        }
+        if (window.isEmpty()) {
+            return EMPTY_NODES;
+        }
+        DBNDatabaseNode[] newChildren = new DBNDatabaseNode[window.size()];
+        for (int i = 0; i < newChildren.length; i++) {
+            newChildren[i] = new DBNDatabaseItem(this, meta, window.get(i), false);
+        }
+        synchronized (this) {
+            childNodes = ArrayUtils.concatArrays(childNodes, newChildren);
+        }
+        getModel().fireNodeUpdate(this, this, DBNEvent.NodeChange.STRUCT_REFRESH);
+        return newChildren;
+    }
+
+    /**
+     * Creates node for the child object which wasn't loaded yet in paged children.
+     *
+     * @return new node or null if object is not a pending child of this node
+     */
+    @Nullable
+    DBNDatabaseNode loadChildItem(@NotNull DBSObject object) {
+        DBXTreeItem meta;
+        synchronized (this) {
+            if (lazyChildren == null || childNodes == null || !lazyChildren.take(object)) {
+                return null;
+            }
+            meta = lazyChildren.getMeta();
+        }
+        return addLoadedChildItem(meta, object);
+    }
+
+    /**
+     * Creates node for the child object with the specified name which wasn't loaded yet in paged children.
+     *
+     * @return new node or null if there is no pending child with this name
+     */
+    @Nullable
+    DBNDatabaseNode loadChildItem(@NotNull String name) {
+        DBXTreeItem meta;
+        DBSObject object;
+        synchronized (this) {
+            if (lazyChildren == null || childNodes == null) {
+                return null;
+            }
+            object = lazyChildren.take(name);
+            if (object == null) {
+                return null;
+            }
+            meta = lazyChildren.getMeta();
+        }
+        return addLoadedChildItem(meta, object);
+    }
+
+    private DBNDatabaseNode addLoadedChildItem(@NotNull DBXTreeItem meta, @NotNull DBSObject object) {
+        final DBNDatabaseItem newChild = new DBNDatabaseItem(this, meta, object, false);
+        synchronized (this) {
+            childNodes = ArrayUtils.add(DBNDatabaseNode.class, childNodes, newChild);
+        }
+        getModel().fireNodeEvent(new DBNEvent(this, DBNEvent.Action.ADD, DBNEvent.NodeChange.LOAD, newChild));
+        return newChild;
+    }
+
     void removeChildItem(DBSObject object) {
         DBNNode childNode = null;
         synchronized (this) {
+            if (lazyChildren != null) {
+                // Deleted object may be not materialized yet
+                lazyChildren.remove(object);
+            }
             if (!ArrayUtils.isEmpty(childNodes)) {
                 for (int i = 0; i < childNodes.length; i++) {
                     final DBNDatabaseNode child = childNodes[i];
@@ -408,6 +530,7 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
         synchronized (this) {
             childrenCopy = childNodes == null ? null : Arrays.copyOf(childNodes, childNodes.length);
             childNodes = null;
+            lazyChildren = null;
         }
         if (childrenCopy != null) {
             for (DBNNode child : childrenCopy) {
@@ -446,6 +569,8 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
             // disposed?
             return;
         }
+        // Children are paged only on initial load of a single items list
+        final boolean allowPaging = oldList == null && meta == getMeta() && childMetas.size() == 1;
         monitor.beginTask(ModelMessages.model_navigator_load_items_, childMetas.size());
         DBPDataSourceContainer container = getDataSourceContainer();
         DBNBrowseSettings navSettings = container.getNavigatorSettings();
@@ -472,7 +597,7 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
                 /*if (hideSchemas && isSchemaItem(item)) {
                     // Merge
                 } else */{
-                    boolean isLoaded = loadTreeItems(monitor, item, oldList, toList, source, showSystem, hideFolders, mergeEntities, reflect);
+                    boolean isLoaded = loadTreeItems(monitor, item, oldList, toList, source, showSystem, hideFolders, mergeEntities, allowPaging, reflect);
                     if (!isLoaded && item.isOptional() && item.getRecursiveLink() == null) {
                         // This may occur only if no child nodes was read
                         // Then we try to go on next DBX level
@@ -633,6 +758,7 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
      * @param toList previous child items
      * @param toList  list ot add new items   @return true on success
      * @param showSystem include system objects
+     * @param allowPaging wrap only the first window of items into nodes if there are too many of them
      * @param reflect @return true on success
      * @throws DBException on any DB error
      */
@@ -645,6 +771,7 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
         boolean showSystem,
         boolean hideFolders,
         boolean mergeEntities,
+        boolean allowPaging,
         boolean reflect)
         throws DBException {
         if (this.isDisposed())
@@ -694,37 +821,31 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
             // check it
             return false;
         }
+        if (allowPaging) {
+            int pageSize = DBWorkbench.getPlatform().getPreferenceStore().getInt(ModelPreferences.NAVIGATOR_CHILDREN_PAGE_SIZE);
+            if (pageSize > 0 && itemList.size() > pageSize) {
+                List<DBSObject> objects = new ArrayList<>(itemList.size());
+                for (Object childItem : itemList) {
+                    if (isVisibleChildItem(childItem, itemList.size(), showSystem, hideFolders, mergeEntities, filter)) {
+                        objects.add((DBSObject) childItem);
+                    }
+                }
+                if (objects.size() > pageSize) {
+                    DBNLazyChildren lazyList = new DBNLazyChildren(meta, objects);
+                    for (DBSObject object : lazyList.nextWindow(pageSize)) {
+                        toList.add(new DBNDatabaseItem(this, meta, object, false));
+                    }
+                    this.lazyChildren = lazyList;
+                    return true;
+                }
+            }
+        }
         List<DBNDatabaseNode> oldList = new LinkedList<>();
         if (oldListCmp != null) {
             Collections.addAll(oldList, oldListCmp);
         }
         for (Object childItem : itemList) {
-            if (childItem == null) {
-                continue;
-            }
-            if (!(childItem instanceof DBSObject)) {
-                log.warn("Bad item type: " + childItem.getClass().getName()); //$NON-NLS-1$
-                continue;
-            }
-            if (DBUtils.isHiddenObject(childItem)) {
-                // Skip hidden objects
-                continue;
-            }
-            if ((!showSystem && DBUtils.isSystemObject(childItem)) &&
-                !(itemList.size() == 1 && (childItem instanceof DBSSchema || childItem instanceof DBSCatalog))) { // Show system catalog/schema in case when only one object in the itemList
-                // Skip system objects
-                continue;
-            }
-            if (hideFolders && (childItem instanceof DBAObject || childItem instanceof DBPSystemInfoObject)) {
-                // Skip all DBA objects
-                continue;
-            }
-            if (mergeEntities && childItem instanceof DBSSchema) {
-                // Skip schemas in merge entities mode
-                continue;
-            }
-            if (filter != null && !filter.matches(((DBSObject) childItem).getName())) {
-                // Doesn't match filter
+            if (!isVisibleChildItem(childItem, itemList.size(), showSystem, hideFolders, mergeEntities, filter)) {
                 continue;
             }
             DBSObject object = (DBSObject) childItem;
@@ -782,6 +903,42 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
         return true;
     }
 
+    private static boolean isVisibleChildItem(
+        Object childItem,
+        int itemCount,
+        boolean showSystem,
+        boolean hideFolders,
+        boolean mergeEntities,
+        DBSObjectFilter filter
+    ) {
+        if (childItem == null) {
+            return false;
+        }
+        if (!(childItem instanceof DBSObject)) {
+            log.warn("Bad item type: " + childItem.getClass().getName()); //$NON-NLS-1$
+            return false;
+        }
+        if (DBUtils.isHiddenObject(childItem)) {
+            // Skip hidden objects
+            return false;
+        }
+        if ((!showSystem && DBUtils.isSystemObject(childItem)) &&
+            !(itemCount == 1 && (childItem instanceof DBSSchema || childItem instanceof DBSCatalog))) { // Show system catalog/schema in case when only one object in the itemList
+            // Skip system objects
+            return false;
+        }
+        if (hideFolders && (childItem instanceof DBAObject || childItem instanceof DBPSystemInfoObject)) {
+            // Skip all DBA objects
+            return false;
+        }
+        if (mergeEntities && childItem instanceof DBSSchema) {
+            // Skip schemas in merge entities mode
+            return false;
+        }
+        // Doesn't match filter
+        return filter == null || filter.matches(((DBSObject) childItem).getName());
+    }
+
     @Nullable
     @Override
     public DBCExecutionContext getExecutionContext() {
@@ -907,6 +1064,12 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBNLazyNode, DB
             }
             oldChildren = Arrays.copyOf(childNodes, childNodes.length);
         }
+        if (lazyChildren != null) {
+            // Matching of the old paged children with new objects is too expensive for huge lists, read them again
+            clearChildren(reflect);
+            getPagedChildren(monitor);
+            return;
+        }
         List<DBNDatabaseNode> newChildren = new ArrayList<>();
         this.filtered = false;
         loadChildren(monitor, getMeta(), oldChildren, newChildren, source, reflect);
@@ -0,0 +1,162 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.navigator;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.navigator.meta.DBXTreeItem;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+
+/**
+ * Children of a database node which are not wrapped into navigator nodes yet.
+ * <p>
+ * Objects are sorted by name and materialized in windows, so huge child lists (e.g. schemas with hundreds of
+ * thousands of tables) do not create a navigator node per object. Particular objects may be materialized
+ * out of order (e.g. when the node is requested by object), such objects are skipped by subsequent windows.
+ * Not thread safe, owner node synchronizes access.
+ */
+public class DBNLazyChildren {
+
+    private static final Comparator<DBSObject> NAME_COMPARATOR =
+        Comparator.comparing(DBNLazyChildren::getObjectName, String.CASE_INSENSITIVE_ORDER);
+
+    private final DBXTreeItem meta;
+    private final List<DBSObject> objects;
+    private final Set<DBSObject> materialized = Collections.newSetFromMap(new IdentityHashMap<>());
+    private int position;
+
+    public DBNLazyChildren(@NotNull DBXTreeItem meta, @NotNull List<DBSObject> objects) {
+        this.meta = meta;
+        this.objects = objects;
+        this.objects.sort(NAME_COMPARATOR);
+    }
+
+    @NotNull
+    public DBXTreeItem getMeta() {
+        return meta;
+    }
+
+    public int getPendingCount() {
+        return objects.size() - position - materialized.size();
+    }
+
+    /**
+     * Returns next window of objects in name order
+     */
+    @NotNull
+    public List<DBSObject> nextWindow(int maxCount) {
+        List<DBSObject> window = new ArrayList<>(Math.min(maxCount, getPendingCount()));
+        while (position < objects.size() && window.size() < maxCount) {
+            DBSObject object = objects.get(position++);
+            if (!materialized.remove(object)) {
+                window.add(object);
+            }
+        }
+        return window;
+    }
+
+    /**
+     * Marks pending object as materialized.
+     *
+     * @return false if object is not pending
+     */
+    public boolean take(@NotNull DBSObject object) {
+        String name = getObjectName(object);
+        for (int i = findFirst(name); i >= 0 && i < objects.size() && getObjectName(objects.get(i)).equalsIgnoreCase(name); i++) {
+            if (objects.get(i) == object) {
+                return materialized.add(object);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marks pending object with the specified name as materialized.
+     * Exact name match has priority over case-insensitive one.
+     *
+     * @return taken object or null if there is no pending object with this name
+     */
+    @Nullable
+    public DBSObject take(@NotNull String name) {
+        DBSObject candidate = null;
+        for (int i = findFirst(name); i >= 0 && i < objects.size() && getObjectName(objects.get(i)).equalsIgnoreCase(name); i++) {
+            DBSObject object = objects.get(i);
+            if (materialized.contains(object)) {
+                continue;
+            }
+            if (getObjectName(object).equals(name)) {
+                candidate = object;
+                break;
+            } else if (candidate == null) {
+                candidate = object;
+            }
+        }
+        if (candidate != null) {
+            materialized.add(candidate);
+        }
+        return candidate;
+    }
+
+    /**
+     * Forgets object which was deleted from the parent, so it won't appear in subsequent windows.
+     *
+     * @return false if object was already emitted by a window or was never a child
+     */
+    public boolean remove(@NotNull DBSObject object) {
+        String name = getObjectName(object);
+        for (int i = findFirst(name); i >= 0 && i < objects.size() && getObjectName(objects.get(i)).equalsIgnoreCase(name); i++) {
+            if (objects.get(i) == object) {
+                objects.remove(i);
+                materialized.remove(object);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the first pending position of the specified name.
+     * Several objects may have the same name (e.g. overloaded procedures).
+     */
+    private int findFirst(@NotNull String name) {
+        int low = position;
+        int high = objects.size() - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = String.CASE_INSENSITIVE_ORDER.compare(getObjectName(objects.get(mid)), name);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                if (cmp == 0) {
+                    found = mid;
+                }
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    @NotNull
+    private static String getObjectName(@NotNull DBSObject object) {
+        return CommonUtils.notEmpty(object.getName());
+    }
+
+}
@@ -355,7 +355,8 @@ public class DBNModel {
             currentLevel++;
             expectedNodePathName = nodePath.pathItems.get(currentLevel);
         }
-        DBNNode[] children = currentNode.getChildren(monitor);
+        DBNNode[] children = currentNode instanceof DBNDatabaseNode dbNode ?
+            dbNode.getPagedChildren(monitor) : currentNode.getChildren(monitor);
         if (children == null) {
             return null;
         }
@@ -368,6 +369,10 @@ public class DBNModel {
             }
         }
 
+        if (detectedNode == null && currentNode instanceof DBNDatabaseNode dbNode && dbNode.isChildrenPaged()) {
+            detectedNode = dbNode.loadChildItem(expectedNodePathName);
+        }
+
         if (detectedNode == null) {
             log.debug("Node '" + expectedNodePathName + "' not found in parent node '"
                 + currentNode.getNodeUri() + "'." + "\nAllowed children: " + Arrays.toString(children));
@@ -384,7 +389,7 @@ public class DBNModel {
 
     private boolean cacheNodeChildren(DBRProgressMonitor monitor, DBNDatabaseNode node, DBSObject objectToCache, boolean addFiltered) throws DBException
     {
-        DBNDatabaseNode[] children = node.getChildren(monitor);
+        DBNDatabaseNode[] children = node.getPagedChildren(monitor);
         boolean cached = false;
         if (!ArrayUtils.isEmpty(children)) {
             for (DBNDatabaseNode child : children) {
@@ -402,6 +407,10 @@ public class DBNModel {
                 }
             }
         }
+        if (!cached && node.isChildrenPaged() && node.loadChildItem(objectToCache) != null) {
+            // Object wasn't wrapped into a node yet
+            return true;
+        }
         if (!cached && addFiltered && node.isFiltered()) {
             // It seems this object was filtered out
             // As it was requested explicitly - let's add new node
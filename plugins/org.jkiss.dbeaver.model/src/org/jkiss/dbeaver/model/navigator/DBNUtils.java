@@ -88,8 +88,13 @@ public class DBNUtils {
         return null;
     }
 
+    /**
+     * Returns navigable children of the node. Navigator tree shows only the first window of huge child lists
+     * (see {@link DBNDatabaseNode#getPagedChildren(DBRProgressMonitor)}), other consumers get all children.
+     */
     public static DBNNode[] getNodeChildrenFiltered(DBRProgressMonitor monitor, DBNNode node, boolean forTree) throws DBException {
-        DBNNode[] children = node.getChildren(monitor);
+        DBNNode[] children = forTree && node instanceof DBNDatabaseNode dbNode ?
+            dbNode.getPagedChildren(monitor) : node.getChildren(monitor);
         if (children != null && children.length > 0) {
             children = filterNavigableChildren(children, forTree);
         }
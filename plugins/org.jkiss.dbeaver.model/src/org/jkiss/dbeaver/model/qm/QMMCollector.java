@@ -16,6 +16,7 @@
  */
 package org.jkiss.dbeaver.model.qm;
 
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.qm.meta.QMMConnectionInfo;
 
@@ -25,4 +26,10 @@ import org.jkiss.dbeaver.model.qm.meta.QMMConnectionInfo;
 public interface QMMCollector extends QMExecutionHandler {
 
     QMMConnectionInfo getConnectionInfo(DBCExecutionContext context);
+
+    /**
+     * Aggregated statistics of executed statements
+     */
+    @NotNull
+    QMStatementStatistics getStatementStatistics();
 }
@@ -0,0 +1,449 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementExecuteInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementInfo;
+import org.jkiss.dbeaver.model.sql.SQLQueryFingerprint;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Statement statistics.
+ * <p>
+ * Aggregates executions of statements by data source, execution purpose and {@link SQLQueryFingerprint query fingerprint}.
+ * Only the fingerprint hash and the truncated text of the first execution are kept, so the size of an entry doesn't depend
+ * on the query length.
+ * The table is split into lock stripes, so concurrent executions on different statements do not contend.
+ * Each stripe is bounded: when it is full the entry with the least total time is evicted.
+ * Execution time percentiles are estimated from a logarithmic histogram with 25% resolution.
+ */
+public class QMStatementStatistics {
+
+    public static final int DEFAULT_MAX_STATEMENTS = 1024;
+
+    private static final int STRIPE_COUNT = 16;
+    private static final int MAX_QUERY_TEXT_LENGTH = 4000;
+
+    // Histogram buckets: 4 sub-buckets per each power of two
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private static final String[] CSV_HEADER = {
+        "Data source", "Purpose", "Fingerprint", "Executions", "Errors",
+        "Total time", "Avg time", "Min time", "Max time", "P50 time", "P95 time", "P99 time",
+        "Fetch time", "Rows fetched", "Last execution", "Query"
+    };
+
+    private record Key(@NotNull String dataSourceId, @NotNull DBCExecutionPurpose purpose, @NotNull String fingerprint) {
+    }
+
+    public static class Statistics {
+        private final String dataSourceId;
+        private final DBCExecutionPurpose purpose;
+        private final String fingerprint;
+        private final String queryText;
+        private long executeCount;
+        private long errorCount;
+        private long totalExecuteTime;
+        private long minExecuteTime = Long.MAX_VALUE;
+        private long maxExecuteTime;
+        private long fetchCount;
+        private long totalFetchTime;
+        private long fetchedRows;
+        private long lastExecutionTime;
+        private final int[] histogram;
+
+        private Statistics(@NotNull Key key, @NotNull String queryText) {
+            this.dataSourceId = key.dataSourceId;
+            this.purpose = key.purpose;
+            this.fingerprint = key.fingerprint;
+            this.queryText = CommonUtils.truncateString(queryText, MAX_QUERY_TEXT_LENGTH);
+            this.histogram = new int[BUCKET_COUNT];
+        }
+
+        private Statistics(@NotNull Statistics source) {
+            this.dataSourceId = source.dataSourceId;
+            this.purpose = source.purpose;
+            this.fingerprint = source.fingerprint;
+            this.queryText = source.queryText;
+            this.executeCount = source.executeCount;
+            this.errorCount = source.errorCount;
+            this.totalExecuteTime = source.totalExecuteTime;
+            this.minExecuteTime = source.minExecuteTime;
+            this.maxExecuteTime = source.maxExecuteTime;
+            this.fetchCount = source.fetchCount;
+            this.totalFetchTime = source.totalFetchTime;
+            this.fetchedRows = source.fetchedRows;
+            this.lastExecutionTime = source.lastExecutionTime;
+            this.histogram = source.histogram.clone();
+        }
+
+        @NotNull
+        public String getDataSourceId() {
+            return dataSourceId;
+        }
+
+        @NotNull
+        public DBCExecutionPurpose getPurpose() {
+            return purpose;
+        }
+
+        @NotNull
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * Text of the first recorded execution
+         */
+        @NotNull
+        public String getQueryText() {
+            return queryText;
+        }
+
+        public long getExecuteCount() {
+            return executeCount;
+        }
+
+        public long getErrorCount() {
+            return errorCount;
+        }
+
+        public long getTotalExecuteTime() {
+            return totalExecuteTime;
+        }
+
+        public long getMinExecuteTime() {
+            return executeCount == 0 ? 0 : minExecuteTime;
+        }
+
+        public long getMaxExecuteTime() {
+            return maxExecuteTime;
+        }
+
+        public long getAvgExecuteTime() {
+            return executeCount == 0 ? 0 : totalExecuteTime / executeCount;
+        }
+
+        /**
+         * Estimated execution time percentile.
+         *
+         * @param percentile percentile in range 0..1
+         */
+        public long getExecuteTimePercentile(double percentile) {
+            if (executeCount == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile * executeCount));
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= rank) {
+                    return Math.max(minExecuteTime, Math.min(maxExecuteTime, getBucketUpperBound(i)));
+                }
+            }
+            return maxExecuteTime;
+        }
+
+        public long getFetchCount() {
+            return fetchCount;
+        }
+
+        public long getTotalFetchTime() {
+            return totalFetchTime;
+        }
+
+        public long getFetchedRows() {
+            return fetchedRows;
+        }
+
+        /**
+         * Execution plus fetch time
+         */
+        public long getTotalTime() {
+            return totalExecuteTime + totalFetchTime;
+        }
+
+        public long getLastExecutionTime() {
+            return lastExecutionTime;
+        }
+
+        @Override
+        public String toString() {
+            return fingerprint + " (" + executeCount + " executions, " + getTotalTime() + "ms)";
+        }
+    }
+
+    private static class Stripe {
+        private final Map<Key, Statistics> statements = new HashMap<>();
+    }
+
+    private final Stripe[] stripes;
+    private final int maxStatementsPerStripe;
+
+    public QMStatementStatistics() {
+        this(DEFAULT_MAX_STATEMENTS);
+    }
+
+    public QMStatementStatistics(int maxStatements) {
+        this.stripes = new Stripe[STRIPE_COUNT];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.maxStatementsPerStripe = Math.max(1, maxStatements / STRIPE_COUNT);
+    }
+
+    /**
+     * Records finished statement execution. Executions which are still in progress are ignored.
+     */
+    public void recordExecution(@NotNull QMMStatementExecuteInfo execution) {
+        if (!execution.isClosed() || CommonUtils.isEmpty(execution.getQueryString())) {
+            return;
+        }
+        QMMStatementInfo statement = execution.getStatement();
+        recordExecution(
+            new Key(statement.getConnection().getContainerId(), statement.getPurpose(), execution.getQueryFingerprint()),
+            execution.getQueryString(),
+            execution.getCloseTime() - execution.getOpenTime(),
+            execution.hasError(),
+            execution.getCloseTime());
+    }
+
+    /**
+     * Records finished result set fetch of the statement execution
+     */
+    public void recordFetch(@NotNull QMMStatementExecuteInfo execution) {
+        if (execution.isFetching() || execution.getFetchEndTime() <= 0 || CommonUtils.isEmpty(execution.getQueryString())) {
+            return;
+        }
+        QMMStatementInfo statement = execution.getStatement();
+        recordFetch(
+            new Key(statement.getConnection().getContainerId(), statement.getPurpose(), execution.getQueryFingerprint()),
+            execution.getQueryString(),
+            execution.getFetchEndTime() - execution.getFetchBeginTime(),
+            execution.getFetchRowCount());
+    }
+
+    public void recordExecution(
+        @NotNull String dataSourceId,
+        @NotNull DBCExecutionPurpose purpose,
+        @NotNull String query,
+        long executeTime,
+        boolean error,
+        long timestamp
+    ) {
+        recordExecution(new Key(dataSourceId, purpose, SQLQueryFingerprint.fingerprint(query)), query, executeTime, error, timestamp);
+    }
+
+    public void recordFetch(
+        @NotNull String dataSourceId,
+        @NotNull DBCExecutionPurpose purpose,
+        @NotNull String query,
+        long fetchTime,
+        long rowCount
+    ) {
+        recordFetch(new Key(dataSourceId, purpose, SQLQueryFingerprint.fingerprint(query)), query, fetchTime, rowCount);
+    }
+
+    private void recordExecution(@NotNull Key key, @NotNull String query, long executeTime, boolean error, long timestamp) {
+        long time = Math.max(0, executeTime);
+        Stripe stripe = getStripe(key);
+        synchronized (stripe) {
+            Statistics stat = getOrCreate(stripe, key, query);
+            stat.executeCount++;
+            if (error) {
+                stat.errorCount++;
+            }
+            stat.totalExecuteTime += time;
+            stat.minExecuteTime = Math.min(stat.minExecuteTime, time);
+            stat.maxExecuteTime = Math.max(stat.maxExecuteTime, time);
+            stat.histogram[getBucket(time)]++;
+            stat.lastExecutionTime = Math.max(stat.lastExecutionTime, timestamp);
+        }
+    }
+
+    private void recordFetch(@NotNull Key key, @NotNull String query, long fetchTime, long rowCount) {
+        Stripe stripe = getStripe(key);
+        synchronized (stripe) {
+            Statistics stat = getOrCreate(stripe, key, query);
+            stat.fetchCount++;
+            stat.totalFetchTime += Math.max(0, fetchTime);
+            stat.fetchedRows += Math.max(0, rowCount);
+        }
+    }
+
+    /**
+     * Returns copies of statements statistics ordered by total time, most expensive first.
+     *
+     * @param dataSourceId data source filter, all data sources if null
+     * @param maxResults   maximum number of results, all statements if not positive
+     */
+    @NotNull
+    public List<Statistics> getTopStatements(@Nullable String dataSourceId, int maxResults) {
+        List<Statistics> result = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (Statistics stat : stripe.statements.values()) {
+                    if (dataSourceId == null || dataSourceId.equals(stat.dataSourceId)) {
+                        result.add(new Statistics(stat));
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparingLong(Statistics::getTotalTime).reversed()
+            .thenComparing(Comparator.comparingLong(Statistics::getExecuteCount).reversed()));
+        if (maxResults > 0 && result.size() > maxResults) {
+            return new ArrayList<>(result.subList(0, maxResults));
+        }
+        return result;
+    }
+
+    public int getStatementCount() {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                count += stripe.statements.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes statistics of the specified data source, or all statistics if data source is null
+     */
+    public void clear(@Nullable String dataSourceId) {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                if (dataSourceId == null) {
+                    stripe.statements.clear();
+                } else {
+                    stripe.statements.keySet().removeIf(key -> key.dataSourceId.equals(dataSourceId));
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes statistics in CSV format. Times are in milliseconds.
+     */
+    public static void exportCSV(@NotNull Writer out, @NotNull List<Statistics> statements) throws IOException {
+        writeCSVLine(out, CSV_HEADER);
+        for (Statistics stat : statements) {
+            writeCSVLine(out, new String[] {
+                stat.getDataSourceId(),
+                stat.getPurpose().getTitle(),
+                stat.getFingerprint(),
+                String.valueOf(stat.getExecuteCount()),
+                String.valueOf(stat.getErrorCount()),
+                String.valueOf(stat.getTotalExecuteTime()),
+                String.valueOf(stat.getAvgExecuteTime()),
+                String.valueOf(stat.getMinExecuteTime()),
+                String.valueOf(stat.getMaxExecuteTime()),
+                String.valueOf(stat.getExecuteTimePercentile(0.5)),
+                String.valueOf(stat.getExecuteTimePercentile(0.95)),
+                String.valueOf(stat.getExecuteTimePercentile(0.99)),
+                String.valueOf(stat.getTotalFetchTime()),
+                String.valueOf(stat.getFetchedRows()),
+                String.valueOf(stat.getLastExecutionTime()),
+                stat.getQueryText()
+            });
+        }
+        out.flush();
+    }
+
+    @NotNull
+    private Stripe getStripe(@NotNull Key key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1)];
+    }
+
+    @NotNull
+    private Statistics getOrCreate(@NotNull Stripe stripe, @NotNull Key key, @NotNull String query) {
+        Statistics stat = stripe.statements.get(key);
+        if (stat == null) {
+            if (stripe.statements.size() >= maxStatementsPerStripe) {
+                evictCheapest(stripe);
+            }
+            stat = new Statistics(key, query);
+            stripe.statements.put(key, stat);
+        }
+        return stat;
+    }
+
+    private static void evictCheapest(@NotNull Stripe stripe) {
+        Key cheapest = null;
+        long cheapestTime = Long.MAX_VALUE;
+        for (Map.Entry<Key, Statistics> entry : stripe.statements.entrySet()) {
+            long time = entry.getValue().getTotalTime();
+            if (time < cheapestTime) {
+                cheapest = entry.getKey();
+                cheapestTime = time;
+            }
+        }
+        if (cheapest != null) {
+            stripe.statements.remove(cheapest);
+        }
+    }
+
+    static int getBucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    static long getBucketUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private static void writeCSVLine(@NotNull Writer out, @NotNull String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            String value = values[i];
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(value.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(value);
+            }
+        }
+        out.write('\n');
+    }
+
+}
@@ -88,6 +88,15 @@ public class QMUtils {
         return application.getQueryManager().getEventBrowser(currentSessionOnly);
     }
 
+    @Nullable
+    public static QMStatementStatistics getStatementStatistics() {
+        if (application == null) {
+            return null;
+        }
+        QMMCollector metaCollector = application.getQueryManager().getMetaCollector();
+        return metaCollector == null ? null : metaCollector.getStatementStatistics();
+    }
+
     public static boolean isTransactionActive(DBCExecutionContext executionContext) {
         return isTransactionActive(executionContext, true);
     }
@@ -20,6 +20,7 @@ package org.jkiss.dbeaver.model.qm.meta;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLQueryFingerprint;
 
 import java.sql.SQLException;
 
@@ -48,6 +49,7 @@ public class QMMStatementExecuteInfo extends QMMObject {
     private final String catalog;
 
     private transient QMMStatementExecuteInfo previous;
+    private transient String queryFingerprint;
 
     QMMStatementExecuteInfo(
         QMMStatementInfo statement,
@@ -145,6 +147,17 @@ public class QMMStatementExecuteInfo extends QMMObject {
         return queryString;
     }
 
+    /**
+     * Query {@link SQLQueryFingerprint fingerprint}, evaluated once on first access
+     */
+    @Nullable
+    public String getQueryFingerprint() {
+        if (queryFingerprint == null && queryString != null) {
+            queryFingerprint = SQLQueryFingerprint.fingerprint(queryString);
+        }
+        return queryFingerprint;
+    }
+
     public long getFetchRowCount() {
         return fetchRowCount;
     }
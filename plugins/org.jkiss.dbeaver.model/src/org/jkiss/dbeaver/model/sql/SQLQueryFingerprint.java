@@ -0,0 +1,193 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql;
+
+import org.jkiss.code.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Query fingerprint.
+ * <p>
+ * Queries which differ only in literal values, parameters, comments, whitespace or keyword case
+ * have the same normalized text and fingerprint. Lists of literals (e.g. {@code IN (1, 2, 3)}) are collapsed into a single value.
+ * Normalization is lexical and does not depend on the SQL dialect.
+ */
+public final class SQLQueryFingerprint {
+
+    private static final String VALUE = "?";
+
+    private SQLQueryFingerprint() {
+    }
+
+    /**
+     * Returns query text normalized for grouping
+     */
+    @NotNull
+    public static String normalize(@NotNull String query) {
+        List<String> tokens = tokenize(query);
+        StringBuilder result = new StringBuilder(query.length());
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (token.equals("(") && isValueList(tokens, i)) {
+                // Collapse list of values
+                result.append(result.isEmpty() ? "" : " ").append("( ? )");
+                while (!tokens.get(i).equals(")")) {
+                    i++;
+                }
+                continue;
+            }
+            if (!result.isEmpty()) {
+                result.append(' ');
+            }
+            result.append(token);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns hex hash of normalized query text
+     */
+    @NotNull
+    public static String fingerprint(@NotNull String query) {
+        return hash(normalize(query));
+    }
+
+    /**
+     * Returns hex hash of query text which was already {@link #normalize(String) normalized}
+     */
+    @NotNull
+    public static String hash(@NotNull String normalizedQuery) {
+        // FNV-1a
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalizedQuery.length(); i++) {
+            hash ^= normalizedQuery.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        String hex = Long.toHexString(hash);
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+
+    private static boolean isValueList(@NotNull List<String> tokens, int start) {
+        boolean hasValue = false;
+        for (int i = start + 1; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (token.equals(")")) {
+                return hasValue;
+            }
+            boolean expectValue = (i - start) % 2 == 1;
+            if (expectValue ? !token.equals(VALUE) : !token.equals(",")) {
+                return false;
+            }
+            hasValue = true;
+        }
+        return false;
+    }
+
+    @NotNull
+    private static List<String> tokenize(@NotNull String query) {
+        List<String> tokens = new ArrayList<>();
+        int length = query.length();
+        int pos = 0;
+        while (pos < length) {
+            char c = query.charAt(pos);
+            if (Character.isWhitespace(c)) {
+                pos++;
+            } else if (c == '-' && pos + 1 < length && query.charAt(pos + 1) == '-') {
+                // Line comment
+                while (pos < length && query.charAt(pos) != '\n') {
+                    pos++;
+                }
+            } else if (c == '/' && pos + 1 < length && query.charAt(pos + 1) == '*') {
+                // Block comment
+                int end = query.indexOf("*/", pos + 2);
+                pos = end < 0 ? length : end + 2;
+            } else if (c == '\'') {
+                // String literal
+                pos++;
+                while (pos < length) {
+                    if (query.charAt(pos) == '\'') {
+                        if (pos + 1 < length && query.charAt(pos + 1) == '\'') {
+                            pos += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    pos++;
+                }
+                pos++;
+                tokens.add(VALUE);
+            } else if (c == '"' || c == '`' || c == '[') {
+                // Quoted identifier, keep as is
+                char quote = c == '[' ? ']' : c;
+                int end = query.indexOf(quote, pos + 1);
+                end = end < 0 ? length : end + 1;
+                tokens.add(query.substring(pos, end));
+                pos = end;
+            } else if (Character.isDigit(c) || (c == '.' && pos + 1 < length && Character.isDigit(query.charAt(pos + 1)))) {
+                // Number literal
+                pos++;
+                while (pos < length) {
+                    char nc = query.charAt(pos);
+                    if (Character.isLetterOrDigit(nc) || nc == '.') {
+                        pos++;
+                    } else if ((nc == '+' || nc == '-') && (query.charAt(pos - 1) == 'e' || query.charAt(pos - 1) == 'E')) {
+                        pos++;
+                    } else {
+                        break;
+                    }
+                }
+                tokens.add(VALUE);
+            } else if (Character.isLetter(c) || c == '_' || c == '@' || c == '#') {
+                int start = pos;
+                while (pos < length && isIdentifierPart(query.charAt(pos))) {
+                    pos++;
+                }
+                tokens.add(query.substring(start, pos).toUpperCase(Locale.ENGLISH));
+            } else if (c == '?') {
+                pos++;
+                tokens.add(VALUE);
+            } else if (c == ':' && pos + 1 < length && query.charAt(pos + 1) == ':') {
+                // Type cast
+                tokens.add("::");
+                pos += 2;
+            } else if ((c == ':' || c == '$') && pos + 1 < length && isIdentifierPart(query.charAt(pos + 1))) {
+                // Named or numbered parameter
+                pos++;
+                while (pos < length && isIdentifierPart(query.charAt(pos))) {
+                    pos++;
+                }
+                tokens.add(VALUE);
+            } else {
+                tokens.add(String.valueOf(c));
+                pos++;
+            }
+        }
+        // Trailing delimiters do not change the query
+        while (!tokens.isEmpty() && tokens.get(tokens.size() - 1).equals(";")) {
+            tokens.remove(tokens.size() - 1);
+        }
+        return tokens;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '@' || c == '#';
+    }
+
+}
@@ -36,8 +36,9 @@ public class DBSObjectFilter {
     private List<String> exclude;
     private boolean caseSensitive;
 
-    private transient List<Object> includePatterns = null;
-    private transient List<Object> excludePatterns = null;
+    // Compiled patterns are immutable and may be replaced concurrently
+    private transient volatile List<Object> includePatterns = null;
+    private transient volatile List<Object> excludePatterns = null;
 
     public DBSObjectFilter() {
     }
@@ -75,7 +76,11 @@ public class DBSObjectFilter {
     }
 
     public void setCaseSensitive(boolean caseSensitive) {
-        this.caseSensitive = caseSensitive;
+        if (this.caseSensitive != caseSensitive) {
+            this.caseSensitive = caseSensitive;
+            this.includePatterns = null;
+            this.excludePatterns = null;
+        }
     }
 
     public String getDescription() {
@@ -145,14 +150,11 @@ public class DBSObjectFilter {
         return !CommonUtils.isEmpty(include) ? include.get(0) : null;
     }
 
-    public synchronized boolean matches(String name) {
+    public boolean matches(String name) {
+        List<Object> includePatterns = this.includePatterns;
         if (includePatterns == null && !CommonUtils.isEmpty(include)) {
-            includePatterns = new ArrayList<>(include.size());
-            for (String inc : include) {
-                if (!inc.isEmpty()) {
-                    includePatterns.add(makePattern(inc, isCaseSensitive()));
-                }
-            }
+            includePatterns = makePatterns(include, isCaseSensitive());
+            this.includePatterns = includePatterns;
         }
         if (includePatterns != null) {
             // Match includes (at least one should match)
@@ -168,13 +170,10 @@ public class DBSObjectFilter {
             }
         }
 
+        List<Object> excludePatterns = this.excludePatterns;
         if (excludePatterns == null && !CommonUtils.isEmpty(exclude)) {
-            excludePatterns = new ArrayList<>(exclude.size());
-            for (String exc : exclude) {
-                if (!exc.isEmpty()) {
-                    excludePatterns.add(makePattern(exc, isCaseSensitive()));
-                }
-            }
+            excludePatterns = makePatterns(exclude, isCaseSensitive());
+            this.excludePatterns = excludePatterns;
         }
         if (excludePatterns != null) {
             // Match excludes
@@ -188,6 +187,17 @@ public class DBSObjectFilter {
         return true;
     }
 
+    @NotNull
+    private static List<Object> makePatterns(@NotNull List<String> masks, boolean caseSensitive) {
+        List<Object> patterns = new ArrayList<>(masks.size());
+        for (String mask : masks) {
+            if (!mask.isEmpty()) {
+                patterns.add(makePattern(mask, caseSensitive));
+            }
+        }
+        return List.copyOf(patterns);
+    }
+
     private static boolean matchesPattern(Object pattern, String name) {
         if (pattern instanceof Pattern) {
             return ((Pattern) pattern).matcher(name).matches();
@@ -26,6 +26,8 @@ import org.jkiss.dbeaver.model.app.DBPProject;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.Map;
 
@@ -64,6 +66,25 @@ public interface DBTTask extends DBPNamedObject, DBPObjectWithDescription {
     @NotNull
     DBTTaskRun[] getAllRuns();
 
+    /**
+     * Finds task runs by start time and result. Latest runs go first.
+     *
+     * @param fromTime   minimal start time (inclusive) or null
+     * @param toTime     maximal start time (exclusive) or null
+     * @param success    run result or null for any run
+     * @param maxResults maximum number of returned runs or 0 for no limit
+     */
+    @NotNull
+    default DBTTaskRun[] findRuns(@Nullable Date fromTime, @Nullable Date toTime, @Nullable Boolean success, int maxResults) {
+        return Arrays.stream(getAllRuns())
+            .filter(run -> fromTime == null || !run.getStartTime().before(fromTime))
+            .filter(run -> toTime == null || run.getStartTime().before(toTime))
+            .filter(run -> success == null || run.isRunSuccess() == success)
+            .sorted(Comparator.comparing(DBTTaskRun::getStartTime).reversed())
+            .limit(maxResults > 0 ? maxResults : Long.MAX_VALUE)
+            .toArray(DBTTaskRun[]::new);
+    }
+
     @Nullable
     Path getRunLog(@NotNull DBTTaskRun run);
 
@@ -0,0 +1,49 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.virtual;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+/**
+ * Expression compiled by {@link DBVExpressionCompiler}.
+ * Variables are bound to row values at compile time, so evaluation doesn't look up attributes by name.
+ */
+@FunctionalInterface
+public interface DBVCompiledExpression {
+
+    /**
+     * Evaluates expression for the row.
+     *
+     * @throws FallbackException if row values have types for which compiled result may differ from JEXL.
+     * Caller must evaluate this row with JEXL.
+     */
+    @Nullable
+    Object evaluate(@NotNull Object[] row);
+
+    /**
+     * Signals that expression must be evaluated with JEXL. Thrown often, so it has no stack trace.
+     */
+    final class FallbackException extends RuntimeException {
+        static final FallbackException INSTANCE = new FallbackException();
+
+        private FallbackException() {
+            super(null, null, false, false);
+        }
+    }
+
+}
@@ -20,6 +20,7 @@ import org.apache.commons.jexl3.JexlExpression;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.*;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.DBDAttributeTransformerDescriptor;
 import org.jkiss.dbeaver.model.data.json.JSONUtils;
 import org.jkiss.dbeaver.model.meta.Property;
@@ -53,6 +54,11 @@ public class DBVEntityAttribute implements DBSEntityAttribute, DBPNamedObject2,
     private DBVTransformSettings transformSettings;
     private Map<String, Object> properties;
     private JexlExpression parsedExpression;
+    private volatile CompiledExpression compiledExpression;
+
+    // Expression compiled for specific attributes set
+    private record CompiledExpression(@NotNull DBDAttributeBinding[] attributes, @Nullable DBVCompiledExpression expression) {
+    }
 
     public DBVEntityAttribute(DBVEntity entity, DBVEntityAttribute parent, String name) {
         this.entity = entity;
@@ -276,6 +282,7 @@ public class DBVEntityAttribute implements DBSEntityAttribute, DBPNamedObject2,
     public void setExpression(String expression) {
         this.expression = expression;
         this.parsedExpression = null;
+        this.compiledExpression = null;
     }
 
     public List<DBVEntityAttribute> getChildren() {
@@ -345,6 +352,25 @@ public class DBVEntityAttribute implements DBSEntityAttribute, DBPNamedObject2,
         return parsedExpression;
     }
 
+    /**
+     * Returns expression compiled for the specified attributes.
+     * Result is cached until a different attributes array is passed.
+     *
+     * @return compiled expression or null if expression is empty or can be evaluated only with JEXL
+     */
+    @Nullable
+    public DBVCompiledExpression getCompiledExpression(@NotNull DBDAttributeBinding[] allAttributes) {
+        CompiledExpression compiled = this.compiledExpression;
+        if (compiled == null || compiled.attributes != allAttributes) {
+            String expr = this.expression;
+            compiled = new CompiledExpression(
+                allAttributes,
+                CommonUtils.isEmpty(expr) ? null : DBVUtils.compileDataExpression(expr, allAttributes, true, name));
+            this.compiledExpression = compiled;
+        }
+        return compiled.expression;
+    }
+
     @Override
     public String toString() {
         return name;
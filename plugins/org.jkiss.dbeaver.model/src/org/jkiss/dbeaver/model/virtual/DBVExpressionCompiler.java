@@ -0,0 +1,664 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.virtual;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compiles simple JEXL expressions into a tree of lambdas.
+ * <p>
+ * Supported syntax is a subset of JEXL: numeric, string, boolean and null literals, variables,
+ * arithmetic, comparison and logical operators (including word forms like {@code and}, {@code eq}, {@code mod})
+ * and ternary operator. Variables are resolved once at compile time. Constant sub-expressions are folded.
+ * Integral (int, long, short and byte), float and double operands are handled by separate arithmetic paths.
+ * <p>
+ * Expressions with other syntax (function calls, namespaces, properties, etc) are not compiled,
+ * callers should evaluate them with JEXL.
+ * Compiled expression produces the same result as JEXL or throws {@link DBVCompiledExpression.FallbackException}
+ * for operand values it doesn't handle (nulls in arithmetic, decimals, mixed strings and numbers, etc).
+ */
+public class DBVExpressionCompiler {
+
+    public interface VariableResolver {
+        /**
+         * Returns accessor of variable value or null if variable is unknown
+         */
+        @Nullable
+        Function<Object[], Object> resolveVariable(@NotNull String name);
+    }
+
+    private static final Object NOT_CONSTANT = new Object();
+
+    private final VariableResolver resolver;
+    private final List<String> tokens;
+    private int pos;
+
+    private DBVExpressionCompiler(@NotNull VariableResolver resolver, @NotNull List<String> tokens) {
+        this.resolver = resolver;
+        this.tokens = tokens;
+    }
+
+    /**
+     * Compiles expression.
+     *
+     * @return compiled expression or null if expression uses unsupported syntax or unknown variables
+     */
+    @Nullable
+    public static DBVCompiledExpression compile(@NotNull String expression, @NotNull VariableResolver resolver) {
+        List<String> tokens = tokenize(expression);
+        if (tokens == null || tokens.isEmpty()) {
+            return null;
+        }
+        DBVExpressionCompiler compiler = new DBVExpressionCompiler(resolver, tokens);
+        try {
+            Node node = compiler.parseTernary();
+            if (compiler.pos != tokens.size()) {
+                return null;
+            }
+            return node.expression;
+        } catch (UnsupportedSyntaxException | DBVCompiledExpression.FallbackException e) {
+            // Constant parts which need JEXL coercions make the whole expression JEXL-only
+            return null;
+        }
+    }
+
+    /**
+     * Returns expression which is evaluated by JEXL for all rows if it couldn't evaluate the first row.
+     * Values of the same attributes usually have the same types (decimals, dates, etc.), so further attempts
+     * to evaluate compiled expression would fail too.
+     */
+    @NotNull
+    public static DBVCompiledExpression disableOnFirstRowFallback(@NotNull DBVCompiledExpression expression) {
+        return new FirstRowFallback(expression);
+    }
+
+    private static class FirstRowFallback implements DBVCompiledExpression {
+        private final DBVCompiledExpression expression;
+        // Null until the first row is evaluated
+        private volatile Boolean compiled;
+
+        FirstRowFallback(@NotNull DBVCompiledExpression expression) {
+            this.expression = expression;
+        }
+
+        @Nullable
+        @Override
+        public Object evaluate(@NotNull Object[] row) {
+            Boolean compiled = this.compiled;
+            if (compiled == Boolean.FALSE) {
+                throw FallbackException.INSTANCE;
+            }
+            if (compiled != null) {
+                return expression.evaluate(row);
+            }
+            try {
+                Object result = expression.evaluate(row);
+                this.compiled = Boolean.TRUE;
+                return result;
+            } catch (FallbackException e) {
+                this.compiled = Boolean.FALSE;
+                throw e;
+            }
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // Parser
+
+    // Compiled sub-expression. Constant value is kept for folding.
+    private record Node(@NotNull DBVCompiledExpression expression, @Nullable Object constant) {
+        boolean isConstant() {
+            return constant != NOT_CONSTANT;
+        }
+
+        static Node constant(@Nullable Object value) {
+            return new Node(row -> value, value);
+        }
+
+        static Node dynamic(@NotNull DBVCompiledExpression expression) {
+            return new Node(expression, NOT_CONSTANT);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BinaryOperation {
+        Object apply(Object left, Object right);
+    }
+
+    private Node parseTernary() {
+        Node condition = parseOr();
+        if (!accept("?")) {
+            return condition;
+        }
+        Node ifTrue = parseTernary();
+        expect(":");
+        Node ifFalse = parseTernary();
+        if (condition.isConstant()) {
+            return toBoolean(condition.constant) ? ifTrue : ifFalse;
+        }
+        DBVCompiledExpression c = condition.expression, t = ifTrue.expression, f = ifFalse.expression;
+        return Node.dynamic(row -> toBoolean(c.evaluate(row)) ? t.evaluate(row) : f.evaluate(row));
+    }
+
+    private Node parseOr() {
+        Node left = parseAnd();
+        while (accept("||") || accept("or")) {
+            Node right = parseAnd();
+            DBVCompiledExpression l = left.expression, r = right.expression;
+            left = fold(Node.dynamic(row -> toBoolean(l.evaluate(row)) || toBoolean(r.evaluate(row))), left, right);
+        }
+        return left;
+    }
+
+    private Node parseAnd() {
+        Node left = parseEquality();
+        while (accept("&&") || accept("and")) {
+            Node right = parseEquality();
+            DBVCompiledExpression l = left.expression, r = right.expression;
+            left = fold(Node.dynamic(row -> toBoolean(l.evaluate(row)) && toBoolean(r.evaluate(row))), left, right);
+        }
+        return left;
+    }
+
+    private Node parseEquality() {
+        Node left = parseRelational();
+        for (;;) {
+            if (accept("==") || accept("eq")) {
+                left = binary(left, parseRelational(), (l, r) -> isEqual(l, r));
+            } else if (accept("!=") || accept("ne")) {
+                left = binary(left, parseRelational(), (l, r) -> !isEqual(l, r));
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node parseRelational() {
+        Node left = parseAdditive();
+        for (;;) {
+            if (accept("<") || accept("lt")) {
+                left = binary(left, parseAdditive(), (l, r) -> compare(l, r) < 0);
+            } else if (accept("<=") || accept("le")) {
+                left = binary(left, parseAdditive(), (l, r) -> compare(l, r) <= 0);
+            } else if (accept(">") || accept("gt")) {
+                left = binary(left, parseAdditive(), (l, r) -> compare(l, r) > 0);
+            } else if (accept(">=") || accept("ge")) {
+                left = binary(left, parseAdditive(), (l, r) -> compare(l, r) >= 0);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node parseAdditive() {
+        Node left = parseMultiplicative();
+        for (;;) {
+            if (accept("+")) {
+                left = binary(left, parseMultiplicative(), DBVExpressionCompiler::add);
+            } else if (accept("-")) {
+                left = binary(left, parseMultiplicative(), DBVExpressionCompiler::subtract);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node parseMultiplicative() {
+        Node left = parseUnary();
+        for (;;) {
+            if (accept("*")) {
+                left = binary(left, parseUnary(), DBVExpressionCompiler::multiply);
+            } else if (accept("/") || accept("div")) {
+                left = binary(left, parseUnary(), DBVExpressionCompiler::divide);
+            } else if (accept("%") || accept("mod")) {
+                left = binary(left, parseUnary(), DBVExpressionCompiler::modulo);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node parseUnary() {
+        if (accept("-")) {
+            Node operand = parseUnary();
+            DBVCompiledExpression o = operand.expression;
+            return fold(Node.dynamic(row -> negate(o.evaluate(row))), operand);
+        }
+        if (accept("!") || accept("not")) {
+            Node operand = parseUnary();
+            DBVCompiledExpression o = operand.expression;
+            return fold(Node.dynamic(row -> !toBoolean(o.evaluate(row))), operand);
+        }
+        return parsePrimary();
+    }
+
+    private Node parsePrimary() {
+        String token = next();
+        if (token.equals("(")) {
+            Node node = parseTernary();
+            expect(")");
+            return node;
+        }
+        char first = token.charAt(0);
+        if (first == '\'' || first == '"') {
+            return Node.constant(token.substring(1));
+        }
+        if (Character.isDigit(first) || first == '.') {
+            return Node.constant(parseNumber(token));
+        }
+        if (!Character.isJavaIdentifierStart(first)) {
+            throw new UnsupportedSyntaxException();
+        }
+        switch (token) {
+            case "true":
+                return Node.constant(Boolean.TRUE);
+            case "false":
+                return Node.constant(Boolean.FALSE);
+            case "null":
+                return Node.constant(null);
+            default:
+                break;
+        }
+        if (isKeyword(token) || peekIs("(") || peekIs(":") && !isTernaryBranch() || peekIs(".") || peekIs("[")) {
+            // Function, namespace, method or property access
+            throw new UnsupportedSyntaxException();
+        }
+        Function<Object[], Object> accessor = resolver.resolveVariable(token);
+        if (accessor == null) {
+            throw new UnsupportedSyntaxException();
+        }
+        return Node.dynamic(accessor::apply);
+    }
+
+    private boolean isTernaryBranch() {
+        // Colon after identifier is a namespace separator unless we are inside of ternary operator
+        int depth = 0;
+        for (int i = pos - 1; i >= 0; i--) {
+            String token = tokens.get(i);
+            if (token.equals(":")) {
+                depth++;
+            } else if (token.equals("?")) {
+                if (depth == 0) {
+                    return true;
+                }
+                depth--;
+            }
+        }
+        return false;
+    }
+
+    private Node binary(@NotNull Node left, @NotNull Node right, @NotNull BinaryOperation operation) {
+        DBVCompiledExpression l = left.expression, r = right.expression;
+        if (right.isConstant()) {
+            Object rightValue = right.constant;
+            return fold(Node.dynamic(row -> operation.apply(l.evaluate(row), rightValue)), left, right);
+        }
+        return fold(Node.dynamic(row -> operation.apply(l.evaluate(row), r.evaluate(row))), left, right);
+    }
+
+    private static Node fold(@NotNull Node node, @NotNull Node... operands) {
+        for (Node operand : operands) {
+            if (!operand.isConstant()) {
+                return node;
+            }
+        }
+        try {
+            return Node.constant(node.expression.evaluate(new Object[0]));
+        } catch (DBVCompiledExpression.FallbackException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // Report error at evaluation time
+            return node;
+        }
+    }
+
+    private boolean accept(@NotNull String token) {
+        if (pos < tokens.size() && tokens.get(pos).equals(token) && !isQuoted(pos)) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(@NotNull String token) {
+        if (!accept(token)) {
+            throw new UnsupportedSyntaxException();
+        }
+    }
+
+    private boolean peekIs(@NotNull String token) {
+        return pos < tokens.size() && tokens.get(pos).equals(token);
+    }
+
+    @NotNull
+    private String next() {
+        if (pos >= tokens.size()) {
+            throw new UnsupportedSyntaxException();
+        }
+        return tokens.get(pos++);
+    }
+
+    private boolean isQuoted(int index) {
+        char first = tokens.get(index).charAt(0);
+        return first == '\'' || first == '"';
+    }
+
+    private static boolean isKeyword(@NotNull String token) {
+        return switch (token) {
+            case "or", "and", "not", "eq", "ne", "lt", "le", "gt", "ge", "div", "mod",
+                "empty", "size", "new", "var", "function", "return", "if", "else", "for", "while" -> true;
+            default -> false;
+        };
+    }
+
+    @NotNull
+    private static Object parseNumber(@NotNull String token) {
+        try {
+            if (token.indexOf('e') >= 0 || token.indexOf('E') >= 0) {
+                throw new UnsupportedSyntaxException();
+            }
+            if (token.indexOf('.') >= 0) {
+                return Double.valueOf(token);
+            }
+            if (token.length() > 1 && token.charAt(0) == '0') {
+                // Octal literal in JEXL
+                throw new UnsupportedSyntaxException();
+            }
+            long value = Long.parseLong(token);
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            // Big integers and malformed numbers
+            throw new UnsupportedSyntaxException();
+        }
+    }
+
+    /**
+     * Splits expression into tokens. String literals are returned with leading quote and without escapes.
+     * Returns null if expression contains characters which are not supported.
+     */
+    @Nullable
+    static List<String> tokenize(@NotNull String text) {
+        List<String> tokens = new ArrayList<>();
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'' || c == '"') {
+                StringBuilder value = new StringBuilder().append(c);
+                i++;
+                boolean closed = false;
+                while (i < length) {
+                    char sc = text.charAt(i++);
+                    if (sc == '\\' && i < length) {
+                        char escaped = text.charAt(i++);
+                        if (escaped != '\\' && escaped != c) {
+                            // JEXL keeps backslash for other escapes or decodes unicode
+                            return null;
+                        }
+                        value.append(escaped);
+                    } else if (sc == c) {
+                        closed = true;
+                        break;
+                    } else {
+                        value.append(sc);
+                    }
+                }
+                if (!closed) {
+                    return null;
+                }
+                tokens.add(value.toString());
+            } else if (Character.isDigit(c) || (c == '.' && i + 1 < length && Character.isDigit(text.charAt(i + 1)))) {
+                int start = i;
+                while (i < length && (Character.isDigit(text.charAt(i)) || text.charAt(i) == '.')) {
+                    i++;
+                }
+                if (i < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+                    i++;
+                    if (i < length && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+                        i++;
+                    }
+                    while (i < length && Character.isDigit(text.charAt(i))) {
+                        i++;
+                    }
+                }
+                if (i < length && Character.isJavaIdentifierPart(text.charAt(i))) {
+                    // Typed literal suffix (1L, 1.5B, etc)
+                    return null;
+                }
+                tokens.add(text.substring(start, i));
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int start = i;
+                while (i < length && Character.isJavaIdentifierPart(text.charAt(i))) {
+                    i++;
+                }
+                tokens.add(text.substring(start, i));
+            } else {
+                String op = i + 1 < length ? text.substring(i, i + 2) : null;
+                if (op != null && (op.equals("==") || op.equals("!=") || op.equals("<=") || op.equals(">=") || op.equals("&&") || op.equals("||"))) {
+                    tokens.add(op);
+                    i += 2;
+                } else if ("+-*/%<>!?:()[].,".indexOf(c) >= 0) {
+                    tokens.add(String.valueOf(c));
+                    i++;
+                } else {
+                    return null;
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static class UnsupportedSyntaxException extends RuntimeException {
+        UnsupportedSyntaxException() {
+            super(null, null, false, false);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // Runtime
+    // Only operand types with known JEXL semantics are handled: Integer, Long, Short, Byte, Float and Double numbers,
+    // strings and booleans. Anything else (nulls, decimals, dates, mixed strings and numbers, etc)
+    // is passed to JEXL which applies its own coercions.
+    // Like JEXL, results of integral operations are narrowed to Integer unless one of operands is Long.
+
+    static boolean toBoolean(@Nullable Object value) {
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        throw DBVCompiledExpression.FallbackException.INSTANCE;
+    }
+
+    static boolean isEqual(@Nullable Object left, @Nullable Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        if (isNumber(left) && isNumber(right)) {
+            return compareNumbers(left, right) == 0;
+        }
+        if ((left instanceof String && right instanceof String) || (left instanceof Boolean && right instanceof Boolean)) {
+            return left.equals(right);
+        }
+        throw DBVCompiledExpression.FallbackException.INSTANCE;
+    }
+
+    static int compare(@Nullable Object left, @Nullable Object right) {
+        if (left instanceof String l && right instanceof String r) {
+            return l.compareTo(r);
+        }
+        if (left != null && right != null && isNumber(left) && isNumber(right)) {
+            return compareNumbers(left, right);
+        }
+        throw DBVCompiledExpression.FallbackException.INSTANCE;
+    }
+
+    private static int compareNumbers(@NotNull Object left, @NotNull Object right) {
+        if (isIntegral(left) && isIntegral(right)) {
+            return Long.compare(((Number) left).longValue(), ((Number) right).longValue());
+        }
+        double l = toDouble(left), r = toDouble(right);
+        if (Double.isNaN(l) || Double.isNaN(r)) {
+            throw DBVCompiledExpression.FallbackException.INSTANCE;
+        }
+        // Not Double.compare: -0.0 equals to 0.0
+        return l < r ? -1 : l > r ? 1 : 0;
+    }
+
+    @NotNull
+    static Object add(@Nullable Object left, @Nullable Object right) {
+        if (left instanceof String l && right instanceof String r) {
+            return l.concat(r);
+        }
+        if (left instanceof Integer l && right instanceof Integer r) {
+            return narrow((long) l + r);
+        }
+        if (isIntegral(left) && isIntegral(right)) {
+            long l = ((Number) left).longValue(), r = ((Number) right).longValue();
+            long result = l + r;
+            if (((l ^ result) & (r ^ result)) < 0) {
+                return BigInteger.valueOf(l).add(BigInteger.valueOf(r));
+            }
+            return narrow(left, right, result);
+        }
+        return toDouble(left) + toDouble(right);
+    }
+
+    @NotNull
+    static Object subtract(@Nullable Object left, @Nullable Object right) {
+        if (left instanceof Integer l && right instanceof Integer r) {
+            return narrow((long) l - r);
+        }
+        if (isIntegral(left) && isIntegral(right)) {
+            long l = ((Number) left).longValue(), r = ((Number) right).longValue();
+            long result = l - r;
+            if (((l ^ r) & (l ^ result)) < 0) {
+                return BigInteger.valueOf(l).subtract(BigInteger.valueOf(r));
+            }
+            return narrow(left, right, result);
+        }
+        return toDouble(left) - toDouble(right);
+    }
+
+    @NotNull
+    static Object multiply(@Nullable Object left, @Nullable Object right) {
+        if (left instanceof Integer l && right instanceof Integer r) {
+            return narrow((long) l * r);
+        }
+        if (isIntegral(left) && isIntegral(right)) {
+            long l = ((Number) left).longValue(), r = ((Number) right).longValue();
+            long high = Math.multiplyHigh(l, r);
+            long result = l * r;
+            if ((high == 0 && result >= 0) || (high == -1 && result < 0)) {
+                return narrow(left, right, result);
+            }
+            return BigInteger.valueOf(l).multiply(BigInteger.valueOf(r));
+        }
+        return toDouble(left) * toDouble(right);
+    }
+
+    @NotNull
+    static Object divide(@Nullable Object left, @Nullable Object right) {
+        if (isIntegral(left) && isIntegral(right)) {
+            long l = ((Number) left).longValue(), r = ((Number) right).longValue();
+            if (r == 0) {
+                // Let JEXL report the error
+                throw DBVCompiledExpression.FallbackException.INSTANCE;
+            }
+            if (l == Long.MIN_VALUE && r == -1) {
+                return BigInteger.valueOf(l).negate();
+            }
+            return narrow(left, right, l / r);
+        }
+        double l = toDouble(left), r = toDouble(right);
+        if (r == 0) {
+            throw DBVCompiledExpression.FallbackException.INSTANCE;
+        }
+        return l / r;
+    }
+
+    @NotNull
+    static Object modulo(@Nullable Object left, @Nullable Object right) {
+        // Sign of the remainder and floating point modulo are left to JEXL
+        if (isIntegral(left) && isIntegral(right)) {
+            long l = ((Number) left).longValue(), r = ((Number) right).longValue();
+            if (l >= 0 && r > 0) {
+                return narrow(left, right, l % r);
+            }
+        }
+        throw DBVCompiledExpression.FallbackException.INSTANCE;
+    }
+
+    @NotNull
+    static Object negate(@Nullable Object value) {
+        if (value instanceof Integer i && i != Integer.MIN_VALUE) {
+            return -i;
+        }
+        if (value instanceof Long l && l != Long.MIN_VALUE) {
+            return -l;
+        }
+        if (value instanceof Double d) {
+            return -d;
+        }
+        throw DBVCompiledExpression.FallbackException.INSTANCE;
+    }
+
+    @NotNull
+    private static Object narrow(long value) {
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            return (int) value;
+        }
+        return value;
+    }
+
+    @NotNull
+    private static Object narrow(@NotNull Object left, @NotNull Object right, long value) {
+        return left instanceof Long || right instanceof Long ? (Object) value : narrow(value);
+    }
+
+    private static boolean isIntegral(@Nullable Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    private static boolean isNumber(@NotNull Object value) {
+        return isIntegral(value) || value instanceof Double || value instanceof Float;
+    }
+
+    private static double toDouble(@Nullable Object value) {
+        if (value instanceof Double || isIntegral(value)) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Float f) {
+            // JEXL may convert floats through their decimal representation, use only values which convert exactly
+            double result = f;
+            if (result == Double.parseDouble(f.toString())) {
+                return result;
+            }
+        }
+        throw DBVCompiledExpression.FallbackException.INSTANCE;
+    }
+
+}
@@ -46,6 +46,7 @@ import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Virtual model serialize
@@ -411,6 +412,16 @@ public abstract class DBVUtils {
         if (CommonUtils.isEmpty(exprString)) {
             return null;
         }
+        DBVCompiledExpression compiledExpression = attribute.getCompiledExpression(allAttributes);
+        if (compiledExpression != null) {
+            try {
+                return compiledExpression.evaluate(row);
+            } catch (DBVCompiledExpression.FallbackException e) {
+                // Values need JEXL coercions
+            } catch (Exception e) {
+                return GeneralUtils.getExpressionParseMessage(e);
+            }
+        }
         JexlExpression expression = attribute.getParsedExpression();
         if (expression == null) {
             return null;
@@ -419,6 +430,51 @@ public abstract class DBVUtils {
         return evaluateDataExpression(allAttributes, row, expression, attribute.getName());
     }
 
+    /**
+     * Compiles expression with variables bound to attribute values.
+     * If compiled expression can't evaluate the first row then all rows are evaluated with JEXL.
+     *
+     * @param useLabels  match variables with attribute labels instead of names
+     * @param selfName   name of the attribute which value is evaluated, it is always null in expression
+     * @return compiled expression or null if expression must be evaluated with JEXL
+     */
+    @Nullable
+    public static DBVCompiledExpression compileDataExpression(
+        @NotNull String expression,
+        @NotNull DBDAttributeBinding[] allAttributes,
+        boolean useLabels,
+        @Nullable String selfName
+    ) {
+        Map<String, Object> nsList = getExpressionNamespaces();
+        DBVCompiledExpression compiled = DBVExpressionCompiler.compile(expression, name -> {
+            if (nsList.containsKey(name)) {
+                return null;
+            }
+            if (name.equals(selfName)) {
+                return row -> null;
+            }
+            for (DBDAttributeBinding attr : allAttributes) {
+                if (name.equals(useLabels ? attr.getLabel() : attr.getName())) {
+                    return getAttributeValueAccessor(attr, allAttributes);
+                }
+            }
+            return null;
+        });
+        return compiled == null ? null : DBVExpressionCompiler.disableOnFirstRowFallback(compiled);
+    }
+
+    @NotNull
+    private static Function<Object[], Object> getAttributeValueAccessor(
+        @NotNull DBDAttributeBinding attribute,
+        @NotNull DBDAttributeBinding[] allAttributes
+    ) {
+        if (!attribute.isCustom() && attribute.getLevel() == 0 && attribute.getTopParent() == attribute) {
+            int index = attribute.getOrdinalPosition();
+            return row -> index < row.length ? row[index] : null;
+        }
+        return row -> DBUtils.getAttributeValue(attribute, allAttributes, row);
+    }
+
     public static Object evaluateDataExpression(DBDAttributeBinding[] allAttributes, Object[] row, JexlExpression expression, String attributeName) {
         Map<String, Object> nsList = getExpressionNamespaces();
 
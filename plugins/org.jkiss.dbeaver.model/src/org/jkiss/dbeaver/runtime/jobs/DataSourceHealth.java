@@ -0,0 +1,162 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.jobs;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Connection health.
+ * <p>
+ * Keeps results of keep-alive pings of a connected data source: the last state and a fixed size
+ * ring buffer of ping latencies. Health is tracked by {@link DataSourceMonitorJob} and is reset on disconnect.
+ */
+public class DataSourceHealth {
+
+    public static final int HISTORY_SIZE = 60;
+    public static final long SLOW_PING_THRESHOLD = 1000;
+
+    public enum State {
+        UNKNOWN,
+        HEALTHY,
+        SLOW,
+        FAILING
+    }
+
+    private static final Map<String, DataSourceHealth> healthMap = new ConcurrentHashMap<>();
+
+    private final long[] latencies = new long[HISTORY_SIZE];
+    private int head;
+    private int count;
+    private long lastPingTime;
+    private long lastLatency;
+    private int failureCount;
+    private String lastError;
+
+    /**
+     * Returns health of the connected data source, or null if it wasn't pinged yet
+     */
+    @Nullable
+    public static DataSourceHealth getHealth(@NotNull DBPDataSourceContainer container) {
+        return healthMap.get(container.getId());
+    }
+
+    @NotNull
+    static DataSourceHealth obtainHealth(@NotNull DBPDataSourceContainer container) {
+        return healthMap.computeIfAbsent(container.getId(), id -> new DataSourceHealth());
+    }
+
+    static void resetHealth(@NotNull String dataSourceId) {
+        healthMap.remove(dataSourceId);
+    }
+
+    public synchronized void recordSuccess(long time, long latency) {
+        addLatency(time, latency);
+        failureCount = 0;
+        lastError = null;
+    }
+
+    public synchronized void recordFailure(long time, long latency, @Nullable String error) {
+        addLatency(time, latency);
+        failureCount++;
+        lastError = error;
+    }
+
+    @NotNull
+    public synchronized State getState() {
+        if (count == 0) {
+            return State.UNKNOWN;
+        } else if (failureCount > 0) {
+            return State.FAILING;
+        } else if (lastLatency > SLOW_PING_THRESHOLD) {
+            return State.SLOW;
+        } else {
+            return State.HEALTHY;
+        }
+    }
+
+    public synchronized long getLastPingTime() {
+        return lastPingTime;
+    }
+
+    public synchronized long getLastLatency() {
+        return lastLatency;
+    }
+
+    /**
+     * Number of failed pings since the last successful one
+     */
+    public synchronized int getFailureCount() {
+        return failureCount;
+    }
+
+    @Nullable
+    public synchronized String getLastError() {
+        return lastError;
+    }
+
+    public synchronized long getAverageLatency() {
+        if (count == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += latencies[i];
+        }
+        return total / count;
+    }
+
+    public synchronized long getMaxLatency() {
+        long max = 0;
+        for (int i = 0; i < count; i++) {
+            max = Math.max(max, latencies[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Returns latencies of recent pings, oldest first
+     */
+    @NotNull
+    public synchronized long[] getLatencyHistory() {
+        long[] result = new long[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = latencies[(head - count + i + latencies.length) % latencies.length];
+        }
+        return result;
+    }
+
+    private void addLatency(long time, long latency) {
+        lastPingTime = time;
+        lastLatency = latency;
+        latencies[head] = latency;
+        head = (head + 1) % latencies.length;
+        if (count < latencies.length) {
+            count++;
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return getState() + " (" + lastLatency + "ms)";
+    }
+
+}
@@ -48,12 +48,20 @@ import org.jkiss.dbeaver.runtime.DBeaverNotifications;
 import org.jkiss.dbeaver.runtime.OperationSystemState;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * DataSourceMonitorJob.
  *
  * Performs connection keep-alive ping.
  * Ends idle transactions.
+ *
+ * Pings run in parallel, at most {@link #MAX_PARALLEL_PINGS} at once. If all slots are busy then
+ * the ping is postponed to the next monitor run.
+ * Ping intervals are jittered to spread pings of connections opened at the same time.
+ * Pings which exceed the deadline are reported as failures in {@link DataSourceHealth} and canceled.
+ * A blocked driver call can't be interrupted, so a timed out ping releases its slot right away
+ * and hanging hosts don't stall keep-alive of other connections.
  */
 public class DataSourceMonitorJob extends AbstractJob {
     private static final int MONITOR_INTERVAL = 3000; // once per 3 seconds
@@ -67,9 +75,15 @@ public class DataSourceMonitorJob extends AbstractJob {
     private static final boolean INVALIDATE_AFTER_SLEEP = true;
     private static final long SYSTEM_SUSPEND_INTERVAL = 20000; // 20 seconds of inactivity - most likely a system suspend
 
+    private static final int MAX_PARALLEL_PINGS = 8;
+    private static final long PING_DEADLINE = 15000;
+    private static final double PING_INTERVAL_JITTER = 0.1;
+
     private final DBPPlatform platform;
-    private final Map<String, Long> checkCache = new HashMap<>();
-    private final Set<String> pingCache = new HashSet<>();
+    private final Map<String, Long> nextCheckTimes = new HashMap<>();
+    private final Map<String, KeepAlivePingJob> activePings = new HashMap<>();
+    // Number of running pings which didn't exceed the deadline
+    private int pingSlotsUsed;
     private long lastPingTime = -1;
     private boolean isSleeping = false;
 
@@ -181,15 +195,23 @@ public class DataSourceMonitorJob extends AbstractJob {
     }
 
     private void checkDataSourceAlive(final DBPDataSourceContainer dataSourceDescriptor, long lastUserActivityTime) {
+        final String dsId = dataSourceDescriptor.getId();
         if (!dataSourceDescriptor.isConnected()) {
+            final boolean wasMonitored;
+            synchronized (this) {
+                wasMonitored = nextCheckTimes.remove(dsId) != null;
+            }
+            if (wasMonitored) {
+                DataSourceHealth.resetHealth(dsId);
+            }
             return;
         }
 
-        final String dsId = dataSourceDescriptor.getId();
         synchronized (this) {
-            if (pingCache.contains(dsId)) {
-                // Ping is still in progress. Hanged?
-                // Anyway - just skip it
+            final KeepAlivePingJob activePing = activePings.get(dsId);
+            if (activePing != null) {
+                // Ping is still in progress
+                checkPingDeadline(dataSourceDescriptor, activePing);
                 return;
             }
         }
@@ -211,22 +233,23 @@ public class DataSourceMonitorJob extends AbstractJob {
         if (dataSource == null) {
             return;
         }
-        Long lastCheckTime;
+        Long nextCheckTime;
         synchronized (this) {
-            lastCheckTime = checkCache.get(dsId);
-        }
-        if (lastCheckTime == null) {
-            final Date connectTime = dataSourceDescriptor.getConnectTime();
-            if (connectTime != null) {
-                lastCheckTime = connectTime.getTime();
+            nextCheckTime = nextCheckTimes.get(dsId);
+            if (nextCheckTime == null) {
+                final Date connectTime = dataSourceDescriptor.getConnectTime();
+                if (connectTime != null) {
+                    nextCheckTime = connectTime.getTime() + getPingInterval(keepAliveInterval);
+                    nextCheckTimes.put(dsId, nextCheckTime);
+                }
             }
         }
-        if (lastCheckTime == null) {
+        if (nextCheckTime == null) {
             log.debug("Can't determine last check time for " + dsId);
             return;
         }
         long curTime = System.currentTimeMillis();
-        if ((curTime - lastCheckTime) / 1000 > keepAliveInterval) {
+        if (curTime >= nextCheckTime) {
             boolean disconnectOnError = false;
             int failedAttemptCount = KeepAlivePingJob.getFailedAttemptCount(dataSource);
             if (failedAttemptCount >= MAX_FAILED_ATTEMPTS_BEFORE_IGNORE) {
@@ -240,18 +263,54 @@ public class DataSourceMonitorJob extends AbstractJob {
                 @Override
                 public void done(IJobChangeEvent event) {
                     synchronized (DataSourceMonitorJob.this) {
-                        checkCache.put(dsId, System.currentTimeMillis());
-                        pingCache.remove(dsId);
+                        nextCheckTimes.put(dsId, System.currentTimeMillis() + getPingInterval(keepAliveInterval));
+                        activePings.remove(dsId);
+                        if (!pingJob.isTimedOut()) {
+                            pingSlotsUsed--;
+                        }
                     }
                 }
             });
             synchronized (this) {
-                pingCache.add(dsId);
+                if (pingSlotsUsed >= MAX_PARALLEL_PINGS) {
+                    // Try again on the next run
+                    return;
+                }
+                pingSlotsUsed++;
+                activePings.put(dsId, pingJob);
             }
             pingJob.schedule();
         }
     }
 
+    private void checkPingDeadline(@NotNull DBPDataSourceContainer dataSourceDescriptor, @NotNull KeepAlivePingJob pingJob) {
+        final long startTime = pingJob.getStartTime();
+        if (startTime <= 0 || pingJob.isCanceled() || pingJob.isTimedOut()) {
+            return;
+        }
+        final long elapsed = System.currentTimeMillis() - startTime;
+        if (elapsed > PING_DEADLINE) {
+            log.debug("Connection '" + dataSourceDescriptor.getName() + "' ping timed out after " + elapsed + "ms");
+            // Job may stay blocked in the driver, do not count it against the parallel pings limit
+            pingJob.setTimedOut();
+            pingSlotsUsed--;
+            DataSourceHealth.obtainHealth(dataSourceDescriptor).recordFailure(System.currentTimeMillis(), elapsed, "Ping timed out");
+            pingJob.cancel();
+        }
+    }
+
+    /**
+     * Keep-alive interval in milliseconds with random jitter
+     */
+    private static long getPingInterval(int keepAliveSeconds) {
+        final long interval = keepAliveSeconds * 1000L;
+        final long jitter = (long) (interval * PING_INTERVAL_JITTER);
+        if (jitter <= 0) {
+            return interval;
+        }
+        return interval - jitter + ThreadLocalRandom.current().nextLong(jitter * 2 + 1);
+    }
+
     private boolean endIdleTransactionOrConnection(DBPDataSourceContainer dsDescriptor, long lastUserActivityTime) {
         if (!dsDescriptor.isConnected()) {
             return false;
@@ -39,6 +39,8 @@ class KeepAlivePingJob extends AbstractJob {
 
     private final DBPDataSource dataSource;
     private final boolean disconnectOnError;
+    private volatile long startTime;
+    private volatile boolean timedOut;
 
     KeepAlivePingJob(DBPDataSource dataSource, boolean disconnectOnError) {
         super("Connection ping (" + dataSource.getContainer().getName() + ")");
@@ -48,20 +50,51 @@ class KeepAlivePingJob extends AbstractJob {
         this.disconnectOnError = disconnectOnError;
     }
 
+    /**
+     * Ping start time, or 0 if the ping is not started yet
+     */
+    long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Marks ping as timed out. Its failure was already recorded by the monitor.
+     */
+    void setTimedOut() {
+        timedOut = true;
+    }
+
+    boolean isTimedOut() {
+        return timedOut;
+    }
+
     @Override
     protected IStatus run(DBRProgressMonitor monitor) {
+        startTime = System.currentTimeMillis();
         boolean hasDeadContexts = false;
+        String error = null;
+        long maxLatency = 0;
         for (final DBSInstance instance : dataSource.getAvailableInstances()) {
             for (final DBCExecutionContext context : instance.getAllContexts()) {
+                final long contextStartTime = System.currentTimeMillis();
                 try {
                     context.checkContextAlive(monitor);
                 } catch (Exception e) {
                     log.debug("Context [" + dataSource.getName() + "::" + context.getContextName() + "] check failed: " + e.getMessage());
                     hasDeadContexts = true;
+                    error = e.getMessage();
                     break;
+                } finally {
+                    maxLatency = Math.max(maxLatency, System.currentTimeMillis() - contextStartTime);
                 }
             }
         }
+        final DataSourceHealth health = DataSourceHealth.obtainHealth(dataSource.getContainer());
+        if (!hasDeadContexts) {
+            health.recordSuccess(System.currentTimeMillis(), maxLatency);
+        } else if (!timedOut) {
+            health.recordFailure(System.currentTimeMillis(), maxLatency, error);
+        }
         if (hasDeadContexts) {
             // Invalidate whole datasource. Do not log errors (as it can spam tons of logs)
             final List<InvalidateJob.ContextInvalidateResult> results = InvalidateJob.invalidateDataSource(
@@ -60,6 +60,7 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
     // History (may be purged when limit reached)
     private List<QMMetaEvent> pastEvents = new ArrayList<>();
     private boolean running = true;
+    private final QMStatementStatistics statementStatistics = new QMStatementStatistics();
     private long eventDispatchPeriod = 250;
 
     public QMMCollectorImpl() {
@@ -102,6 +103,12 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
         return "Meta info collector";
     }
 
+    @NotNull
+    @Override
+    public QMStatementStatistics getStatementStatistics() {
+        return statementStatistics;
+    }
+
     public void addListener(QMMetaListener listener) {
         synchronized (listeners) {
             listeners.add(listener);
@@ -276,14 +283,21 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
     }
 
     @Override
-    public synchronized void handleStatementExecuteEnd(@NotNull DBCStatement statement, long rows, Throwable error) {
-        QMMConnectionInfo session = getConnectionInfo(statement.getSession().getExecutionContext());
-        if (session != null) {
-            QMMStatementExecuteInfo exec = session.endExecution(statement, rows, error);
-            if (exec != null) {
-                tryFireMetaEvent(exec, QMEventAction.END, statement.getSession().getExecutionContext());
+    public void handleStatementExecuteEnd(@NotNull DBCStatement statement, long rows, Throwable error) {
+        QMMStatementExecuteInfo exec = null;
+        synchronized (this) {
+            QMMConnectionInfo session = getConnectionInfo(statement.getSession().getExecutionContext());
+            if (session != null) {
+                exec = session.endExecution(statement, rows, error);
+                if (exec != null) {
+                    tryFireMetaEvent(exec, QMEventAction.END, statement.getSession().getExecutionContext());
+                }
             }
         }
+        // Statistics are striped, don't block other collector events while query is fingerprinted
+        if (exec != null) {
+            statementStatistics.recordExecution(exec);
+        }
     }
 
     @Override
@@ -298,14 +312,20 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
     }
 
     @Override
-    public synchronized void handleResultSetClose(@NotNull DBCResultSet resultSet, long rowCount) {
-        QMMConnectionInfo session = getConnectionInfo(resultSet.getSession().getExecutionContext());
-        if (session != null) {
-            QMMStatementExecuteInfo exec = session.endFetch(resultSet, rowCount);
-            if (exec != null) {
-                tryFireMetaEvent(exec, QMEventAction.UPDATE, resultSet.getSession().getExecutionContext());
+    public void handleResultSetClose(@NotNull DBCResultSet resultSet, long rowCount) {
+        QMMStatementExecuteInfo exec = null;
+        synchronized (this) {
+            QMMConnectionInfo session = getConnectionInfo(resultSet.getSession().getExecutionContext());
+            if (session != null) {
+                exec = session.endFetch(resultSet, rowCount);
+                if (exec != null) {
+                    tryFireMetaEvent(exec, QMEventAction.UPDATE, resultSet.getSession().getExecutionContext());
+                }
             }
         }
+        if (exec != null) {
+            statementStatistics.recordFetch(exec);
+        }
     }
 
     private class EventDispatcher extends AbstractJob {
@@ -17,24 +17,29 @@
 package org.jkiss.dbeaver.model.net.ssh;
 
 import net.schmizz.sshj.SSHClient;
+import net.schmizz.sshj.connection.channel.direct.DirectConnection;
 import net.schmizz.sshj.connection.channel.direct.LocalPortForwarder;
 import net.schmizz.sshj.connection.channel.direct.Parameters;
 import net.schmizz.sshj.sftp.SFTPClient;
 import net.schmizz.sshj.xfer.InMemoryDestFile;
 import net.schmizz.sshj.xfer.InMemorySourceFile;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.net.DBWHandlerConfiguration;
 import org.jkiss.dbeaver.model.net.ssh.config.SSHHostConfiguration;
 import org.jkiss.dbeaver.model.net.ssh.config.SSHPortForwardConfiguration;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.IOUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
+import java.net.Socket;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -43,10 +48,11 @@ import java.util.concurrent.CountDownLatch;
 public class SSHJSession extends AbstractSession {
     private static final Log log = Log.getLog(SSHJSession.class);
 
-    private final Map<SSHPortForwardConfiguration, LocalPortListener> listeners = new ConcurrentHashMap<>();
+    private final Map<SSHPortForwardConfiguration, PortListener> listeners = new ConcurrentHashMap<>();
     private final SSHJSessionController controller;
 
     private SSHClient client;
+    private boolean tunedForwarding;
 
     public SSHJSession(@NotNull SSHJSessionController controller) {
         this.controller = controller;
@@ -59,6 +65,7 @@ public class SSHJSession extends AbstractSession {
         @NotNull DBWHandlerConfiguration configuration
     ) throws DBException {
         client = controller.createNewSession(monitor, configuration, destination);
+        tunedForwarding = configuration.getBooleanProperty(SSHConstants.PROP_TUNED_FORWARDING);
     }
 
     @Override
@@ -82,8 +89,10 @@ public class SSHJSession extends AbstractSession {
     @Override
     public SSHPortForwardConfiguration setupPortForward(@NotNull SSHPortForwardConfiguration config) throws DBException {
         try {
-            final LocalPortListener listener = LocalPortListener.setup(client, config);
-            final SSHPortForwardConfiguration resolved = Objects.requireNonNull(listener.resolved);
+            final PortListener listener = tunedForwarding
+                ? TunedPortListener.setup(client, config)
+                : LocalPortListener.setup(client, config);
+            final SSHPortForwardConfiguration resolved = Objects.requireNonNull(listener.getResolved());
 
             listeners.put(resolved, listener);
 
@@ -100,6 +109,16 @@ public class SSHJSession extends AbstractSession {
             throw new DBException("No such port forward configuration: " + configuration);
         }
         listener.disconnect();
+        if (listener.getMetrics() != null) {
+            log.debug("Port forwarding " + configuration + " closed: " + listener.getMetrics());
+        }
+    }
+
+    @Nullable
+    @Override
+    public SSHTunnelMetrics getPortForwardMetrics(@NotNull SSHPortForwardConfiguration configuration) {
+        final PortListener listener = listeners.get(configuration);
+        return listener == null ? null : listener.getMetrics();
     }
 
     @Override
@@ -173,7 +192,17 @@ public class SSHJSession extends AbstractSession {
         return sftpClient;
     }
 
-    private static class LocalPortListener extends Thread {
+    private interface PortListener {
+        @Nullable
+        SSHPortForwardConfiguration getResolved();
+
+        @Nullable
+        SSHTunnelMetrics getMetrics();
+
+        void disconnect();
+    }
+
+    private static class LocalPortListener extends Thread implements PortListener {
         private final SSHClient client;
         private final SSHPortForwardConfiguration config;
         private final CountDownLatch started = new CountDownLatch(1);
@@ -217,6 +246,19 @@ public class SSHJSession extends AbstractSession {
             }
         }
 
+        @Nullable
+        @Override
+        public SSHPortForwardConfiguration getResolved() {
+            return resolved;
+        }
+
+        @Nullable
+        @Override
+        public SSHTunnelMetrics getMetrics() {
+            return null;
+        }
+
+        @Override
         public void disconnect() {
             try {
                 forwarder.close();
@@ -235,4 +277,108 @@ public class SSHJSession extends AbstractSession {
             }
         }
     }
+
+    /**
+     * Forwards each accepted connection through its own direct-tcpip channel.
+     * Channel window and packet sizes are configured on the client (see {@link SSHJSessionController}),
+     * data is copied by {@link SSHStreamPump} which sends full packets while data is streaming.
+     */
+    private static class TunedPortListener extends Thread implements PortListener {
+        private final SSHClient client;
+        private final SSHPortForwardConfiguration config;
+        private final ServerSocket serverSocket;
+        private final SSHPortForwardConfiguration resolved;
+        private final SSHTunnelMetrics metrics = new SSHTunnelMetrics();
+
+        private TunedPortListener(@NotNull SSHClient client, @NotNull SSHPortForwardConfiguration config) throws IOException {
+            this.client = client;
+            this.config = config;
+            this.serverSocket = new ServerSocket();
+            // Receive buffer of accepted sockets must be set before bind
+            this.serverSocket.setReceiveBufferSize(SSHConstants.TUNED_SOCKET_BUFFER_SIZE);
+            this.serverSocket.bind(new InetSocketAddress(InetAddress.getByName(config.localHost()), config.localPort()));
+            this.resolved = new SSHPortForwardConfiguration(config.localHost(), serverSocket.getLocalPort(), config.remoteHost(), config.remotePort());
+
+            setName("Port forwarder listener (" + resolved + ")");
+            setDaemon(true);
+        }
+
+        @NotNull
+        public static TunedPortListener setup(
+            @NotNull SSHClient client,
+            @NotNull SSHPortForwardConfiguration config
+        ) throws IOException {
+            final TunedPortListener listener = new TunedPortListener(client, config);
+            listener.start();
+            return listener;
+        }
+
+        @Override
+        public void run() {
+            while (!serverSocket.isClosed()) {
+                final Socket socket;
+                try {
+                    socket = serverSocket.accept();
+                } catch (IOException e) {
+                    if (!serverSocket.isClosed()) {
+                        log.error("Error while listening on the port forwarder", e);
+                    }
+                    break;
+                }
+                try {
+                    forward(socket);
+                } catch (Exception e) {
+                    log.error("Error opening forwarded channel to " + config.remoteHost() + ":" + config.remotePort(), e);
+                    IOUtils.close(socket);
+                }
+            }
+        }
+
+        private void forward(@NotNull Socket socket) throws Exception {
+            socket.setTcpNoDelay(true);
+            socket.setSendBufferSize(SSHConstants.TUNED_SOCKET_BUFFER_SIZE);
+
+            final long openStartTime = System.currentTimeMillis();
+            final DirectConnection channel = client.newDirectConnection(config.remoteHost(), config.remotePort());
+            metrics.connectionOpened(System.currentTimeMillis() - openStartTime);
+
+            final SSHForwardedConnection connection = new SSHForwardedConnection(socket, channel.getOutputStream(), channel, metrics);
+            final Thread localToRemote = new Thread(new SSHStreamPump(
+                socket.getInputStream(),
+                channel.getOutputStream(),
+                channel.getRemoteMaxPacketSize(),
+                metrics::addBytesSent,
+                connection::localFinished
+            ), getName() + " soc2chan");
+            final Thread remoteToLocal = new Thread(new SSHStreamPump(
+                channel.getInputStream(),
+                socket.getOutputStream(),
+                channel.getLocalMaxPacketSize(),
+                metrics::addBytesReceived,
+                connection::remoteFinished
+            ), getName() + " chan2soc");
+            localToRemote.setDaemon(true);
+            remoteToLocal.setDaemon(true);
+            localToRemote.start();
+            remoteToLocal.start();
+        }
+
+        @NotNull
+        @Override
+        public SSHPortForwardConfiguration getResolved() {
+            return resolved;
+        }
+
+        @NotNull
+        @Override
+        public SSHTunnelMetrics getMetrics() {
+            return metrics;
+        }
+
+        @Override
+        public void disconnect() {
+            // Like LocalPortForwarder, stop accepting new connections. Active channels are closed with the client.
+            IOUtils.close(serverSocket);
+        }
+    }
 }
@@ -67,6 +67,15 @@ public class SSHJSessionController extends AbstractSessionController<SSHJSession
         client.getConnection().getKeepAlive().setKeepAliveInterval(keepAliveInterval);
         client.getTransport().getConfig().setLoggerFactory(new FilterLoggerFactory());
 
+        if (configuration.getBooleanProperty(SSHConstants.PROP_TUNED_FORWARDING)) {
+            // Larger window lets the server stream result sets without waiting for window adjustments
+            client.getConnection().setWindowSize(SSHConstants.TUNED_WINDOW_SIZE);
+            client.getConnection().setMaxPacketSize(SSHConstants.TUNED_MAX_PACKET_SIZE);
+        }
+        if (configuration.getBooleanProperty(SSHConstants.PROP_COMPRESSION)) {
+            enableCompression(client);
+        }
+
         try {
             setupHostKeyVerification(client, configuration, host);
         } catch (IOException e) {
@@ -105,6 +114,21 @@ public class SSHJSessionController extends AbstractSessionController<SSHJSession
         return client;
     }
 
+    private static void enableCompression(@NotNull SSHClient client) {
+        try {
+            // zlib compression is implemented with JZlib which is an optional dependency of sshj
+            Class.forName("com.jcraft.jzlib.Deflater", false, SSHClient.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            log.warn("SSH compression is not available: JZlib is missing");
+            return;
+        }
+        try {
+            client.useCompression();
+        } catch (IOException e) {
+            log.warn("Error enabling SSH compression", e);
+        }
+    }
+
     private static void setupHostKeyVerification(
         @NotNull SSHClient client,
         @NotNull DBWHandlerConfiguration configuration,
@@ -74,6 +74,8 @@ import java.util.List;
  * SSH tunnel configuration
  */
 public class SSHTunnelDefaultConfiguratorUI implements IObjectPropertyConfigurator<Object, DBWHandlerConfiguration> {
+    private static final String SSH_IMPLEMENTATION_SSHJ = "sshj";
+
     private DBWHandlerConfiguration savedConfiguration;
     private final List<ConfigurationWrapper> configurations = new ArrayList<>();
 
@@ -85,6 +87,8 @@ public class SSHTunnelDefaultConfiguratorUI implements IObjectPropertyConfigurat
     private Combo tunnelImplCombo;
     private Button fingerprintVerificationCheck;
     private Button enableTunnelSharingCheck;
+    private Button tunedForwardingCheck;
+    private Button compressionCheck;
     private Text localHostText;
     private Text localPortSpinner;
     private Text remoteHostText;
@@ -253,6 +257,7 @@ public class SSHTunnelDefaultConfiguratorUI implements IObjectPropertyConfigurat
                 @Override
                 public void widgetSelected(SelectionEvent e) {
                     // updateJumpServerSettingsVisibility();
+                    updateImplementationOptionsVisibility();
                 }
             });
             for (SSHSessionControllerDescriptor it : SSHSessionControllerRegistry.getInstance().getDescriptors()) {
@@ -278,6 +283,22 @@ public class SSHTunnelDefaultConfiguratorUI implements IObjectPropertyConfigurat
             // Hide tunnel sharing option if it's disabled
             UIUtils.setControlVisible(enableTunnelSharingCheck, !SSHUtils.DISABLE_SESSION_SHARING);
 
+            tunedForwardingCheck = UIUtils.createCheckbox(
+                generalGroup,
+                SSHUIMessages.model_ssh_configurator_label_tuned_forwarding,
+                SSHUIMessages.model_ssh_configurator_label_tuned_forwarding_description,
+                false,
+                2
+            );
+
+            compressionCheck = UIUtils.createCheckbox(
+                generalGroup,
+                SSHUIMessages.model_ssh_configurator_label_compression,
+                SSHUIMessages.model_ssh_configurator_label_compression_description,
+                false,
+                2
+            );
+
             final Group timeoutsGroup = UIUtils.createControlGroup(
                 client,
                 SSHUIMessages.model_ssh_configurator_group_timeouts_text,
@@ -369,6 +390,29 @@ public class SSHTunnelDefaultConfiguratorUI implements IObjectPropertyConfigurat
         UIUtils.asyncExec(() -> UIUtils.resizeShell(parent.getShell()));
     }
 
+    @Nullable
+    private SSHSessionControllerDescriptor getSelectedImplementation() {
+        String implLabel = tunnelImplCombo.getText();
+        for (SSHSessionControllerDescriptor it : SSHSessionControllerRegistry.getInstance().getDescriptors()) {
+            if (it.getLabel().equals(implLabel)) {
+                return it;
+            }
+        }
+        return null;
+    }
+
+    private boolean isSSHJSelected() {
+        SSHSessionControllerDescriptor implementation = getSelectedImplementation();
+        return implementation != null && SSH_IMPLEMENTATION_SSHJ.equals(implementation.getId());
+    }
+
+    private void updateImplementationOptionsVisibility() {
+        boolean visible = isSSHJSelected();
+        UIUtils.setControlVisible(tunedForwardingCheck, visible);
+        UIUtils.setControlVisible(compressionCheck, visible);
+        tunedForwardingCheck.getParent().layout(true, true);
+    }
+
     private void loadConfiguration(@NotNull ConfigurationWrapper wrapper) {
         // TODO: For now, we enforce password saving for jump hosts
         credentialsPanel.loadSettings(wrapper, !isDestinationHost(wrapper));
@@ -520,8 +564,12 @@ public class SSHTunnelDefaultConfiguratorUI implements IObjectPropertyConfigurat
             }
         }
 
+        updateImplementationOptionsVisibility();
+
         fingerprintVerificationCheck.setSelection(configuration.getBooleanProperty(SSHConstants.PROP_BYPASS_HOST_VERIFICATION));
         enableTunnelSharingCheck.setSelection(configuration.getBooleanProperty(SSHConstants.PROP_SHARE_TUNNELS, true));
+        tunedForwardingCheck.setSelection(configuration.getBooleanProperty(SSHConstants.PROP_TUNED_FORWARDING));
+        compressionCheck.setSelection(configuration.getBooleanProperty(SSHConstants.PROP_COMPRESSION));
 
         localHostText.setText(CommonUtils.notEmpty(configuration.getStringProperty(SSHConstants.PROP_LOCAL_HOST)));
         int lpValue = configuration.getIntProperty(SSHConstants.PROP_LOCAL_PORT);
@@ -568,12 +616,9 @@ public class SSHTunnelDefaultConfiguratorUI implements IObjectPropertyConfigurat
 
         SSHUtils.saveHostConfigurations(configuration, hosts);
 
-        String implLabel = tunnelImplCombo.getText();
-        for (SSHSessionControllerDescriptor it : SSHSessionControllerRegistry.getInstance().getDescriptors()) {
-            if (it.getLabel().equals(implLabel)) {
-                configuration.setProperty(SSHConstants.PROP_IMPLEMENTATION, it.getId());
-                break;
-            }
+        SSHSessionControllerDescriptor implementation = getSelectedImplementation();
+        if (implementation != null) {
+            configuration.setProperty(SSHConstants.PROP_IMPLEMENTATION, implementation.getId());
         }
 
         if (fingerprintVerificationCheck.getSelection()) {
@@ -583,6 +628,10 @@ public class SSHTunnelDefaultConfiguratorUI implements IObjectPropertyConfigurat
         }
 
         configuration.setProperty(SSHConstants.PROP_SHARE_TUNNELS, enableTunnelSharingCheck.getSelection());
+        // Tuned forwarding and compression are supported by SSHJ only
+        boolean sshjOptions = isSSHJSelected();
+        configuration.setProperty(SSHConstants.PROP_TUNED_FORWARDING, sshjOptions && tunedForwardingCheck.getSelection() ? true : null);
+        configuration.setProperty(SSHConstants.PROP_COMPRESSION, sshjOptions && compressionCheck.getSelection() ? true : null);
 
         configuration.setProperty(SSHConstants.PROP_LOCAL_HOST, localHostText.getText().trim());
         int localPort = CommonUtils.toInt(localPortSpinner.getText());
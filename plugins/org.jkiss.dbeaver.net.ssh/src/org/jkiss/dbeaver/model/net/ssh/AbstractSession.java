@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.model.net.ssh;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.net.DBWHandlerConfiguration;
 import org.jkiss.dbeaver.model.net.ssh.config.SSHHostConfiguration;
@@ -44,4 +45,12 @@ public abstract class AbstractSession implements SSHSession {
     public abstract void removePortForward(
         @NotNull SSHPortForwardConfiguration configuration
     ) throws DBException;
+
+    /**
+     * Returns metrics of the port forward, or null if the implementation does not collect them
+     */
+    @Nullable
+    public SSHTunnelMetrics getPortForwardMetrics(@NotNull SSHPortForwardConfiguration configuration) {
+        return null;
+    }
 }
@@ -35,6 +35,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -414,6 +415,15 @@ public abstract class AbstractSessionController<T extends AbstractSession> imple
                 .collect(Collectors.joining(", "));
         }
 
+        @Property(viewable = true, order = 4, name = "Traffic")
+        public String getTrafficInfo() {
+            return portForwards.values().stream()
+                .map(info -> session.getPortForwardMetrics(info.resolved))
+                .filter(Objects::nonNull)
+                .map(SSHTunnelMetrics::toString)
+                .collect(Collectors.joining(", "));
+        }
+
         @Override
         public synchronized void connect(
             @NotNull DBRProgressMonitor monitor,
@@ -532,6 +542,12 @@ public abstract class AbstractSessionController<T extends AbstractSession> imple
             getSession().removePortForward(configuration);
         }
 
+        @Nullable
+        @Override
+        public SSHTunnelMetrics getPortForwardMetrics(@NotNull SSHPortForwardConfiguration configuration) {
+            return getSession().getPortForwardMetrics(configuration);
+        }
+
         @Override
         public void getFile(
             @NotNull String src,
@@ -42,6 +42,13 @@ public class SSHConstants {
     public static final String PROP_REMOTE_PORT = "remotePort";
     public static final String PROP_BYPASS_HOST_VERIFICATION = "bypassHostVerification";
     public static final String PROP_SHARE_TUNNELS = "shareTunnels";
+    public static final String PROP_TUNED_FORWARDING = "tunedForwarding";
+    public static final String PROP_COMPRESSION = "compression";
+
+    // Channel window and packet sizes used by tuned port forwarding
+    public static final long TUNED_WINDOW_SIZE = 16 * 1024 * 1024;
+    public static final int TUNED_MAX_PACKET_SIZE = 64 * 1024;
+    public static final int TUNED_SOCKET_BUFFER_SIZE = 256 * 1024;
     //private static final int CONNECT_TIMEOUT = 10000;
 
     public enum AuthType {
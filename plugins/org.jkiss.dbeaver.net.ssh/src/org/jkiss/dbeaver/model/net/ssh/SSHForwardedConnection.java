@@ -0,0 +1,107 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.utils.IOUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local socket connection forwarded to an SSH channel.
+ * <p>
+ * Each direction is copied by its own {@link SSHStreamPump} and is half-closed on end of stream.
+ * The connection is closed when both directions are finished or any of them fails.
+ */
+public class SSHForwardedConnection {
+
+    private static final Log log = Log.getLog(SSHForwardedConnection.class);
+
+    private final Socket socket;
+    private final OutputStream channelOutput;
+    private final Closeable channel;
+    private final SSHTunnelMetrics metrics;
+    private final AtomicInteger activeDirections = new AtomicInteger(2);
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    public SSHForwardedConnection(
+        @NotNull Socket socket,
+        @NotNull OutputStream channelOutput,
+        @NotNull Closeable channel,
+        @NotNull SSHTunnelMetrics metrics
+    ) {
+        this.socket = socket;
+        this.channelOutput = channelOutput;
+        this.channel = channel;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Local socket to channel direction is finished
+     */
+    public void localFinished(@Nullable IOException error) {
+        if (error == null) {
+            // Sends EOF to the remote side
+            IOUtils.close(channelOutput);
+        }
+        finished(error);
+    }
+
+    /**
+     * Channel to local socket direction is finished
+     */
+    public void remoteFinished(@Nullable IOException error) {
+        if (error == null) {
+            try {
+                socket.shutdownOutput();
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        finished(error);
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    private void finished(@Nullable IOException error) {
+        if (activeDirections.decrementAndGet() == 0 || error != null) {
+            close();
+        }
+    }
+
+    private void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        IOUtils.close(socket);
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Error closing forwarded channel: " + e.getMessage());
+        }
+        metrics.connectionClosed();
+    }
+}
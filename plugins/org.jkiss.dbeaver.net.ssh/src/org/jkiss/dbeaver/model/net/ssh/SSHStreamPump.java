@@ -0,0 +1,95 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Copies data of a forwarded connection in one direction.
+ * <p>
+ * The buffer is allocated once per direction. Output is flushed only when the input has no more buffered data,
+ * so SSH channel streams send full packets while data is streaming and partial packets only when the peer waits.
+ */
+public class SSHStreamPump implements Runnable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final OutputStream out;
+    private final byte[] buffer;
+    private final LongConsumer counter;
+    private final Consumer<IOException> onFinish;
+
+    public SSHStreamPump(
+        @NotNull InputStream in,
+        @NotNull OutputStream out,
+        int bufferSize,
+        @NotNull LongConsumer counter,
+        @NotNull Consumer<IOException> onFinish
+    ) {
+        this.in = in;
+        this.out = out;
+        this.buffer = new byte[bufferSize > 0 ? bufferSize : DEFAULT_BUFFER_SIZE];
+        this.counter = counter;
+        this.onFinish = onFinish;
+    }
+
+    /**
+     * Pumps data until end of input. The finish callback receives the copy error, or null if input was fully read.
+     */
+    @Override
+    public void run() {
+        IOException error = null;
+        try {
+            pump(in, out, buffer, counter);
+        } catch (IOException e) {
+            error = e;
+        }
+        onFinish.accept(error);
+    }
+
+    /**
+     * Copies input to output until end of input.
+     *
+     * @return number of copied bytes
+     */
+    public static long pump(
+        @NotNull InputStream in,
+        @NotNull OutputStream out,
+        @NotNull byte[] buffer,
+        @NotNull LongConsumer counter
+    ) throws IOException {
+        long total = 0;
+        for (int count; (count = in.read(buffer)) != -1; ) {
+            out.write(buffer, 0, count);
+            counter.accept(count);
+            total += count;
+            if (in.available() == 0) {
+                out.flush();
+            }
+        }
+        out.flush();
+        return total;
+    }
+
+}
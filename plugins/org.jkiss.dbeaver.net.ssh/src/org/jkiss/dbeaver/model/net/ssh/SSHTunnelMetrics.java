@@ -0,0 +1,140 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import org.jkiss.code.NotNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Port forwarding metrics.
+ * <p>
+ * Counts bytes pumped through a forwarded port and the latency of opening forwarded channels.
+ * Channel open latency includes the round trip to the SSH server and the connection from the server to the remote host.
+ */
+public class SSHTunnelMetrics {
+
+    /**
+     * Throughput since the previous sample
+     */
+    public record Sample(
+        long time,
+        long bytesSentPerSecond,
+        long bytesReceivedPerSecond,
+        int activeConnections
+    ) {
+    }
+
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicLong totalConnections = new AtomicLong();
+    private final LongAdder totalOpenLatency = new LongAdder();
+    private final AtomicLong maxOpenLatency = new AtomicLong();
+
+    private long lastSampleTime;
+    private long lastBytesSent;
+    private long lastBytesReceived;
+
+    public SSHTunnelMetrics() {
+        this.lastSampleTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Bytes sent from local clients to the remote host
+     */
+    public void addBytesSent(long count) {
+        bytesSent.add(count);
+    }
+
+    /**
+     * Bytes received from the remote host
+     */
+    public void addBytesReceived(long count) {
+        bytesReceived.add(count);
+    }
+
+    public void connectionOpened(long openLatency) {
+        activeConnections.incrementAndGet();
+        totalConnections.incrementAndGet();
+        totalOpenLatency.add(openLatency);
+        maxOpenLatency.accumulateAndGet(openLatency, Math::max);
+    }
+
+    public void connectionClosed() {
+        activeConnections.decrementAndGet();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    public int getActiveConnections() {
+        return activeConnections.get();
+    }
+
+    public long getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    /**
+     * Average channel open latency in milliseconds
+     */
+    public long getAverageOpenLatency() {
+        long count = totalConnections.get();
+        return count == 0 ? 0 : totalOpenLatency.sum() / count;
+    }
+
+    /**
+     * Maximum channel open latency in milliseconds
+     */
+    public long getMaxOpenLatency() {
+        return maxOpenLatency.get();
+    }
+
+    /**
+     * Computes throughput since the previous call
+     */
+    @NotNull
+    public synchronized Sample sample(long time) {
+        long sent = getBytesSent();
+        long received = getBytesReceived();
+        long elapsed = Math.max(1, time - lastSampleTime);
+        Sample sample = new Sample(
+            time,
+            (sent - lastBytesSent) * 1000 / elapsed,
+            (received - lastBytesReceived) * 1000 / elapsed,
+            getActiveConnections());
+        lastSampleTime = time;
+        lastBytesSent = sent;
+        lastBytesReceived = received;
+        return sample;
+    }
+
+    @Override
+    public String toString() {
+        return "sent=" + getBytesSent() + ", received=" + getBytesReceived() +
+            ", connections=" + getTotalConnections() + ", avgOpenLatency=" + getAverageOpenLatency() + "ms";
+    }
+
+}
@@ -29,11 +29,9 @@ import org.jkiss.dbeaver.utils.GeneralUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -43,7 +41,6 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
     public static String META_FILE_NAME = "meta.json";
 
     private static final Log log = Log.getLog(TaskImpl.class);
-    private static final int MAX_RUNS_IN_STATS = 100;
     private static final Gson gson = new GsonBuilder()
         .setLenient()
         .setDateFormat(GeneralUtils.DEFAULT_TIMESTAMP_PATTERN)
@@ -57,7 +54,7 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
     private Date updateTime;
     private DBTTaskType type;
     private Map<String, Object> properties;
-    private volatile List<DBTTaskRun> runs;
+    private final TaskRunHistory runHistory;
     private DBTTaskFolder taskFolder;
     private int maxExecutionTime;
 
@@ -79,6 +76,7 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
         this.updateTime = updateTime;
         this.type = type;
         this.taskFolder = folder;
+        this.runHistory = new TaskRunHistory(this::getTaskStatsFolder, gson);
     }
 
     @NotNull
@@ -158,15 +156,19 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
     @Nullable
     @Override
     public DBTTaskRun getLastRun() {
-        loadRunsIfNeeded();
-        return runs.isEmpty() ? null : runs.get(runs.size() - 1);
+        return runHistory.getLastRun();
     }
 
     @NotNull
     @Override
     public DBTTaskRun[] getAllRuns() {
-        loadRunsIfNeeded();
-        return runs.toArray(DBTTaskRun[]::new);
+        return loadRunStatistics().toArray(DBTTaskRun[]::new);
+    }
+
+    @NotNull
+    @Override
+    public DBTTaskRun[] findRuns(@Nullable Date fromTime, @Nullable Date toTime, @Nullable Boolean success, int maxResults) {
+        return runHistory.findRuns(fromTime, toTime, success, maxResults).toArray(DBTTaskRun[]::new);
     }
 
     @Nullable
@@ -183,24 +185,18 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
 
     @Override
     public void removeRun(DBTTaskRun taskRun) {
-        synchronized (this) {
-            loadRunsIfNeeded();
-
-            if (!runs.remove(taskRun)) {
-                return;
-            }
+        if (!runHistory.removeRun(taskRun.getId())) {
+            return;
+        }
 
-            Path runLog = getRunLog(taskRun);
+        Path runLog = getRunLog(taskRun);
 
-            if (runLog != null) {
-                try {
-                    Files.deleteIfExists(runLog);
-                } catch (IOException e) {
-                    log.error("Can't delete log file '" + runLog.toAbsolutePath() + "'", e);
-                }
+        if (runLog != null) {
+            try {
+                Files.deleteIfExists(runLog);
+            } catch (IOException e) {
+                log.error("Can't delete log file '" + runLog.toAbsolutePath() + "'", e);
             }
-
-            flushRunStatistics(runs);
         }
 
         TaskRegistry.getInstance().notifyTaskListeners(new DBTTaskEvent(this, DBTTaskEvent.Action.TASK_UPDATE));
@@ -208,6 +204,14 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
 
     @Override
     public void cleanRunStatistics() {
+        synchronized (runHistory) {
+            deleteRunStatistics();
+            runHistory.clear();
+        }
+        TaskRegistry.getInstance().notifyTaskListeners(new DBTTaskEvent(this, DBTTaskEvent.Action.TASK_UPDATE));
+    }
+
+    private void deleteRunStatistics() {
         Path statsFolder = getTaskStatsFolder(false);
         if (Files.exists(statsFolder)) {
             try (Stream<Path> list = Files.list(statsFolder)) {
@@ -224,16 +228,11 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
                 log.error("Can't delete logs folder '" + statsFolder.toAbsolutePath() + "'", e);
             }
         }
-        if (runs != null) {
-            runs.clear();
-        }
-        flushRunStatistics(List.of());
-        TaskRegistry.getInstance().notifyTaskListeners(new DBTTaskEvent(this, DBTTaskEvent.Action.TASK_UPDATE));
     }
 
     @Override
     public void refreshRunStatistics() {
-        runs = new ArrayList<>(loadRunStatistics());
+        runHistory.refresh();
     }
 
     @Override
@@ -266,35 +265,29 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
         return taskStatsFolder;
     }
 
-    void addNewRun(@NotNull DBTTaskRun taskRun) {
-        synchronized (this) {
-            loadRunsIfNeeded();
-
-            runs.add(taskRun);
+    @NotNull
+    protected List<? extends DBTTaskRun> loadRunStatistics() {
+        return runHistory.getRuns();
+    }
 
-            while (runs.size() > MAX_RUNS_IN_STATS) {
-                runs.remove(0);
-            }
+    /**
+     * Replaces all task runs. Runs are appended to the history one by one, so this is needed only for bulk changes.
+     */
+    protected void flushRunStatistics(@NotNull List<? extends DBTTaskRun> runs) {
+        runHistory.replaceRuns(runs.stream()
+            .filter(run -> run instanceof TaskRunImpl)
+            .map(run -> (TaskRunImpl) run)
+            .toList());
+    }
 
-            flushRunStatistics(runs);
-        }
+    void addNewRun(@NotNull TaskRunImpl taskRun) {
+        runHistory.addRun(taskRun);
 
         TaskRegistry.getInstance().notifyTaskListeners(new DBTTaskEvent(this, DBTTaskEvent.Action.TASK_UPDATE));
     }
 
     void updateRun(@NotNull TaskRunImpl taskRun) {
-        synchronized (this) {
-            loadRunsIfNeeded();
-
-            for (int i = 0; i < runs.size(); i++) {
-                if (runs.get(i).getId().equals(taskRun.getId())) {
-                    runs.set(i, taskRun);
-                    break;
-                }
-            }
-
-            flushRunStatistics(runs);
-        }
+        runHistory.updateRun(taskRun);
 
         TaskRegistry.getInstance().notifyTaskListeners(new DBTTaskEvent(this, DBTTaskEvent.Action.TASK_UPDATE));
     }
@@ -303,32 +296,4 @@ public class TaskImpl implements DBTTask, DBPNamedObject2 {
     public String toString() {
         return id + " " + label + " (" + type.getName() + ")";
     }
-
-    @NotNull
-    protected List<? extends DBTTaskRun> loadRunStatistics() {
-        return TaskUtils.loadRunStatistics(getTaskStatsFolder(false).resolve(META_FILE_NAME), gson);
-    }
-
-    protected void flushRunStatistics(@NotNull List<? extends DBTTaskRun> runs) {
-        Path metaFile = getTaskStatsFolder(true).resolve(META_FILE_NAME);
-        try (Writer writer = Files.newBufferedWriter(metaFile)) {
-            final List<TaskRunImpl> filteredRuns = runs.stream()
-                .filter(run -> run instanceof TaskRunImpl)
-                .map(run -> (TaskRunImpl) run)
-                .collect(Collectors.toList());
-            writer.write(gson.toJson(new RunStatistics(filteredRuns)));
-        } catch (IOException e) {
-            log.error("Error writing task run statistics", e);
-        }
-    }
-
-    private void loadRunsIfNeeded() {
-        if (runs == null) {
-            synchronized (this) {
-                if (runs == null) {
-                    runs = new ArrayList<>(loadRunStatistics());
-                }
-            }
-        }
-    }
 }
@@ -0,0 +1,608 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import com.google.gson.Gson;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Task run history.
+ * <p>
+ * Runs are stored in an append-only JSON-lines file. Each line is either a run record (new or updated run)
+ * or a removal record. Only a small index (run id, start time, status and record position) is kept in memory,
+ * run records are read on demand. Superseded records are dropped by a background compaction
+ * which rewrites the file once it contains more dead records than live ones.
+ * <p>
+ * Another process (e.g. task scheduler) may append runs to the same file, {@link #refresh()} reads
+ * only the new tail of the file. Reads, appends and compaction hold an exclusive lock on a separate lock file,
+ * so the file is never replaced while somebody is reading or writing it.
+ */
+public class TaskRunHistory {
+
+    private static final Log log = Log.getLog(TaskRunHistory.class);
+
+    public static final String HISTORY_FILE_NAME = "runs.jsonl";
+    private static final String LOCK_FILE_NAME = "runs.lock";
+    private static final String LEGACY_BACKUP_FILE_NAME = TaskImpl.META_FILE_NAME + ".bak";
+
+    static final int MAX_RUNS_IN_HISTORY = 5000;
+    private static final int MIN_DEAD_RECORDS_TO_COMPACT = 100;
+
+    private final Function<Boolean, Path> folderProvider;
+    private final Gson gson;
+
+    private final List<IndexEntry> index = new ArrayList<>();
+    private final Map<String, IndexEntry> indexById = new HashMap<>();
+    @Nullable
+    private String segmentId;
+    private long fileLength;
+    private int deadRecords;
+    @Nullable
+    private TaskRunImpl lastRun;
+    private boolean loaded;
+    private CompactJob compactJob;
+
+    /**
+     * @param folderProvider provides the folder of the history file. It is called each time the file is accessed
+     *                       and must create the folder when {@code true} is passed.
+     */
+    public TaskRunHistory(@NotNull Function<Boolean, Path> folderProvider, @NotNull Gson gson) {
+        this.folderProvider = folderProvider;
+        this.gson = gson;
+    }
+
+    public synchronized int size() {
+        loadIfNeeded();
+        return index.size();
+    }
+
+    @Nullable
+    synchronized TaskRunImpl getLastRun() {
+        loadIfNeeded();
+        if (lastRun == null && !index.isEmpty()) {
+            List<TaskRunImpl> runs = readRunsLocked(entries ->
+                entries.isEmpty() ? entries : entries.subList(entries.size() - 1, entries.size()));
+            lastRun = runs.isEmpty() ? null : runs.get(0);
+        }
+        return lastRun;
+    }
+
+    /**
+     * Returns all runs in order of their start
+     */
+    @NotNull
+    public synchronized List<TaskRunImpl> getRuns() {
+        loadIfNeeded();
+        return readRunsLocked(entries -> entries);
+    }
+
+    /**
+     * Finds runs by start time and status. Runs are returned in reverse order (latest runs first).
+     *
+     * @param fromTime   minimal start time (inclusive) or null
+     * @param toTime     maximal start time (exclusive) or null
+     * @param success    run result or null for any run. Runs in progress are considered successful.
+     * @param maxResults maximum number of returned runs or 0 for no limit
+     */
+    @NotNull
+    public synchronized List<TaskRunImpl> findRuns(@Nullable Date fromTime, @Nullable Date toTime, @Nullable Boolean success, int maxResults) {
+        loadIfNeeded();
+        long minTime = fromTime == null ? Long.MIN_VALUE : fromTime.getTime();
+        long maxTime = toTime == null ? Long.MAX_VALUE : toTime.getTime();
+        return readRunsLocked(allEntries -> {
+            List<IndexEntry> entries = new ArrayList<>();
+            for (int i = allEntries.size() - 1; i >= 0; i--) {
+                IndexEntry entry = allEntries.get(i);
+                if (entry.startTime < minTime || entry.startTime >= maxTime) {
+                    continue;
+                }
+                if (success != null && entry.success != success) {
+                    continue;
+                }
+                entries.add(entry);
+                if (maxResults > 0 && entries.size() >= maxResults) {
+                    break;
+                }
+            }
+            return entries;
+        });
+    }
+
+    public synchronized void addRun(@NotNull TaskRunImpl run) {
+        loadIfNeeded();
+        try (FileChannel lockChannel = openLockChannel(); FileLock ignored = lockChannel.lock()) {
+            refresh();
+            IndexEntry entry = appendRecord(new RunRecord(run, null));
+            if (entry == null) {
+                return;
+            }
+            IndexEntry prevEntry = indexById.put(entry.id, entry);
+            if (prevEntry != null) {
+                index.remove(prevEntry);
+                deadRecords++;
+            }
+            index.add(entry);
+            lastRun = run;
+
+            // Trim history. Removal records are required, otherwise trimmed runs would be restored on reload.
+            while (index.size() > MAX_RUNS_IN_HISTORY) {
+                if (!appendRemoval(index.get(0).id)) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error writing task run history", e);
+        }
+        scheduleCompactionIfNeeded();
+    }
+
+    public synchronized void updateRun(@NotNull TaskRunImpl run) {
+        loadIfNeeded();
+        try (FileChannel lockChannel = openLockChannel(); FileLock ignored = lockChannel.lock()) {
+            refresh();
+            IndexEntry prevEntry = indexById.get(run.getId());
+            if (prevEntry == null) {
+                return;
+            }
+            IndexEntry entry = appendRecord(new RunRecord(run, null));
+            if (entry == null) {
+                return;
+            }
+            index.set(index.indexOf(prevEntry), entry);
+            indexById.put(entry.id, entry);
+            deadRecords++;
+            if (lastRun != null && lastRun.getId().equals(run.getId())) {
+                lastRun = run;
+            }
+        } catch (IOException e) {
+            log.error("Error writing task run history", e);
+        }
+        scheduleCompactionIfNeeded();
+    }
+
+    public synchronized boolean removeRun(@NotNull String runId) {
+        loadIfNeeded();
+        boolean removed;
+        try (FileChannel lockChannel = openLockChannel(); FileLock ignored = lockChannel.lock()) {
+            refresh();
+            removed = appendRemoval(runId);
+        } catch (IOException e) {
+            log.error("Error writing task run history", e);
+            return false;
+        }
+        scheduleCompactionIfNeeded();
+        return removed;
+    }
+
+    /**
+     * Replaces the whole history with the specified runs
+     */
+    public synchronized void replaceRuns(@NotNull List<TaskRunImpl> runs) {
+        loadIfNeeded();
+        try (FileChannel lockChannel = openLockChannel(); FileLock ignored = lockChannel.lock()) {
+            replaceHistoryFile(runs);
+        } catch (IOException e) {
+            log.error("Error writing task run history", e);
+        }
+    }
+
+    /**
+     * Resets the history. History file must be deleted by the caller.
+     */
+    synchronized void clear() {
+        resetIndex();
+        loaded = true;
+    }
+
+    /**
+     * Reads records appended by other processes
+     */
+    public synchronized void refresh() {
+        if (!loaded) {
+            loadIfNeeded();
+            return;
+        }
+        Path historyFile = getHistoryFile(false);
+        try {
+            if (!Files.exists(historyFile)) {
+                if (fileLength > 0) {
+                    resetIndex();
+                }
+                return;
+            }
+            long length = Files.size(historyFile);
+            if (length == fileLength) {
+                return;
+            }
+            if (length < fileLength || !CommonUtils.equalObjects(segmentId, readSegmentId(historyFile))) {
+                // File was compacted by somebody else
+                resetIndex();
+            }
+            readIndex(historyFile);
+        } catch (IOException e) {
+            log.error("Error reading task run history", e);
+        }
+    }
+
+    /**
+     * Rewrites history file with live records only
+     */
+    public synchronized void compact() {
+        if (!loaded || deadRecords == 0) {
+            return;
+        }
+        if (!Files.exists(getHistoryFile(false))) {
+            return;
+        }
+        try (FileChannel lockChannel = openLockChannel(); FileLock ignored = lockChannel.lock()) {
+            // Pick up runs added by other processes
+            refresh();
+            replaceHistoryFile(readRuns(index));
+        } catch (IOException e) {
+            log.error("Error compacting task run history", e);
+        }
+    }
+
+    /**
+     * Writes runs into a new file and replaces the history file with it. Must be called under the file lock.
+     */
+    private void replaceHistoryFile(@NotNull List<TaskRunImpl> runs) throws IOException {
+        Path historyFile = getHistoryFile(true);
+        Path tempFile = historyFile.resolveSibling(HISTORY_FILE_NAME + ".tmp");
+        try {
+            writeHistory(tempFile, runs);
+            Files.move(tempFile, historyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        resetIndex();
+        readIndex(historyFile);
+    }
+
+    /**
+     * Opens the lock file. Appends and file replacement are done under an exclusive lock of this file,
+     * the history file itself can't be locked because compaction replaces it.
+     */
+    @NotNull
+    private FileChannel openLockChannel() throws IOException {
+        Path lockFile = folderProvider.apply(true).resolve(LOCK_FILE_NAME);
+        return FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Appends removal record. Must be called under the file lock.
+     */
+    private boolean appendRemoval(@NotNull String runId) {
+        IndexEntry entry = indexById.get(runId);
+        if (entry == null) {
+            return false;
+        }
+        if (appendRecord(new RunRecord(null, runId)) == null) {
+            return false;
+        }
+        indexById.remove(runId);
+        index.remove(entry);
+        // Both the run record and the removal record are dead now
+        deadRecords += 2;
+        if (lastRun != null && lastRun.getId().equals(runId)) {
+            lastRun = null;
+        }
+        return true;
+    }
+
+    private void loadIfNeeded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        resetIndex();
+        Path historyFile = getHistoryFile(false);
+        try {
+            if (!Files.exists(historyFile)) {
+                migrateLegacyStatistics(historyFile);
+            }
+            if (Files.exists(historyFile)) {
+                readIndex(historyFile);
+            }
+        } catch (IOException e) {
+            log.error("Error reading task run history", e);
+        }
+    }
+
+    /**
+     * Converts run statistics of older versions (a single JSON file which was rewritten after each run).
+     * The old file is renamed, so it is not migrated again once the history is cleared
+     * but is still there for older versions.
+     */
+    private void migrateLegacyStatistics(@NotNull Path historyFile) throws IOException {
+        Path metaFile = historyFile.resolveSibling(TaskImpl.META_FILE_NAME);
+        if (!Files.exists(metaFile)) {
+            return;
+        }
+        List<TaskRunImpl> runs = TaskUtils.loadRunStatistics(metaFile, gson);
+        writeHistory(historyFile, runs);
+        Files.move(metaFile, historyFile.resolveSibling(LEGACY_BACKUP_FILE_NAME), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void resetIndex() {
+        index.clear();
+        indexById.clear();
+        segmentId = null;
+        fileLength = 0;
+        deadRecords = 0;
+        lastRun = null;
+    }
+
+    /**
+     * Reads records from the current file length till the end of the file
+     */
+    private void readIndex(@NotNull Path historyFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(historyFile, StandardOpenOption.READ)) {
+            channel.position(fileLength);
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel));
+            ByteArrayOutputStream line = new ByteArrayOutputStream(1024);
+            long offset = fileLength;
+            long lineStart = offset;
+            for (int b = in.read(); b != -1; b = in.read()) {
+                offset++;
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                processRecord(line.toString(StandardCharsets.UTF_8), lineStart, (int) (offset - lineStart));
+                line.reset();
+                lineStart = offset;
+            }
+            // Incomplete tail (concurrent write or crash) will be read on the next refresh
+            fileLength = lineStart;
+        }
+    }
+
+    private void processRecord(@NotNull String line, long offset, int length) {
+        if (line.isBlank()) {
+            return;
+        }
+        RunRecord record;
+        try {
+            record = gson.fromJson(line, RunRecord.class);
+        } catch (Exception e) {
+            log.debug("Bad task run history record at " + offset + ": " + e.getMessage());
+            deadRecords++;
+            return;
+        }
+        if (record == null) {
+            deadRecords++;
+        } else if (record.segment != null) {
+            segmentId = record.segment;
+        } else if (record.run != null) {
+            IndexEntry entry = new IndexEntry(record.run, offset, length);
+            IndexEntry prevEntry = indexById.put(entry.id, entry);
+            if (prevEntry != null) {
+                index.set(index.indexOf(prevEntry), entry);
+                deadRecords++;
+            } else {
+                index.add(entry);
+            }
+            lastRun = null;
+        } else if (record.removed != null) {
+            IndexEntry entry = indexById.remove(record.removed);
+            if (entry != null) {
+                index.remove(entry);
+                deadRecords++;
+            }
+            deadRecords++;
+            lastRun = null;
+        }
+    }
+
+    /**
+     * Appends record to the history file. Must be called under the file lock after reading records of other processes.
+     * Returns index entry of the written record or null on error.
+     */
+    @Nullable
+    private IndexEntry appendRecord(@NotNull RunRecord record) {
+        Path historyFile = getHistoryFile(true);
+        try {
+            if (fileLength == 0) {
+                writeHistory(historyFile, List.of());
+                readIndex(historyFile);
+            }
+            byte[] data = (gson.toJson(record) + "\n").getBytes(StandardCharsets.UTF_8);
+            long offset;
+            try (FileChannel channel = FileChannel.open(historyFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                offset = channel.size();
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            fileLength = offset + data.length;
+            return record.run != null ?
+                new IndexEntry(record.run, offset, data.length) :
+                new IndexEntry(CommonUtils.notEmpty(record.removed), 0, offset, data.length, true);
+        } catch (IOException e) {
+            log.error("Error writing task run history", e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes new history file with a new segment identifier
+     */
+    private void writeHistory(@NotNull Path file, @NotNull List<TaskRunImpl> runs) throws IOException {
+        RunRecord header = new RunRecord(null, null);
+        header.segment = Long.toString(System.currentTimeMillis(), 36) + "-" + Integer.toString(new Random().nextInt(), 36);
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(gson.toJson(header));
+            writer.write('\n');
+            for (TaskRunImpl run : runs) {
+                writer.write(gson.toJson(new RunRecord(run, null)));
+                writer.write('\n');
+            }
+        }
+    }
+
+    @Nullable
+    private String readSegmentId(@NotNull Path historyFile) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(historyFile, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            RunRecord record = line == null ? null : gson.fromJson(line, RunRecord.class);
+            return record == null ? null : record.segment;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads runs selected from the index. Selection and reading are done under the file lock after refresh,
+     * otherwise record positions may be invalidated by a compaction of another process.
+     */
+    @NotNull
+    private List<TaskRunImpl> readRunsLocked(@NotNull Function<List<IndexEntry>, List<IndexEntry>> selector) {
+        if (!Files.exists(getHistoryFile(false))) {
+            resetIndex();
+            return new ArrayList<>();
+        }
+        try (FileChannel lockChannel = openLockChannel(); FileLock ignored = lockChannel.lock()) {
+            refresh();
+            return readRuns(selector.apply(index));
+        } catch (IOException e) {
+            log.error("Error reading task run history", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Reads runs by index entries. Must be called under the file lock.
+     */
+    @NotNull
+    private List<TaskRunImpl> readRuns(@NotNull List<IndexEntry> entries) {
+        if (entries.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<TaskRunImpl> runs = new ArrayList<>(entries.size());
+        try (FileChannel channel = FileChannel.open(getHistoryFile(false), StandardOpenOption.READ)) {
+            for (IndexEntry entry : entries) {
+                TaskRunImpl run = readRun(channel, entry);
+                if (run != null) {
+                    runs.add(run);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error reading task run history", e);
+        }
+        return runs;
+    }
+
+    @Nullable
+    private TaskRunImpl readRun(@NotNull FileChannel channel, @NotNull IndexEntry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, entry.offset + buffer.position()) < 0) {
+                log.debug("Task run history record " + entry.id + " is truncated");
+                return null;
+            }
+        }
+        try {
+            RunRecord record = gson.fromJson(new String(buffer.array(), StandardCharsets.UTF_8), RunRecord.class);
+            return record == null ? null : record.run;
+        } catch (Exception e) {
+            log.debug("Bad task run history record " + entry.id + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        if (deadRecords < MIN_DEAD_RECORDS_TO_COMPACT || deadRecords < index.size()) {
+            return;
+        }
+        if (compactJob == null) {
+            compactJob = new CompactJob();
+        }
+        compactJob.schedule(1000);
+    }
+
+    @NotNull
+    private Path getHistoryFile(boolean create) {
+        return folderProvider.apply(create).resolve(HISTORY_FILE_NAME);
+    }
+
+    private static class IndexEntry {
+        final String id;
+        final long startTime;
+        final boolean success;
+        final long offset;
+        final int length;
+
+        IndexEntry(@NotNull TaskRunImpl run, long offset, int length) {
+            this(run.getId(), run.getStartTime().getTime(), offset, length, run.isRunSuccess());
+        }
+
+        IndexEntry(@NotNull String id, long startTime, long offset, int length, boolean success) {
+            this.id = id;
+            this.startTime = startTime;
+            this.success = success;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private static class RunRecord {
+        // Header record
+        String segment;
+        TaskRunImpl run;
+        // Identifier of the removed run
+        String removed;
+
+        RunRecord(@Nullable TaskRunImpl run, @Nullable String removed) {
+            this.run = run;
+            this.removed = removed;
+        }
+    }
+
+    private class CompactJob extends AbstractJob {
+        CompactJob() {
+            super("Compact task run history");
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            compact();
+            return Status.OK_STATUS;
+        }
+    }
+
+}
@@ -86,6 +86,7 @@ public class DatabaseTasksView extends ViewPart implements DBTTaskListener {
     public static final String GROUP_TASK_CMD_ID = "org.jkiss.dbeaver.task.group";
 
     private static final ArrayList<Object> EMPTY_TASK_RUN_LIST = new ArrayList<>();
+    private static final int MAX_TASK_RUNS_TO_SHOW = 1000;
 
     private DatabaseTasksTree tasksTree;
 
@@ -420,11 +421,11 @@ public class DatabaseTasksView extends ViewPart implements DBTTaskListener {
             taskRunViewer.setInput(EMPTY_TASK_RUN_LIST);
         } else {
             selectedTask.refreshRunStatistics();
-            DBTTaskRun[] runs = selectedTask.getAllRuns();
+            // Latest runs go first
+            DBTTaskRun[] runs = selectedTask.findRuns(null, null, null, MAX_TASK_RUNS_TO_SHOW);
             if (ArrayUtils.isEmpty(runs)) {
                 taskRunViewer.setInput(EMPTY_TASK_RUN_LIST);
             } else {
-                Arrays.sort(runs, Comparator.comparing(DBTTaskRun::getStartTime).reversed());
                 taskRunViewer.setInput(Arrays.asList(runs));
             }
         }
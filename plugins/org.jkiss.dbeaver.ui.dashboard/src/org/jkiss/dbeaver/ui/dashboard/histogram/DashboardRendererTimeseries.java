@@ -34,6 +34,8 @@ import org.jkiss.dbeaver.model.dashboard.DBDashboardInterval;
 import org.jkiss.dbeaver.model.dashboard.DBDashboardValueType;
 import org.jkiss.dbeaver.model.dashboard.data.DashboardDataset;
 import org.jkiss.dbeaver.model.dashboard.data.DashboardDatasetRow;
+import org.jkiss.dbeaver.model.dashboard.data.DashboardTimeSeries;
+import org.jkiss.dbeaver.model.dashboard.data.DashboardTimeSeriesStore;
 import org.jkiss.dbeaver.model.dashboard.registry.DashboardItemConfiguration;
 import org.jkiss.dbeaver.ui.AWTUtils;
 import org.jkiss.dbeaver.ui.UIStyles;
@@ -59,6 +61,11 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
     private static final Font DEFAULT_TICK_LABEL_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 8);
     public static final int MAX_TIMESERIES_RANGE_LABELS = 25;
 
+    private static final String DATA_LAST_ROW = "last_row";
+    private static final String DATA_SERIES_STORE = "series_store";
+    // Used when neither chart width nor max items limit is known
+    private static final int DEFAULT_MAX_POINTS = DashboardTimeSeries.DEFAULT_RAW_CAPACITY;
+
     @Override
     public DashboardChartComposite createDashboard(@NotNull Composite composite, @NotNull DashboardItemContainer container, @NotNull DashboardContainer viewContainer, @NotNull Point preferredSize) {
         DashboardItemConfiguration dashboard = container.getItemDescriptor();
@@ -195,9 +202,11 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
         TimeSeriesCollection chartDataset = (TimeSeriesCollection) plot.getDataset();
 
         DashboardItemConfiguration dashboard = container.getItemDescriptor();
+        DashboardTimeSeriesStore seriesStore = getSeriesStore(container, chartComposite);
         if (dashboard.getFetchType() == DBDashboardFetchType.stats) {
             // Clean previous data before stats update
             chartDataset.removeAllSeries();
+            seriesStore.clear();
         }
 
         long currentTime = System.currentTimeMillis();
@@ -206,7 +215,7 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
             secondsPassed = 1;
         }
 
-        DashboardDatasetRow lastRow = (DashboardDatasetRow) chartComposite.getData("last_row");
+        DashboardDatasetRow lastRow = (DashboardDatasetRow) chartComposite.getData(DATA_LAST_ROW);
 
         List<DashboardDatasetRow> rows = dataset.getRows();
 
@@ -242,7 +251,7 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
                         }
                         Object value = row.getValues()[i];
                         if (value instanceof Number) {
-                            series.addOrUpdate(makeDataItem(container, row), (Number) value);
+                            seriesStore.addValue(seriesName, row.getTimestamp().getTime(), ((Number) value).doubleValue());
                         }
                     }
                     break;
@@ -262,32 +271,73 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
                                 if (dashboard.getValueType() != DBDashboardValueType.decimal) {
                                     deltaValue = Math.round(deltaValue);
                                 }
-                                series.addOrUpdate(
-                                    makeDataItem(container, row),
-                                    deltaValue);
+                                seriesStore.addValue(seriesName, row.getTimestamp().getTime(), deltaValue);
                             }
                         }
                     }
                     break;
                 }
             }
+            refreshSeriesData(container, chartComposite, seriesStore, seriesName, series);
         }
 
         if (!rows.isEmpty()) {
-            chartComposite.setData("last_row", rows.get(rows.size() - 1));
+            chartComposite.setData(DATA_LAST_ROW, rows.get(rows.size() - 1));
+        }
+    }
+
+    /**
+     * Fills chart series from the compact store. Only as many points as fit in the chart width are added.
+     */
+    private void refreshSeriesData(
+        @NotNull DashboardItemContainer container,
+        @NotNull DashboardChartComposite chartComposite,
+        @NotNull DashboardTimeSeriesStore seriesStore,
+        @NotNull String seriesName,
+        @NotNull TimeSeries series
+    ) {
+        int maxPoints = chartComposite.getSize().x;
+        int maxItems = container.getDashboardMaxItems();
+        if (maxPoints <= 0 || (maxItems > 0 && maxPoints > maxItems)) {
+            maxPoints = maxItems;
+        }
+        if (maxPoints <= 0) {
+            maxPoints = DEFAULT_MAX_POINTS;
+        }
+        DashboardTimeSeries.Points points = seriesStore.getPoints(seriesName, Long.MIN_VALUE, Long.MAX_VALUE, maxPoints);
+
+        // Disable notifications to avoid chart redraw on each item
+        series.setNotify(false);
+        try {
+            series.clear();
+            for (int i = 0; i < points.size(); i++) {
+                series.addOrUpdate(makeDataItem(container, points.getTime(i)), points.getValue(i));
+            }
+        } finally {
+            series.setNotify(true);
+        }
+    }
+
+    @NotNull
+    private DashboardTimeSeriesStore getSeriesStore(@NotNull DashboardItemContainer container, @NotNull DashboardChartComposite chartComposite) {
+        DashboardTimeSeriesStore seriesStore = (DashboardTimeSeriesStore) chartComposite.getData(DATA_SERIES_STORE);
+        if (seriesStore == null) {
+            seriesStore = new DashboardTimeSeriesStore(container.getDashboardMaxItems(), container.getDashboardMaxAge());
+            chartComposite.setData(DATA_SERIES_STORE, seriesStore);
         }
+        return seriesStore;
     }
 
-    private RegularTimePeriod makeDataItem(DashboardItemContainer container, DashboardDatasetRow row) {
+    private RegularTimePeriod makeDataItem(DashboardItemContainer container, long time) {
         return switch (container.getItemDescriptor().getInterval()) {
-            case second -> new FixedMillisecond(row.getTimestamp().getTime());
-            case minute -> new Minute(row.getTimestamp());
-            case hour -> new Hour(row.getTimestamp());
-            case day -> new Day(row.getTimestamp());
-            case week -> new Week(row.getTimestamp());
-            case month -> new Month(row.getTimestamp());
-            case year -> new Year(row.getTimestamp());
-            default -> new FixedMillisecond(row.getTimestamp().getTime());
+            case second -> new FixedMillisecond(time);
+            case minute -> new Minute(new Date(time));
+            case hour -> new Hour(new Date(time));
+            case day -> new Day(new Date(time));
+            case week -> new Week(new Date(time));
+            case month -> new Month(new Date(time));
+            case year -> new Year(new Date(time));
+            default -> new FixedMillisecond(time);
         };
     }
 
@@ -297,6 +347,10 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
         if (plot != null) {
             TimeSeriesCollection chartDataset = (TimeSeriesCollection) plot.getDataset();
             chartDataset.removeAllSeries();
+            DashboardTimeSeriesStore seriesStore = (DashboardTimeSeriesStore) getChartComposite(container).getData(DATA_SERIES_STORE);
+            if (seriesStore != null) {
+                seriesStore.clear();
+            }
         }
     }
 
@@ -316,6 +370,10 @@ public class DashboardRendererTimeseries extends DashboardRendererDatabaseChart
 
                 chartComposite.getChart().getLegend().setVisible(dashboardConfig.isLegendVisible());
 
+                DashboardTimeSeriesStore seriesStore = (DashboardTimeSeriesStore) chartComposite.getData(DATA_SERIES_STORE);
+                if (seriesStore != null) {
+                    seriesStore.setLimits(dashboardConfig.getMaxItems(), dashboardConfig.getMaxAge());
+                }
                 TimeSeriesCollection chartDataset = (TimeSeriesCollection) plot.getDataset();
                 for (int i = 0; i < chartDataset.getSeriesCount(); i++) {
                     TimeSeries series = chartDataset.getSeries(i);
@@ -27,6 +27,7 @@ import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.*;
+import org.jkiss.dbeaver.model.data.local.LocalQueryEngine;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.trace.DBCTrace;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
@@ -59,6 +60,11 @@ public class ResultSetModel {
 
     // Data
     private List<ResultSetRow> curRows = new ArrayList<>();
+    // Rows hidden by client side filter
+    private final List<ResultSetRow> filteredOutRows = new ArrayList<>();
+    // Engine is reused while rows and their values are the same, so column sort indexes are built once
+    private LocalQueryEngine<ResultSetRow, DBDAttributeBinding> localQueryEngine;
+    private List<ResultSetRow> localQueryRows;
     private Long totalRowCount = null;
     private int changesCount = 0;
     private volatile boolean hasData = false;
@@ -519,6 +525,7 @@ public class ResultSetModel {
             valueToEdit = value;
         }
         row.values[rootIndex] = valueToEdit;
+        resetLocalQueryEngine();
 
         if (updateChanges && row.getState() == ResultSetRow.STATE_NORMAL) {
             changesCount++;
@@ -828,9 +835,10 @@ public class ResultSetModel {
     void appendData(@NotNull List<Object[]> rows, boolean resetOldRows) {
         if (resetOldRows) {
             curRows.clear();
+            filteredOutRows.clear();
         }
         int rowCount = rows.size();
-        int firstRowNum = curRows.size();
+        int firstRowNum = curRows.size() + filteredOutRows.size();
         List<ResultSetRow> newRows = new ArrayList<>(rowCount);
         for (int i = 0; i < rowCount; i++) {
             newRows.add(
@@ -844,7 +852,9 @@ public class ResultSetModel {
     void clearData() {
         // Refresh all rows
         this.curRows = new ArrayList<>();
+        this.filteredOutRows.clear();
         this.totalRowCount = null;
+        resetLocalQueryEngine();
         this.singleSourceEntity = null;
 
         this.hasData = false;
@@ -934,10 +944,16 @@ public class ResultSetModel {
                 row.setRowNumber(row.getRowNumber() + delta);
             }
         }
+        for (ResultSetRow row : filteredOutRows) {
+            if (row.getRowNumber() >= relative.getRowNumber()) {
+                row.setRowNumber(row.getRowNumber() + delta);
+            }
+        }
     }
 
     void releaseAllData() {
-        final List<ResultSetRow> oldRows = curRows;
+        final List<ResultSetRow> oldRows = new ArrayList<>(curRows);
+        oldRows.addAll(filteredOutRows);
         // Cleanup in separate job.
         // Sometimes model cleanup takes much time (e.g. freeing LOB values)
         // So let's do it in separate job to avoid UI locking
@@ -1069,47 +1085,105 @@ public class ResultSetModel {
     }
 
     public void resetOrdering(@NotNull DBDAttributeBinding columnElement) {
-        final boolean hasOrdering = dataFilter.hasOrdering();
+        sortLocally();
+    }
 
+    private void sortLocally() {
         // First sort in original order to reset multi-column orderings
         curRows.sort(Comparator.comparingInt(ResultSetRow::getRowNumber));
 
-        if (hasOrdering) {
+        if (dataFilter.hasOrdering()) {
             // Sort locally
-            final List<DBDAttributeConstraint> orderConstraints = dataFilter.getOrderConstraints();
-            curRows.sort((row1, row2) -> {
-                int result = 0;
-                for (DBDAttributeConstraint co : orderConstraints) {
-                    final DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
-                    if (binding == null) {
-                        continue;
-                    }
-                    Object cell1 = getCellValue(new ResultSetCellLocation(binding, row1));
-                    Object cell2 = getCellValue(new ResultSetCellLocation(binding, row2));
-                    Comparator<Object> comparator = columnElement.getValueHandler().getComparator();
-                    if (comparator != null) {
-                        result = comparator.compare(cell1, cell2);
-                    } else if (cell1 instanceof String && cell2 instanceof String) {
-                    	result = (cell1.toString()).compareToIgnoreCase(cell2.toString());
-                    } else {
-                    	result = DBUtils.compareDataValues(cell1, cell2);
-                    }
-                          
-                    if (co.isOrderDescending()) {
-                        result = -result;
-                    }
-                    if (result != 0) {
-                        break;
-                    }
+            List<LocalQueryEngine.SortKey<DBDAttributeBinding>> sortKeys = new ArrayList<>();
+            for (DBDAttributeConstraint co : dataFilter.getOrderConstraints()) {
+                final DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
+                if (binding != null) {
+                    sortKeys.add(new LocalQueryEngine.SortKey<>(
+                        binding,
+                        co.isOrderDescending(),
+                        binding.getValueHandler().getComparator()));
                 }
-                return result;
-            });
+            }
+            List<ResultSetRow> sortedRows = getLocalQueryEngine().sort(sortKeys);
+            curRows.clear();
+            curRows.addAll(sortedRows);
         }
         for (int i = 0; i < curRows.size(); i++) {
             curRows.get(i).setVisualNumber(i);
         }
     }
 
+    /**
+     * Applies current data filter conditions and ordering to fetched rows.
+     * Rows hidden by the previous local filter are restored first.
+     */
+    void filterLocally() {
+        if (!filteredOutRows.isEmpty()) {
+            curRows.addAll(filteredOutRows);
+            filteredOutRows.clear();
+            curRows.sort(Comparator.comparingInt(ResultSetRow::getRowNumber));
+        }
+        if (dataFilter.hasConditions()) {
+            List<ResultSetRow> matchingRows = getLocalQueryEngine().filter(
+                dataFilter,
+                constraint -> getAttributeBinding(constraint.getAttribute()));
+            if (matchingRows.size() != curRows.size()) {
+                Set<ResultSetRow> matchingSet = Collections.newSetFromMap(new IdentityHashMap<>());
+                matchingSet.addAll(matchingRows);
+                for (ResultSetRow row : curRows) {
+                    if (!matchingSet.contains(row)) {
+                        filteredOutRows.add(row);
+                    }
+                }
+                curRows.clear();
+                curRows.addAll(matchingRows);
+            }
+        }
+        sortLocally();
+    }
+
+    /**
+     * Returns number of fetched rows hidden by client side filter
+     */
+    public int getFilteredOutRowCount() {
+        return filteredOutRows.size();
+    }
+
+    /**
+     * Returns query engine over currently visible rows.
+     * The same engine is returned until visible rows or their values are changed.
+     */
+    @NotNull
+    public LocalQueryEngine<ResultSetRow, DBDAttributeBinding> getLocalQueryEngine() {
+        if (localQueryEngine == null || !isSameRows(localQueryRows, curRows)) {
+            localQueryRows = new ArrayList<>(curRows);
+            localQueryEngine = new LocalQueryEngine<>(
+                localQueryRows,
+                (row, attribute) -> getCellValue(attribute, row));
+        }
+        return localQueryEngine;
+    }
+
+    /**
+     * Drops cached query engine. Must be called when row values are changed outside of the model.
+     */
+    void resetLocalQueryEngine() {
+        localQueryEngine = null;
+        localQueryRows = null;
+    }
+
+    private static boolean isSameRows(@NotNull List<ResultSetRow> rows1, @NotNull List<ResultSetRow> rows2) {
+        if (rows1.size() != rows2.size()) {
+            return false;
+        }
+        for (int i = 0; i < rows1.size(); i++) {
+            if (rows1.get(i) != rows2.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void fillVisibleAttributes() {
         this.visibleAttributes.clear();
 
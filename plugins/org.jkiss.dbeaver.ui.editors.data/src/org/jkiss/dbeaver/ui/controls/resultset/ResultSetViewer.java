@@ -53,6 +53,7 @@ import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.data.*;
+import org.jkiss.dbeaver.model.data.local.LocalQueryEngine;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.local.StatResultSet;
@@ -2366,6 +2367,15 @@ public class ResultSetViewer extends Viewer
         }
     }
 
+    private void filterLocally(@NotNull DBDDataFilter filter) {
+        this.rejectChanges();
+        this.model.setDataFilter(filter);
+        this.model.filterLocally();
+        this.getActivePresentation().refreshData(true, false, true);
+        this.updateFiltersText();
+        this.updateStatusMessage();
+    }
+
     private void reorderLocally(DBDAttributeBinding columnElement)
     {
         this.rejectChanges();
@@ -3920,6 +3930,13 @@ public class ResultSetViewer extends Viewer
         if (!checkForChanges()) {
             return;
         }
+        if (ResultSetUtils.getOrderingMode(this) == ResultSetUtils.OrderingMode.CLIENT_SIDE &&
+            model.hasData() && !isHasMoreData() && LocalQueryEngine.canFilter(filter))
+        {
+            // All rows are fetched, filter them without re-reading from the server
+            filterLocally(filter);
+            return;
+        }
 
         DBSDataContainer dataContainer = getDataContainer();
         if (dataContainer != null) {
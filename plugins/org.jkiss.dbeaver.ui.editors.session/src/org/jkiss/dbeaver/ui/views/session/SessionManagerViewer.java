@@ -17,6 +17,8 @@
 package org.jkiss.dbeaver.ui.views.session;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.IAction;
 import org.eclipse.jface.action.IContributionManager;
@@ -52,6 +54,7 @@ import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.plan.DBCQueryPlanner;
 import org.jkiss.dbeaver.model.preferences.DBPPropertyDescriptor;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.load.DatabaseLoadService;
 import org.jkiss.dbeaver.model.sql.SQLQuery;
@@ -76,6 +79,7 @@ import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.lang.reflect.InvocationTargetException;
+import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -87,6 +91,10 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
 {
     private static final Log log = Log.getLog(SessionManagerViewer.class);
 
+    // Activity summary covers the last hour
+    private static final long ACTIVITY_SUMMARY_PERIOD = 60 * 60 * 1000;
+    private static final long HISTORY_SAMPLE_INTERVAL = 5000;
+
     private final IWorkbenchPart workbenchPart;
     private final DBAServerSessionManager<SESSION_TYPE> sessionManager;
     private final SessionListControl sessionTable;
@@ -111,6 +119,10 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
     private Object selectedPlanElement;
     private final CTabFolder detailsFolder;
 
+    private final DBAServerSessionHistory sessionHistory = new DBAServerSessionHistory();
+    private final StyledText activityText;
+    private SessionSamplerJob samplerJob;
+
     protected SessionManagerViewer(IWorkbenchPart part, Composite parent, final DBAServerSessionManager<SESSION_TYPE> sessionManager) {
         this.workbenchPart = part;
         this.sessionManager = sessionManager;
@@ -223,6 +235,20 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
                     }
                 }
 
+                {
+                    // Filled from the session history on each refresh, doesn't query the server
+                    activityText = new StyledText(detailsFolder, SWT.READ_ONLY | SWT.V_SCROLL | SWT.H_SCROLL);
+                    activityText.setForeground(UIStyles.getDefaultTextForeground());
+                    activityText.setBackground(UIStyles.getDefaultTextBackground());
+                    activityText.setFont(UIUtils.getMonospaceFont());
+
+                    CTabItem activityItem = new CTabItem(detailsFolder, SWT.NONE);
+                    activityItem.setText(SessionEditorMessages.viewer_details_item_activity);
+                    activityItem.setImage(DBeaverIcons.getImage(UIIcon.CHART_LINE));
+                    activityItem.setToolTipText(SessionEditorMessages.viewer_details_item_activity_tip);
+                    activityItem.setControl(activityText);
+                }
+
                 detailsFolder.setSelection(detailsItem);
                 detailsFolder.addSelectionListener(new SelectionAdapter() {
                     @Override
@@ -341,6 +367,7 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
 
     public void dispose()
     {
+        setHistorySamplingEnabled(false);
         sessionTable.disposeControl();
         UIUtils.dispose(boldFont);
     }
@@ -387,6 +414,67 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
         refreshControl.scheduleAutoRefresh(false);
     }
 
+    /**
+     * Session activity history. It is filled on each sessions refresh (manual or automatic)
+     * or by the background sampler if it is enabled.
+     */
+    @NotNull
+    public DBAServerSessionHistory getSessionHistory() {
+        return sessionHistory;
+    }
+
+    public boolean isHistorySamplingEnabled() {
+        return samplerJob != null;
+    }
+
+    /**
+     * Enables background sessions sampling. Sampler reads sessions list periodically
+     * and records activity history without refreshing the sessions table. It is disabled by default.
+     */
+    public void setHistorySamplingEnabled(boolean enabled) {
+        if (enabled == isHistorySamplingEnabled()) {
+            return;
+        }
+        if (enabled) {
+            samplerJob = new SessionSamplerJob();
+            samplerJob.schedule();
+        } else {
+            samplerJob.stop();
+            samplerJob = null;
+        }
+    }
+
+    private void updateActivitySummary() {
+        if (activityText.isDisposed()) {
+            return;
+        }
+        List<DBAServerSessionHistory.Sample> samples = sessionHistory.getSamples(System.currentTimeMillis() - ACTIVITY_SUMMARY_PERIOD);
+        if (samples.isEmpty()) {
+            activityText.setText("");
+            return;
+        }
+        DBAServerSessionHistory.Sample last = samples.get(samples.size() - 1);
+        int maxTotal = 0, maxActive = 0;
+        for (DBAServerSessionHistory.Sample sample : samples) {
+            maxTotal = Math.max(maxTotal, sample.getTotalSessions());
+            maxActive = Math.max(maxActive, sample.getActiveSessions());
+        }
+        StringBuilder text = new StringBuilder(NLS.bind(
+            SessionEditorMessages.viewer_activity_summary_text,
+            new Object[] {
+                samples.size(),
+                new SimpleDateFormat("HH:mm:ss").format(new Date(samples.get(0).getTime())),
+                last.getTotalSessions(),
+                maxTotal,
+                last.getActiveSessions(),
+                maxActive
+            }));
+        for (Map.Entry<String, Integer> state : last.getStateCounts().entrySet()) {
+            text.append('\n').append(CommonUtils.isEmpty(state.getKey()) ? "?" : state.getKey()).append(": ").append(state.getValue());
+        }
+        activityText.setText(text.toString());
+    }
+
     public void alterSessions(final List<SESSION_TYPE> sessions, Map<String, Object> options) {
         sessionTable.createAlterService(sessions, options).schedule();
     }
@@ -504,6 +592,45 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
                     refreshSessions();
                 }
             });
+            contributionManager.add(new Action(SessionEditorMessages.viewer_session_manager_record_history_action, IAction.AS_CHECK_BOX) {
+                {
+                    setImageDescriptor(DBeaverIcons.getImageDescriptor(UIIcon.CHART_LINE));
+                    setToolTipText(SessionEditorMessages.viewer_session_manager_record_history_tip);
+                    setChecked(isHistorySamplingEnabled());
+                }
+
+                @Override
+                public void run() {
+                    setHistorySamplingEnabled(isChecked());
+                }
+            });
+        }
+
+        /**
+         * Checks whether any visible property of the session has changed
+         */
+        private boolean isSessionChanged(
+            @NotNull Collection<DBPPropertyDescriptor> properties,
+            @NotNull SESSION_TYPE oldSession,
+            @NotNull SESSION_TYPE newSession
+        ) {
+            if (!CommonUtils.equalObjects(oldSession.getActiveQuery(), newSession.getActiveQuery())) {
+                return true;
+            }
+            for (DBPPropertyDescriptor property : properties) {
+                if (property instanceof ObjectPropertyDescriptor objectProperty) {
+                    try {
+                        Object oldValue = objectProperty.readValue(oldSession, null, true);
+                        Object newValue = objectProperty.readValue(newSession, null, true);
+                        if (!CommonUtils.equalObjects(oldValue, newValue)) {
+                            return true;
+                        }
+                    } catch (Throwable e) {
+                        return true;
+                    }
+                }
+            }
+            return false;
         }
 
         @Override
@@ -593,7 +720,25 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
 
             @Override
             protected void afterCompleteLoading(@NotNull Collection<SESSION_TYPE> items) {
-                setListData(items, false, false, true);
+                if (!isHistorySamplingEnabled()) {
+                    // Sampler records samples at regular intervals
+                    sessionHistory.addSample(System.currentTimeMillis(), items);
+                }
+                updateActivitySummary();
+                Collection<SESSION_TYPE> currentItems = getListData();
+                if (CommonUtils.isEmpty(currentItems)) {
+                    setListData(items, false, false, true);
+                    return;
+                }
+                // Update changed rows only
+                Collection<DBPPropertyDescriptor> properties = getAllProperties();
+                DBAServerSessionDelta<SESSION_TYPE> delta = DBAServerSessionDelta.compute(
+                    currentItems,
+                    items,
+                    (oldSession, newSession) -> isSessionChanged(properties, oldSession, newSession));
+                if (!delta.isEmpty()) {
+                    updateListData(delta.getAdded(), delta.getRemoved(), delta.getUpdated());
+                }
             }
         }
     }
@@ -626,6 +771,42 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
         }
     }
 
+    private class SessionSamplerJob extends AbstractJob {
+
+        private volatile boolean stopped;
+
+        SessionSamplerJob() {
+            super("Sample server sessions");
+            setSystem(true);
+            setUser(false);
+        }
+
+        void stop() {
+            stopped = true;
+            cancel();
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            if (stopped || monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+            try {
+                Collection<SESSION_TYPE> sessions = sessionTable.loadSessions(monitor);
+                sessionHistory.addSample(System.currentTimeMillis(), sessions);
+                UIUtils.asyncExec(SessionManagerViewer.this::updateActivitySummary);
+            } catch (InvocationTargetException e) {
+                log.debug("Error sampling server sessions: " + e.getTargetException().getMessage());
+            } catch (InterruptedException e) {
+                return Status.CANCEL_STATUS;
+            }
+            if (!stopped) {
+                schedule(HISTORY_SAMPLE_INTERVAL);
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
     private class SessionDetailsLoadService extends DatabaseLoadService<Collection<DBPObject>> {
 
         private DBAServerSessionDetails sessionDetails;
@@ -74,6 +74,13 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
             new ObjectsLoadVisualizer());
     }
 
+    /**
+     * Reads sessions in the current thread
+     */
+    Collection<SESSION_TYPE> loadSessions(DBRProgressMonitor monitor) throws InvocationTargetException, InterruptedException {
+        return new LoadSessionsService().evaluate(monitor);
+    }
+
     LoadingJob<Void> createAlterService(List<SESSION_TYPE> sessions, Map<String, Object> options)
     {
         return LoadingJob.createService(
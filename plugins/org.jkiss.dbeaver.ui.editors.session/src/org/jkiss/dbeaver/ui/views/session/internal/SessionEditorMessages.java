@@ -35,6 +35,11 @@ public class SessionEditorMessages extends NLS {
     public static String viewer_session_manager_error_opening_editor_title;
     public static String viewer_session_manager_error_opening_editor_message;
     public static String viewer_session_manager_refresh_sessions_action;
+    public static String viewer_session_manager_record_history_action;
+    public static String viewer_session_manager_record_history_tip;
+    public static String viewer_details_item_activity;
+    public static String viewer_details_item_activity_tip;
+    public static String viewer_activity_summary_text;
 
     static {
         // initialize resource bundle
@@ -67,6 +67,7 @@ import org.jkiss.dbeaver.runtime.qm.DefaultEventFilter;
 import org.jkiss.dbeaver.ui.*;
 import org.jkiss.dbeaver.ui.controls.ProgressLoaderVisualizer;
 import org.jkiss.dbeaver.ui.controls.TableColumnSortListener;
+import org.jkiss.dbeaver.ui.dialogs.DialogUtils;
 import org.jkiss.dbeaver.ui.editors.TextEditorUtils;
 import org.jkiss.dbeaver.ui.editors.sql.SQLEditor;
 import org.jkiss.dbeaver.ui.editors.sql.SQLEditorUtils;
@@ -82,7 +83,12 @@ import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.LongKeyMap;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.List;
@@ -814,6 +820,14 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
                 }
             };
 
+            IAction exportTopStatementsAction = new Action(ModelMessages.controls_querylog_action_export_top_statements) {
+                @Override
+                public void run() {
+                    exportTopStatements();
+                }
+            };
+            exportTopStatementsAction.setEnabled(QMUtils.getStatementStatistics() != null);
+
             boolean hasStatements = false;
             for (TableItem item : logTable.getSelection()) {
                 if (((QMEvent) item.getData()).getObject() instanceof QMMStatementExecuteInfo) {
@@ -830,6 +844,7 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
             manager.add(copyAllAction);
             manager.add(selectAllAction);
             manager.add(clearLogAction);
+            manager.add(exportTopStatementsAction);
             manager.add(ActionUtils.makeCommandContribution(site, IWorkbenchCommandConstants.FILE_REFRESH));
             //manager.add(new GroupMarker(IWorkbenchActionConstants.MB_ADDITIONS));
 
@@ -973,6 +988,26 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
         objectToItemMap.clear();
     }
 
+    private void exportTopStatements() {
+        QMStatementStatistics statistics = QMUtils.getStatementStatistics();
+        if (statistics == null) {
+            return;
+        }
+        File saveFile = DialogUtils.selectFileForSave(
+            getControl().getShell(),
+            ModelMessages.controls_querylog_action_export_top_statements,
+            new String[]{"*.csv", "*"},
+            "top-statements.csv"); //$NON-NLS-1$
+        if (saveFile == null) {
+            return;
+        }
+        try (Writer out = Files.newBufferedWriter(saveFile.toPath(), StandardCharsets.UTF_8)) {
+            QMStatementStatistics.exportCSV(out, statistics.getTopStatements(null, 0));
+        } catch (IOException e) {
+            DBWorkbench.getPlatformUI().showError("Export error", "Error exporting statement statistics", e);
+        }
+    }
+
     public void selectAll() {
         if (!logTable.isDisposed()) {
             logTable.selectAll();
@@ -44,8 +44,11 @@ import org.jkiss.dbeaver.model.connection.DBPConnectionType;
 import org.jkiss.dbeaver.model.data.DBDDataFilter;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.exec.plan.DBCQueryPlanner;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.impl.local.StatResultSet;
+import org.jkiss.dbeaver.model.impl.plan.ExecutionPlanDiff;
+import org.jkiss.dbeaver.model.impl.plan.ExecutionPlanHistory;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -570,6 +573,9 @@ public class SQLQueryJob extends DataSourceJob
             monitor.done();
         }
 
+        if (curResult.getError() == null) {
+            capturePlanOfSlowQuery(session, sqlQuery, curResult.getQueryTime());
+        }
         if (curResult.getError() != null && errorHandling != SQLScriptErrorHandling.IGNORE) {
             return false;
         }
@@ -578,6 +584,30 @@ public class SQLQueryJob extends DataSourceJob
         return true;
     }
 
+    private void capturePlanOfSlowQuery(@NotNull DBCSession session, @NotNull SQLQuery query, long queryTime) {
+        int threshold = getDataSourceContainer().getPreferenceStore().getInt(ModelPreferences.EXECUTE_PLAN_CAPTURE_THRESHOLD);
+        if (threshold <= 0 || queryTime < threshold || !query.isPlainSelect() || session.getProgressMonitor().isCanceled()) {
+            return;
+        }
+        DBCQueryPlanner planner = DBUtils.getAdapter(DBCQueryPlanner.class, session.getDataSource());
+        if (planner == null) {
+            return;
+        }
+        try {
+            // Some planners save plans in a table, do not mix it with user transaction
+            DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+            if (txnManager != null && !txnManager.isAutoCommit()) {
+                return;
+            }
+            ExecutionPlanDiff diff = ExecutionPlanHistory.getInstance().capturePlan(session, planner, query.getText());
+            if (diff != null && diff.isRegression()) {
+                log.warn("Execution plan of query [" + diff.getNewPlan().getFingerprint() + "] changed: " + diff);
+            }
+        } catch (Throwable e) {
+            log.debug("Error capturing execution plan: " + e.getMessage());
+        }
+    }
+
     private boolean shouldRecoverQuery(SQLQuery query) {
         Statement statement = query.getStatement();
         if (statement instanceof Insert ||
@@ -860,6 +890,9 @@ public class SQLQueryJob extends DataSourceJob
         DBRProgressMonitor monitor = session.getProgressMonitor();
         monitor.subTask("Fetch result set");
         DBFetchProgress fetchProgress = new DBFetchProgress(session.getProgressMonitor());
+        if (!hasLimits()) {
+            fetchProgress.enableAdaptiveFetchSize(resultSet);
+        }
 
         dataReceiver.fetchStart(session, resultSet, rsOffset, rsMaxRows);
 
@@ -294,6 +294,7 @@ public class UINavigatorMessages extends NLS {
     public static String navigator_provider_element_tooltip_datasource_read_only;
     public static String navigator_provider_element_tooltip_datasource_provided;
     public static String navigator_provider_element_tooltip_datasource_error;
+    public static String navigator_provider_element_tooltip_datasource_health;
 
     static {
         // initialize resource bundle
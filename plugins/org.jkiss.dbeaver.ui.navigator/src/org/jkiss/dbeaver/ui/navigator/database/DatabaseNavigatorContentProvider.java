@@ -166,6 +166,18 @@ public class DatabaseNavigatorContentProvider implements IStructuredContentProvi
 
     @NotNull
     private static Object[] getFinalNodes(@NotNull DBNNode parent, @NotNull DBNNode[] children) {
+        if (parent instanceof DBNDatabaseNode dbNode && dbNode.isChildrenPaged()) {
+            // Model already loaded children partially
+            final List<Object> nodes = new ArrayList<>(children.length + 2);
+            if (parent.isFiltered()) {
+                nodes.add(new TreeNodeFilterConfigurator(parent));
+            }
+            nodes.addAll(List.of(children));
+            if (dbNode.getMoreChildrenCount() > 0) {
+                nodes.add(new TreeNodeMoreChildren(dbNode));
+            }
+            return nodes.toArray();
+        }
         final int maxFetchSize = Math.max(
             NavigatorPreferences.MIN_LONG_LIST_FETCH_SIZE,
             DBWorkbench.getPlatform().getPreferenceStore().getInt(NavigatorPreferences.NAVIGATOR_LONG_LIST_FETCH_SIZE)
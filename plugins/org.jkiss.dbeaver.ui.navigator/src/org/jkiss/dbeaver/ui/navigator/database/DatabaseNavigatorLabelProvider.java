@@ -37,6 +37,7 @@ import org.jkiss.dbeaver.model.navigator.DBNResource;
 import org.jkiss.dbeaver.model.navigator.DBNUtils;
 import org.jkiss.dbeaver.model.struct.DBSWrapper;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.runtime.jobs.DataSourceHealth;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.internal.UINavigatorMessages;
@@ -237,6 +238,17 @@ public class DatabaseNavigatorLabelProvider extends ColumnLabelProvider implemen
                 if (ds.getConnectionError() != null) {
                     tooltip.add(NLS.bind(UINavigatorMessages.navigator_provider_element_tooltip_datasource_error, ds.getConnectionError()));
                 }
+                DataSourceHealth health = ds.isConnected() ? DataSourceHealth.getHealth(ds) : null;
+                if (health != null && health.getState() != DataSourceHealth.State.UNKNOWN) {
+                    tooltip.add(NLS.bind(
+                        UINavigatorMessages.navigator_provider_element_tooltip_datasource_health,
+                        new Object[] {
+                            health.getState(),
+                            health.getLastLatency(),
+                            health.getAverageLatency(),
+                            health.getMaxLatency()
+                        }));
+                }
 
                 return tooltip.toString();
 
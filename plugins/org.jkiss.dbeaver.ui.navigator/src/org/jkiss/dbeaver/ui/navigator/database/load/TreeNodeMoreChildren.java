@@ -0,0 +1,60 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.navigator.database.load;
+
+import org.eclipse.swt.graphics.Image;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.ui.DBeaverIcons;
+import org.jkiss.dbeaver.ui.UIIcon;
+import org.jkiss.dbeaver.ui.navigator.NavigatorPreferences;
+import org.jkiss.dbeaver.ui.navigator.database.DatabaseNavigatorTree;
+
+/**
+ * A special node that is shown after the loaded children of paged database node.
+ * Default action wraps the next window of children into navigator nodes.
+ */
+public class TreeNodeMoreChildren extends TreeNodeSpecial {
+
+    private static final Image IMG_MORE = DBeaverIcons.getImage(UIIcon.REFRESH);
+
+    public TreeNodeMoreChildren(@NotNull DBNDatabaseNode parent) {
+        super(parent);
+    }
+
+    @Override
+    public String getText(Object element) {
+        return "More ... (" + ((DBNDatabaseNode) getParent()).getMoreChildrenCount() + ")";
+    }
+
+    @Override
+    public Image getImage(Object element) {
+        return IMG_MORE;
+    }
+
+    @Override
+    public boolean handleDefaultAction(DatabaseNavigatorTree tree) {
+        int fetchSize = Math.max(
+            NavigatorPreferences.MIN_LONG_LIST_FETCH_SIZE,
+            DBWorkbench.getPlatform().getPreferenceStore().getInt(NavigatorPreferences.NAVIGATOR_LONG_LIST_FETCH_SIZE));
+        // Model fires structure refresh event which updates the tree
+        ((DBNDatabaseNode) getParent()).loadMoreChildren(fetchSize);
+        return true;
+    }
+
+}
@@ -573,6 +573,60 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
         setListData(items, true, false);
     }
 
+    /**
+     * Applies changes to the current list without full viewer refresh.
+     * Updated objects replace objects which are equal to them.
+     * If list is empty then it is loaded from scratch.
+     */
+    protected void updateListData(
+        @NotNull Collection<OBJECT_TYPE> added,
+        @NotNull Collection<OBJECT_TYPE> removed,
+        @NotNull Collection<OBJECT_TYPE> updated
+    ) {
+        if (CommonUtils.isEmpty(objectList) || columnController == null) {
+            setListData(added, false, false);
+            return;
+        }
+        final Control itemsControl = itemsViewer.getControl();
+        if (itemsControl.isDisposed()) {
+            return;
+        }
+        itemsControl.setRedraw(false);
+        try {
+            if (!removed.isEmpty()) {
+                Set<OBJECT_TYPE> removedSet = new HashSet<>(removed);
+                objectList.removeIf(removedSet::contains);
+            }
+            if (!updated.isEmpty()) {
+                Map<OBJECT_TYPE, OBJECT_TYPE> updatedMap = new HashMap<>();
+                for (OBJECT_TYPE object : updated) {
+                    updatedMap.put(object, object);
+                }
+                objectList.replaceAll(object -> updatedMap.getOrDefault(object, object));
+            }
+            objectList.addAll(added);
+            synchronized (lazyCache) {
+                if (!lazyCache.isEmpty()) {
+                    Set<OBJECT_TYPE> staleObjects = new HashSet<>(removed);
+                    staleObjects.addAll(updated);
+                    lazyCache.keySet().removeIf(staleObjects::contains);
+                }
+            }
+
+            if (itemsViewer instanceof AbstractTreeViewer treeViewer) {
+                treeViewer.remove(removed.toArray());
+                treeViewer.add(treeViewer.getInput(), added.toArray());
+            } else if (itemsViewer instanceof AbstractTableViewer tableViewer) {
+                tableViewer.remove(removed.toArray());
+                tableViewer.add(added.toArray());
+            }
+            itemsViewer.update(updated.toArray(), null);
+        } finally {
+            itemsControl.setRedraw(true);
+        }
+        setInfo(getItemsLoadMessage(objectList.size()));
+    }
+
     public void repackColumns() {
         if (columnController != null) {
             columnController.repackColumns();
@@ -0,0 +1,93 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+public class PostgreCopyBinaryEncoderTest {
+
+    @Test
+    public void headerAndTrailer() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PostgreCopyBinaryEncoder encoder = new PostgreCopyBinaryEncoder(new DataOutputStream(buffer));
+        encoder.writeHeader();
+        encoder.startRow(2);
+        encoder.writeValue(PostgreOid.INT4, 7);
+        encoder.writeValue(PostgreOid.TEXT, null);
+        encoder.writeTrailer();
+        Assert.assertEquals(
+            "5047434f50590aff0d0a00" + "00000000" + "00000000" +
+            "0002" + "00000004" + "00000007" + "ffffffff" +
+            "ffff",
+            HexFormat.of().formatHex(buffer.toByteArray()));
+    }
+
+    @Test
+    public void numericBase10000Digits() throws IOException {
+        // length, ndigits, weight, sign, dscale, digits
+        Assert.assertEquals("0000000e" + "0003" + "0001" + "0000" + "0003" + "0001" + "0929" + "1a7c",
+            encode(PostgreOid.NUMERIC, new BigDecimal("12345.678")));
+        Assert.assertEquals("0000000a" + "0001" + "ffff" + "4000" + "0004" + "0001",
+            encode(PostgreOid.NUMERIC, new BigDecimal("-0.0001")));
+        Assert.assertEquals("0000000a" + "0001" + "0001" + "0000" + "0000" + "0064",
+            encode(PostgreOid.NUMERIC, new BigDecimal("1000000")));
+        Assert.assertEquals("0000000c" + "0002" + "0000" + "0000" + "0002" + "0001" + "0a28",
+            encode(PostgreOid.NUMERIC, new BigDecimal("1.26")));
+        Assert.assertEquals("00000008" + "0000" + "0000" + "0000" + "0000",
+            encode(PostgreOid.NUMERIC, BigDecimal.ZERO));
+        // Negative scale is sent as integer
+        Assert.assertEquals("0000000a" + "0001" + "0001" + "0000" + "0000" + "000c",
+            encode(PostgreOid.NUMERIC, new BigDecimal("1.2E+5")));
+    }
+
+    @Test
+    public void dateEpoch() throws IOException {
+        Assert.assertEquals("00000004" + "00000000", encode(PostgreOid.DATE, LocalDate.of(2000, 1, 1)));
+        Assert.assertEquals("00000004" + "ffffffff", encode(PostgreOid.DATE, LocalDate.of(1999, 12, 31)));
+        Assert.assertEquals("00000004" + "0000016e", encode(PostgreOid.DATE, java.sql.Date.valueOf("2001-01-01")));
+    }
+
+    @Test
+    public void timestampEpoch() throws IOException {
+        Assert.assertEquals("00000008" + "0000000000000001",
+            encode(PostgreOid.TIMESTAMP, LocalDateTime.of(2000, 1, 1, 0, 0, 0, 1000)));
+        // 1970-01-01 is 946684800 seconds before PostgreSQL epoch
+        Assert.assertEquals("00000008" + "fffca2fec4c82000",
+            encode(PostgreOid.TIMESTAMP, LocalDateTime.of(1970, 1, 1, 0, 0)));
+        Assert.assertEquals("00000008" + "fffca2fec4c82000",
+            encode(PostgreOid.TIMESTAMPTZ, Instant.EPOCH));
+        Assert.assertEquals("00000008" + "0000000000000000",
+            encode(PostgreOid.TIMESTAMPTZ, Instant.parse("2000-01-01T00:00:00Z")));
+    }
+
+    private static String encode(long typeId, Object value) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        new PostgreCopyBinaryEncoder(new DataOutputStream(buffer)).writeValue(typeId, value);
+        return HexFormat.of().formatHex(buffer.toByteArray());
+    }
+
+}
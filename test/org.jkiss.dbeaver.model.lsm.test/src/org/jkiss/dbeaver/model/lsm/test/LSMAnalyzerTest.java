@@ -0,0 +1,112 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.lsm.test;
+
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.Trees;
+import org.jkiss.dbeaver.model.lsm.LSMAnalyzerParameters;
+import org.jkiss.dbeaver.model.lsm.sql.dialect.SQLStandardAnalyzer;
+import org.jkiss.dbeaver.model.lsm.sql.impl.syntax.SQLStandardParser;
+import org.jkiss.dbeaver.model.stm.STMSkippingErrorListener;
+import org.jkiss.dbeaver.model.stm.STMSource;
+import org.jkiss.dbeaver.model.stm.STMTreeRuleNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class LSMAnalyzerTest {
+
+    private static final LSMAnalyzerParameters PARAMETERS = new LSMAnalyzerParameters(
+        Map.of("\"", "\""), true, true, '?', List.of(), false);
+
+    private static final String[] QUERIES = {
+        "SELECT a, b FROM t1 WHERE a > 1 ORDER BY b",
+        "SELECT t1.a, count(*) FROM t1 JOIN t2 ON t1.id = t2.id GROUP BY t1.a HAVING count(*) > 2",
+        "SELECT * FROM (SELECT a FROM t1 UNION SELECT a FROM t2) x",
+        "SELECT a FROM WHERE",
+        "INSERT INTO t1 (a, b) VALUES (1, 'x')",
+    };
+
+    @Test
+    public void twoStageParseMatchesFullParse() {
+        LLAnalyzer analyzer = new LLAnalyzer();
+        for (String query : QUERIES) {
+            STMTreeRuleNode expected = analyzer.parseLL(query);
+            STMTreeRuleNode actual = analyzer.parseSqlQueryTree(STMSource.fromString(query), new STMSkippingErrorListener());
+            Assert.assertNotNull(actual);
+            Assert.assertEquals(query, Trees.toStringTree(expected), Trees.toStringTree(actual));
+        }
+    }
+
+    @Test
+    public void cachedTreeIsCopied() {
+        String query = "SELECT c1, c2 FROM cache_test WHERE c1 = 10";
+        STMTreeRuleNode tree1 = new SQLStandardAnalyzer(PARAMETERS).parseSqlQueryTree(STMSource.fromString(query), null);
+        Assert.assertNotNull(tree1);
+        String expected = Trees.toStringTree(tree1);
+        // Consumer changes its tree
+        tree1.removeLastChild();
+
+        STMTreeRuleNode tree2 = new SQLStandardAnalyzer(PARAMETERS).parseSqlQueryTree(STMSource.fromString(query), null);
+        Assert.assertNotNull(tree2);
+        Assert.assertNotSame(tree1, tree2);
+        Assert.assertEquals(expected, Trees.toStringTree(tree2));
+        Assert.assertEquals(tree1.getNodeName(), tree2.getNodeName());
+        Assert.assertEquals(query, tree2.getTextContent());
+    }
+
+    @Test
+    public void cachedErrorsAreReplayed() {
+        String query = "SELECT c1 FROM WHERE cache_errors";
+        List<String> errors1 = new ArrayList<>();
+        List<String> errors2 = new ArrayList<>();
+        new SQLStandardAnalyzer(PARAMETERS).parseSqlQueryTree(STMSource.fromString(query), new RecordingErrorListener(errors1));
+        new SQLStandardAnalyzer(PARAMETERS).parseSqlQueryTree(STMSource.fromString(query), new RecordingErrorListener(errors2));
+        Assert.assertFalse(errors1.isEmpty());
+        Assert.assertEquals(errors1, errors2);
+    }
+
+    private static class RecordingErrorListener extends STMSkippingErrorListener {
+        private final List<String> errors;
+
+        RecordingErrorListener(List<String> errors) {
+            this.errors = errors;
+        }
+
+        @Override
+        public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine, String msg, RecognitionException e) {
+            // Listeners may rely on the recognizer
+            errors.add(recognizer.getVocabulary().getDisplayName(((Token) offendingSymbol).getType()) + " " + line + ":" + charPositionInLine + " " + msg);
+        }
+    }
+
+    private static class LLAnalyzer extends SQLStandardAnalyzer {
+        LLAnalyzer() {
+            super(PARAMETERS);
+        }
+
+        STMTreeRuleNode parseLL(String query) {
+            SQLStandardParser parser = prepareParser(STMSource.fromString(query), new STMSkippingErrorListener());
+            return parseSqlQueryImpl(parser);
+        }
+    }
+}
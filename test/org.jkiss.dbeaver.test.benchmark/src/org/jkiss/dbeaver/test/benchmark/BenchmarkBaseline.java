@@ -0,0 +1,151 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Benchmark baseline.
+ * <p>
+ * Baseline is a JSON file which maps benchmark keys (benchmark method name followed by parameters) to the measured
+ * throughput and normalized allocation rate:
+ * <pre>
+ * {
+ *   "benchmarks": {
+ *     "org.jkiss.dbeaver.test.benchmark.DataExporterBenchmark.exportRows:format=csv": {
+ *       "mode": "thrpt", "score": 1234.5, "unit": "ops/s", "allocBytesPerOp": 4096.0
+ *     }
+ *   }
+ * }
+ * </pre>
+ * Each run writes its own results in the same format, so the baseline is updated by replacing it with the run output
+ * produced on the reference machine.
+ */
+public class BenchmarkBaseline {
+
+    private static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+    // Allocation jitter which is not considered as a regression, in bytes per operation
+    private static final double ALLOC_THRESHOLD = 64;
+
+    public static class Entry {
+        String mode;
+        double score;
+        String unit;
+        Double allocBytesPerOp;
+    }
+
+    private final Map<String, Entry> benchmarks = new TreeMap<>();
+
+    public Map<String, Entry> getBenchmarks() {
+        return benchmarks;
+    }
+
+    /**
+     * Compares the current results with this baseline.
+     * Throughput lower than the baseline or allocation rate higher than the baseline by more than tolerance are reported.
+     *
+     * @return list of regression descriptions, empty if there are no regressions
+     */
+    public List<String> findRegressions(BenchmarkBaseline current, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : current.benchmarks.entrySet()) {
+            Entry base = benchmarks.get(entry.getKey());
+            if (base == null) {
+                continue;
+            }
+            Entry actual = entry.getValue();
+            if (!Objects.equals(base.mode, actual.mode) || !Objects.equals(base.unit, actual.unit)) {
+                regressions.add(entry.getKey() + ": mode or unit differs from baseline");
+                continue;
+            }
+            if (actual.score < base.score * (1 - tolerance)) {
+                regressions.add(String.format(Locale.ENGLISH, "%s: throughput %.2f %s, baseline %.2f %s",
+                    entry.getKey(), actual.score, actual.unit, base.score, base.unit));
+            }
+            if (base.allocBytesPerOp != null && actual.allocBytesPerOp != null &&
+                actual.allocBytesPerOp > base.allocBytesPerOp * (1 + tolerance) + ALLOC_THRESHOLD
+            ) {
+                regressions.add(String.format(Locale.ENGLISH, "%s: allocation %.0f B/op, baseline %.0f B/op",
+                    entry.getKey(), actual.allocBytesPerOp, base.allocBytesPerOp));
+            }
+        }
+        return regressions;
+    }
+
+    public static BenchmarkBaseline fromResults(Collection<RunResult> results) {
+        BenchmarkBaseline baseline = new BenchmarkBaseline();
+        for (RunResult result : results) {
+            Entry entry = new Entry();
+            entry.mode = result.getParams().getMode().shortLabel();
+            entry.score = result.getPrimaryResult().getScore();
+            entry.unit = result.getPrimaryResult().getScoreUnit();
+            for (Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+                if (secondary.getKey().endsWith(ALLOC_RATE_NORM)) {
+                    entry.allocBytesPerOp = secondary.getValue().getScore();
+                }
+            }
+            baseline.benchmarks.put(getBenchmarkKey(result), entry);
+        }
+        return baseline;
+    }
+
+    public static BenchmarkBaseline read(Path file) throws IOException {
+        BenchmarkBaseline baseline = new BenchmarkBaseline();
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                BenchmarkBaseline stored = createGson().fromJson(reader, BenchmarkBaseline.class);
+                if (stored != null) {
+                    baseline.benchmarks.putAll(stored.benchmarks);
+                }
+            }
+        }
+        return baseline;
+    }
+
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            createGson().toJson(this, writer);
+        }
+    }
+
+    private static String getBenchmarkKey(RunResult result) {
+        StringBuilder key = new StringBuilder(result.getParams().getBenchmark());
+        String divider = ":";
+        for (String param : result.getParams().getParamsKeys()) {
+            key.append(divider).append(param).append('=').append(result.getParams().getParam(param));
+            divider = ",";
+        }
+        return key.toString();
+    }
+
+    private static Gson createGson() {
+        return new GsonBuilder().setPrettyPrinting().create();
+    }
+
+}
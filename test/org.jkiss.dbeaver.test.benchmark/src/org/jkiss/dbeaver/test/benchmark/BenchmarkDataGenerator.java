@@ -0,0 +1,146 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Random;
+
+/**
+ * Synthetic benchmark data.
+ * <p>
+ * All generators use a fixed seed, so the same data set is produced on every run and results are comparable with the baseline.
+ */
+public final class BenchmarkDataGenerator {
+
+    private static final long SEED = 20241021L;
+
+    private static final String[] TABLES = {"customers", "orders", "order_items", "products", "invoices", "payments"};
+    private static final String[] COLUMNS = {"id", "name", "status", "amount", "created_at", "updated_at", "description", "owner_id"};
+    private static final String[] WORDS = {"alpha", "beta", "gamma", "delta", "quote\"d", "comma,separated", "multi\nline", "O'Brien"};
+
+    private BenchmarkDataGenerator() {
+    }
+
+    /**
+     * Generates SQL script with a mix of queries, DML, DDL, comments and anonymous blocks
+     */
+    public static String generateScript(int statementCount) {
+        Random random = new Random(SEED);
+        StringBuilder script = new StringBuilder(statementCount * 80);
+        for (int i = 0; i < statementCount; i++) {
+            script.append(generateStatement(random, i)).append(";\n");
+            if (i % 10 == 0) {
+                script.append("-- comment line ").append(i).append("\n");
+            }
+            if (i % 25 == 0) {
+                script.append("/* block\n comment ; with delimiter */\n");
+            }
+        }
+        return script.toString();
+    }
+
+    /**
+     * Generates distinct queries suitable for the standard SQL grammar
+     */
+    public static String[] generateQueries(int count) {
+        Random random = new Random(SEED);
+        String[] queries = new String[count];
+        for (int i = 0; i < count; i++) {
+            queries[i] = generateSelect(random, i);
+        }
+        return queries;
+    }
+
+    /**
+     * Generates rows of (BIGINT, VARCHAR, NUMERIC, TIMESTAMP, VARCHAR) columns, about 5% of values are nulls
+     */
+    public static Object[][] generateRows(int rowCount) {
+        Random random = new Random(SEED);
+        long baseTime = Timestamp.valueOf("2024-01-01 00:00:00").getTime();
+        Object[][] rows = new Object[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = new Object[] {
+                (long) i,
+                nullable(random, "name_" + random.nextInt(100_000)),
+                nullable(random, BigDecimal.valueOf(random.nextInt(10_000_000), 2)),
+                nullable(random, new Timestamp(baseTime + random.nextInt(Integer.MAX_VALUE) * 1000L)),
+                nullable(random, WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)])
+            };
+        }
+        return rows;
+    }
+
+    /**
+     * Generates CSV file content with header and the specified number of rows
+     */
+    public static byte[] generateCSV(int rowCount) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(rowCount * 64);
+        try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(buffer, StandardCharsets.UTF_8))) {
+            writer.print("id,name,amount,created_at,description\n");
+            for (Object[] row : generateRows(rowCount)) {
+                for (int i = 0; i < row.length; i++) {
+                    if (i > 0) {
+                        writer.print(',');
+                    }
+                    if (row[i] instanceof String str) {
+                        writer.print('\'');
+                        writer.print(str.replace("'", "\\'"));
+                        writer.print('\'');
+                    } else if (row[i] != null) {
+                        writer.print(row[i]);
+                    }
+                }
+                writer.print('\n');
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String generateStatement(Random random, int index) {
+        String table = TABLES[random.nextInt(TABLES.length)];
+        return switch (index % 8) {
+            case 0, 1, 2 -> generateSelect(random, index);
+            case 3 -> "INSERT INTO " + table + " (id, name, description) VALUES (" + index + ", 'name " + index + "', 'text; with delimiter')";
+            case 4 -> "UPDATE " + table + " SET status = 'CLOSED', amount = amount * 1.1 WHERE id = " + index;
+            case 5 -> "DELETE FROM " + table + " WHERE created_at < CURRENT_DATE - 30 AND owner_id = " + random.nextInt(1000);
+            case 6 -> "CREATE TABLE tmp_" + index + " (id INTEGER NOT NULL PRIMARY KEY, name VARCHAR(100), amount NUMERIC(12,2))";
+            default -> "BEGIN\n  UPDATE " + table + " SET status = 'A' WHERE id = " + index + ";\n  DELETE FROM tmp WHERE id = " + index + ";\nEND";
+        };
+    }
+
+    private static String generateSelect(Random random, int index) {
+        String table1 = TABLES[random.nextInt(TABLES.length)];
+        String table2 = TABLES[random.nextInt(TABLES.length)];
+        String column1 = COLUMNS[random.nextInt(COLUMNS.length)];
+        String column2 = COLUMNS[random.nextInt(COLUMNS.length)];
+        return "SELECT t1." + column1 + ", t2." + column2 + ", count(*) AS cnt" +
+            " FROM " + table1 + " t1 JOIN " + table2 + " t2 ON t1.id = t2.owner_id" +
+            " WHERE t1." + column1 + " > " + index + " AND t2.name LIKE 'x%'" +
+            " GROUP BY t1." + column1 + ", t2." + column2 +
+            " ORDER BY cnt DESC";
+    }
+
+    private static Object nullable(Random random, Object value) {
+        return random.nextInt(20) == 0 ? null : value;
+    }
+
+}
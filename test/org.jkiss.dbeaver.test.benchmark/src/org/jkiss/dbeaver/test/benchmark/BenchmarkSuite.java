@@ -0,0 +1,82 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.dbeaver.Log;
+import org.jkiss.utils.CommonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs all benchmarks of this bundle and compares results with the baseline.
+ * <p>
+ * Benchmarks are executed in the test platform process (no forks) because they need the headless workbench
+ * (dialect registry, preferences). Use {@code mvn verify -Dbenchmark} from the test folder to run them.
+ * Options are passed as system properties, see the module pom.
+ */
+public class BenchmarkSuite {
+
+    private static final Log log = Log.getLog(BenchmarkSuite.class);
+
+    @Test
+    public void runBenchmarks() throws Exception {
+        Path outputFolder = Path.of(System.getProperty("benchmark.outputFolder", "target/benchmark"));
+        Options options = new OptionsBuilder()
+            .include(BenchmarkSuite.class.getPackageName() + "\\..*" + System.getProperty("benchmark.include", ".*"))
+            .forks(0)
+            .threads(1)
+            .warmupIterations(CommonUtils.toInt(System.getProperty("benchmark.warmupIterations"), 3))
+            .measurementIterations(CommonUtils.toInt(System.getProperty("benchmark.measurementIterations"), 5))
+            .warmupTime(TimeValue.seconds(CommonUtils.toInt(System.getProperty("benchmark.iterationTime"), 1)))
+            .measurementTime(TimeValue.seconds(CommonUtils.toInt(System.getProperty("benchmark.iterationTime"), 1)))
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(outputFolder.resolve("jmh-result.json").toString())
+            .shouldFailOnError(true)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        Assert.assertFalse("No benchmarks were executed", results.isEmpty());
+
+        BenchmarkBaseline current = BenchmarkBaseline.fromResults(results);
+        current.write(outputFolder.resolve("benchmark-baseline.json"));
+
+        BenchmarkBaseline baseline = BenchmarkBaseline.read(Path.of(System.getProperty("benchmark.baseline", "baseline/benchmark-baseline.json")));
+        double tolerance = CommonUtils.toDouble(System.getProperty("benchmark.tolerance"), 0.15);
+        List<String> regressions = baseline.findRegressions(current, tolerance);
+        if (regressions.isEmpty()) {
+            return;
+        }
+        String message = regressions.size() + " benchmark regression(s) exceed " + Math.round(tolerance * 100) +
+            "% tolerance:\n" + String.join("\n", regressions);
+        if (CommonUtils.toBoolean(System.getProperty("benchmark.failOnRegression"))) {
+            Assert.fail(message);
+        }
+        log.warn(message);
+    }
+
+}
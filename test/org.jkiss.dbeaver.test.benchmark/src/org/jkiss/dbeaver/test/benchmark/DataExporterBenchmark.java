@@ -0,0 +1,174 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPNamedObject;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.data.DBDFormatSettings;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.impl.data.DefaultValueHandler;
+import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCNumberValueHandler;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporter;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterCSV;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterJSON;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stream exporters performance ({@link IStreamDataExporter#exportRow}).
+ * <p>
+ * Output is discarded, so the benchmark measures value formatting and escaping only.
+ * CSV is exported to a byte stream (encoder fast path) and to a character writer ("csv-writer").
+ * Attribute bindings are mocks created once per trial, their invocation cost is the same for all runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DataExporterBenchmark {
+
+    private static final int ROW_COUNT = 10000;
+
+    @Param({"csv", "csv-writer", "json"})
+    public String format;
+
+    private Object[][] rows;
+    private BenchmarkExporterSite site;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        rows = BenchmarkDataGenerator.generateRows(ROW_COUNT);
+
+        DBDFormatSettings formatSettings = Mockito.mock(DBDFormatSettings.class);
+        DBDValueHandler numberHandler = new JDBCNumberValueHandler(null, formatSettings);
+        DBDValueHandler defaultHandler = DefaultValueHandler.INSTANCE;
+        DBDAttributeBinding[] attributes = {
+            createAttribute("id", DBPDataKind.NUMERIC, numberHandler),
+            createAttribute("name", DBPDataKind.STRING, defaultHandler),
+            createAttribute("amount", DBPDataKind.NUMERIC, numberHandler),
+            createAttribute("created_at", DBPDataKind.DATETIME, defaultHandler),
+            createAttribute("description", DBPDataKind.STRING, defaultHandler),
+        };
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("delimiter", ",");
+        properties.put("rowDelimiter", "\\n");
+        properties.put("header", "top");
+        site = new BenchmarkExporterSite(attributes, properties, !"csv-writer".equals(format));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public void exportRows() throws Exception {
+        IStreamDataExporter exporter = "json".equals(format) ? new DataExporterJSON() : new DataExporterCSV();
+        exporter.init(site);
+        exporter.exportHeader(null);
+        for (Object[] row : rows) {
+            exporter.exportRow(null, null, row);
+        }
+        exporter.exportFooter(null);
+        exporter.dispose();
+    }
+
+    private static DBDAttributeBinding createAttribute(String name, DBPDataKind dataKind, DBDValueHandler valueHandler) {
+        DBDAttributeBinding attribute = Mockito.mock(DBDAttributeBinding.class);
+        Mockito.when(attribute.getName()).thenReturn(name);
+        Mockito.when(attribute.getLabel()).thenReturn(name);
+        Mockito.when(attribute.getDataKind()).thenReturn(dataKind);
+        Mockito.when(attribute.getValueHandler()).thenReturn(valueHandler);
+        return attribute;
+    }
+
+    private static class BenchmarkExporterSite implements IStreamDataExporterSite {
+        private final DBDAttributeBinding[] attributes;
+        private final Map<String, Object> properties;
+        private final PrintWriter writer = new PrintWriter(Writer.nullWriter());
+        private final boolean byteStream;
+
+        BenchmarkExporterSite(DBDAttributeBinding[] attributes, Map<String, Object> properties, boolean byteStream) {
+            this.attributes = attributes;
+            this.properties = properties;
+            this.byteStream = byteStream;
+        }
+
+        @Override
+        public DBPNamedObject getSource() {
+            return () -> "benchmark";
+        }
+
+        @Override
+        public DBDDisplayFormat getExportFormat() {
+            return DBDDisplayFormat.UI;
+        }
+
+        @Override
+        public Map<String, Object> getProperties() {
+            return properties;
+        }
+
+        @Override
+        public DBDAttributeBinding[] getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return byteStream ? OutputStream.nullOutputStream() : null;
+        }
+
+        @Nullable
+        @Override
+        public Path getOutputFile() {
+            return null;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            return writer;
+        }
+
+        @Override
+        public void flush() {
+            writer.flush();
+        }
+
+        @Override
+        public void writeBinaryData(@NotNull DBDContentStorage cs) {
+            // no binaries in benchmark data
+        }
+
+        @NotNull
+        @Override
+        public String getOutputEncoding() {
+            return "UTF-8";
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.dbeaver.model.impl.data.formatters.DateTimeDataFormatter;
+import org.jkiss.dbeaver.model.impl.data.formatters.NumberDataFormatter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Value formatters performance. Compares formatting to a new string with appending to a reused buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DataFormatterBenchmark {
+
+    private static final int VALUE_COUNT = 1000;
+
+    private NumberDataFormatter numberFormatter;
+    private DateTimeDataFormatter timestampFormatter;
+    private Object[] numbers;
+    private Object[] timestamps;
+    private final StringBuilder buffer = new StringBuilder();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        numberFormatter = new NumberDataFormatter();
+        numberFormatter.init(null, Locale.ENGLISH, new HashMap<>());
+        Map<String, Object> timestampProperties = new HashMap<>();
+        timestampProperties.put(DateTimeDataFormatter.PROP_PATTERN, "yyyy-MM-dd HH:mm:ss.SSS");
+        timestampFormatter = new DateTimeDataFormatter();
+        timestampFormatter.init(null, Locale.ENGLISH, timestampProperties);
+
+        Object[][] rows = BenchmarkDataGenerator.generateRows(VALUE_COUNT);
+        numbers = new Object[VALUE_COUNT];
+        timestamps = new Object[VALUE_COUNT];
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            numbers[i] = rows[i][2] == null ? BigDecimal.ZERO : rows[i][2];
+            timestamps[i] = rows[i][3] == null ? new Timestamp(0) : rows[i][3];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUE_COUNT)
+    public void formatNumber(Blackhole blackhole) {
+        for (Object value : numbers) {
+            blackhole.consume(numberFormatter.formatValue(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUE_COUNT)
+    public void appendNumber(Blackhole blackhole) {
+        for (Object value : numbers) {
+            buffer.setLength(0);
+            numberFormatter.formatValue(value, buffer);
+            blackhole.consume(buffer);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUE_COUNT)
+    public void formatTimestamp(Blackhole blackhole) {
+        for (Object value : timestamps) {
+            blackhole.consume(timestampFormatter.formatValue(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUE_COUNT)
+    public void appendTimestamp(Blackhole blackhole) {
+        for (Object value : timestamps) {
+            buffer.setLength(0);
+            timestampFormatter.formatValue(value, buffer);
+            blackhole.consume(buffer);
+        }
+    }
+
+}
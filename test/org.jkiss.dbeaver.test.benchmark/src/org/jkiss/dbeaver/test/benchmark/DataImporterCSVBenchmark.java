@@ -0,0 +1,83 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataImporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamDataImporterColumnInfo;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamEntityMapping;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamProducerSettings;
+import org.jkiss.dbeaver.tools.transfer.stream.importer.DataImporterCSV;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV importer performance.
+ * <p>
+ * Measures CSV reading and column type detection ({@link DataImporterCSV#readColumnsInfo}) with all rows sampled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DataImporterCSVBenchmark {
+
+    private static final int ROW_COUNT = 10000;
+
+    private byte[] content;
+    private StreamEntityMapping entityMapping;
+    private IStreamDataImporterSite site;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        content = BenchmarkDataGenerator.generateCSV(ROW_COUNT);
+        entityMapping = new StreamEntityMapping(Path.of("benchmark.csv"));
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("delimiter", ",");
+        properties.put("header", "top");
+        properties.put("columnTypeSamplesCount", ROW_COUNT);
+        site = new IStreamDataImporterSite() {
+            @Override
+            public StreamProducerSettings getSettings() {
+                return null;
+            }
+
+            @Override
+            public StreamEntityMapping getSourceObject() {
+                return entityMapping;
+            }
+
+            @Override
+            public Map<String, Object> getProcessorProperties() {
+                return properties;
+            }
+        };
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public List<StreamDataImporterColumnInfo> readColumnsInfo() throws Exception {
+        DataImporterCSV importer = new DataImporterCSV();
+        importer.init(site);
+        return importer.readColumnsInfo(entityMapping, new ByteArrayInputStream(content));
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.apache.commons.jexl3.JexlBuilder;
+import org.apache.commons.jexl3.JexlContext;
+import org.apache.commons.jexl3.JexlExpression;
+import org.jkiss.dbeaver.model.virtual.DBVCompiledExpression;
+import org.jkiss.dbeaver.model.virtual.DBVExpressionCompiler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expression column evaluation. Compares interpreted JEXL with by-name variable lookup
+ * (the way transformers and virtual columns worked before) with the compiled expression.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExpressionBenchmark {
+
+    private static final int ROW_COUNT = 1000;
+    private static final List<String> COLUMNS = List.of("id", "name", "amount", "created_at", "description");
+    private static final String EXPRESSION = "amount != null && id % 2 == 0 ? amount * 2 + id : id - 1";
+
+    private Object[][] rows;
+    private JexlExpression jexlExpression;
+    private DBVCompiledExpression compiledExpression;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        rows = BenchmarkDataGenerator.generateRows(ROW_COUNT);
+        jexlExpression = new JexlBuilder().cache(100).create().createExpression(EXPRESSION);
+        compiledExpression = DBVExpressionCompiler.compile(EXPRESSION, name -> {
+            int index = COLUMNS.indexOf(name);
+            return index < 0 ? null : row -> row[index];
+        });
+        if (compiledExpression == null) {
+            throw new IllegalStateException("Expression was not compiled");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public void evaluateJexl(Blackhole blackhole) {
+        for (Object[] row : rows) {
+            blackhole.consume(jexlExpression.evaluate(new RowContext(row)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public void evaluateCompiled(Blackhole blackhole) {
+        for (Object[] row : rows) {
+            blackhole.consume(compiledExpression.evaluate(row));
+        }
+    }
+
+    private static class RowContext implements JexlContext {
+        private final Object[] row;
+
+        RowContext(Object[] row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object get(String name) {
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                if (COLUMNS.get(i).equals(name)) {
+                    return row[i];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void set(String name, Object value) {
+        }
+
+        @Override
+        public boolean has(String name) {
+            return COLUMNS.contains(name);
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.dbeaver.model.lsm.LSMAnalyzerParameters;
+import org.jkiss.dbeaver.model.lsm.sql.dialect.SQLStandardAnalyzer;
+import org.jkiss.dbeaver.model.stm.STMSource;
+import org.jkiss.dbeaver.model.stm.STMTreeRuleNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Semantic analyzer parse performance ({@link SQLStandardAnalyzer#parseSqlQueryTree}).
+ * <p>
+ * {@code parseUnique} cycles through more queries than the parse tree cache keeps, so each call is a real parse.
+ * {@code parseSame} measures the cached path used while the user moves the caret over an unchanged query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LSMAnalyzerBenchmark {
+
+    private static final int QUERY_COUNT = 5000;
+
+    private static final LSMAnalyzerParameters PARAMETERS = new LSMAnalyzerParameters(
+        Map.of("\"", "\""), true, true, '?', List.of(), false);
+
+    private SQLStandardAnalyzer analyzer;
+    private String[] queries;
+    private int position;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        analyzer = new SQLStandardAnalyzer(PARAMETERS);
+        queries = BenchmarkDataGenerator.generateQueries(QUERY_COUNT);
+    }
+
+    @Benchmark
+    public STMTreeRuleNode parseUnique() {
+        String query = queries[position];
+        position = (position + 1) % queries.length;
+        return analyzer.parseSqlQueryTree(STMSource.fromString(query), null);
+    }
+
+    @Benchmark
+    public STMTreeRuleNode parseSame() {
+        return analyzer.parseSqlQueryTree(STMSource.fromString(queries[0]), null);
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.eclipse.jface.text.Document;
+import org.jkiss.dbeaver.ext.generic.model.GenericDataSource;
+import org.jkiss.dbeaver.ext.generic.model.meta.GenericMetaModel;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.connection.DBPDriver;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCDatabaseMetaData;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCSQLDialect;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.sql.*;
+import org.jkiss.dbeaver.model.sql.parser.SQLParserContext;
+import org.jkiss.dbeaver.model.sql.parser.SQLRuleManager;
+import org.jkiss.dbeaver.model.sql.parser.SQLScriptParser;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Script splitting performance ({@link SQLScriptParser#extractScriptQueries}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SQLScriptParserBenchmark {
+
+    @Param({"100", "5000"})
+    public int statements;
+
+    @Param({"generic", "snowflake"})
+    public String dialect;
+
+    private SQLParserContext context;
+    private int scriptLength;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        DBPConnectionConfiguration connectionConfiguration = new DBPConnectionConfiguration();
+        DBPPreferenceStore preferenceStore = DBWorkbench.getPlatform().getPreferenceStore();
+        DBPDriver driver = Mockito.mock(DBPDriver.class);
+        GenericDataSource dataSource = Mockito.mock(GenericDataSource.class);
+        GenericMetaModel metaModel = Mockito.mock(GenericMetaModel.class);
+        DBPDataSourceContainer dataSourceContainer = Mockito.mock(DBPDataSourceContainer.class);
+        JDBCDatabaseMetaData databaseMetaData = Mockito.mock(JDBCDatabaseMetaData.class);
+        Mockito.when(dataSource.getContainer()).thenReturn(dataSourceContainer);
+        Mockito.when(dataSourceContainer.getConnectionConfiguration()).thenReturn(connectionConfiguration);
+        Mockito.when(dataSourceContainer.getActualConnectionConfiguration()).thenReturn(connectionConfiguration);
+        Mockito.when(dataSourceContainer.getPreferenceStore()).thenReturn(preferenceStore);
+        Mockito.when(dataSourceContainer.getDriver()).thenReturn(driver);
+        Mockito.when(dataSource.getMetaModel()).thenReturn(metaModel);
+        Mockito.when(databaseMetaData.getIdentifierQuoteString()).thenReturn("\"");
+
+        SQLDialect sqlDialect = DBWorkbench.getPlatform().getSQLDialectRegistry().getDialect(dialect).createInstance();
+        ((JDBCSQLDialect) sqlDialect).initDriverSettings(Mockito.mock(JDBCSession.class), dataSource, databaseMetaData);
+        Mockito.when(dataSource.getSQLDialect()).thenReturn(sqlDialect);
+
+        String script = BenchmarkDataGenerator.generateScript(statements);
+        SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+        syntaxManager.init(sqlDialect, preferenceStore);
+        SQLRuleManager ruleManager = new SQLRuleManager(syntaxManager);
+        ruleManager.loadRules(dataSource, false);
+        context = new SQLParserContext(dataSource, syntaxManager, ruleManager, new Document(script));
+        scriptLength = script.length();
+    }
+
+    @Benchmark
+    public List<SQLScriptElement> extractScriptQueries() {
+        return SQLScriptParser.extractScriptQueries(context, 0, scriptLength, false, false, false);
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.dbeaver.model.net.ssh.SSHConstants;
+import org.jkiss.dbeaver.model.net.ssh.SSHStreamPump;
+import org.jkiss.dbeaver.model.net.ssh.SSHTunnelMetrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SSH port forwarding throughput model.
+ * <p>
+ * This is a model, not a measurement of sshj or of a real SSH server: encryption, MACs and the server side
+ * are not involved, so the results only show how window size, packet size and flushing policy affect
+ * throughput on a link with the given round trip.
+ * <p>
+ * Streams a result set sized payload through a stand-in of an SSH channel: data is split into packets,
+ * framed and sent over a loopback socket, and the sender waits for window adjustments which the receiving
+ * side sends back with a simulated network round trip.
+ * DEFAULT mode uses sshj default window and packet sizes and flushes every read like sshj StreamCopier,
+ * TUNED mode uses the tuned forwarding sizes and {@link SSHStreamPump}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SSHTunnelBenchmark {
+
+    private static final int PAYLOAD_SIZE = 32 * 1024 * 1024;
+    private static final long ROUND_TRIP_MILLIS = 2;
+    private static final long DEFAULT_WINDOW_SIZE = 2 * 1024 * 1024;
+    private static final int DEFAULT_MAX_PACKET_SIZE = 32 * 1024;
+
+    public enum TunnelMode {
+        DEFAULT,
+        TUNED
+    }
+
+    @Param({"DEFAULT", "TUNED"})
+    public TunnelMode mode;
+
+    private byte[] payload;
+    private ScheduledExecutorService network;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        payload = new byte[PAYLOAD_SIZE];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) (i * 31);
+        }
+        network = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        network.shutdownNow();
+    }
+
+    @Benchmark
+    public long forwardResultSet() throws Exception {
+        boolean tuned = mode == TunnelMode.TUNED;
+        long windowSize = tuned ? SSHConstants.TUNED_WINDOW_SIZE : DEFAULT_WINDOW_SIZE;
+        int packetSize = tuned ? SSHConstants.TUNED_MAX_PACKET_SIZE : DEFAULT_MAX_PACKET_SIZE;
+        SSHTunnelMetrics metrics = new SSHTunnelMetrics();
+
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+             Socket senderSocket = new Socket(server.getInetAddress(), server.getLocalPort());
+             Socket receiverSocket = server.accept()
+        ) {
+            ChannelStandIn channel = new ChannelStandIn(senderSocket.getOutputStream(), windowSize, packetSize);
+            Thread receiver = new Thread(() -> receive(receiverSocket, channel, windowSize), "SSH channel receiver");
+            receiver.start();
+
+            InputStream source = new ByteArrayInputStream(payload);
+            if (tuned) {
+                SSHStreamPump.pump(source, channel, new byte[packetSize], metrics::addBytesReceived);
+            } else {
+                byte[] buffer = new byte[packetSize];
+                for (int count; (count = source.read(buffer)) != -1; ) {
+                    channel.write(buffer, 0, count);
+                    channel.flush();
+                    metrics.addBytesReceived(count);
+                }
+            }
+            senderSocket.shutdownOutput();
+            receiver.join();
+        }
+        return metrics.getBytesReceived();
+    }
+
+    private void receive(Socket socket, ChannelStandIn channel, long windowSize) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024))) {
+            byte[] packet = new byte[SSHConstants.TUNED_MAX_PACKET_SIZE];
+            long consumed = 0;
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                in.readFully(packet, 0, length);
+                consumed += length;
+                if (consumed >= windowSize / 2) {
+                    // Window adjustment arrives after a network round trip
+                    long adjustment = consumed;
+                    network.schedule(() -> channel.adjustWindow(adjustment), ROUND_TRIP_MILLIS, TimeUnit.MILLISECONDS);
+                    consumed = 0;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Buffers data up to the packet size and sends framed packets within the remote window
+     */
+    private static class ChannelStandIn extends OutputStream {
+        private final DataOutputStream out;
+        private final byte[] packet;
+        private int packetLength;
+        private long window;
+
+        ChannelStandIn(OutputStream out, long windowSize, int packetSize) {
+            this.out = new DataOutputStream(new BufferedOutputStream(out, packetSize + 4));
+            this.packet = new byte[packetSize];
+            this.window = windowSize;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int count = Math.min(len, packet.length - packetLength);
+                System.arraycopy(b, off, packet, packetLength, count);
+                packetLength += count;
+                off += count;
+                len -= count;
+                if (packetLength == packet.length) {
+                    flush();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (packetLength == 0) {
+                return;
+            }
+            awaitWindow(packetLength);
+            out.writeInt(packetLength);
+            out.write(packet, 0, packetLength);
+            out.flush();
+            packetLength = 0;
+        }
+
+        synchronized void adjustWindow(long size) {
+            window += size;
+            notifyAll();
+        }
+
+        private synchronized void awaitWindow(int size) throws IOException {
+            while (window < size) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+            }
+            window -= size;
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.dpi.model.adapters;
+
+import com.google.gson.Gson;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.dpi.model.DPIContext;
+import org.jkiss.dbeaver.model.dpi.DPIController;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCStatement;
+import org.jkiss.dbeaver.model.impl.dpi.DPIResultSet;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+public class DPIResultSetRowReaderTest {
+
+    @Test
+    public void rowsAreReadChunkByChunk() throws Exception {
+        DPIController controller = Mockito.mock(DPIController.class);
+        Mockito.when(controller.callMethod("cursor", "fetchChunk", null)).thenReturn(encodeChunk(2, 3), (Object) null);
+
+        DPIResultSet resultSet = openResultSet(controller, encodeChunk(0, 1));
+        List<Object> values = new ArrayList<>();
+        while (resultSet.nextRow()) {
+            values.add(resultSet.getAttributeValue(0));
+        }
+        Assert.assertEquals(List.of(0, 1, 2, 3), values);
+        Assert.assertFalse(resultSet.nextRow());
+        // Server closes cursor after the last chunk
+        Mockito.verify(controller, Mockito.never()).callMethod("cursor", "close", null);
+    }
+
+    @Test
+    public void allRowsIncludeRemainingChunks() throws Exception {
+        DPIController controller = Mockito.mock(DPIController.class);
+        Mockito.when(controller.callMethod("cursor", "fetchChunk", null)).thenReturn(encodeChunk(2, 3), encodeChunk(4), null);
+
+        DPIResultSet resultSet = openResultSet(controller, encodeChunk(0, 1));
+        Assert.assertTrue(resultSet.nextRow());
+        Assert.assertEquals(5, resultSet.getAllRows().size());
+
+        List<Object> values = new ArrayList<>();
+        while (resultSet.nextRow()) {
+            values.add(resultSet.getAttributeValue(0));
+        }
+        Assert.assertEquals(List.of(1, 2, 3, 4), values);
+    }
+
+    @Test
+    public void fetchErrorIsPropagated() throws Exception {
+        DPIController controller = Mockito.mock(DPIController.class);
+        DBException fetchError = new DBException("Connection lost");
+        Mockito.when(controller.callMethod("cursor", "fetchChunk", null)).thenThrow(fetchError);
+
+        DPIResultSet resultSet = openResultSet(controller, encodeChunk(0));
+        Assert.assertTrue(resultSet.nextRow());
+        try {
+            resultSet.nextRow();
+            Assert.fail("Fetch error expected");
+        } catch (DBCException e) {
+            Assert.assertSame(fetchError, e.getCause());
+        }
+        Mockito.verify(controller).callMethod("cursor", "close", null);
+        Assert.assertFalse(resultSet.nextRow());
+    }
+
+    private static DPIResultSet openResultSet(DPIController controller, String firstChunk) {
+        DPIContext context = Mockito.mock(DPIContext.class);
+        Mockito.when(context.getDpiController()).thenReturn(controller);
+        DPIResultSetRowReader reader = new DPIResultSetRowReader(context, new Gson(), List.of(firstChunk), "cursor");
+        return new DPIResultSet(
+            Mockito.mock(DBCSession.class),
+            Mockito.mock(DBCStatement.class),
+            new ArrayList<>(),
+            reader);
+    }
+
+    private static String encodeChunk(int... values) throws Exception {
+        DPIRowCodec codec = new DPIRowCodec(new Gson());
+        for (int value : values) {
+            codec.writeRow(new Object[] {value});
+        }
+        return Base64.getEncoder().encodeToString(codec.finishChunk());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.dpi.model.adapters;
+
+import com.google.gson.Gson;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+public class DPIRowCodecTest {
+
+    @Test
+    public void valuesKeepTheirTypes() throws Exception {
+        Timestamp timestamp = new Timestamp(1700000000123L);
+        timestamp.setNanos(123456789);
+        Object[] row = {
+            null, true, (byte) -3, (short) 300, -70000, Long.MIN_VALUE, 1.5f, -2.25d,
+            new BigInteger("123456789012345678901234567890"), new BigDecimal("-12345.6789"),
+            "Unicode é中", new byte[] {1, 2, 3}, timestamp, java.sql.Date.valueOf("2024-02-29"),
+            LocalDate.of(1900, 1, 1), LocalDateTime.of(2024, 5, 6, 7, 8, 9, 10),
+            OffsetDateTime.of(2024, 5, 6, 7, 8, 9, 0, ZoneOffset.ofHours(-5)),
+            Map.of("key", "value")
+        };
+        DPIRowCodec codec = new DPIRowCodec(new Gson());
+        codec.writeRow(row);
+        codec.writeRow(new Object[] {"second"});
+        Assert.assertEquals(2, codec.getRowCount());
+
+        List<Object[]> rows = codec.readChunk(codec.finishChunk());
+        Assert.assertEquals(2, rows.size());
+        Object[] result = rows.get(0);
+        Assert.assertEquals(row.length, result.length);
+        for (int i = 0; i < row.length; i++) {
+            if (row[i] instanceof byte[] bytes) {
+                Assert.assertArrayEquals(bytes, (byte[]) result[i]);
+            } else {
+                Assert.assertEquals("Value " + i, row[i], result[i]);
+                if (row[i] != null && !(row[i] instanceof Map)) {
+                    Assert.assertSame(row[i].getClass(), result[i].getClass());
+                }
+            }
+        }
+        Assert.assertArrayEquals(new Object[] {"second"}, rows.get(1));
+        Assert.assertEquals(0, codec.getRowCount());
+    }
+
+    @Test
+    public void chunkIsLimitedBySize() throws Exception {
+        DPIRowCodec codec = new DPIRowCodec(new Gson());
+        String value = "x".repeat(1000);
+        int rowCount = 0;
+        while (!codec.isChunkFull()) {
+            codec.writeRow(new Object[] {value, rowCount});
+            rowCount++;
+        }
+        Assert.assertTrue(rowCount < DPIRowCodec.MAX_CHUNK_ROWS);
+        List<Object[]> rows = codec.readChunk(codec.finishChunk());
+        Assert.assertEquals(rowCount, rows.size());
+        Assert.assertEquals(rowCount - 1, rows.get(rowCount - 1)[1]);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class DBAServerSessionHistoryTest {
+
+    @Test
+    public void deltaKeepsUnchangedSessions() {
+        TestSession s1 = new TestSession(1, "active", "SELECT 1");
+        TestSession s2 = new TestSession(2, "idle", null);
+        TestSession s3 = new TestSession(3, "active", "SELECT 3");
+        TestSession s2Changed = new TestSession(2, "active", "SELECT 2");
+        TestSession s4 = new TestSession(4, null, null);
+
+        DBAServerSessionDelta<TestSession> delta = DBAServerSessionDelta.compute(
+            List.of(s1, s2, s3),
+            List.of(new TestSession(1, "active", "SELECT 1"), s2Changed, s4),
+            (oldSession, newSession) -> !Objects.equals(oldSession.query, newSession.query));
+
+        Assert.assertEquals(List.of(s4), delta.getAdded());
+        Assert.assertEquals(List.of(s3), delta.getRemoved());
+        Assert.assertEquals(List.of(s2Changed), delta.getUpdated());
+        Assert.assertSame(s1, delta.getSessions().get(0));
+        Assert.assertSame(s2Changed, delta.getSessions().get(1));
+        Assert.assertFalse(delta.isEmpty());
+
+        Assert.assertTrue(DBAServerSessionDelta.compute(List.of(s1), List.of(s1), (o, n) -> false).isEmpty());
+    }
+
+    @Test
+    public void samplesCountSessionsByState() {
+        DBAServerSessionHistory history = new DBAServerSessionHistory();
+        history.addSample(1000, List.of(
+            new TestSession(1, "active", "SELECT 1"),
+            new TestSession(2, "idle in transaction", "SELECT 2"),
+            new TestSession(3, "active", null),
+            new TestSession(4, null, "SELECT 4")));
+
+        DBAServerSessionHistory.Sample sample = history.getSamples(0).get(0);
+        Assert.assertEquals(1000, sample.getTime());
+        Assert.assertEquals(4, sample.getTotalSessions());
+        // Idle sessions and sessions without query are not active
+        Assert.assertEquals(2, sample.getActiveSessions());
+        Assert.assertEquals(
+            Map.of("active", 2, "idle in transaction", 1, DBAServerSessionHistory.STATE_UNKNOWN, 1),
+            sample.getStateCounts());
+    }
+
+    @Test
+    public void oldestSamplesAreOverwritten() {
+        DBAServerSessionHistory history = new DBAServerSessionHistory(3);
+        for (int i = 1; i <= 5; i++) {
+            history.addSample(i * 1000L, List.of());
+        }
+        Assert.assertEquals(3, history.getSampleCount());
+        List<DBAServerSessionHistory.Sample> samples = history.getSamples(0);
+        Assert.assertEquals(3000, samples.get(0).getTime());
+        Assert.assertEquals(5000, samples.get(2).getTime());
+        Assert.assertEquals(2, history.getSamples(4000).size());
+
+        history.clear();
+        Assert.assertTrue(history.getSamples(0).isEmpty());
+    }
+
+    private static class TestSession implements DBAServerSession {
+        private final int id;
+        private final String state;
+        private final String query;
+
+        TestSession(int id, String state, String query) {
+            this.id = id;
+            this.state = state;
+            this.query = query;
+        }
+
+        @Override
+        public String getActiveQuery() {
+            return query;
+        }
+
+        @Override
+        public Object getActiveQueryId() {
+            return null;
+        }
+
+        @Override
+        public String getActivityState() {
+            return state;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof TestSession session && session.id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.dashboard.data;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DashboardTimeSeriesTest {
+
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void rangeQueryReturnsRawPoints() {
+        DashboardTimeSeries series = new DashboardTimeSeries("test", 10, 0, 1);
+        for (int i = 1; i <= 5; i++) {
+            series.add(i, i * 10);
+        }
+        // Older and same time points
+        series.add(3, 100);
+        series.add(5, 55);
+
+        DashboardTimeSeries.Points points = series.getPoints(2, 4, 100);
+        Assert.assertEquals(3, points.size());
+        Assert.assertEquals(2, points.getTime(0));
+        Assert.assertEquals(4, points.getTime(2));
+        Assert.assertEquals(30, points.getValue(1), DELTA);
+
+        points = series.getPoints(Long.MIN_VALUE, Long.MAX_VALUE, 100);
+        Assert.assertEquals(5, points.size());
+        Assert.assertEquals(55, points.getValue(4), DELTA);
+    }
+
+    @Test
+    public void evictedPointsAreFoldedIntoBuckets() {
+        DashboardTimeSeries series = new DashboardTimeSeries("test", 4, 2, 2);
+        for (int i = 1; i <= 8; i++) {
+            series.add(i, i);
+        }
+        // Buckets [1, 2] and [3, 4], raw points 5..8
+        Assert.assertEquals(6, series.size());
+        Assert.assertEquals(1, series.getFirstTime());
+        Assert.assertEquals(8, series.getLastTime());
+
+        DashboardTimeSeries.Points points = series.getPoints(Long.MIN_VALUE, Long.MAX_VALUE, 100);
+        Assert.assertEquals(6, points.size());
+        Assert.assertEquals(1, points.getTime(0));
+        Assert.assertEquals(1.5, points.getValue(0), DELTA);
+        Assert.assertEquals(1, points.getMinValue(0), DELTA);
+        Assert.assertEquals(2, points.getMaxValue(0), DELTA);
+        Assert.assertEquals(3, points.getTime(1));
+        Assert.assertEquals(5, points.getTime(2));
+
+        // The oldest bucket is dropped when bucket buffer is full
+        series.add(9, 9);
+        series.add(10, 10);
+        Assert.assertEquals(3, series.getFirstTime());
+
+        series.removeOlderThan(5);
+        Assert.assertEquals(5, series.getFirstTime());
+        Assert.assertEquals(5, series.size());
+    }
+
+    @Test
+    public void pointsAreDownsampledToMaxPoints() {
+        DashboardTimeSeries series = new DashboardTimeSeries("test");
+        for (int i = 0; i < 100; i++) {
+            series.add(i, i);
+        }
+
+        DashboardTimeSeries.Points points = series.getPoints(Long.MIN_VALUE, Long.MAX_VALUE, 10);
+        Assert.assertEquals(10, points.size());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(i * 10, points.getTime(i));
+            Assert.assertEquals(i * 10 + 4.5, points.getValue(i), DELTA);
+            Assert.assertEquals(i * 10, points.getMinValue(i), DELTA);
+            Assert.assertEquals(i * 10 + 9, points.getMaxValue(i), DELTA);
+        }
+
+        points = series.getPoints(50, 99, 5);
+        Assert.assertEquals(5, points.size());
+        Assert.assertEquals(50, points.getTime(0));
+        Assert.assertEquals(50, points.getMinValue(0), DELTA);
+        Assert.assertEquals(99, points.getMaxValue(4), DELTA);
+    }
+
+    @Test
+    public void emptyResultForBadArguments() {
+        DashboardTimeSeries series = new DashboardTimeSeries("test");
+        series.add(1, 1);
+        Assert.assertEquals(0, series.getPoints(Long.MIN_VALUE, Long.MAX_VALUE, 0).size());
+        Assert.assertEquals(0, series.getPoints(10, 1, 10).size());
+        Assert.assertEquals(0, series.getPoints(2, 10, 10).size());
+    }
+}
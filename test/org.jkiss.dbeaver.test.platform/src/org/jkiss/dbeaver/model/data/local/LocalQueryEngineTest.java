@@ -0,0 +1,184 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.local;
+
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.aggregate.FunctionCount;
+import org.jkiss.dbeaver.model.data.aggregate.FunctionSum;
+import org.jkiss.dbeaver.model.exec.DBCLogicalOperator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LocalQueryEngineTest {
+
+    private static final Object[][] DATA = {
+        {1, "b", 10},
+        {2, "a", 20},
+        {3, "b", null},
+        {4, "c", 5},
+        {5, "a", 20},
+    };
+
+    @Test
+    public void multiKeySortIsStable() {
+        LocalQueryEngine<Object[], Integer> engine = createEngine(DATA);
+        List<Object[]> sorted = engine.sort(List.of(
+            new LocalQueryEngine.SortKey<>(1, false, null),
+            new LocalQueryEngine.SortKey<>(2, true, null)
+        ));
+        Assert.assertArrayEquals(new Object[] {2, 5, 3, 1, 4}, ids(sorted));
+    }
+
+    @Test
+    public void singleKeySortUsesIndex() {
+        LocalQueryEngine<Object[], Integer> engine = createEngine(DATA);
+        List<Object[]> asc = engine.sort(List.of(new LocalQueryEngine.SortKey<>(1, false, null)));
+        List<Object[]> desc = engine.sort(List.of(new LocalQueryEngine.SortKey<>(1, true, null)));
+        Assert.assertArrayEquals(new Object[] {2, 5, 1, 3, 4}, ids(asc));
+        // Equal values keep original order in descending sort too
+        Assert.assertArrayEquals(new Object[] {4, 1, 3, 2, 5}, ids(desc));
+        Assert.assertSame(engine.getSortIndex(1), engine.getSortIndex(1));
+    }
+
+    @Test
+    public void largeSortMatchesSequentialOrder() {
+        int rowCount = LocalQueryEngine.PARALLEL_THRESHOLD * 3;
+        Object[][] data = new Object[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            data[i] = new Object[] {i, i % 7, (i * 31) % 11};
+        }
+        List<Object[]> sorted = createEngine(data).sort(List.of(
+            new LocalQueryEngine.SortKey<>(1, true, null),
+            new LocalQueryEngine.SortKey<>(2, false, null)
+        ));
+        for (int i = 1; i < sorted.size(); i++) {
+            Object[] prev = sorted.get(i - 1), cur = sorted.get(i);
+            int cmp = Integer.compare((Integer) cur[1], (Integer) prev[1]);
+            if (cmp == 0) {
+                cmp = Integer.compare((Integer) prev[2], (Integer) cur[2]);
+                if (cmp == 0) {
+                    cmp = Integer.compare((Integer) prev[0], (Integer) cur[0]);
+                }
+            }
+            Assert.assertTrue(cmp < 0);
+        }
+    }
+
+    @Test
+    public void filterByConstraints() {
+        LocalQueryEngine<Object[], Integer> engine = createEngine(DATA);
+        DBDDataFilter filter = createFilter();
+        filter.getConstraints().get(1).setOperator(DBCLogicalOperator.EQUALS);
+        filter.getConstraints().get(1).setValue("a");
+        filter.getConstraints().get(2).setOperator(DBCLogicalOperator.GREATER);
+        filter.getConstraints().get(2).setValue(15);
+        Assert.assertArrayEquals(new Object[] {2, 5}, ids(engine.filter(filter, this::resolveColumn)));
+
+        filter.setAnyConstraint(true);
+        filter.getConstraints().get(2).setOperator(DBCLogicalOperator.IS_NULL);
+        Assert.assertArrayEquals(new Object[] {2, 3, 5}, ids(engine.filter(filter, this::resolveColumn)));
+    }
+
+    @Test
+    public void filterByMultipleValues() {
+        LocalQueryEngine<Object[], Integer> engine = createEngine(DATA);
+        DBDDataFilter filter = createFilter();
+        filter.getConstraints().get(1).setOperator(DBCLogicalOperator.IN);
+        filter.getConstraints().get(1).setValue(new Object[] {"b", "c"});
+        Assert.assertArrayEquals(new Object[] {1, 3, 4}, ids(engine.filter(filter, this::resolveColumn)));
+
+        filter.getConstraints().get(1).setReverseOperator(true);
+        Assert.assertArrayEquals(new Object[] {2, 5}, ids(engine.filter(filter, this::resolveColumn)));
+    }
+
+    @Test
+    public void likeRespectsCaseSensitivity() {
+        Object[][] data = {
+            {1, "Apple"},
+            {2, "apricot"},
+            {3, "banana"},
+            {4, null},
+        };
+        LocalQueryEngine<Object[], Integer> engine = createEngine(data);
+        DBDDataFilter filter = createFilter();
+        filter.getConstraints().get(1).setOperator(DBCLogicalOperator.LIKE);
+        filter.getConstraints().get(1).setValue("a%");
+        Assert.assertArrayEquals(new Object[] {2}, ids(engine.filter(filter, this::resolveColumn)));
+
+        filter.getConstraints().get(1).setOperator(DBCLogicalOperator.ILIKE);
+        Assert.assertArrayEquals(new Object[] {1, 2}, ids(engine.filter(filter, this::resolveColumn)));
+
+        filter.getConstraints().get(1).setOperator(DBCLogicalOperator.NOT_LIKE);
+        Assert.assertArrayEquals(new Object[] {1, 3}, ids(engine.filter(filter, this::resolveColumn)));
+
+        filter.getConstraints().get(1).setOperator(DBCLogicalOperator.LIKE);
+        filter.getConstraints().get(1).setValue(new Object[] {"b%", "A%"});
+        Assert.assertArrayEquals(new Object[] {1, 3}, ids(engine.filter(filter, this::resolveColumn)));
+    }
+
+    @Test
+    public void criteriaIsNotFilteredLocally() {
+        DBDDataFilter filter = createFilter();
+        Assert.assertTrue(LocalQueryEngine.canFilter(filter));
+        filter.getConstraints().get(0).setCriteria("> 1");
+        Assert.assertFalse(LocalQueryEngine.canFilter(filter));
+    }
+
+    @Test
+    public void groupByWithAggregates() {
+        LocalQueryEngine<Object[], Integer> engine = createEngine(DATA);
+        List<Object[]> groups = engine.groupBy(
+            List.of(1),
+            List.of(
+                new LocalQueryEngine.Aggregate<>(0, FunctionCount::new),
+                new LocalQueryEngine.Aggregate<>(2, FunctionSum::new)
+            ),
+            false);
+        Assert.assertEquals(3, groups.size());
+        Assert.assertEquals("b", groups.get(0)[0]);
+        Assert.assertEquals(2L, ((Number) groups.get(0)[1]).longValue());
+        Assert.assertEquals(10.0, ((Number) groups.get(0)[2]).doubleValue(), 0.0);
+        Assert.assertEquals("a", groups.get(1)[0]);
+        Assert.assertEquals(40.0, ((Number) groups.get(1)[2]).doubleValue(), 0.0);
+        Assert.assertEquals("c", groups.get(2)[0]);
+    }
+
+    private static LocalQueryEngine<Object[], Integer> createEngine(Object[][] data) {
+        return new LocalQueryEngine<>(List.of(data), (row, column) -> row[column]);
+    }
+
+    private static DBDDataFilter createFilter() {
+        List<DBDAttributeConstraint> constraints = new ArrayList<>();
+        for (int i = 0; i < DATA[0].length; i++) {
+            constraints.add(new DBDAttributeConstraint("c" + i, i));
+        }
+        return new DBDDataFilter(constraints);
+    }
+
+    private Integer resolveColumn(DBDAttributeConstraint constraint) {
+        return constraint.getOriginalVisualPosition();
+    }
+
+    private static Object[] ids(List<Object[]> rows) {
+        return rows.stream().map(row -> row[0]).toArray();
+    }
+
+}
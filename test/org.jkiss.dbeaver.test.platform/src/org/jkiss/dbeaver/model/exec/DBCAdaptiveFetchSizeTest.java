@@ -0,0 +1,116 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec;
+
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DBCAdaptiveFetchSizeTest {
+
+    private static final long MAX_BATCH_BYTES = 32 * 1024 * 1024;
+
+    @Test
+    public void wideRowsShrinkFetchSize() throws Exception {
+        TestFetchSize control = new TestFetchSize(10000);
+        DBCAdaptiveFetchSize controller = DBCAdaptiveFetchSize.create(
+            control, meta(DBPDataKind.CONTENT, DBPDataKind.CONTENT, DBPDataKind.CONTENT, DBPDataKind.CONTENT), MAX_BATCH_BYTES);
+        // Four LOB values of 64K each
+        Assert.assertEquals(64 + 4 * 64 * 1024, controller.getRowBytes());
+        Assert.assertEquals(MAX_BATCH_BYTES / controller.getRowBytes(), controller.getFetchSize());
+        Assert.assertEquals(List.of(controller.getFetchSize()), control.changes);
+    }
+
+    @Test
+    public void driverFetchModeIsKept() throws Exception {
+        TestFetchSize control = new TestFetchSize(0);
+        Assert.assertNull(DBCAdaptiveFetchSize.create(control, meta(DBPDataKind.NUMERIC), MAX_BATCH_BYTES));
+        control = new TestFetchSize(Integer.MIN_VALUE);
+        Assert.assertNull(DBCAdaptiveFetchSize.create(control, meta(DBPDataKind.NUMERIC), MAX_BATCH_BYTES));
+        Assert.assertTrue(control.changes.isEmpty());
+    }
+
+    @Test
+    public void roundTripsGrowFetchSize() throws Exception {
+        TestFetchSize control = new TestFetchSize(100);
+        DBCAdaptiveFetchSize controller = DBCAdaptiveFetchSize.create(control, meta(DBPDataKind.NUMERIC), MAX_BATCH_BYTES);
+        Assert.assertTrue(control.changes.isEmpty());
+
+        // 1us per local row, 5ms per round trip after each 100 rows
+        long time = 1_000_000;
+        for (int i = 0; i < 1000; i++) {
+            time += i % 100 == 99 ? 5_000_000 : 1_000;
+            controller.rowFetched(time);
+        }
+        Assert.assertEquals(10, controller.getRoundTrips());
+        // Round trip takes as long as 5000 local rows
+        Assert.assertEquals(20000, controller.getFetchSize());
+        Assert.assertEquals(List.of(20000), control.changes);
+    }
+
+    @Test
+    public void fetchSizeErrorDisablesController() throws Exception {
+        TestFetchSize control = new TestFetchSize(100);
+        control.failOnChange = true;
+        DBCAdaptiveFetchSize controller = DBCAdaptiveFetchSize.create(control, meta(DBPDataKind.STRING), MAX_BATCH_BYTES);
+        long time = 1_000_000;
+        for (int i = 0; i < 1000; i++) {
+            time += i % 100 == 99 ? 5_000_000 : 1_000;
+            controller.rowFetched(time);
+        }
+        Assert.assertEquals(100, controller.getFetchSize());
+        Assert.assertEquals(1, control.changes.size());
+    }
+
+    private static DBCResultSetMetaData meta(DBPDataKind... dataKinds) {
+        List<DBCAttributeMetaData> attributes = new ArrayList<>();
+        for (DBPDataKind dataKind : dataKinds) {
+            DBCAttributeMetaData attribute = Mockito.mock(DBCAttributeMetaData.class);
+            Mockito.when(attribute.getDataKind()).thenReturn(dataKind);
+            attributes.add(attribute);
+        }
+        return () -> attributes;
+    }
+
+    private static class TestFetchSize implements DBCResultSetFetchSize {
+        private final List<Integer> changes = new ArrayList<>();
+        private int fetchSize;
+        private boolean failOnChange;
+
+        TestFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+
+        @Override
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        @Override
+        public void setFetchSize(int fetchSize) throws DBCException {
+            changes.add(fetchSize);
+            if (failOnChange) {
+                throw new DBCException("Fetch size can't be changed");
+            }
+            this.fetchSize = fetchSize;
+        }
+    }
+}
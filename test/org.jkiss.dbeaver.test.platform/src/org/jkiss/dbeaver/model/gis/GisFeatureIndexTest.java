@@ -0,0 +1,76 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.gis;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class GisFeatureIndexTest {
+
+    private final GeometryFactory factory = new GeometryFactory();
+
+    @Test
+    public void tileQueryReturnsVisibleFeatures() {
+        GisFeatureIndex<String> index = new GisFeatureIndex<>(true);
+        index.addFeature(point(10, -10), "a");
+        index.addFeature(point(1000, -1000), "b");
+        index.addFeature(point(300, -20), "c");
+        Assert.assertEquals(-1, index.addFeature(factory.createPoint(), "empty"));
+
+        Assert.assertArrayEquals(new int[] {0}, index.queryTile(0, 0, 0));
+        Assert.assertArrayEquals(new int[] {2}, index.queryTile(0, 1, 0));
+        Assert.assertArrayEquals(new int[] {0, 1, 2}, index.queryTile(-3, 0, 0));
+        Assert.assertEquals(new Envelope(10, 1000, -1000, -10), index.getBounds());
+    }
+
+    @Test
+    public void mercatorTileEnvelope() {
+        GisFeatureIndex<String> index = new GisFeatureIndex<>(false);
+        Assert.assertEquals(new Envelope(-180, 180, -90, 90), index.getTileEnvelope(0, 0, 0));
+        Assert.assertEquals(new Envelope(0, 180, 0, 90), index.getTileEnvelope(1, 1, 0));
+        Assert.assertNull(index.getTileEnvelope(1, 2, 0));
+
+        index.addFeature(point(30, 50), null);
+        index.addFeature(point(-70, -30), null);
+        Assert.assertArrayEquals(new int[] {0}, index.queryTile(1, 1, 0));
+        Assert.assertArrayEquals(new int[] {1}, index.queryTile(1, 0, 1));
+    }
+
+    @Test
+    public void geometryIsSimplifiedForZoomLevel() {
+        Coordinate[] coordinates = new Coordinate[101];
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = new Coordinate(i, (i % 2) * 0.01);
+        }
+        GisFeatureIndex<String> index = new GisFeatureIndex<>(true);
+        int id = index.addFeature(factory.createLineString(coordinates), null);
+
+        Geometry zoomedOut = index.getSimplifiedGeometry(id, 0);
+        Assert.assertEquals(2, zoomedOut.getNumPoints());
+        Assert.assertSame(zoomedOut, index.getSimplifiedGeometry(id, 0));
+        Assert.assertEquals(101, index.getSimplifiedGeometry(id, 10).getNumPoints());
+    }
+
+    private Geometry point(double x, double y) {
+        return factory.createPoint(new Coordinate(x, y));
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class JDBCExecutionContextPoolTest {
+
+    private final DBRProgressMonitor monitor = new VoidProgressMonitor();
+    private JDBCRemoteInstance instance;
+    private JDBCExecutionContextPool pool;
+
+    @Before
+    public void setUp() {
+        JDBCDataSource dataSource = Mockito.mock(JDBCDataSource.class);
+        instance = Mockito.mock(JDBCRemoteInstance.class);
+        Mockito.when(instance.getDataSource()).thenReturn(dataSource);
+    }
+
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void idleContextIsBorrowedOnce() {
+        pool = new JDBCExecutionContextPool(instance, 0, 2, 60000);
+        JDBCExecutionContext context = Mockito.mock(JDBCExecutionContext.class);
+
+        Assert.assertTrue(pool.addIdleContext(context, System.currentTimeMillis()));
+        Assert.assertEquals(1, pool.getIdleCount());
+        Assert.assertSame(context, pool.borrowContext(monitor));
+        Assert.assertEquals(0, pool.getIdleCount());
+        Assert.assertNull(pool.borrowContext(monitor));
+        Mockito.verify(context, Mockito.never()).close();
+    }
+
+    @Test
+    public void addIsRejectedWhenPoolIsFull() {
+        pool = new JDBCExecutionContextPool(instance, 0, 1, 60000);
+
+        Assert.assertTrue(pool.addIdleContext(Mockito.mock(JDBCExecutionContext.class), System.currentTimeMillis()));
+        Assert.assertFalse(pool.addIdleContext(Mockito.mock(JDBCExecutionContext.class), System.currentTimeMillis()));
+        Assert.assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    public void closeDisconnectsIdleContexts() {
+        pool = new JDBCExecutionContextPool(instance, 0, 2, 60000);
+        JDBCExecutionContext context = Mockito.mock(JDBCExecutionContext.class);
+        Assert.assertTrue(pool.addIdleContext(context, System.currentTimeMillis()));
+        pool.close();
+
+        Mockito.verify(context).close();
+        Assert.assertFalse(pool.addIdleContext(Mockito.mock(JDBCExecutionContext.class), System.currentTimeMillis()));
+        Assert.assertNull(pool.borrowContext(monitor));
+    }
+
+    @Test
+    public void idleContextsExpire() {
+        pool = new JDBCExecutionContextPool(instance, 0, 2, 1000);
+        JDBCExecutionContext context = Mockito.mock(JDBCExecutionContext.class);
+        long openTime = System.currentTimeMillis();
+        Assert.assertTrue(pool.addIdleContext(context, openTime));
+
+        pool.evictIdleContexts(openTime + 500);
+        Assert.assertEquals(1, pool.getIdleCount());
+        Mockito.verify(context, Mockito.never()).close();
+
+        pool.evictIdleContexts(openTime + 2000);
+        Assert.assertEquals(0, pool.getIdleCount());
+        Mockito.verify(context).close();
+    }
+
+    @Test
+    public void deadContextIsDiscardedOnBorrow() throws DBException {
+        pool = new JDBCExecutionContextPool(instance, 0, 2, 60000);
+        JDBCExecutionContext context = Mockito.mock(JDBCExecutionContext.class);
+        Mockito.doThrow(new DBCException("Connection is dead")).when(context).checkContextAlive(Mockito.any());
+        Assert.assertTrue(pool.addIdleContext(context, System.currentTimeMillis()));
+
+        Assert.assertNull(pool.borrowContext(monitor));
+        Mockito.verify(context).close();
+    }
+
+}
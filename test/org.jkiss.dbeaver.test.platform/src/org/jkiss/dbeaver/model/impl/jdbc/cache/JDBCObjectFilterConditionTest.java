@@ -0,0 +1,77 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.struct.DBSObjectFilter;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.PreparedStatement;
+
+public class JDBCObjectFilterConditionTest {
+
+    @Test
+    public void emptyFilterHasNoCondition() {
+        Assert.assertNull(JDBCObjectFilterCondition.create(BasicSQLDialect.INSTANCE, null));
+        Assert.assertNull(JDBCObjectFilterCondition.create(BasicSQLDialect.INSTANCE, new DBSObjectFilter()));
+        DBSObjectFilter disabled = new DBSObjectFilter("T%", null);
+        disabled.setEnabled(false);
+        Assert.assertNull(JDBCObjectFilterCondition.create(BasicSQLDialect.INSTANCE, disabled));
+    }
+
+    @Test
+    public void includeAndExcludeMasks() throws Exception {
+        JDBCObjectFilterCondition condition = JDBCObjectFilterCondition.create(
+            BasicSQLDialect.INSTANCE,
+            new DBSObjectFilter("emp*,dept", "tmp_%"));
+        Assert.assertNotNull(condition);
+
+        StringBuilder sql = new StringBuilder();
+        condition.appendCondition(sql, "name");
+        Assert.assertEquals(
+            "((UPPER(name) LIKE ? OR UPPER(name) = ?) AND NOT (UPPER(name) LIKE ?))",
+            sql.toString());
+
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Assert.assertEquals(5, condition.bindParameters(statement, 2));
+        Mockito.verify(statement).setString(2, "EMP%");
+        Mockito.verify(statement).setString(3, "DEPT");
+        Mockito.verify(statement).setString(4, "TMP_%");
+    }
+
+    @Test
+    public void caseSensitivePatternsKeepCase() {
+        JDBCObjectFilterCondition condition = JDBCObjectFilterCondition.create(
+            new CaseSensitiveDialect(),
+            new DBSObjectFilter("Emp%,Dept", null));
+        Assert.assertNotNull(condition);
+
+        StringBuilder sql = new StringBuilder();
+        condition.appendLiteralCondition(sql, "name");
+        Assert.assertEquals("((name LIKE 'Emp%' OR UPPER(name) = 'DEPT'))", sql.toString());
+    }
+
+    private static class CaseSensitiveDialect extends BasicSQLDialect {
+        @Override
+        public boolean hasCaseSensitiveFiltration() {
+            return true;
+        }
+    }
+
+}
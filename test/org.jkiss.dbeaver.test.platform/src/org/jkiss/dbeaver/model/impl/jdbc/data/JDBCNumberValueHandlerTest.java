@@ -0,0 +1,66 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCNumberValueHandler;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class JDBCNumberValueHandlerTest {
+
+    @Test
+    public void appendUsesOverriddenDisplayString() {
+        DBSTypedObject column = Mockito.mock(DBSTypedObject.class);
+        StringBuilder buffer = new StringBuilder();
+        new CustomDisplayHandler().appendValueDisplayString(column, 1, DBDDisplayFormat.UI, buffer);
+        Assert.assertEquals("custom 1", buffer.toString());
+
+        buffer.setLength(0);
+        new CustomAppendHandler().appendValueDisplayString(column, 1, DBDDisplayFormat.UI, buffer);
+        Assert.assertEquals("append 1", buffer.toString());
+    }
+
+    private static class CustomDisplayHandler extends JDBCNumberValueHandler {
+        CustomDisplayHandler() {
+            super(null, null);
+        }
+
+        @NotNull
+        @Override
+        public String getValueDisplayString(@NotNull DBSTypedObject column, @Nullable Object value, @NotNull DBDDisplayFormat format) {
+            return "custom " + value;
+        }
+    }
+
+    private static class CustomAppendHandler extends CustomDisplayHandler {
+        @Override
+        public void appendValueDisplayString(
+            @NotNull DBSTypedObject column,
+            @Nullable Object value,
+            @NotNull DBDDisplayFormat format,
+            @NotNull StringBuilder buffer
+        ) {
+            buffer.append("append ").append(value);
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNodeKind;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public class ExecutionPlanHistoryTest {
+
+    private static final String QUERY = "SELECT * FROM orders o JOIN customers c ON c.id = o.customer_id WHERE o.id = 10";
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void sameShapeIsNotRegression() {
+        ExecutionPlanDiff diff = ExecutionPlanDiff.compare(
+            makePlan("Index Scan", 10.0, 100.0),
+            makePlan("Index Scan", 12.0, 110.0));
+        Assert.assertTrue(diff.isEmpty());
+        Assert.assertFalse(diff.isRegression());
+    }
+
+    @Test
+    public void scanTypeChangeAndCostAreDetected() {
+        ExecutionPlanDiff diff = ExecutionPlanDiff.compare(
+            makePlan("Index Scan", 10.0, 100.0),
+            makePlan("Seq Scan", 5000.0, 6000.0));
+        Assert.assertTrue(diff.isRegression());
+        Assert.assertTrue(diff.isTotalCostRegression());
+        Assert.assertEquals(2, diff.getChanges().size());
+        Assert.assertEquals(ExecutionPlanDiff.ChangeType.COST_REGRESSION, diff.getChanges().get(0).getType());
+        Assert.assertEquals("0", diff.getChanges().get(0).getPath());
+        Assert.assertEquals(ExecutionPlanDiff.ChangeType.NODE_CHANGED, diff.getChanges().get(1).getType());
+        Assert.assertEquals("0/0", diff.getChanges().get(1).getPath());
+    }
+
+    @Test
+    public void capturesArePersisted() throws Exception {
+        Path file = tempFolder.getRoot().toPath().resolve(ExecutionPlanHistory.HISTORY_FILE_NAME);
+        ExecutionPlanHistory history = new ExecutionPlanHistory(file);
+        Assert.assertNull(history.addSnapshot(makePlan("Index Scan", 10.0, 100.0)));
+        ExecutionPlanDiff diff = history.addSnapshot(makePlan("Seq Scan", 10.0, 100.0));
+        Assert.assertNotNull(diff);
+        Assert.assertTrue(diff.isRegression());
+
+        ExecutionPlanSnapshot plan = makePlan("Index Scan", 1.0, 1.0);
+        List<ExecutionPlanSnapshot> snapshots = new ExecutionPlanHistory(file).getSnapshots("test-ds", plan.getFingerprint());
+        Assert.assertEquals(2, snapshots.size());
+        Assert.assertEquals("Seq Scan", snapshots.get(1).getNodes().get(0).getNested().get(0).getType());
+        Assert.assertEquals(100.0, snapshots.get(1).getTotalCost(), 0.0);
+    }
+
+    private static ExecutionPlanSnapshot makePlan(String scanType, double scanCost, double totalCost) {
+        ExecutionPlanSnapshot.Node scan = new ExecutionPlanSnapshot.Node(
+            DBCPlanNodeKind.TABLE_SCAN, scanType, "orders", null, scanCost, 1.0, List.of());
+        ExecutionPlanSnapshot.Node join = new ExecutionPlanSnapshot.Node(
+            DBCPlanNodeKind.JOIN, "Nested Loop", null, null, totalCost, 1.0, List.of(scan));
+        return new ExecutionPlanSnapshot("test-ds", QUERY, System.currentTimeMillis(), List.of(join));
+    }
+
+}
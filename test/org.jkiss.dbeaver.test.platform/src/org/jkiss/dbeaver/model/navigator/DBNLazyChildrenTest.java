@@ -0,0 +1,99 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.navigator;
+
+import org.jkiss.dbeaver.model.navigator.meta.DBXTreeItem;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class DBNLazyChildrenTest {
+
+    @Test
+    public void windowsFollowNameOrder() {
+        DBSObject a = object("a"), b = object("B"), c = object("c"), d = object("d");
+        DBNLazyChildren children = create(c, a, b, d);
+
+        Assert.assertEquals(4, children.getPendingCount());
+        Assert.assertEquals(List.of(a, b), children.nextWindow(2));
+        Assert.assertEquals(List.of(c, d), children.nextWindow(10));
+        Assert.assertEquals(0, children.getPendingCount());
+        Assert.assertTrue(children.nextWindow(10).isEmpty());
+    }
+
+    @Test
+    public void takenObjectsAreSkipped() {
+        DBSObject a = object("a"), b = object("b"), c = object("c");
+        DBNLazyChildren children = create(a, b, c);
+
+        Assert.assertTrue(children.take(b));
+        Assert.assertFalse(children.take(b));
+        Assert.assertSame(c, children.take("C"));
+        Assert.assertNull(children.take("c"));
+        Assert.assertEquals(1, children.getPendingCount());
+        Assert.assertEquals(List.of(a), children.nextWindow(10));
+        Assert.assertEquals(0, children.getPendingCount());
+    }
+
+    @Test
+    public void takeByNamePrefersExactCase() {
+        DBSObject lower = object("tab"), upper = object("TAB");
+        DBNLazyChildren children = create(lower, upper);
+
+        Assert.assertSame(upper, children.take("TAB"));
+        Assert.assertSame(lower, children.take("TAB"));
+        Assert.assertNull(children.take("TAB"));
+    }
+
+    @Test
+    public void removedObjectsAreForgotten() {
+        DBSObject a = object("a"), b = object("b"), c = object("c"), d = object("d");
+        DBNLazyChildren children = create(a, b, c, d);
+
+        Assert.assertEquals(List.of(a), children.nextWindow(1));
+        // Already emitted by a window
+        Assert.assertFalse(children.remove(a));
+
+        Assert.assertTrue(children.remove(c));
+        Assert.assertFalse(children.remove(c));
+        Assert.assertEquals(2, children.getPendingCount());
+
+        // Materialized out of order and then deleted
+        Assert.assertTrue(children.take(d));
+        Assert.assertTrue(children.remove(d));
+        Assert.assertEquals(1, children.getPendingCount());
+
+        Assert.assertEquals(List.of(b), children.nextWindow(10));
+        Assert.assertEquals(0, children.getPendingCount());
+    }
+
+    private static DBNLazyChildren create(DBSObject... objects) {
+        return new DBNLazyChildren(Mockito.mock(DBXTreeItem.class), new ArrayList<>(Arrays.asList(objects)));
+    }
+
+    private static DBSObject object(String name) {
+        DBSObject object = Mockito.mock(DBSObject.class);
+        Mockito.when(object.getName()).thenReturn(name);
+        return object;
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SSHStreamPumpTest {
+
+    private ServerSocket serverSocket;
+    private Socket client;
+    private Socket server;
+
+    @Before
+    public void openLoopback() throws IOException {
+        serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        client = new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort());
+        server = serverSocket.accept();
+        client.setSoTimeout(10000);
+        server.setSoTimeout(10000);
+    }
+
+    @After
+    public void closeLoopback() throws IOException {
+        client.close();
+        server.close();
+        serverSocket.close();
+    }
+
+    @Test
+    public void pumpCopiesDataOverLoopback() throws Exception {
+        byte[] payload = new byte[1024 * 1024 + 17];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) (i * 31);
+        }
+        Thread sender = new Thread(() -> {
+            try (OutputStream out = client.getOutputStream()) {
+                out.write(payload);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        sender.start();
+
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        AtomicLong counted = new AtomicLong();
+        AtomicReference<IOException> finishError = new AtomicReference<>();
+        CountDownLatch finished = new CountDownLatch(1);
+        new SSHStreamPump(server.getInputStream(), target, 64 * 1024, counted::addAndGet, error -> {
+            finishError.set(error);
+            finished.countDown();
+        }).run();
+        sender.join();
+
+        Assert.assertEquals(0, finished.getCount());
+        Assert.assertNull(finishError.get());
+        Assert.assertEquals(payload.length, counted.get());
+        Assert.assertArrayEquals(payload, target.toByteArray());
+    }
+
+    @Test
+    public void pumpFlushesWhenInputIsIdle() throws Exception {
+        // The peer waits for the response before sending more, so buffered data must be flushed
+        CountDownLatch flushed = new CountDownLatch(1);
+        OutputStream target = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                if (size() > 0) {
+                    flushed.countDown();
+                }
+            }
+        };
+        Thread pump = new Thread(new SSHStreamPump(server.getInputStream(), target, 64 * 1024, count -> {}, error -> {}));
+        pump.start();
+
+        OutputStream out = client.getOutputStream();
+        out.write(new byte[]{1, 2, 3});
+        out.flush();
+        Assert.assertTrue(flushed.await(10, TimeUnit.SECONDS));
+
+        client.shutdownOutput();
+        pump.join(10000);
+        Assert.assertFalse(pump.isAlive());
+    }
+
+    @Test
+    public void connectionIsClosedAfterBothHalvesFinish() throws Exception {
+        SSHTunnelMetrics metrics = new SSHTunnelMetrics();
+        metrics.connectionOpened(0);
+        TestChannel channel = new TestChannel();
+        SSHForwardedConnection connection = new SSHForwardedConnection(server, channel.output, channel, metrics);
+
+        connection.localFinished(null);
+        Assert.assertTrue(channel.outputClosed);
+        Assert.assertFalse(channel.closed);
+        Assert.assertFalse(connection.isClosed());
+        Assert.assertFalse(server.isClosed());
+
+        // The local client still receives the response after it has finished sending
+        server.getOutputStream().write(42);
+        connection.remoteFinished(null);
+        InputStream in = client.getInputStream();
+        Assert.assertEquals(42, in.read());
+        Assert.assertEquals(-1, in.read());
+
+        Assert.assertTrue(connection.isClosed());
+        Assert.assertTrue(channel.closed);
+        Assert.assertTrue(server.isClosed());
+        Assert.assertEquals(0, metrics.getActiveConnections());
+    }
+
+    @Test
+    public void connectionIsClosedOnError() throws Exception {
+        SSHTunnelMetrics metrics = new SSHTunnelMetrics();
+        metrics.connectionOpened(0);
+        TestChannel channel = new TestChannel();
+        SSHForwardedConnection connection = new SSHForwardedConnection(server, channel.output, channel, metrics);
+
+        connection.remoteFinished(new IOException("Channel broken"));
+        Assert.assertTrue(connection.isClosed());
+        Assert.assertTrue(channel.closed);
+        Assert.assertTrue(server.isClosed());
+        Assert.assertEquals(-1, client.getInputStream().read());
+
+        // The other direction fails on the closed socket, connection must not be closed twice
+        connection.localFinished(new IOException("Socket closed"));
+        Assert.assertEquals(0, metrics.getActiveConnections());
+    }
+
+    private static class TestChannel implements Closeable {
+        private boolean outputClosed;
+        private boolean closed;
+        private final OutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                outputClosed = true;
+            }
+        };
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.qm;
+
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.sql.SQLQueryFingerprint;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+
+public class QMStatementStatisticsTest {
+
+    @Test
+    public void executionsAreGroupedByFingerprint() {
+        QMStatementStatistics statistics = new QMStatementStatistics();
+        for (int i = 1; i <= 100; i++) {
+            statistics.recordExecution("ds1", DBCExecutionPurpose.USER, "SELECT * FROM t1 WHERE id = " + i, i, false, i);
+        }
+        statistics.recordFetch("ds1", DBCExecutionPurpose.USER, "select * from t1 where id = 5", 7, 10);
+        statistics.recordExecution("ds1", DBCExecutionPurpose.META, "SELECT * FROM t1 WHERE id = 1", 1000, true, 1);
+        statistics.recordExecution("ds2", DBCExecutionPurpose.USER, "SELECT * FROM t1 WHERE id = 1", 1, false, 1);
+
+        Assert.assertEquals(3, statistics.getStatementCount());
+        List<QMStatementStatistics.Statistics> top = statistics.getTopStatements("ds1", 0);
+        Assert.assertEquals(2, top.size());
+
+        QMStatementStatistics.Statistics stat = top.get(0);
+        Assert.assertEquals(DBCExecutionPurpose.USER, stat.getPurpose());
+        Assert.assertEquals(100, stat.getExecuteCount());
+        Assert.assertEquals(5050, stat.getTotalExecuteTime());
+        Assert.assertEquals(1, stat.getMinExecuteTime());
+        Assert.assertEquals(100, stat.getMaxExecuteTime());
+        Assert.assertEquals(10, stat.getFetchedRows());
+        Assert.assertEquals(5057, stat.getTotalTime());
+        Assert.assertEquals(100, stat.getLastExecutionTime());
+        Assert.assertEquals("SELECT * FROM t1 WHERE id = 1", stat.getQueryText());
+
+        Assert.assertEquals(1, top.get(1).getErrorCount());
+        Assert.assertEquals(1, statistics.getTopStatements("ds1", 1).size());
+    }
+
+    @Test
+    public void percentilesAreEstimated() {
+        QMStatementStatistics statistics = new QMStatementStatistics();
+        for (int i = 1; i <= 1000; i++) {
+            statistics.recordExecution("ds", DBCExecutionPurpose.USER, "SELECT 1", i, false, i);
+        }
+        QMStatementStatistics.Statistics stat = statistics.getTopStatements(null, 0).get(0);
+        assertWithin(500, stat.getExecuteTimePercentile(0.5));
+        assertWithin(950, stat.getExecuteTimePercentile(0.95));
+        assertWithin(990, stat.getExecuteTimePercentile(0.99));
+        Assert.assertEquals(1000, stat.getExecuteTimePercentile(1));
+    }
+
+    @Test
+    public void histogramBucketsCoverValues() {
+        for (long value : new long[] {0, 1, 3, 4, 5, 7, 8, 9, 100, 1023, 1024, 123456789}) {
+            int bucket = QMStatementStatistics.getBucket(value);
+            Assert.assertTrue(value <= QMStatementStatistics.getBucketUpperBound(bucket));
+            Assert.assertTrue(bucket == 0 || value > QMStatementStatistics.getBucketUpperBound(bucket - 1));
+        }
+    }
+
+    @Test
+    public void cheapestStatementsAreEvicted() {
+        QMStatementStatistics statistics = new QMStatementStatistics(64);
+        statistics.recordExecution("ds", DBCExecutionPurpose.USER, "SELECT * FROM expensive", 100000, false, 1);
+        for (int i = 0; i < 1000; i++) {
+            statistics.recordExecution("ds", DBCExecutionPurpose.USER, "SELECT * FROM t" + i, 1, false, 1);
+        }
+        Assert.assertTrue(statistics.getStatementCount() <= 64);
+        Assert.assertEquals("SELECT * FROM expensive", statistics.getTopStatements(null, 1).get(0).getQueryText());
+
+        statistics.clear("ds");
+        Assert.assertEquals(0, statistics.getStatementCount());
+    }
+
+    @Test
+    public void longQueriesAreKeyedByFingerprint() {
+        QMStatementStatistics statistics = new QMStatementStatistics();
+        String query = "SELECT * FROM t WHERE a IN (" + "1, ".repeat(10000) + "1) AND b = ";
+        statistics.recordExecution("ds", DBCExecutionPurpose.USER, query + 1, 1, false, 1);
+        statistics.recordExecution("ds", DBCExecutionPurpose.USER, query + 2, 1, false, 2);
+
+        QMStatementStatistics.Statistics stat = statistics.getTopStatements(null, 0).get(0);
+        Assert.assertEquals(1, statistics.getStatementCount());
+        Assert.assertEquals(2, stat.getExecuteCount());
+        Assert.assertEquals(SQLQueryFingerprint.fingerprint(query + 3), stat.getFingerprint());
+        Assert.assertTrue(stat.getQueryText().length() < query.length());
+    }
+
+    @Test
+    public void exportToCSV() throws Exception {
+        QMStatementStatistics statistics = new QMStatementStatistics();
+        statistics.recordExecution("ds", DBCExecutionPurpose.USER, "SELECT a, b FROM t WHERE c = 'x'", 10, false, 1);
+        StringWriter out = new StringWriter();
+        QMStatementStatistics.exportCSV(out, statistics.getTopStatements(null, 0));
+        String[] lines = out.toString().split("\n");
+        Assert.assertEquals(2, lines.length);
+        Assert.assertTrue(lines[0].startsWith("Data source,Purpose,Fingerprint,Executions"));
+        Assert.assertTrue(lines[1].startsWith("ds,User,"));
+        Assert.assertTrue(lines[1].endsWith(",\"SELECT a, b FROM t WHERE c = 'x'\""));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        Assert.assertTrue("Expected ~" + expected + " but was " + actual, Math.abs(actual - expected) <= expected / 4);
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SQLQueryFingerprintTest {
+
+    @Test
+    public void literalsAndFormattingAreIgnored() {
+        Assert.assertEquals(
+            SQLQueryFingerprint.fingerprint("select a, b from t where id = 10 and name = 'O''Brien' -- comment"),
+            SQLQueryFingerprint.fingerprint("SELECT a,b\nFROM t\nWHERE id=25 AND name='x';"));
+        Assert.assertEquals(
+            "SELECT * FROM T WHERE ID IN ( ? ) AND X :: INT > ? AND Y = ?",
+            SQLQueryFingerprint.normalize("select * from t where id in (1, 2, 3) and x::int > :p and y = $1 /* c */"));
+    }
+
+    @Test
+    public void quotedIdentifiersKeepCase() {
+        Assert.assertNotEquals(
+            SQLQueryFingerprint.fingerprint("SELECT * FROM \"Table\""),
+            SQLQueryFingerprint.fingerprint("SELECT * FROM \"TABLE\""));
+        Assert.assertNotEquals(
+            SQLQueryFingerprint.fingerprint("SELECT a FROM t"),
+            SQLQueryFingerprint.fingerprint("SELECT b FROM t"));
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.completion;
+
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPEvent;
+import org.jkiss.dbeaver.model.DBPEventListener;
+import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SQLCompletionNameIndexTest {
+
+    @Test
+    public void smallListIsNotIndexed() {
+        List<DBSObject> children = makeObjects(SQLCompletionNameIndex.MIN_INDEXED_SIZE - 1);
+        Assert.assertNull(SQLCompletionNameIndex.getIndex(Mockito.mock(DBSObject.class), children));
+    }
+
+    @Test
+    public void prefixLookupKeepsChildrenOrder() {
+        List<DBSObject> children = makeObjects(SQLCompletionNameIndex.MIN_INDEXED_SIZE);
+        children.add(0, makeObject("Orders_2024"));
+        SQLCompletionNameIndex index = SQLCompletionNameIndex.getIndex(Mockito.mock(DBSObject.class), children);
+        Assert.assertNotNull(index);
+
+        List<DBSObject> found = index.findByPrefix("ORDERS_");
+        Assert.assertEquals(2, found.size());
+        Assert.assertEquals("Orders_2024", found.get(0).getName());
+        Assert.assertEquals("orders_total", found.get(1).getName());
+        Assert.assertTrue(index.findByPrefix("MISSING").isEmpty());
+    }
+
+    @Test
+    public void characterLookupFindsFuzzyCandidates() {
+        List<DBSObject> children = makeObjects(SQLCompletionNameIndex.MIN_INDEXED_SIZE);
+        SQLCompletionNameIndex index = SQLCompletionNameIndex.getIndex(Mockito.mock(DBSObject.class), children);
+        Assert.assertNotNull(index);
+
+        List<DBSObject> found = index.findByCharacters("OTL");
+        Assert.assertTrue(found.stream().anyMatch(o -> o.getName().equals("orders_total")));
+        Assert.assertTrue(found.stream().allMatch(o -> o.getName().contains("o") && o.getName().contains("t") && o.getName().contains("l")));
+        Assert.assertTrue(index.findByCharacters("#").isEmpty());
+    }
+
+    @Test
+    public void renamedChildRebuildsIndex() {
+        DBSObject parent = Mockito.mock(DBSObject.class);
+        List<DBSObject> children = makeObjects(SQLCompletionNameIndex.MIN_INDEXED_SIZE);
+        SQLCompletionNameIndex index = SQLCompletionNameIndex.getIndex(parent, children);
+        Assert.assertSame(index, SQLCompletionNameIndex.getIndex(parent, children));
+
+        Mockito.when(children.get(10).getName()).thenReturn("renamed_table");
+        SQLCompletionNameIndex newIndex = SQLCompletionNameIndex.getIndex(parent, children);
+        Assert.assertNotSame(index, newIndex);
+        Assert.assertEquals(1, newIndex.findByPrefix("RENAMED").size());
+    }
+
+    @Test
+    public void disconnectDropsIndex() {
+        DBPDataSourceRegistry registry = Mockito.mock(DBPDataSourceRegistry.class);
+        DBPDataSourceContainer container = Mockito.mock(DBPDataSourceContainer.class);
+        Mockito.when(container.getRegistry()).thenReturn(registry);
+        DBPDataSource dataSource = Mockito.mock(DBPDataSource.class);
+        Mockito.when(dataSource.getContainer()).thenReturn(container);
+        DBSObject parent = Mockito.mock(DBSObject.class);
+        Mockito.when(parent.getDataSource()).thenReturn(dataSource);
+
+        List<DBSObject> children = makeObjects(SQLCompletionNameIndex.MIN_INDEXED_SIZE);
+        SQLCompletionNameIndex index = SQLCompletionNameIndex.getIndex(parent, children);
+        Assert.assertSame(index, SQLCompletionNameIndex.getIndex(parent, children));
+
+        ArgumentCaptor<DBPEventListener> listener = ArgumentCaptor.forClass(DBPEventListener.class);
+        Mockito.verify(registry).addDataSourceListener(listener.capture());
+        listener.getValue().handleDataSourceEvent(new DBPEvent(DBPEvent.Action.OBJECT_UPDATE, container, false));
+        Assert.assertNotSame(index, SQLCompletionNameIndex.getIndex(parent, children));
+    }
+
+    private static List<DBSObject> makeObjects(int count) {
+        List<DBSObject> objects = new ArrayList<>(count);
+        for (int i = 0; i < count - 1; i++) {
+            objects.add(makeObject("table_" + i));
+        }
+        objects.add(makeObject("orders_total"));
+        return objects;
+    }
+
+    private static DBSObject makeObject(String name) {
+        DBSObject object = Mockito.mock(DBSObject.class);
+        Mockito.when(object.getName()).thenReturn(name);
+        return object;
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.exec;
+
+import org.jkiss.dbeaver.model.sql.SQLQuery;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SQLScriptDependencyGraphTest {
+
+    @Test
+    public void independentIndexesRunInParallel() {
+        SQLScriptDependencyGraph graph = build(
+            "CREATE INDEX idx1 ON t1(a)",
+            "CREATE INDEX idx2 ON t2(a)",
+            "CREATE INDEX idx3 ON t1(b)"
+        );
+        Assert.assertArrayEquals(new int[0], graph.getDependencies(0));
+        Assert.assertArrayEquals(new int[0], graph.getDependencies(1));
+        Assert.assertArrayEquals(new int[0], graph.getDependencies(2));
+    }
+
+    @Test
+    public void readAfterWriteIsOrdered() {
+        SQLScriptDependencyGraph graph = build(
+            "CREATE TABLE t1 (a int)",
+            "INSERT INTO t1 VALUES (1)",
+            "INSERT INTO t2 SELECT a FROM t1",
+            "SELECT * FROM t3",
+            "CREATE INDEX idx1 ON t1(a)"
+        );
+        Assert.assertArrayEquals(new int[] {0}, graph.getDependencies(1));
+        Assert.assertArrayEquals(new int[] {1}, graph.getDependencies(2));
+        Assert.assertArrayEquals(new int[0], graph.getDependencies(3));
+        Assert.assertArrayEquals(new int[] {1}, graph.getDependencies(4));
+    }
+
+    @Test
+    public void writeAfterReadIsOrdered() {
+        SQLScriptDependencyGraph graph = build(
+            "SELECT * FROM t1",
+            "SELECT * FROM public.T1",
+            "DELETE FROM t1"
+        );
+        Assert.assertArrayEquals(new int[0], graph.getDependencies(1));
+        Assert.assertArrayEquals(new int[] {0, 1}, graph.getDependencies(2));
+    }
+
+    @Test
+    public void dependentInsertAfterCreateTable() {
+        SQLScriptDependencyGraph graph = build(
+            "CREATE TABLE parent (id int PRIMARY KEY)",
+            "CREATE TABLE child (id int, parent_id int REFERENCES parent(id))",
+            "INSERT INTO parent VALUES (1)",
+            "INSERT INTO child VALUES (1, 1)",
+            "INSERT INTO other VALUES (1)"
+        );
+        Assert.assertArrayEquals(new int[] {0}, graph.getDependencies(1));
+        Assert.assertArrayEquals(new int[] {0, 1}, graph.getDependencies(2));
+        // Child rows need parent rows
+        Assert.assertArrayEquals(new int[] {1, 2}, graph.getDependencies(3));
+        Assert.assertArrayEquals(new int[0], graph.getDependencies(4));
+    }
+
+    @Test
+    public void foreignKeyConstraintsAreReads() {
+        SQLScriptDependencyGraph graph = build(
+            "CREATE TABLE parent (id int PRIMARY KEY)",
+            "CREATE TABLE child (id int, parent_id int, CONSTRAINT fk FOREIGN KEY (parent_id) REFERENCES parent (id))",
+            "CREATE TABLE item (id int, child_id int)",
+            "ALTER TABLE item ADD CONSTRAINT fk_item FOREIGN KEY (child_id) REFERENCES child (id)",
+            "INSERT INTO child VALUES (1, 1)",
+            "INSERT INTO item VALUES (1, 1)",
+            "DELETE FROM parent"
+        );
+        Assert.assertArrayEquals(new int[] {0}, graph.getDependencies(1));
+        Assert.assertArrayEquals(new int[0], graph.getDependencies(2));
+        Assert.assertArrayEquals(new int[] {1, 2}, graph.getDependencies(3));
+        Assert.assertArrayEquals(new int[] {0, 1, 3}, graph.getDependencies(4));
+        Assert.assertArrayEquals(new int[] {3, 4}, graph.getDependencies(5));
+        // Deletion from parent checks child rows
+        Assert.assertArrayEquals(new int[] {0, 1, 4}, graph.getDependencies(6));
+    }
+
+    @Test
+    public void unknownStatementIsBarrier() {
+        SQLScriptDependencyGraph graph = build(
+            "INSERT INTO t1 VALUES (1)",
+            "INSERT INTO t2 VALUES (1)",
+            "COMMIT",
+            "INSERT INTO t3 VALUES (1)"
+        );
+        Assert.assertFalse(graph.isBarrier(1));
+        Assert.assertTrue(graph.isBarrier(2));
+        Assert.assertArrayEquals(new int[] {0, 1}, graph.getDependencies(2));
+        Assert.assertArrayEquals(new int[] {2}, graph.getDependencies(3));
+    }
+
+    @Test
+    public void dropOfUntrackedObjectIsBarrier() {
+        SQLScriptDependencyGraph graph = build(
+            "DROP TABLE t1",
+            "DROP SEQUENCE seq1",
+            "INSERT INTO t2 VALUES (1)"
+        );
+        Assert.assertFalse(graph.isBarrier(0));
+        Assert.assertTrue(graph.isBarrier(1));
+        Assert.assertArrayEquals(new int[] {0}, graph.getDependencies(1));
+        Assert.assertArrayEquals(new int[] {1}, graph.getDependencies(2));
+    }
+
+    @Test
+    public void renameIsBarrier() {
+        SQLScriptDependencyGraph graph = build(
+            "INSERT INTO t1 VALUES (1)",
+            "ALTER TABLE t2 RENAME TO t3",
+            "INSERT INTO t3 VALUES (1)"
+        );
+        Assert.assertTrue(graph.isBarrier(1));
+        Assert.assertArrayEquals(new int[] {0}, graph.getDependencies(1));
+        Assert.assertArrayEquals(new int[] {1}, graph.getDependencies(2));
+    }
+
+    @Test
+    public void sessionStateStatementsAreDetected() {
+        Assert.assertFalse(build("INSERT INTO t1 VALUES (1)", "UPDATE t2 SET a = 1").isSessionStateChanged());
+        Assert.assertTrue(build("SET search_path TO app", "INSERT INTO t1 VALUES (1)").isSessionStateChanged());
+        Assert.assertTrue(build("use app", "INSERT INTO t1 VALUES (1)").isSessionStateChanged());
+        Assert.assertTrue(build("/* init */ ALTER SESSION SET CURRENT_SCHEMA = app").isSessionStateChanged());
+        Assert.assertTrue(build("CREATE TEMPORARY TABLE tmp (a int)").isSessionStateChanged());
+        Assert.assertTrue(build("CREATE GLOBAL TEMPORARY TABLE tmp (a int)").isSessionStateChanged());
+        Assert.assertTrue(build("CREATE TABLE #tmp (a int)").isSessionStateChanged());
+    }
+
+    private static SQLScriptDependencyGraph build(String... queries) {
+        List<SQLScriptElement> elements = new ArrayList<>();
+        for (String query : queries) {
+            elements.add(new SQLQuery(null, query));
+        }
+        return SQLScriptDependencyGraph.build(elements);
+    }
+
+}
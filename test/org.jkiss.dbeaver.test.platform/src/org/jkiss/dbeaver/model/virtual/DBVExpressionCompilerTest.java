@@ -0,0 +1,202 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.virtual;
+
+import org.apache.commons.jexl3.MapContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DBVExpressionCompilerTest {
+
+    private static final List<String> COLUMNS = List.of("id", "price", "qty", "name", "total", "ratio", "code", "created");
+
+    private static final Object[] ROW = {10, new BigDecimal("2.50"), 4L, "item", null, 0.5, "10", new Timestamp(0)};
+
+    private static final Object[][] DIFFERENTIAL_ROWS = {
+        ROW,
+        {-7, new BigDecimal("-1"), 0L, "", null, -0.0, "abc", new java.sql.Date(0)},
+        {Integer.MIN_VALUE, null, Long.MAX_VALUE, "false", "x", Double.NaN, "1.5", null},
+        {(short) 3, 2.5f, new BigInteger("12345678901234567890"), "1", 0, 1e300, "", "2020-01-01"},
+    };
+
+    private static final String[] DIFFERENTIAL_EXPRESSIONS = {
+        "id + qty", "id - qty", "id * qty", "id / qty", "id % qty", "-id", "-qty", "-ratio",
+        "id + 2147483647", "qty * qty", "qty + 1", "ratio * id", "ratio / 0", "id / 0",
+        "price * qty", "price + 1", "price == 2.5", "price > id",
+        "name + '-' + id", "name + total", "'a' + null", "total * 2", "total + 1", "-total",
+        "id == code", "1 == '1'", "code > 9", "code + 1", "name == code", "name < 'j'", "name != ''",
+        "id == ratio", "ratio == 0", "ratio != ratio", "created > created", "created == created",
+        "total == null", "total != null ? total : name", "name && id", "!name", "total || id > 0",
+        "id > 5 ? name : code", "qty >= 4 and not (id lt 0)", "10 % 3", "-7 % 3", "7 / 2.0",
+    };
+
+    @Test
+    public void arithmeticPrecedence() {
+        Assert.assertEquals(14, eval("2 + 3 * 4"));
+        Assert.assertEquals(20, eval("(2 + 3) * 4"));
+        Assert.assertEquals(2, eval("7 / 3"));
+        Assert.assertEquals(1, eval("7 mod 3"));
+        Assert.assertEquals(-5, eval("-(2 + 3)"));
+        Assert.assertEquals(3.5, eval("7 / 2.0"));
+    }
+
+    @Test
+    public void typeSpecializedArithmetic() {
+        Assert.assertEquals(40L, eval("id * qty"));
+        Assert.assertEquals(5.0, eval("ratio * id"));
+        Assert.assertEquals(2147483648L, eval("2147483647 + 1"));
+        Assert.assertEquals(new BigInteger("9223372036854775808"), eval("9223372036854775807 + 1"));
+    }
+
+    @Test
+    public void variablesAndStrings() {
+        Assert.assertEquals("item-", eval("name + '-'"));
+        Assert.assertEquals("it's", eval("'it\\'s'"));
+        Assert.assertEquals("none", eval("total == null ? 'none' : total"));
+    }
+
+    @Test
+    public void logicalAndComparison() {
+        Assert.assertEquals(true, eval("id > 5 && qty <= 4"));
+        Assert.assertEquals(false, eval("id gt 5 and not (qty eq 4)"));
+        Assert.assertEquals(true, eval("ratio == 0.5"));
+        Assert.assertEquals(true, eval("name != 'other' || total"));
+        Assert.assertEquals("big", eval("id > 100 ? 'huge' : id > 5 ? 'big' : 'small'"));
+    }
+
+    @Test
+    public void unsupportedSyntaxIsNotCompiled() {
+        Assert.assertNull(compile("math:abs(id)"));
+        Assert.assertNull(compile("name.length()"));
+        Assert.assertNull(compile("size(name)"));
+        Assert.assertNull(compile("unknown + 1"));
+        Assert.assertNull(compile("id =~ [1, 2]"));
+        Assert.assertNull(compile("'unclosed"));
+        Assert.assertNull(compile("1 +"));
+        // Literals parsed differently by JEXL
+        Assert.assertNull(compile("010"));
+        Assert.assertNull(compile("'a\\n'"));
+        Assert.assertNull(compile("99999999999999999999"));
+        // Constant which needs JEXL coercion
+        Assert.assertNull(compile("'a' + 1"));
+    }
+
+    @Test
+    public void coercionsFallBackToJexl() {
+        assertFallback("price * qty");
+        assertFallback("price == 2.5");
+        assertFallback("name + '-' + id");
+        assertFallback("total * 2");
+        assertFallback("total > 1");
+        assertFallback("id == code");
+        assertFallback("created > created");
+        assertFallback("name ? 1 : 2");
+        assertFallback("id / 0");
+    }
+
+    @Test
+    public void smallIntegralsAndFloatsAreCompiled() {
+        DBVCompiledExpression compiled = compile("id * 2 + qty");
+        Assert.assertEquals(10, compiled.evaluate(new Object[] {(short) 3, null, (byte) 4}));
+        Assert.assertEquals(10L, compiled.evaluate(new Object[] {(short) 3, null, 4L}));
+        Assert.assertEquals(true, compile("price > 2").evaluate(new Object[] {null, 2.5f}));
+        // Float which decimal representation differs from its binary value
+        assertFallback(compile("price > 2"), new Object[] {null, 0.1f});
+    }
+
+    @Test
+    public void firstRowFallbackDisablesCompiledExpression() {
+        DBVCompiledExpression compiled = DBVExpressionCompiler.disableOnFirstRowFallback(compile("id + 1"));
+        assertFallback(compiled, new Object[] {new BigDecimal("1.5")});
+        assertFallback(compiled, new Object[] {1});
+
+        compiled = DBVExpressionCompiler.disableOnFirstRowFallback(compile("id + 1"));
+        Assert.assertEquals(2, compiled.evaluate(new Object[] {1}));
+        assertFallback(compiled, new Object[] {new BigDecimal("1.5")});
+        Assert.assertEquals(3, compiled.evaluate(new Object[] {2}));
+    }
+
+    @Test
+    public void compiledResultsMatchJexl() {
+        int compared = 0;
+        for (String expression : DIFFERENTIAL_EXPRESSIONS) {
+            DBVCompiledExpression compiled = compile(expression);
+            if (compiled == null) {
+                continue;
+            }
+            for (Object[] row : DIFFERENTIAL_ROWS) {
+                Object compiledResult;
+                try {
+                    compiledResult = compiled.evaluate(row);
+                } catch (DBVCompiledExpression.FallbackException e) {
+                    continue;
+                }
+                Object jexlResult = evalJexl(expression, row);
+                Assert.assertEquals(expression, jexlResult, compiledResult);
+                if (jexlResult != null) {
+                    Assert.assertEquals(expression, jexlResult.getClass(), compiledResult.getClass());
+                }
+                compared++;
+            }
+        }
+        Assert.assertTrue("Too few compiled results", compared > 50);
+    }
+
+    private static Object eval(String expression) {
+        DBVCompiledExpression compiled = compile(expression);
+        Assert.assertNotNull(expression, compiled);
+        return compiled.evaluate(ROW);
+    }
+
+    private static void assertFallback(String expression) {
+        DBVCompiledExpression compiled = compile(expression);
+        Assert.assertNotNull(expression, compiled);
+        assertFallback(compiled, ROW);
+    }
+
+    private static void assertFallback(DBVCompiledExpression compiled, Object[] row) {
+        try {
+            compiled.evaluate(row);
+            Assert.fail("Row must be evaluated by JEXL");
+        } catch (DBVCompiledExpression.FallbackException e) {
+            // expected
+        }
+    }
+
+    private static Object evalJexl(String expression, Object[] row) {
+        Map<String, Object> variables = new HashMap<>();
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            variables.put(COLUMNS.get(i), row[i]);
+        }
+        return DBVUtils.parseExpression(expression).evaluate(new MapContext(variables));
+    }
+
+    private static DBVCompiledExpression compile(String expression) {
+        return DBVExpressionCompiler.compile(expression, name -> {
+            int index = COLUMNS.indexOf(name);
+            return index < 0 ? null : row -> row[index];
+        });
+    }
+
+}
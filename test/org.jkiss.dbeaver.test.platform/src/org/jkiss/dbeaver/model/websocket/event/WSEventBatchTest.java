@@ -0,0 +1,91 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.websocket.event;
+
+import org.jkiss.dbeaver.model.websocket.WSUtils;
+import org.jkiss.dbeaver.model.websocket.event.datasource.WSDataSourceEvent;
+import org.jkiss.dbeaver.model.websocket.event.datasource.WSDataSourceProperty;
+import org.jkiss.dbeaver.model.websocket.event.resource.WSResourceProperty;
+import org.jkiss.dbeaver.model.websocket.event.resource.WSResourceUpdatedEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class WSEventBatchTest {
+
+    @Test
+    public void sameKindEventsAreMerged() {
+        WSPendingEvents pendingEvents = new WSPendingEvents();
+        for (int i = 0; i < 1000; i++) {
+            pendingEvents.addEvent(WSDataSourceEvent.create("s1", "u1", "p1", List.of("ds" + i), WSDataSourceProperty.CONFIGURATION));
+            pendingEvents.addEvent(WSResourceUpdatedEvent.update("s1", "u1", "p1", "script.sql", WSResourceProperty.CONTENT, null));
+        }
+        List<WSEvent> events = pendingEvents.removeAll();
+        Assert.assertEquals(2, events.size());
+        WSDataSourceEvent dataSourceEvent = (WSDataSourceEvent) events.get(0);
+        Assert.assertEquals(1000, dataSourceEvent.getDataSourceIds().size());
+        Assert.assertEquals("ds999", dataSourceEvent.getDataSourceIds().get(999));
+    }
+
+    @Test
+    public void differentKindEventsKeepOrder() {
+        WSPendingEvents pendingEvents = new WSPendingEvents();
+        pendingEvents.addEvent(WSDataSourceEvent.create("s1", "u1", "p1", List.of("ds1"), WSDataSourceProperty.CONFIGURATION));
+        pendingEvents.addEvent(WSDataSourceEvent.delete("s1", "u1", "p1", List.of("ds1"), WSDataSourceProperty.CONFIGURATION));
+        pendingEvents.addEvent(WSDataSourceEvent.create("s1", "u1", "p1", List.of("ds2"), WSDataSourceProperty.CONFIGURATION));
+        pendingEvents.addEvent(WSDataSourceEvent.create("s2", "u1", "p1", List.of("ds3"), WSDataSourceProperty.CONFIGURATION));
+        List<WSEvent> events = pendingEvents.removeAll();
+        Assert.assertEquals(4, events.size());
+        Assert.assertEquals(WSEventType.DATASOURCE_DELETED.getEventId(), events.get(1).getId());
+    }
+
+    @Test
+    public void interleavedObjectEventsAreMerged() {
+        WSPendingEvents pendingEvents = new WSPendingEvents();
+        for (int i = 0; i < 10; i++) {
+            pendingEvents.addEvent(WSResourceUpdatedEvent.update("s1", "u1", "p1", "a.sql", WSResourceProperty.CONTENT, null));
+            pendingEvents.addEvent(WSResourceUpdatedEvent.update("s1", "u1", "p1", "b.sql", WSResourceProperty.CONTENT, null));
+        }
+        pendingEvents.addEvent(WSResourceUpdatedEvent.delete("s1", "u1", "p1", "a.sql", WSResourceProperty.CONTENT, null));
+        pendingEvents.addEvent(WSResourceUpdatedEvent.update("s1", "u1", "p1", "b.sql", WSResourceProperty.CONTENT, null));
+        pendingEvents.addEvent(WSResourceUpdatedEvent.update("s1", "u1", "p1", "a.sql", WSResourceProperty.CONTENT, null));
+        List<WSEvent> events = pendingEvents.removeAll();
+        Assert.assertEquals(4, events.size());
+        Assert.assertEquals("a.sql", ((WSResourceUpdatedEvent) events.get(0)).getResourcePath());
+        Assert.assertEquals("b.sql", ((WSResourceUpdatedEvent) events.get(1)).getResourcePath());
+        // Update after delete is kept after it
+        Assert.assertEquals(WSEventType.RM_RESOURCE_DELETED.getEventId(), events.get(2).getId());
+        Assert.assertEquals("a.sql", ((WSResourceUpdatedEvent) events.get(3)).getResourcePath());
+        Assert.assertTrue(pendingEvents.isEmpty());
+    }
+
+    @Test
+    public void batchSerialization() {
+        WSEventBatch batch = new WSEventBatch(42, List.of(
+            WSDataSourceEvent.update(null, "u1", "p1", List.of("ds1", "ds2"), WSDataSourceProperty.NAME),
+            WSProjectUpdateEvent.create(null, "u1", "p2")
+        ));
+        WSEventBatch result = WSUtils.gson.fromJson(WSUtils.gson.toJson(batch), WSEventBatch.class);
+        Assert.assertEquals(42, result.getSequence());
+        Assert.assertEquals(2, result.getEvents().size());
+        WSDataSourceEvent dataSourceEvent = (WSDataSourceEvent) result.getEvents().get(0);
+        Assert.assertEquals(List.of("ds1", "ds2"), dataSourceEvent.getDataSourceIds());
+        Assert.assertEquals(WSDataSourceProperty.NAME, dataSourceEvent.getProperty());
+        Assert.assertEquals("p2", ((WSProjectUpdateEvent) result.getEvents().get(1)).getProjectId());
+    }
+}
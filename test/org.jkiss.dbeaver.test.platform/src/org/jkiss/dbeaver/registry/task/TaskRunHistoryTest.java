@@ -0,0 +1,152 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+
+public class TaskRunHistoryTest {
+
+    private static final Gson gson = new GsonBuilder()
+        .setLenient()
+        .setDateFormat(GeneralUtils.DEFAULT_TIMESTAMP_PATTERN)
+        .create();
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void appendedRunsAreReloaded() {
+        TaskRunHistory history = createHistory();
+        history.addRun(new TestRun("run1", 1000));
+        history.addRun(new TestRun("run2", 2000));
+        history.addRun(new TestRun("run3", 3000));
+        TestRun finished = new TestRun("run2", 2000);
+        finished.setRunDuration(500);
+        history.updateRun(finished);
+        Assert.assertTrue(history.removeRun("run1"));
+        Assert.assertFalse(history.removeRun("run1"));
+
+        List<TaskRunImpl> runs = createHistory().getRuns();
+        Assert.assertEquals(2, runs.size());
+        Assert.assertEquals("run2", runs.get(0).getId());
+        Assert.assertEquals(500, runs.get(0).getRunDuration());
+        Assert.assertEquals("run3", runs.get(1).getId());
+        Assert.assertEquals(-1, runs.get(1).getRunDuration());
+    }
+
+    @Test
+    public void refreshReadsRunsOfAnotherWriter() {
+        TaskRunHistory reader = createHistory();
+        TaskRunHistory writer = createHistory();
+        writer.addRun(new TestRun("run1", 1000));
+        Assert.assertEquals(1, reader.size());
+
+        writer.addRun(new TestRun("run2", 2000));
+        reader.refresh();
+        Assert.assertEquals(2, reader.size());
+
+        // Compacted file is read from the beginning
+        writer.updateRun(new TestRun("run1", 1000));
+        writer.compact();
+        writer.addRun(new TestRun("run3", 3000));
+        reader.refresh();
+        Assert.assertEquals(List.of("run1", "run2", "run3"), reader.getRuns().stream().map(TaskRunImpl::getId).toList());
+    }
+
+    @Test
+    public void readAfterCompactionOfAnotherWriter() {
+        TaskRunHistory reader = createHistory();
+        TaskRunHistory writer = createHistory();
+        writer.addRun(new TestRun("run1", 1000));
+        writer.addRun(new TestRun("run2", 2000));
+        writer.addRun(new TestRun("run3", 3000));
+        Assert.assertEquals(3, reader.size());
+
+        // Record positions known to the reader are no longer valid
+        for (int i = 0; i < 5; i++) {
+            TestRun run = new TestRun("run1", 1000);
+            run.setRunDuration(i);
+            writer.updateRun(run);
+        }
+        writer.compact();
+
+        List<TaskRunImpl> runs = reader.getRuns();
+        Assert.assertEquals(List.of("run1", "run2", "run3"), runs.stream().map(TaskRunImpl::getId).toList());
+        Assert.assertEquals(4, runs.get(0).getRunDuration());
+        Assert.assertEquals("run3", reader.findRuns(null, null, null, 1).get(0).getId());
+    }
+
+    @Test
+    public void legacyStatisticsAreMigrated() throws Exception {
+        Path folder = tempFolder.getRoot().toPath();
+        Path metaFile = folder.resolve(TaskImpl.META_FILE_NAME);
+        Files.writeString(metaFile, gson.toJson(new RunStatistics(List.of(new TestRun("run1", 1000), new TestRun("run2", 2000)))));
+
+        List<TaskRunImpl> runs = createHistory().getRuns();
+        Assert.assertEquals(List.of("run1", "run2"), runs.stream().map(TaskRunImpl::getId).toList());
+        // Old statistics are kept but not migrated again
+        Assert.assertFalse(Files.exists(metaFile));
+        Assert.assertTrue(Files.exists(folder.resolve(TaskImpl.META_FILE_NAME + ".bak")));
+    }
+
+    @Test
+    public void compactionDropsDeadRecords() throws Exception {
+        TaskRunHistory history = createHistory();
+        history.addRun(new TestRun("run1", 1000));
+        history.addRun(new TestRun("run2", 2000));
+        for (int i = 0; i < 10; i++) {
+            TestRun run = new TestRun("run1", 1000);
+            run.setRunDuration(i);
+            history.updateRun(run);
+        }
+        history.removeRun("run2");
+        Path historyFile = tempFolder.getRoot().toPath().resolve(TaskRunHistory.HISTORY_FILE_NAME);
+        // Header, 2 runs, 10 updates and removal
+        Assert.assertEquals(14, Files.readAllLines(historyFile).size());
+
+        history.compact();
+        Assert.assertEquals(2, Files.readAllLines(historyFile).size());
+        Assert.assertEquals(1, history.size());
+
+        List<TaskRunImpl> runs = createHistory().getRuns();
+        Assert.assertEquals(1, runs.size());
+        Assert.assertEquals(9, runs.get(0).getRunDuration());
+    }
+
+    private TaskRunHistory createHistory() {
+        Path folder = tempFolder.getRoot().toPath();
+        return new TaskRunHistory(create -> folder, gson);
+    }
+
+    private static class TestRun extends TaskRunImpl {
+        TestRun(String id, long startTime) {
+            super(id, new Date(startTime), "test", "test", null, null);
+        }
+    }
+
+}
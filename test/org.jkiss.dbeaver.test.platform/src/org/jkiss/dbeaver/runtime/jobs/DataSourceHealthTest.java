@@ -0,0 +1,64 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.jobs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DataSourceHealthTest {
+
+    @Test
+    public void stateFollowsPingResults() {
+        DataSourceHealth health = new DataSourceHealth();
+        Assert.assertEquals(DataSourceHealth.State.UNKNOWN, health.getState());
+
+        health.recordSuccess(1, 10);
+        Assert.assertEquals(DataSourceHealth.State.HEALTHY, health.getState());
+
+        health.recordSuccess(2, DataSourceHealth.SLOW_PING_THRESHOLD + 1);
+        Assert.assertEquals(DataSourceHealth.State.SLOW, health.getState());
+
+        health.recordFailure(3, 15000, "Ping timed out");
+        health.recordFailure(4, 20, "Connection reset");
+        Assert.assertEquals(DataSourceHealth.State.FAILING, health.getState());
+        Assert.assertEquals(2, health.getFailureCount());
+        Assert.assertEquals("Connection reset", health.getLastError());
+
+        health.recordSuccess(5, 30);
+        Assert.assertEquals(DataSourceHealth.State.HEALTHY, health.getState());
+        Assert.assertEquals(0, health.getFailureCount());
+        Assert.assertNull(health.getLastError());
+        Assert.assertEquals(5, health.getLastPingTime());
+        Assert.assertEquals(15000, health.getMaxLatency());
+    }
+
+    @Test
+    public void latencyHistoryIsBounded() {
+        DataSourceHealth health = new DataSourceHealth();
+        int pings = DataSourceHealth.HISTORY_SIZE + 10;
+        for (int i = 1; i <= pings; i++) {
+            health.recordSuccess(i, i);
+        }
+        long[] history = health.getLatencyHistory();
+        Assert.assertEquals(DataSourceHealth.HISTORY_SIZE, history.length);
+        Assert.assertEquals(11, history[0]);
+        Assert.assertEquals(pings, history[history.length - 1]);
+        Assert.assertEquals(pings, health.getMaxLatency());
+        Assert.assertEquals((11 + pings) / 2, health.getAverageLatency());
+    }
+
+}
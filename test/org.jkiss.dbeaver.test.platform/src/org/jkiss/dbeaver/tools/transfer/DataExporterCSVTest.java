@@ -16,8 +16,11 @@
  */
 package org.jkiss.dbeaver.tools.transfer;
 
+import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.data.DefaultValueHandler;
 import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
 import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterCSV;
 import org.junit.Assert;
@@ -25,9 +28,14 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.Map;
 
 public class DataExporterCSVTest {
 
@@ -80,4 +88,94 @@ public class DataExporterCSVTest {
             Assert.fail("Exception occurred: " + e.getMessage());
         }
     }
+
+    @Test
+    public void testByteStreamOutputMatchesWriterOutput() throws Exception {
+        DBDAttributeBinding[] columns = {
+            createColumn("ID", DBPDataKind.NUMERIC),
+            createColumn("NAME", DBPDataKind.STRING),
+            createColumn("NOTE", DBPDataKind.STRING),
+        };
+        Object[][] rows = new Object[5000][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new Object[] {
+                (long) i - 100,
+                i % 7 == 0 ? null : "name " + i,
+                switch (i % 5) {
+                    case 0 -> "plain";
+                    case 1 -> "with, delimiter";
+                    case 2 -> "with \"quotes\"";
+                    case 3 -> "multi\nline \u00e9\u4e2d\ud83d\ude00";
+                    default -> "123 starts with digit";
+                }
+            };
+        }
+
+        StringWriter expected = new StringWriter();
+        export(columns, rows, new PrintWriter(expected), null);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8));
+        export(columns, rows, writer, bytes);
+        writer.flush();
+
+        Assert.assertEquals(expected.toString(), bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testFlushRowsWritesBatchedRows() throws Exception {
+        DBDAttributeBinding[] columns = {createColumn("ID", DBPDataKind.NUMERIC)};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8));
+        DataExporterCSV exporter = createExporter(columns, writer, bytes);
+        exporter.exportHeader(Mockito.mock(DBCSession.class));
+        for (long i = 0; i < 10; i++) {
+            exporter.exportRow(null, null, new Object[] {i});
+        }
+        // Stream size is checked for file split after each row
+        exporter.flushRows();
+        writer.flush();
+        Assert.assertEquals(11, bytes.toString(StandardCharsets.UTF_8).split("\n").length);
+        exporter.dispose();
+    }
+
+    private static void export(DBDAttributeBinding[] columns, Object[][] rows, PrintWriter writer, OutputStream stream) throws Exception {
+        DataExporterCSV exporter = createExporter(columns, writer, stream);
+        exporter.exportHeader(Mockito.mock(DBCSession.class));
+        for (Object[] row : rows) {
+            exporter.exportRow(null, null, row);
+        }
+        exporter.exportFooter(null);
+        exporter.dispose();
+        writer.flush();
+    }
+
+    private static DataExporterCSV createExporter(DBDAttributeBinding[] columns, PrintWriter writer, OutputStream stream) throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("delimiter", ",");
+        properties.put("rowDelimiter", "\\n");
+        properties.put("header", "top");
+        properties.put("nullString", "NULL");
+
+        IStreamDataExporterSite site = Mockito.mock(IStreamDataExporterSite.class);
+        Mockito.when(site.getWriter()).thenReturn(writer);
+        Mockito.when(site.getOutputStream()).thenReturn(stream);
+        Mockito.when(site.getOutputEncoding()).thenReturn("UTF-8");
+        Mockito.when(site.getAttributes()).thenReturn(columns);
+        Mockito.when(site.getProperties()).thenReturn(properties);
+        Mockito.when(site.getExportFormat()).thenReturn(DBDDisplayFormat.UI);
+
+        DataExporterCSV exporter = new DataExporterCSV();
+        exporter.init(site);
+        return exporter;
+    }
+
+    private static DBDAttributeBinding createColumn(String name, DBPDataKind dataKind) {
+        DBDAttributeBinding column = Mockito.mock(DBDAttributeBinding.class);
+        Mockito.when(column.getName()).thenReturn(name);
+        Mockito.when(column.getLabel()).thenReturn(name);
+        Mockito.when(column.getDataKind()).thenReturn(dataKind);
+        Mockito.when(column.getValueHandler()).thenReturn(DefaultValueHandler.INSTANCE);
+        return column;
+    }
 }
@@ -0,0 +1,277 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.data.DefaultValueHandler;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamParallelExport;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterCSV;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StreamParallelExportTest {
+
+    private static final int ROW_COUNT = 25_000;
+    private static final int ROWS_PER_FILE = 4_000;
+    private static final int WRITER_COUNT = 4;
+
+    private final DBDAttributeBinding[] columns = {
+        createColumn("ID", DBPDataKind.NUMERIC),
+        createColumn("NAME", DBPDataKind.STRING),
+    };
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+    private Path sequentialDir;
+    private Path parallelDir;
+
+    @Before
+    public void setUp() throws IOException {
+        sequentialDir = tempFolder.newFolder("sequential").toPath();
+        parallelDir = tempFolder.newFolder("parallel").toPath();
+    }
+
+    @Test
+    public void parallelExportMatchesSequential() throws Exception {
+        Object[][] rows = new Object[ROW_COUNT][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new Object[] {"row-" + i, i % 11 == 0 ? "with, delimiter " + i : "name " + i};
+        }
+
+        // Sequential split: the next file is started after each ROWS_PER_FILE rows
+        List<Path> sequentialFiles = new ArrayList<>();
+        CsvFile sequentialFile = null;
+        for (int i = 0; i < rows.length; i++) {
+            if (i % ROWS_PER_FILE == 0) {
+                if (sequentialFile != null) {
+                    sequentialFile.exportFooter();
+                    sequentialFile.close();
+                }
+                sequentialFile = new CsvFile(createFile(sequentialDir, sequentialFiles));
+                sequentialFile.exportHeader();
+            }
+            sequentialFile.exportRow(rows[i]);
+        }
+        sequentialFile.exportFooter();
+        sequentialFile.close();
+
+        // All writers must work at the same time: each file waits until all writers have their files
+        CountDownLatch allFilesOpened = new CountDownLatch(WRITER_COUNT);
+        List<Path> parallelFiles = new ArrayList<>();
+        StreamParallelExport export = new StreamParallelExport(
+            () -> {
+                allFilesOpened.countDown();
+                return new CsvFile(createFile(parallelDir, parallelFiles)) {
+                    @Override
+                    public void exportHeader() throws DBException, IOException {
+                        try {
+                            Assert.assertTrue(allFilesOpened.await(10, TimeUnit.SECONDS));
+                        } catch (InterruptedException e) {
+                            throw new IOException(e);
+                        }
+                        super.exportHeader();
+                    }
+                };
+            },
+            WRITER_COUNT,
+            ROWS_PER_FILE);
+        for (Object[] row : rows) {
+            export.addRow(row);
+        }
+        export.finish();
+
+        Assert.assertEquals((ROW_COUNT + ROWS_PER_FILE - 1) / ROWS_PER_FILE, parallelFiles.size());
+        Assert.assertEquals(sequentialFiles.size(), parallelFiles.size());
+        for (int i = 0; i < sequentialFiles.size(); i++) {
+            Assert.assertEquals(sequentialFiles.get(i).getFileName(), parallelFiles.get(i).getFileName());
+            Assert.assertEquals(
+                Files.readString(sequentialFiles.get(i), StandardCharsets.UTF_8),
+                Files.readString(parallelFiles.get(i), StandardCharsets.UTF_8));
+        }
+        // Each file has a header, rows are in the source order
+        int rowIndex = 0;
+        for (Path file : parallelFiles) {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            for (int i = 1; i < lines.size(); i++) {
+                Assert.assertTrue(lines.get(i).replace("\"", "").startsWith("row-" + rowIndex + ","));
+                rowIndex++;
+            }
+        }
+        Assert.assertEquals(ROW_COUNT, rowIndex);
+    }
+
+    @Test
+    public void writerErrorStopsExport() throws Exception {
+        List<Path> files = new ArrayList<>();
+        StreamParallelExport export = new StreamParallelExport(
+            () -> new CsvFile(createFile(parallelDir, files)) {
+                @Override
+                public void exportRow(Object[] row) throws DBException, IOException {
+                    throw new IOException("Disk full");
+                }
+            },
+            WRITER_COUNT,
+            10);
+        DBException error = null;
+        try {
+            for (int i = 0; i < ROW_COUNT; i++) {
+                export.addRow(new Object[] {"row-" + i, "name"});
+            }
+        } catch (DBException e) {
+            error = e;
+        }
+        try {
+            export.finish();
+        } catch (DBException e) {
+            if (error == null) {
+                error = e;
+            }
+        }
+        Assert.assertNotNull(error);
+        Assert.assertEquals("Disk full", error.getCause().getMessage());
+        Assert.assertTrue(files.size() < ROW_COUNT / 10);
+    }
+
+    @Test
+    public void slowWriterBlocksTransfer() throws Exception {
+        CountDownLatch writerStarted = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        List<Path> files = new ArrayList<>();
+        StreamParallelExport export = new StreamParallelExport(
+            () -> new CsvFile(createFile(parallelDir, files)) {
+                @Override
+                public void exportHeader() throws DBException, IOException {
+                    writerStarted.countDown();
+                    try {
+                        releaseWriter.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                    super.exportHeader();
+                }
+            },
+            1,
+            ROW_COUNT);
+        AtomicInteger addedRows = new AtomicInteger();
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < ROW_COUNT; i++) {
+                    export.addRow(new Object[] {"row-" + i, "name"});
+                    addedRows.incrementAndGet();
+                }
+                export.finish();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        producer.start();
+        Assert.assertTrue(writerStarted.await(10, TimeUnit.SECONDS));
+        Thread.sleep(500);
+        // Only a few row blocks may be queued while the writer is busy
+        Assert.assertTrue(producer.isAlive());
+        Assert.assertTrue(addedRows.get() < 10_000);
+
+        releaseWriter.countDown();
+        producer.join(TimeUnit.SECONDS.toMillis(30));
+        Assert.assertEquals(ROW_COUNT, addedRows.get());
+        Assert.assertEquals(ROW_COUNT + 1, Files.readAllLines(files.get(0), StandardCharsets.UTF_8).size());
+    }
+
+    private static Path createFile(Path dir, List<Path> files) {
+        Path file = dir.resolve("export_" + (files.size() + 1) + ".csv");
+        files.add(file);
+        return file;
+    }
+
+    private class CsvFile implements StreamParallelExport.OutputFile {
+        private final PrintWriter writer;
+        private final DataExporterCSV exporter = new DataExporterCSV();
+
+        CsvFile(Path file) throws IOException {
+            this.writer = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("delimiter", ",");
+            properties.put("rowDelimiter", "\\n");
+            properties.put("header", "top");
+            properties.put("nullString", "NULL");
+
+            IStreamDataExporterSite site = Mockito.mock(IStreamDataExporterSite.class);
+            Mockito.when(site.getWriter()).thenReturn(writer);
+            Mockito.when(site.getOutputEncoding()).thenReturn("UTF-8");
+            Mockito.when(site.getAttributes()).thenReturn(columns);
+            Mockito.when(site.getProperties()).thenReturn(properties);
+            Mockito.when(site.getExportFormat()).thenReturn(DBDDisplayFormat.UI);
+            try {
+                exporter.init(site);
+            } catch (DBException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void exportHeader() throws DBException, IOException {
+            exporter.exportHeader(Mockito.mock(DBCSession.class));
+        }
+
+        @Override
+        public void exportRow(Object[] row) throws DBException, IOException {
+            exporter.exportRow(null, null, row);
+        }
+
+        @Override
+        public void exportFooter() throws DBException, IOException {
+            exporter.exportFooter(null);
+        }
+
+        @Override
+        public void close() {
+            exporter.dispose();
+            writer.close();
+        }
+    }
+
+    private static DBDAttributeBinding createColumn(String name, DBPDataKind dataKind) {
+        DBDAttributeBinding column = Mockito.mock(DBDAttributeBinding.class);
+        Mockito.when(column.getName()).thenReturn(name);
+        Mockito.when(column.getLabel()).thenReturn(name);
+        Mockito.when(column.getDataKind()).thenReturn(dataKind);
+        Mockito.when(column.getValueHandler()).thenReturn(DefaultValueHandler.INSTANCE);
+        return column;
+    }
+}